@@ -0,0 +1,35 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The synthetic dataframe shared by the benchmarks. Its size, the cardinality of its "category" column and its null rate
+ * are benchmark parameters, so a run covers every combination unless they are narrowed down with JMH's -p option,
+ * for example {@code -p rows=1000000 -p nullRate=0.1}.
+ */
+@State(Scope.Benchmark)
+public class DataFrameState {
+
+    @Param({"1000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"16", "100000"})
+    public int cardinality;
+
+    @Param({"0.0", "0.1"})
+    public double nullRate;
+
+    protected Map<String, List<Object>> data;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        data = SyntheticData.generate(rows, cardinality, nullRate);
+    }
+}
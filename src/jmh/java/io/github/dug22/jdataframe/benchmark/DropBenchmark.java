@@ -0,0 +1,51 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import io.github.dug22.jdataframe.operations.drop.How;
+import io.github.dug22.jdataframe.operations.drop.impl.DropImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DropImpl#dropNA(Map, List, How)}. As dropNA removes rows in place, every invocation works on a fresh
+ * copy of the dataframe, made outside the measured time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DropBenchmark extends DataFrameState {
+
+    private static final List<String> COLUMNS = List.of("category", "quantity", "price", "date", "active");
+
+    private final DropImpl drop = new DropImpl();
+    private Map<String, List<Object>> copy;
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        copy = SyntheticData.copy(data);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> dropAny() {
+        drop.dropNA(copy, COLUMNS, How.ANY);
+        return copy;
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> dropAll() {
+        drop.dropNA(copy, COLUMNS, How.ALL);
+        return copy;
+    }
+}
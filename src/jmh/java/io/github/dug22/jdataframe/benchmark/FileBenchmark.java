@@ -0,0 +1,73 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import io.github.dug22.jdataframe.util.CSVUtils;
+import io.github.dug22.jdataframe.util.JSONUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing CSV files with {@link CSVUtils} and writing JSON files with {@link JSONUtils}.
+ * The files are written to a temporary directory that is deleted after the benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class FileBenchmark extends DataFrameState {
+
+    private Path directory;
+    private String input;
+    private String csvOutput;
+    private String jsonOutput;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws IOException {
+        directory = Files.createTempDirectory("jdataframe-benchmark");
+        input = directory.resolve("input.csv").toString();
+        csvOutput = directory.resolve("output.csv").toString();
+        jsonOutput = directory.resolve("output.json").toString();
+        CSVUtils.writeToCSV(input, data);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        for (String file : List.of(input, csvOutput, jsonOutput)) {
+            Files.deleteIfExists(Path.of(file));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> readCSV() throws IOException {
+        Map<String, List<Object>> dataFrameMap = new LinkedHashMap<>();
+        CSVUtils.readFromCSV(input, dataFrameMap);
+        return dataFrameMap;
+    }
+
+    @Benchmark
+    public void writeCSV() {
+        CSVUtils.writeToCSV(csvOutput, data);
+    }
+
+    @Benchmark
+    public void writeJSON() {
+        JSONUtils.writeToJSONFile(jsonOutput, data);
+    }
+}
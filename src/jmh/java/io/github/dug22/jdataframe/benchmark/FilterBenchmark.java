@@ -0,0 +1,57 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.operations.filter.FilterPredicate;
+import io.github.dug22.jdataframe.operations.filter.impl.FilterImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+
+/**
+ * Measures {@link FilterImpl} with column predicates, which are evaluated on the typed columns, and with a row predicate,
+ * which is called with one boxed row at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class FilterBenchmark extends DataFrameState {
+
+    private static final ColumnPredicate RANGE = col("price").between(250.0, 500.0);
+    private static final ColumnPredicate IN = col("category").in("category-1", "category-3", "category-5");
+    private static final ColumnPredicate COMBINED = col("quantity").gt(500).and(col("active").eq(true));
+    private static final FilterPredicate<Map<String, Object>> ROWS = row -> row.get("quantity") instanceof Integer quantity && quantity > 500;
+
+    private final FilterImpl filter = new FilterImpl();
+
+    @Benchmark
+    public Map<String, List<Object>> range() {
+        return filter.filter(data, RANGE);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> in() {
+        return filter.filter(data, IN);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> combined() {
+        return filter.filter(data, COMBINED);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> rowPredicate() {
+        return filter.filter(data, "quantity", ROWS);
+    }
+}
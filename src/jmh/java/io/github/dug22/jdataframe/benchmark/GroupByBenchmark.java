@@ -0,0 +1,47 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import io.github.dug22.jdataframe.operations.group.Aggregation;
+import io.github.dug22.jdataframe.operations.group.impl.GroupByImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GroupByImpl} on the "category" column, whose cardinality sets the number of groups, and on the
+ * pair of "category" and "active".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GroupByBenchmark extends DataFrameState {
+
+    private static final List<Aggregation> AGGREGATIONS = List.of(Aggregation.count(), Aggregation.sum("quantity"),
+            Aggregation.mean("price"), Aggregation.min("price"));
+
+    private final GroupByImpl groupBy = new GroupByImpl();
+
+    @Benchmark
+    public Map<Object, Map<String, List<Object>>> groupBy() {
+        return groupBy.groupBy(data, "category");
+    }
+
+    @Benchmark
+    public Map<Object, Map<String, List<Object>>> groupByTwoColumns() {
+        return groupBy.groupBy(data, List.of("category", "active"));
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> aggregate() {
+        return groupBy.aggregate(data, List.of("category"), AGGREGATIONS);
+    }
+}
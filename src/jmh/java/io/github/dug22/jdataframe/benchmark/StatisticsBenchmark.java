@@ -0,0 +1,48 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import io.github.dug22.jdataframe.operations.statistics.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every {@link Statistics} function, as the statistic parameter defaults to all of its constants, on an INT
+ * and a DOUBLE column, along with the summary computed by describeStats.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class StatisticsBenchmark extends DataFrameState {
+
+    @Param({"quantity", "price"})
+    public String column;
+
+    @State(Scope.Benchmark)
+    public static class Function {
+
+        @Param
+        public Statistics statistic;
+    }
+
+    @Benchmark
+    public double calculate(Function function) {
+        return function.statistic.calculate(data, column);
+    }
+
+    @Benchmark
+    public Map<String, Object> describe() {
+        return Statistics.describe(data, column);
+    }
+}
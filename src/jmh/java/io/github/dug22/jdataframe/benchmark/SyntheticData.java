@@ -0,0 +1,114 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import io.github.dug22.jdataframe.column.BooleanColumn;
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.DateColumn;
+import io.github.dug22.jdataframe.column.DictionaryColumn;
+import io.github.dug22.jdataframe.column.DoubleColumn;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.LongColumn;
+import io.github.dug22.jdataframe.column.StringColumn;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible dataframes for the benchmarks. Every frame has the columns:
+ * <ul>
+ *     <li>"id": a LONG row number, never null</li>
+ *     <li>"category": a STRING with the given number of distinct values, dictionary-encoded unless it has more
+ *     distinct values than the CSV reader would encode</li>
+ *     <li>"quantity": an INT between 1 and 999</li>
+ *     <li>"price": a DOUBLE between 0 and 1000 with two decimals</li>
+ *     <li>"date": a DATE in the years 2000 to 2029</li>
+ *     <li>"active": a BOOLEAN</li>
+ * </ul>
+ * Every column but "id" holds nulls at the given rate.
+ */
+public final class SyntheticData {
+
+    private static final long SEED = 22L;
+    private static final int DAYS = 30 * 365;
+    private static final int DAY_2000 = 10957;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Generates a dataframe.
+     *
+     * @param rows        the number of rows
+     * @param cardinality the number of distinct values of the "category" column
+     * @param nullRate    the fraction of null values, between 0 and 1, in every column but "id"
+     * @return the dataframe, with its columns in the order listed above
+     */
+    public static Map<String, List<Object>> generate(int rows, int cardinality, double nullRate) {
+        if (rows < 0 || cardinality < 1 || nullRate < 0 || nullRate > 1) {
+            throw new IllegalArgumentException("Invalid synthetic data parameters!");
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] ids = new long[rows];
+        int[] codes = new int[rows];
+        int[] quantities = new int[rows];
+        double[] prices = new double[rows];
+        int[] dates = new int[rows];
+        boolean[] active = new boolean[rows];
+        int distinct = Math.max(1, Math.min(cardinality, rows));
+        for (int i = 0; i < rows; i++) {
+            ids[i] = i;
+            codes[i] = random.nextInt(distinct);
+            quantities[i] = random.nextInt(1, 1000);
+            prices[i] = random.nextInt(100_000) / 100.0;
+            dates[i] = DAY_2000 + random.nextInt(DAYS);
+            active[i] = random.nextBoolean();
+        }
+
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("id", new LongColumn(ids));
+        data.put("category", categories(codes, distinct, rows));
+        data.put("quantity", new IntColumn(quantities));
+        data.put("price", new DoubleColumn(prices));
+        data.put("date", new DateColumn(dates));
+        data.put("active", new BooleanColumn(active));
+        if (nullRate > 0) {
+            for (String column : List.of("category", "quantity", "price", "date", "active")) {
+                Column values = (Column) data.get(column);
+                for (int i = 0; i < rows; i++) {
+                    if (random.nextDouble() < nullRate) {
+                        values.set(i, null);
+                    }
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Copies every column of a dataframe, for benchmarks of operations that modify their input.
+     *
+     * @param data the dataframe generated by {@link #generate(int, int, double)}
+     * @return the copy
+     */
+    public static Map<String, List<Object>> copy(Map<String, List<Object>> data) {
+        Map<String, List<Object>> copy = new LinkedHashMap<>();
+        data.forEach((name, values) -> copy.put(name, ((Column) values).copy()));
+        return copy;
+    }
+
+    private static Column categories(int[] codes, int distinct, int rows) {
+        String[] values = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            values[i] = "category-" + i;
+        }
+        if (distinct <= Math.max(1 << 16, rows / 2)) {
+            return new DictionaryColumn(codes, values);
+        }
+        String[] strings = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            strings[i] = values[codes[i]];
+        }
+        return new StringColumn(strings);
+    }
+}
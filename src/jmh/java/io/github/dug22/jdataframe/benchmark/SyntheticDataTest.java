@@ -0,0 +1,82 @@
+package io.github.dug22.jdataframe.benchmark;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.util.CSVUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void framesFollowTheDocumentedLayout() {
+        for (int cardinality : new int[]{16, 100_000}) {
+            for (double nullRate : new double[]{0.0, 0.1}) {
+                Map<String, List<Object>> data = SyntheticData.generate(100_000, cardinality, nullRate);
+                String message = cardinality + " categories with null rate " + nullRate;
+
+                assertEquals(List.of("id", "category", "quantity", "price", "date", "active"), List.copyOf(data.keySet()));
+                assertEquals(List.of(ColumnType.LONG, ColumnType.STRING, ColumnType.INT, ColumnType.DOUBLE, ColumnType.DATE, ColumnType.BOOLEAN),
+                        data.values().stream().map(values -> ((Column) values).type()).toList(), message);
+                for (int row = 0; row < 100_000; row++) {
+                    assertEquals((long) row, data.get("id").get(row));
+                }
+                for (String column : List.of("category", "quantity", "price", "date", "active")) {
+                    double nulls = ((Column) data.get(column)).nullCount() / 100_000.0;
+                    assertEquals(nullRate, nulls, 0.01, column + " of " + message);
+                }
+                assertTrue(data.get("category").stream().filter(Objects::nonNull).distinct().count() <= cardinality, message);
+                assertTrue(data.get("quantity").stream().filter(Objects::nonNull).allMatch(value -> (Integer) value >= 1 && (Integer) value <= 999), message);
+                assertTrue(data.get("price").stream().filter(Objects::nonNull).allMatch(value -> (Double) value >= 0 && (Double) value < 1000), message);
+                assertTrue(data.get("date").stream().filter(Objects::nonNull)
+                        .allMatch(value -> ((LocalDate) value).getYear() >= 2000 && ((LocalDate) value).getYear() <= 2029), message);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> SyntheticData.generate(10, 0, 0.1));
+    }
+
+    @Test
+    void framesAreReproducibleAndCopiesAreIndependent() {
+        Map<String, List<Object>> data = SyntheticData.generate(10_000, 100, 0.1);
+        Map<String, List<Object>> copy = SyntheticData.copy(data);
+
+        assertEquals(data, SyntheticData.generate(10_000, 100, 0.1));
+        assertEquals(data, copy);
+        copy.get("quantity").set(0, -1);
+        copy.get("category").remove(1);
+        assertNotEquals(-1, data.get("quantity").get(0));
+        assertEquals(10_000, data.get("category").size());
+    }
+
+    @Test
+    void csvFileReadByTheBenchmarksHoldsTheGeneratedFrame() throws IOException {
+        Map<String, List<Object>> data = SyntheticData.generate(10_000, 16, 0.1);
+        String file = directory.resolve("input.csv").toString();
+
+        CSVUtils.writeToCSV(file, data);
+        Map<String, List<Object>> read = new LinkedHashMap<>();
+        CSVUtils.readFromCSV(file, read);
+
+        assertEquals(List.copyOf(data.keySet()), List.copyOf(read.keySet()));
+        for (String column : data.keySet()) {
+            assertEquals(text(data.get(column)), text(read.get(column)), column);
+        }
+    }
+
+    private static List<String> text(List<Object> values) {
+        return values.stream().map(value -> value == null ? null : value.toString()).toList();
+    }
+}
@@ -1,5 +1,8 @@
 package io.github.dug22.jdataframe;
 
+import io.github.dug22.jdataframe.util.CSVOptions;
+import io.github.dug22.jdataframe.util.JSONLayout;
+
 import java.util.List;
 import java.util.Map;
 
@@ -81,6 +84,14 @@ public interface DataFrame {
      */
     Map<String, Map<String, Object>> describeStats(List<String> columns);
 
+    /**
+     * Estimates a quantile (e.g., 0.95 for the 95th percentile) of a numerical column with a quantile sketch.
+     * @param column the name of the column to calculate the quantile for
+     * @param q the quantile, between 0 and 1
+     * @return the estimated quantile of the column.
+     */
+    double quantile(String column, double q);
+
     /**
      * Exports a dataframe to a TXT file.
      * @param filePath the path of the destined TXT file.
@@ -93,9 +104,42 @@ public interface DataFrame {
      */
     void exportToCSV(String filePath);
 
+    /**
+     * Exports a dataframe to a CSV file with a custom delimiter or quote character.
+     * @param filePath the path of the destined CSV file
+     * @param options the options providing the delimiter and quote character
+     */
+    void exportToCSV(String filePath, CSVOptions options);
+
     /**
      * Exports a dataframe to a JSON file
      * @param filePath the path of the destined JSON file.
      */
     void exportToJSON(String filePath);
-}
\ No newline at end of file
+
+    /**
+     * Exports a dataframe to a JSON file in the given layout
+     * @param filePath the path of the destined JSON file.
+     * @param layout the layout of the JSON document
+     */
+    void exportToJSON(String filePath, JSONLayout layout);
+
+    /**
+     * Exports a dataframe to an uncompressed binary file
+     * @param filePath the path of the destined binary file.
+     */
+    void exportToBinary(String filePath);
+
+    /**
+     * Exports a dataframe to a binary file, optionally compressing its column blocks
+     * @param filePath the path of the destined binary file.
+     * @param compressed true to compress the column blocks
+     */
+    void exportToBinary(String filePath, boolean compressed);
+
+    /**
+     * Exports a dataframe to an Arrow file
+     * @param filePath the path of the destined Arrow file.
+     */
+    void exportToArrow(String filePath);
+}
@@ -1,17 +1,40 @@
 package io.github.dug22.jdataframe;
 
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.column.IndexType;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.operations.filter.impl.FilterImpl;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+import io.github.dug22.jdataframe.operations.join.impl.JoinImpl;
+import io.github.dug22.jdataframe.operations.sort.NullOrder;
+import io.github.dug22.jdataframe.operations.sort.Order;
+import io.github.dug22.jdataframe.operations.sort.impl.SortImpl;
+import io.github.dug22.jdataframe.operations.statistics.CacheStats;
+import io.github.dug22.jdataframe.operations.statistics.EvictionPolicy;
 import io.github.dug22.jdataframe.operations.statistics.Statistics;
+import io.github.dug22.jdataframe.operations.statistics.StatisticsCache;
+import io.github.dug22.jdataframe.util.ArrowUtils;
+import io.github.dug22.jdataframe.util.BinaryUtils;
+import io.github.dug22.jdataframe.util.CSVBatchReader;
+import io.github.dug22.jdataframe.util.CSVOptions;
 import io.github.dug22.jdataframe.util.CSVUtils;
+import io.github.dug22.jdataframe.util.JSONLayout;
 import io.github.dug22.jdataframe.util.JSONUtils;
 import io.github.dug22.jdataframe.util.TextUtils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JDataFrame implements DataFrame {
 
     private final Map<String, List<Object>> dataFrameMap;
+    private final boolean immutable;
+    private volatile StatisticsCache cache;
 
     /**
      * Constructor to create a DataFrame by reading data from a CSV file.
@@ -21,16 +44,25 @@ public class JDataFrame implements DataFrame {
      */
     public JDataFrame(String filePath) throws IOException {
         this.dataFrameMap = new LinkedHashMap<>();
+        this.immutable = false;
         CSVUtils.readFromCSV(filePath, dataFrameMap);
     }
 
     /**
      * Constructor to create a DataFrame from a map of column names and their corresponding data.
+     * Lists that are not already columns are copied into typed columns. Columns are shared rather than copied: they are
+     * only copied once either the given map or this dataframe modifies them, so neither sees the other's changes.
      *
      * @param data a map where the key is the column name and the value is a list of data for that column
      */
     public JDataFrame(Map<String, List<Object>> data) {
-        this.dataFrameMap = new LinkedHashMap<>(data);
+        this.dataFrameMap = Columns.share(Columns.toColumnMap(data));
+        this.immutable = false;
+    }
+
+    private JDataFrame(Map<String, List<Object>> columns, boolean immutable) {
+        this.dataFrameMap = columns;
+        this.immutable = immutable;
     }
 
     /**
@@ -42,6 +74,71 @@ public class JDataFrame implements DataFrame {
         return new JDataFrameBuilder();
     }
 
+    /**
+     * Streams a CSV file as dataframes of at most 'batchSize' rows, inferring the column types with the default options.
+     *
+     * @param filePath  the path to the CSV file to read
+     * @param batchSize the maximum number of rows of every batch
+     * @return the batches of the file, which must be closed once consumed
+     * @throws IOException if an error occurs while opening the file
+     * @see #streamCSV(String, int, CSVOptions)
+     */
+    public static Stream<JDataFrame> streamCSV(String filePath, int batchSize) throws IOException {
+        return streamCSV(filePath, batchSize, CSVOptions.defaults());
+    }
+
+    /**
+     * Streams a CSV file as dataframes of at most 'batchSize' rows, so files larger than the heap can be filtered
+     * or aggregated batch by batch. The column buffers are reused by the next batch, so a batch must be consumed
+     * (or filtered into a new dataframe) before the stream advances. Use the stream in a try-with-resources block
+     * to close the file. Column types are inferred from the sampled first rows and kept for every batch; a later cell
+     * that does not fit its column makes the stream throw an IllegalArgumentException.
+     *
+     * @param filePath  the path to the CSV file to read
+     * @param batchSize the maximum number of rows of every batch
+     * @param options   the options controlling type inference, schema overrides and null tokens
+     * @return the batches of the file, which must be closed once consumed
+     * @throws IOException if an error occurs while opening the file
+     */
+    public static Stream<JDataFrame> streamCSV(String filePath, int batchSize, CSVOptions options) throws IOException {
+        CSVBatchReader reader = new CSVBatchReader(filePath, batchSize, options);
+        Spliterator<Map<String, List<Object>>> batches = Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(batches, false).map(JDataFrame::new).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Opens a binary file written by {@link #exportToBinary(String)}. The file is memory-mapped and every column
+     * block is copied into its column in bulk, the columns being read in parallel.
+     *
+     * @param filePath the path to the binary file to read
+     * @return the dataframe holding every column of the file
+     * @throws IOException if the file cannot be read or is not a binary dataframe file
+     */
+    public static JDataFrame openBinary(String filePath) throws IOException {
+        return openBinary(filePath, null);
+    }
+
+    /**
+     * Opens the given columns of a binary file written by {@link #exportToBinary(String)}.
+     * The blocks of the other columns are never read.
+     *
+     * @param filePath the path to the binary file to read
+     * @param columns  the columns to read, or null to read every column
+     * @return the dataframe holding the read columns, in file order
+     * @throws IOException if the file cannot be read or is not a binary dataframe file
+     */
+    public static JDataFrame openBinary(String filePath, List<String> columns) throws IOException {
+        Map<String, List<Object>> dataFrameMap = new LinkedHashMap<>();
+        BinaryUtils.readFromBinary(filePath, dataFrameMap, columns == null ? null : Set.copyOf(columns));
+        return new JDataFrame(dataFrameMap);
+    }
+
     /**
      * Displays all rows in the DataFrame.
      * This method is intended for showing the entire dataset.
@@ -111,7 +208,12 @@ public class JDataFrame implements DataFrame {
      */
     @Override
     public double findStat(String function, String column) {
-        return Statistics.valueOf(function).calculate(dataFrameMap, column);
+        Statistics statistic = Statistics.valueOf(function);
+        StatisticsCache statisticsCache = cache;
+        if (statisticsCache == null) {
+            return statistic.calculate(dataFrameMap, column);
+        }
+        return statisticsCache.get(dataFrameMap, statistic.name(), column, () -> statistic.calculate(dataFrameMap, column));
     }
 
     /**
@@ -123,7 +225,10 @@ public class JDataFrame implements DataFrame {
      */
     @Override
     public List<Double> findStat(String function, List<String> columns) {
-        return Statistics.valueOf(function).calculate(dataFrameMap, columns);
+        if (cache == null) {
+            return Statistics.valueOf(function).calculate(dataFrameMap, columns);
+        }
+        return columns.parallelStream().map(column -> findStat(function, column)).collect(Collectors.toList());
     }
 
     /**
@@ -133,7 +238,11 @@ public class JDataFrame implements DataFrame {
      */
     @Override
     public Map<String, Object> describeStats(String column) {
-        return Statistics.describe(dataFrameMap, column);
+        StatisticsCache statisticsCache = cache;
+        if (statisticsCache == null) {
+            return Statistics.describe(dataFrameMap, column);
+        }
+        return new LinkedHashMap<>(statisticsCache.get(dataFrameMap, "describe", column, () -> Statistics.describe(dataFrameMap, column)));
     }
 
     /**
@@ -143,7 +252,203 @@ public class JDataFrame implements DataFrame {
      */
     @Override
     public Map<String, Map<String, Object>> describeStats(List<String> columns) {
-        return Statistics.describe(dataFrameMap, columns);
+        if (cache == null) {
+            return Statistics.describe(dataFrameMap, columns);
+        }
+        List<Map<String, Object>> stats = columns.parallelStream().map(this::describeStats).toList();
+        Map<String, Map<String, Object>> allStats = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            allStats.put(columns.get(i), stats.get(i));
+        }
+        return allStats;
+    }
+
+    /**
+     * Estimates a quantile (e.g., 0.95 for the 95th percentile) of a numerical column with a quantile sketch.
+     * The rank of the estimate is typically within 1.3% of the requested rank; use the MEDIAN statistic for an exact median.
+     * @param column the name of the column to calculate the quantile for
+     * @param q the quantile, between 0 and 1
+     * @return the estimated quantile of the column.
+     */
+    @Override
+    public double quantile(String column, double q) {
+        StatisticsCache statisticsCache = cache;
+        if (statisticsCache == null) {
+            return Statistics.quantile(dataFrameMap, column, q);
+        }
+        return statisticsCache.get(dataFrameMap, "quantile " + q, column, () -> Statistics.quantile(dataFrameMap, column, q));
+    }
+
+    /**
+     * Caches the results of {@link #findStat}, {@link #describeStats} and {@link #quantile} per statistic and column,
+     * replacing any cache this dataframe already has. A cached result is reused until its column is replaced, dropped
+     * or modified, for example by a replace or a dropNA, so repeated queries on a dataframe that rarely changes are
+     * computed once. Use {@link #cacheStats()} to size the cache.
+     *
+     * @param maximumSize the maximum number of results to keep
+     * @param policy      which result to evict when the cache is full
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public void enableCache(int maximumSize, EvictionPolicy policy) {
+        cache = new StatisticsCache(maximumSize, policy);
+    }
+
+    /**
+     * Stops caching results and drops the cached ones.
+     */
+    public void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the result cache.
+     *
+     * @return the counters, all zero if the cache is not enabled
+     */
+    public CacheStats cacheStats() {
+        StatisticsCache statisticsCache = cache;
+        return statisticsCache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : statisticsCache.stats();
+    }
+
+    /**
+     * Joins this dataframe with another one on a key column present in both.
+     *
+     * @param other the dataframe on the right side of the join
+     * @param on    the name of the key column
+     * @param type  which rows of both sides are kept
+     * @return the joined dataframe
+     */
+    public JDataFrame join(JDataFrame other, String on, JoinType type) {
+        return join(other, List.of(on), type);
+    }
+
+    /**
+     * Joins this dataframe with another one on key columns present in both. Rows match when all their keys are equal,
+     * and a null key never matches. Both sides sorted on a single integral or date key are merge joined, anything else
+     * is hash joined on the keys of the smaller side. The output holds the columns of this dataframe followed by the
+     * other columns of the right side, suffixed with "_right" when their name is already taken.
+     *
+     * @param other the dataframe on the right side of the join
+     * @param on    the names of the key columns
+     * @param type  which rows of both sides are kept
+     * @return the joined dataframe
+     * @throws IllegalArgumentException if a key column is missing from either side or its values can never match
+     */
+    public JDataFrame join(JDataFrame other, List<String> on, JoinType type) {
+        return new JDataFrame(new JoinImpl().join(dataFrameMap, other.getDataFrameMap(), on, type));
+    }
+
+    /**
+     * Sorts the rows of this dataframe by a column, placing null values last.
+     *
+     * @param column the column to sort by
+     * @param order  the order of the column
+     * @return the sorted dataframe
+     */
+    public JDataFrame sortBy(String column, Order order) {
+        return sortBy(List.of(column), List.of(order));
+    }
+
+    /**
+     * Sorts the rows of this dataframe by several columns, placing null values last.
+     *
+     * @param columns the columns to sort by, most significant first
+     * @param orders  the order of every column
+     * @return the sorted dataframe
+     */
+    public JDataFrame sortBy(List<String> columns, List<Order> orders) {
+        return sortBy(columns, orders, NullOrder.LAST);
+    }
+
+    /**
+     * Sorts the rows of this dataframe by several columns. Rows are ordered by the first column, ties by the second
+     * column and so on, and rows that tie on every column keep their order. Strings sort in natural order and numbers
+     * by value.
+     *
+     * @param columns   the columns to sort by, most significant first
+     * @param orders    the order of every column
+     * @param nullOrder where the null values of every column are placed
+     * @return the sorted dataframe
+     * @throws IllegalArgumentException if a column does not exist or the numbers of columns and orders differ
+     */
+    public JDataFrame sortBy(List<String> columns, List<Order> orders, NullOrder nullOrder) {
+        return new JDataFrame(new SortImpl().sortBy(dataFrameMap, columns, orders, nullOrder));
+    }
+
+    /**
+     * Selects the rows of this dataframe matching a column predicate, such as {@code col("Id").eq(42)}. Predicates on
+     * indexed columns are answered by their indexes, so repeated lookups in a long-lived dataframe do not scan it.
+     *
+     * @param predicate the predicate rows must satisfy
+     * @return the dataframe of the matching rows
+     * @see #createIndex(String, IndexType)
+     */
+    public JDataFrame filter(ColumnPredicate predicate) {
+        return new JDataFrame(new FilterImpl().filter(dataFrameMap, predicate));
+    }
+
+    /**
+     * Indexes a column so filters on it are answered without scanning it: a hash index answers equality and 'in'
+     * predicates in constant time, a sorted index also answers ranges with binary searches. The index is built right
+     * away and stays with the column, also within the builder pipelines started from this dataframe with
+     * {@code fromData}. Replaced values are re-indexed on the spot by a hash index and make a sorted index rebuild on
+     * its next lookup, and so do appended or removed rows for both kinds. Filtered, sorted or joined dataframes are
+     * not indexed.
+     *
+     * @param column the name of the column
+     * @param type   the kind of index
+     * @throws IllegalArgumentException if the column does not exist or holds booleans or other objects
+     */
+    public void createIndex(String column, IndexType type) {
+        requireColumn(column).createIndex(type);
+    }
+
+    /**
+     * Removes the index of a column, if any.
+     *
+     * @param column the name of the column
+     * @throws IllegalArgumentException if the column does not exist
+     */
+    public void dropIndex(String column) {
+        requireColumn(column).dropIndex();
+    }
+
+    /**
+     * Returns an immutable snapshot of this dataframe. The snapshot shares the rows of this dataframe instead of copying
+     * them: its columns are frozen and its map of columns cannot be modified, so it can be read by any number of threads
+     * without locking. This dataframe stays modifiable, each of its columns copying its rows before its next change, so
+     * only the columns that change are ever copied and the snapshot never sees the change.
+     *
+     * @return the snapshot, or this dataframe if it already is one
+     */
+    public JDataFrame snapshot() {
+        if (immutable) {
+            return this;
+        }
+        Map<String, List<Object>> columns = new LinkedHashMap<>();
+        dataFrameMap.forEach((name, values) -> {
+            Column column = values instanceof Column shared ? shared.share() : Columns.of(values);
+            column.freeze();
+            columns.put(name, column);
+        });
+        return new JDataFrame(Collections.unmodifiableMap(columns), true);
+    }
+
+    /**
+     * Checks whether this dataframe is an immutable snapshot.
+     *
+     * @return true if this dataframe was created by {@link #snapshot()}
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    private Column requireColumn(String column) {
+        Column values = getColumn(column);
+        if (values == null) {
+            throw new IllegalArgumentException("Column '" + column + "' does not exist!");
+        }
+        return values;
     }
 
     /**
@@ -160,22 +465,83 @@ public class JDataFrame implements DataFrame {
      * Exports a dataframe to a CSV file
      *
      * @param filePath the path of the destined CSV file.
+     * @throws UncheckedIOException if the file cannot be written
      */
     @Override
     public void exportToCSV(String filePath) {
         CSVUtils.writeToCSV(filePath, dataFrameMap);
     }
 
+    /**
+     * Exports a dataframe to a CSV file with a custom delimiter or quote character.
+     *
+     * @param filePath the path of the destined CSV file, ending with ".csv.gz" for gzip output.
+     * @param options  the options providing the delimiter and quote character
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void exportToCSV(String filePath, CSVOptions options) {
+        CSVUtils.writeToCSV(filePath, dataFrameMap, options);
+    }
+
     /**
      * Exports a dataframe to a JSON file
      *
      * @param filePath the path of the destined JSON file.
+     * @throws UncheckedIOException if the file cannot be written
      */
     @Override
     public void exportToJSON(String filePath) {
         JSONUtils.writeToJSONFile(filePath, dataFrameMap);
     }
 
+    /**
+     * Exports a dataframe to a JSON file in the given layout
+     *
+     * @param filePath the path of the destined JSON file.
+     * @param layout   the layout of the JSON document: row objects, column arrays or newline-delimited rows
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void exportToJSON(String filePath, JSONLayout layout) {
+        JSONUtils.writeToJSONFile(filePath, dataFrameMap, layout);
+    }
+
+    /**
+     * Exports a dataframe to an uncompressed binary file, which {@link #openBinary(String)} loads without parsing.
+     *
+     * @param filePath the path of the destined binary file, ending with ".jdf".
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void exportToBinary(String filePath) {
+        BinaryUtils.writeToBinary(filePath, dataFrameMap);
+    }
+
+    /**
+     * Exports a dataframe to a binary file, compressing every column block with deflate if requested.
+     *
+     * @param filePath   the path of the destined binary file, ending with ".jdf".
+     * @param compressed true to compress the column blocks
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void exportToBinary(String filePath, boolean compressed) {
+        BinaryUtils.writeToBinary(filePath, dataFrameMap, compressed);
+    }
+
+    /**
+     * Exports a dataframe to an Arrow file, which Arrow-based tools such as pyarrow, pandas or Polars can read.
+     *
+     * @param filePath the path of the destined Arrow file, ending with ".arrow" or ".feather" for the IPC file format
+     *                 or ".arrows" for the IPC stream format.
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void exportToArrow(String filePath) {
+        ArrowUtils.writeToArrow(filePath, dataFrameMap);
+    }
+
     /**
      * A private helper method that displays a range of rows from the DataFrame.
      *
@@ -209,6 +575,26 @@ public class JDataFrame implements DataFrame {
         }
     }
 
+    /**
+     * Returns the typed column stored under the given name.
+     *
+     * @param column the name of the column
+     * @return the column, or null if the dataframe has no such column
+     */
+    public Column getColumn(String column) {
+        List<Object> values = dataFrameMap.get(column);
+        return values == null ? null : Columns.asColumn(values);
+    }
+
+    /**
+     * Returns the columns of this dataframe by name. The map is the storage of this dataframe rather than a copy, so
+     * operations working on maps, such as replacing values or dropping rows, can modify the dataframe in place through
+     * it. Those changes stay within this dataframe: the columns it shares with the map it was created from, with its
+     * snapshots or with builders are copied before they change. The map of a snapshot cannot be modified and neither
+     * can its columns.
+     *
+     * @return the map of columns
+     */
     public Map<String, List<Object>> getDataFrameMap() {
         return dataFrameMap;
     }
@@ -1,36 +1,137 @@
 package io.github.dug22.jdataframe;
 
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.metrics.MetricsListener;
 import io.github.dug22.jdataframe.operations.drop.How;
-import io.github.dug22.jdataframe.operations.drop.impl.DropImpl;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
 import io.github.dug22.jdataframe.operations.filter.FilterPredicate;
-import io.github.dug22.jdataframe.operations.filter.impl.FilterImpl;
-import io.github.dug22.jdataframe.operations.group.impl.GroupByImpl;
-import io.github.dug22.jdataframe.operations.replace.ReplaceImpl;
-import io.github.dug22.jdataframe.util.CSVUtils;
+import io.github.dug22.jdataframe.operations.group.Aggregation;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+import io.github.dug22.jdataframe.operations.sort.NullOrder;
+import io.github.dug22.jdataframe.operations.sort.Order;
+import io.github.dug22.jdataframe.plan.LogicalPlan;
+import io.github.dug22.jdataframe.util.ArrowUtils;
+import io.github.dug22.jdataframe.util.CSVOptions;
+import io.github.dug22.jdataframe.util.ParquetUtils;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Builds a dataframe from a chain of operations. The operations are recorded in a {@link LogicalPlan} and only run
+ * when {@link #build()} is called, after the plan is optimized: adjacent filters and drops are merged into one pass,
+ * and when the data comes from a CSV file they are applied while the file is parsed, so dropped columns are never
+ * parsed and rejected rows are never stored. Errors such as a missing column are therefore reported by build().
+ */
 public class JDataFrameBuilder {
 
-    private Map<String, List<Object>> dataFrameMap;
+    private LogicalPlan plan;
+    private List<String> groupColumns;
+    private MetricsListener metricsListener;
 
     public JDataFrameBuilder() {
-        this.dataFrameMap = new LinkedHashMap<>();
+        this.plan = LogicalPlan.of(new LinkedHashMap<>());
     }
 
-    // Method to load data from a CSV file
+    /**
+     * Loads the data of a CSV file, inferring the type of every column with the default options.
+     *
+     * @param filePath the path of the CSV file
+     * @return the updated builder instance
+     * @throws IOException if the header of the file cannot be read
+     * @see #fromCSV(String, CSVOptions)
+     */
     public JDataFrameBuilder fromCSV(String filePath) throws IOException {
-        CSVUtils.readFromCSV(filePath, dataFrameMap);
+        return fromCSV(filePath, CSVOptions.defaults());
+    }
+
+    /**
+     * Loads the data of a CSV file with custom type inference, schema overrides or null tokens. Only the header is read
+     * right away, which reports a missing or unreadable file here. The rows are read by {@link #build()}, so that the
+     * filters and drops recorded after this call are applied while the file is parsed: an error met while reading the
+     * rows, such as the file being removed in between, is thrown by build() as an {@link java.io.UncheckedIOException},
+     * and a malformed row or a cell that does not fit a column type forced by the options as an
+     * {@link IllegalArgumentException}.
+     *
+     * @param filePath the path of the CSV file
+     * @param options  the options controlling type inference, schema overrides and null tokens
+     * @return the updated builder instance
+     * @throws IOException if the header of the file cannot be read
+     */
+    public JDataFrameBuilder fromCSV(String filePath, CSVOptions options) throws IOException {
+        applyGroupBy();
+        this.plan = plan.readCSV(filePath, options);
+        return this;
+    }
+
+    // Method to load data from an Arrow file in the IPC file (Feather) or stream format
+    public JDataFrameBuilder fromArrow(String filePath) throws IOException {
+        applyGroupBy();
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        Metrics.Scope scope = Metrics.scope(metricsListener);
+        try {
+            ArrowUtils.readFromArrow(filePath, data);
+        } finally {
+            scope.close();
+        }
+        this.plan = LogicalPlan.of(data);
+        return this;
+    }
+
+    // Method to load data from a Parquet file
+    public JDataFrameBuilder fromParquet(String filePath) throws IOException {
+        return fromParquet(filePath, null, null);
+    }
+
+    /**
+     * Loads the given columns of the rows of a Parquet file matching a predicate. Only the column chunks of the
+     * requested columns and of the columns read by the predicate are decoded, and the row groups whose min/max
+     * statistics show that no row can match are skipped. The rows that are read are then filtered like
+     * {@link #filter(ColumnPredicate)} does.
+     *
+     * @param filePath  the path of the Parquet file
+     * @param columns   the columns to load, or null to load every column
+     * @param predicate the predicate selecting the rows to load, or null to load every row
+     * @return the updated builder instance
+     * @throws IOException if the file cannot be read or a requested column cannot be decoded
+     */
+    public JDataFrameBuilder fromParquet(String filePath, List<String> columns, ColumnPredicate predicate) throws IOException {
+        applyGroupBy();
+        Set<String> read = null;
+        if (columns != null) {
+            read = new HashSet<>(columns);
+            if (predicate != null) {
+                read.addAll(predicate.columns());
+            }
+        }
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        Metrics.Scope scope = Metrics.scope(metricsListener);
+        try {
+            ParquetUtils.readFromParquet(filePath, data, read, predicate);
+        } finally {
+            scope.close();
+        }
+        List<String> predicateOnly = columns == null ? List.of() : data.keySet().stream().filter(column -> !columns.contains(column)).toList();
+        this.plan = LogicalPlan.of(data);
+        if (predicate != null) {
+            this.plan = plan.filter(predicate);
+        }
+        if (!predicateOnly.isEmpty()) {
+            this.plan = plan.drop(predicateOnly);
+        }
         return this;
     }
 
     // Method to set an initial data frame map (optional)
     public JDataFrameBuilder fromData(Map<String, List<Object>> data) {
-        this.dataFrameMap = new LinkedHashMap<>(data);
+        applyGroupBy();
+        this.plan = LogicalPlan.of(Columns.toColumnMap(data));
         return this;
     }
 
@@ -40,8 +141,7 @@ public class JDataFrameBuilder {
      * @return the dataframe with the specified column dropped
      */
     public JDataFrameBuilder drop(String column){
-        new DropImpl().drop(dataFrameMap, column);
-        return this;
+        return drop(List.of(column));
     }
 
     /**
@@ -50,7 +150,8 @@ public class JDataFrameBuilder {
      * @return the dataframe with the specified columns dropped
      */
     public JDataFrameBuilder drop(List<String> columns){
-        new DropImpl().drop(dataFrameMap, columns);
+        applyGroupBy();
+        this.plan = plan.drop(columns);
         return this;
     }
 
@@ -63,8 +164,7 @@ public class JDataFrameBuilder {
      * @return the dataframe with the null values dropped according to the specified 'how' parameter.
      */
     public JDataFrameBuilder dropNA(String column, How how){
-        new DropImpl().dropNA(dataFrameMap, column, how);
-        return this;
+        return dropNA(Collections.singletonList(column), how);
     }
 
     /**
@@ -76,7 +176,8 @@ public class JDataFrameBuilder {
      * @return the dataframe with null values dropped according to the specified `how` parameter.
      */
     public JDataFrameBuilder dropNA(List<String> columns, How how){
-        new DropImpl().dropNA(dataFrameMap, columns, how);
+        applyGroupBy();
+        this.plan = plan.dropNA(columns, how);
         return this;
     }
 
@@ -90,8 +191,7 @@ public class JDataFrameBuilder {
      * @return the updated builder instance with the filtered DataFrame
      */
     public JDataFrameBuilder filter(String column, FilterPredicate<?> condition) {
-        this.dataFrameMap = new FilterImpl().filter(dataFrameMap, column, condition);
-        return this;
+        return filter(ColumnPredicate.rows(Collections.singletonList(column), condition));
     }
 
     /**
@@ -104,7 +204,21 @@ public class JDataFrameBuilder {
      * @return the updated builder instance with the filtered DataFrame
      */
     public JDataFrameBuilder filter(List<String> columns, FilterPredicate<?> condition) {
-        this.dataFrameMap = new FilterImpl().filter(dataFrameMap, columns, condition);
+        return filter(ColumnPredicate.rows(columns, condition));
+    }
+
+    /**
+     * Filters the rows of the DataFrame with a column predicate, for example
+     * {@code col("Age").gt(30).and(col("Department").in("HR", "Engineering"))}.
+     * The predicate is evaluated a column at a time over the typed column arrays, which is much faster
+     * than testing a row map per row.
+     *
+     * @param predicate the column predicate selecting the rows to keep
+     * @return the updated builder instance with the filtered DataFrame
+     */
+    public JDataFrameBuilder filter(ColumnPredicate predicate) {
+        applyGroupBy();
+        this.plan = plan.filter(predicate);
         return this;
     }
 
@@ -118,8 +232,7 @@ public class JDataFrameBuilder {
      * @throws IndexOutOfBoundsException if the specified index is out of bounds for the column.
      */
     public JDataFrameBuilder replace(String column, int index, Object value){
-        new ReplaceImpl().replace(dataFrameMap, column, index, value);
-        return this;
+        return replace(List.of(column), List.of(index), Collections.singletonList(value));
     }
 
     /**
@@ -133,7 +246,8 @@ public class JDataFrameBuilder {
      * @throws IndexOutOfBoundsException if any specified index is out of bounds for its corresponding column.
      */
     public JDataFrameBuilder replace(List<String> columns, List<Integer> indexes, List<Object> values){
-        new ReplaceImpl().replace(dataFrameMap, columns, indexes, values);
+        applyGroupBy();
+        this.plan = plan.replace(columns, indexes, values);
         return this;
     }
 
@@ -147,9 +261,7 @@ public class JDataFrameBuilder {
      * @return the updated builder instance with the grouped DataFrame
      */
     public JDataFrameBuilder groupBy(String column) {
-        Map<Object, Map<String, List<Object>>> groupedMap = new GroupByImpl().groupBy(dataFrameMap, column);
-        this.dataFrameMap = convertGroupedMapToDataFrame(groupedMap);
-        return this;
+        return groupBy(List.of(column));
     }
 
     /**
@@ -162,36 +274,150 @@ public class JDataFrameBuilder {
      * @return the updated builder instance with the grouped DataFrame
      */
     public JDataFrameBuilder groupBy(List<String> columns) {
-        Map<Object, Map<String, List<Object>>> groupedMap = new GroupByImpl().groupBy(dataFrameMap, columns);
-        this.dataFrameMap = convertGroupedMapToDataFrame(groupedMap);
+        applyGroupBy();
+        this.groupColumns = List.copyOf(columns);
         return this;
     }
 
     /**
-     * Converts a grouped map structure back into a DataFrame format.
-     * This method takes the result of a group-by operation (a nested map) and
-     * flattens it into the standard DataFrame structure (a map of column names to lists of data).
+     * Aggregates the groups of the preceding {@link #groupBy(List)} call, producing one row per group, for example
+     * {@code groupBy("Department").agg(sum("Salary"), mean("Age"), count())}.
+     * The grouping columns come first, followed by one column per aggregation. Groups are ordered by first appearance
+     * and computed in a single pass with a hash table, without reordering the rows of the DataFrame.
      *
-     * @param groupedMap the grouped map result from the group-by operation.
-     * @return a map representing the DataFrame with columns and their respective grouped data.
+     * @param aggregations the aggregations computed for every group
+     * @return the updated builder instance with the aggregated DataFrame
+     * @throws IllegalArgumentException if groupBy was not called first, or an aggregated column does not exist or is not numeric
      */
-    private Map<String, List<Object>> convertGroupedMapToDataFrame(Map<Object, Map<String, List<Object>>> groupedMap) {
-        Map<String, List<Object>> newDataFrameMap = new LinkedHashMap<>();
-        for (Map.Entry<Object, Map<String, List<Object>>> entry : groupedMap.entrySet()) {
-            for (Map.Entry<String, List<Object>> innerEntry : entry.getValue().entrySet()) {
-                newDataFrameMap.computeIfAbsent(innerEntry.getKey(), k -> new ArrayList<>()).addAll(innerEntry.getValue());
-            }
+    public JDataFrameBuilder agg(Aggregation... aggregations) {
+        if (groupColumns == null) {
+            throw new IllegalArgumentException("agg must follow a groupBy call!");
         }
-        return newDataFrameMap;
+        List<String> columns = groupColumns;
+        this.groupColumns = null;
+        this.plan = plan.aggregate(columns, List.of(aggregations));
+        return this;
     }
 
+    /**
+     * Sorts the rows of the DataFrame by a column, placing null values last.
+     *
+     * @param column the column to sort by
+     * @param order  the order of the column
+     * @return the updated builder instance with the sorted DataFrame
+     */
+    public JDataFrameBuilder sortBy(String column, Order order) {
+        return sortBy(List.of(column), List.of(order));
+    }
 
     /**
-     * Builds the given dataframe
+     * Sorts the rows of the DataFrame by several columns, placing null values last.
+     *
+     * @param columns the columns to sort by, most significant first
+     * @param orders  the order of every column
+     * @return the updated builder instance with the sorted DataFrame
+     */
+    public JDataFrameBuilder sortBy(List<String> columns, List<Order> orders) {
+        return sortBy(columns, orders, NullOrder.LAST);
+    }
+
+    /**
+     * Sorts the rows of the DataFrame by several columns, as done by {@link JDataFrame#sortBy(List, List, NullOrder)}.
+     * Filters and drops recorded after the sort are applied before it, so fewer rows are sorted.
+     *
+     * @param columns   the columns to sort by, most significant first
+     * @param orders    the order of every column
+     * @param nullOrder where the null values of every column are placed
+     * @return the updated builder instance with the sorted DataFrame
+     */
+    public JDataFrameBuilder sortBy(List<String> columns, List<Order> orders, NullOrder nullOrder) {
+        applyGroupBy();
+        this.plan = plan.sortBy(columns, orders, nullOrder);
+        return this;
+    }
+
+    /**
+     * Joins the DataFrame with another one on a key column present in both.
+     *
+     * @param other the dataframe on the right side of the join
+     * @param on    the name of the key column
+     * @param type  which rows of both sides are kept
+     * @return the updated builder instance with the joined DataFrame
+     */
+    public JDataFrameBuilder join(JDataFrame other, String on, JoinType type) {
+        return join(other, List.of(on), type);
+    }
+
+    /**
+     * Joins the DataFrame with another one on key columns present in both, as done by
+     * {@link JDataFrame#join(JDataFrame, List, JoinType)}.
+     *
+     * @param other the dataframe on the right side of the join
+     * @param on    the names of the key columns
+     * @param type  which rows of both sides are kept
+     * @return the updated builder instance with the joined DataFrame
+     */
+    public JDataFrameBuilder join(JDataFrame other, List<String> on, JoinType type) {
+        applyGroupBy();
+        this.plan = plan.join(other.getDataFrameMap(), on, type);
+        return this;
+    }
+
+    /**
+     * Reports the stages run by this builder to a listener instead of the listener registered with
+     * {@link Metrics#setListener(MetricsListener)}: the Arrow and Parquet reads, every node of the executed plans, the
+     * operations they call and a "build" stage covering each call to {@link #build()}.
+     *
+     * @param listener the listener, or null to use the registered listener again
+     * @return the builder instance
+     */
+    public JDataFrameBuilder metrics(MetricsListener listener) {
+        this.metricsListener = listener;
+        return this;
+    }
+
+    /**
+     * Prints the optimized plan of the operations recorded so far, starting with the last operation.
+     *
+     * @return the builder instance, unchanged
+     */
+    public JDataFrameBuilder explain() {
+        LogicalPlan explainedPlan = groupColumns == null ? plan : plan.groupBy(groupColumns);
+        System.out.println(explainedPlan.explain());
+        return this;
+    }
+
+    /**
+     * Reorders the rows of the DataFrame group by group when a groupBy call was not followed by an aggregation.
+     */
+    private void applyGroupBy() {
+        if (groupColumns != null) {
+            this.plan = plan.groupBy(groupColumns);
+            this.groupColumns = null;
+        }
+    }
+
+    /**
+     * Optimizes and executes the recorded operations, then builds the resulting dataframe.
+     * The builder keeps the result, so further operations start from it.
+     *
      * @return the built dataframe
+     * @throws java.io.UncheckedIOException if the rows of a CSV file cannot be read
+     * @throws IllegalArgumentException if a CSV row is malformed or a cell does not fit a column type forced by the options
      */
     public JDataFrame build() {
+        applyGroupBy();
+        Map<String, List<Object>> dataFrameMap;
+        Metrics.Scope scope = Metrics.scope(metricsListener);
+        try {
+            try (Metrics.Stage stage = Metrics.start("build", plan::toString, null)) {
+                dataFrameMap = plan.execute();
+                stage.end(dataFrameMap);
+            }
+        } finally {
+            scope.close();
+        }
+        this.plan = LogicalPlan.of(dataFrameMap);
         return new JDataFrame(dataFrameMap);
     }
 }
-
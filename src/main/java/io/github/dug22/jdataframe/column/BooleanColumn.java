@@ -0,0 +1,175 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+
+public class BooleanColumn extends Column {
+
+    private boolean[] data;
+
+    /**
+     * Creates an empty boolean column.
+     */
+    public BooleanColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty boolean column with the given initial capacity.
+     *
+     * @param capacity the initial capacity
+     */
+    public BooleanColumn(int capacity) {
+        this.data = new boolean[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Creates a boolean column that wraps the given values without copying them.
+     *
+     * @param values the column values
+     */
+    public BooleanColumn(boolean[] values) {
+        this.data = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Creates a boolean column from the given values.
+     *
+     * @param values the column values
+     * @return the new column
+     */
+    public static BooleanColumn of(boolean... values) {
+        return new BooleanColumn(values.clone());
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.BOOLEAN;
+    }
+
+    /**
+     * Returns the primitive value at the given row. The result is undefined for null rows.
+     *
+     * @param index the row index
+     * @return the primitive value
+     */
+    public boolean getBoolean(int index) {
+        return data[index];
+    }
+
+    /**
+     * Replaces the value at the given row and clears its null flag.
+     *
+     * @param index the row index
+     * @param value the new value
+     */
+    public void setBoolean(int index, boolean value) {
+        beforeUpdate(index);
+        data[index] = value;
+        clearNull(index);
+        afterUpdate(index);
+    }
+
+    /**
+     * Appends a primitive value to the column.
+     *
+     * @param value the value to append
+     */
+    public void appendBoolean(boolean value) {
+        ensureCapacity(size + 1);
+        data[size] = value;
+        clearNull(size);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void appendNull() {
+        ensureCapacity(size + 1);
+        data[size] = false;
+        markNull(size);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Returns the backing array of this column. Only the first {@link #size()} entries are valid
+     * and entries of null rows are undefined. The array must be treated as read-only.
+     *
+     * @return the backing array
+     */
+    public boolean[] data() {
+        return data;
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        return value instanceof Boolean;
+    }
+
+    @Override
+    public Column gather(int[] rows) {
+        boolean[] gathered = new boolean[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (row >= 0) {
+                gathered[i] = data[row];
+            }
+        }
+        BooleanColumn column = new BooleanColumn(gathered);
+        column.nulls = gatherNulls(rows);
+        return column;
+    }
+
+    @Override
+    public Column emptyCopy(int capacity) {
+        return new BooleanColumn(capacity);
+    }
+
+    @Override
+    public Column copy() {
+        BooleanColumn column = new BooleanColumn(Arrays.copyOf(data, size));
+        column.nulls = nulls == null ? null : nulls.copy();
+        return column;
+    }
+
+    @Override
+    protected Object getValue(int index) {
+        return data[index];
+    }
+
+    @Override
+    protected void setValue(int index, Object value) {
+        data[index] = (Boolean) value;
+    }
+
+    @Override
+    protected void copyValue(int from, int to) {
+        data[to] = data[from];
+    }
+
+    @Override
+    protected void copyValues(Column source, int offset) {
+        System.arraycopy(((BooleanColumn) source).data, 0, data, offset, source.size);
+    }
+
+    @Override
+    protected Column shareStorage() {
+        return new BooleanColumn(data);
+    }
+
+    @Override
+    protected void copyStorage(int rows) {
+        boolean[] copy = new boolean[data.length];
+        System.arraycopy(data, 0, copy, 0, rows);
+        data = copy;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        prepareWrite(size);
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+        }
+    }
+}
@@ -0,0 +1,524 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * A single column of a dataframe backed by a typed array and a separate null bitmap.
+ * Columns implement {@code List<Object>} so they can be stored in the map-based dataframe
+ * representation; {@link #get(int)} boxes on demand while the typed subclasses expose
+ * primitive accessors for the operations.
+ */
+public abstract class Column extends AbstractList<Object> implements RandomAccess {
+
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    protected int size;
+    protected NullBitmap nulls;
+    private IndexType indexType;
+    private volatile ColumnIndex index;
+    private long updates;
+    private volatile boolean frozen;
+    private volatile boolean shared;
+
+    /**
+     * Returns the type of the values held by this column.
+     *
+     * @return the column type
+     */
+    public abstract ColumnType type();
+
+    /**
+     * Checks whether the given value can be stored in this column without conversion.
+     *
+     * @param value a non-null value
+     * @return true if the value is accepted, false otherwise
+     */
+    public abstract boolean accepts(Object value);
+
+    /**
+     * Creates a new column holding the rows at the given indexes, in order.
+     * An index of -1 produces a null row.
+     *
+     * @param rows the row indexes to gather
+     * @return the gathered column
+     */
+    public abstract Column gather(int[] rows);
+
+    /**
+     * Creates an empty column of the same type.
+     *
+     * @param capacity the initial capacity of the new column
+     * @return the empty column
+     */
+    public abstract Column emptyCopy(int capacity);
+
+    /**
+     * Creates a deep copy of this column.
+     *
+     * @return the copied column
+     */
+    public abstract Column copy();
+
+    /**
+     * Appends a null row.
+     */
+    public abstract void appendNull();
+
+    protected abstract Object getValue(int index);
+
+    protected abstract void setValue(int index, Object value);
+
+    protected abstract void copyValue(int from, int to);
+
+    protected abstract void ensureCapacity(int capacity);
+
+    /**
+     * Creates a column of the same class over the arrays of this column, without copying them. The size, null bitmap
+     * and index of the new column are set by {@link #view()}.
+     *
+     * @return the new column
+     */
+    protected abstract Column shareStorage();
+
+    /**
+     * Replaces the arrays of this column with private copies of the same capacity holding its first rows, so the
+     * column no longer writes to the arrays it shares with other columns.
+     *
+     * @param rows the number of leading rows to copy
+     */
+    protected abstract void copyStorage(int rows);
+
+    /**
+     * Copies every value of a column of the same class into this column, starting at the given offset.
+     * The capacity must already be large enough.
+     *
+     * @param source the column to copy from
+     * @param offset the first index written in this column
+     */
+    protected abstract void copyValues(Column source, int offset);
+
+    /**
+     * Releases the values between the given indexes once they are no longer part of the column.
+     * Reference-backed columns override this to drop references; primitive columns keep their data.
+     *
+     * @param fromIndex the first released index, inclusive
+     * @param toIndex   the last released index, exclusive
+     */
+    protected void releaseValues(int fromIndex, int toIndex) {
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the row at the given index is null.
+     *
+     * @param index the row index
+     * @return true if the row is null
+     */
+    public boolean isNull(int index) {
+        return nulls != null && nulls.get(index);
+    }
+
+    /**
+     * Counts the null rows of this column.
+     *
+     * @return the number of null rows
+     */
+    public int nullCount() {
+        return nulls == null ? 0 : nulls.cardinality();
+    }
+
+    /**
+     * Returns the null bitmap of this column, or null if no row has ever been null.
+     *
+     * @return the null bitmap
+     */
+    public NullBitmap nulls() {
+        return nulls;
+    }
+
+    @Override
+    public Object get(int index) {
+        Objects.checkIndex(index, size);
+        return isNull(index) ? null : getValue(index);
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+        Objects.checkIndex(index, size);
+        Object previous = get(index);
+        if (value == null) {
+            beforeUpdate(index);
+            markNull(index);
+        } else {
+            requireAccepted(value);
+            beforeUpdate(index);
+            setValue(index, value);
+            clearNull(index);
+        }
+        afterUpdate(index);
+        return previous;
+    }
+
+    @Override
+    public boolean add(Object value) {
+        if (value == null) {
+            appendNull();
+            return true;
+        }
+        requireAccepted(value);
+        ensureCapacity(size + 1);
+        setValue(size, value);
+        clearNull(size);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Appends every value of the given collection. Columns of the same class are copied in bulk
+     * together with their null flags, anything else is appended value by value.
+     *
+     * @param values the values to append
+     * @return true if the column changed
+     */
+    @Override
+    public boolean addAll(Collection<?> values) {
+        if (values instanceof Column other && other.getClass() == getClass()) {
+            int offset = size;
+            ensureCapacity(size + other.size);
+            copyValues(other, offset);
+            if (other.nulls != null) {
+                long[] words = other.nulls.words();
+                for (int word = 0; word < words.length; word++) {
+                    long bits = words[word];
+                    while (bits != 0) {
+                        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        if (index < other.size) {
+                            markNull(offset + index);
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+            }
+            size += other.size;
+            modCount++;
+            return other.size > 0;
+        }
+        return super.addAll(values);
+    }
+
+    @Override
+    public Object remove(int index) {
+        prepareWrite(size);
+        Objects.checkIndex(index, size);
+        Object previous = get(index);
+        for (int i = index + 1; i < size; i++) {
+            moveRow(i, i - 1);
+        }
+        truncate(size - 1);
+        return previous;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Object> filter) {
+        prepareWrite(size);
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(get(i))) {
+                if (kept != i) {
+                    moveRow(i, kept);
+                }
+                kept++;
+            }
+        }
+        boolean removed = kept != size;
+        truncate(kept);
+        return removed;
+    }
+
+    /**
+     * Keeps only the rows whose bit is set in a selection, compacting the column in place in a single pass.
+     * Row i is kept if bit i % 64 of word i / 64 is set; rows beyond the selection are removed.
+     *
+     * @param selection the selection words
+     */
+    public void retainRows(long[] selection) {
+        prepareWrite(size);
+        int kept = 0;
+        for (int word = 0; word < selection.length && (word << 6) < size; word++) {
+            int base = word << 6;
+            long bits = selection[word];
+            if (bits == -1L && kept == base && base + 64 <= size) {
+                kept += 64;
+                continue;
+            }
+            for (; bits != 0; bits &= bits - 1) {
+                int row = base + Long.numberOfTrailingZeros(bits);
+                if (row >= size) {
+                    break;
+                }
+                if (kept != row) {
+                    moveRow(row, kept);
+                }
+                kept++;
+            }
+        }
+        truncate(kept);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        prepareWrite(size);
+        int removed = toIndex - fromIndex;
+        for (int i = toIndex; i < size; i++) {
+            moveRow(i, i - removed);
+        }
+        truncate(size - removed);
+    }
+
+    @Override
+    public void clear() {
+        prepareWrite(0);
+        truncate(0);
+    }
+
+    /**
+     * Indexes this column, replacing any index it already has. The index is built right away, then kept with the
+     * column and used by the filters on it: see {@link ColumnIndex}. Copies and gathered columns are not indexed.
+     *
+     * @param type the kind of index
+     * @throws IllegalArgumentException if the column holds booleans or other objects
+     */
+    public synchronized void createIndex(IndexType type) {
+        Objects.requireNonNull(type, "The index type cannot be null!");
+        if (!ColumnIndex.isIndexable(this)) {
+            throw new IllegalArgumentException("A " + type() + " column cannot be indexed!");
+        }
+        indexType = type;
+        index = ColumnIndex.build(this, type);
+    }
+
+    /**
+     * Removes the index of this column, if any.
+     */
+    public synchronized void dropIndex() {
+        indexType = null;
+        index = null;
+    }
+
+    /**
+     * Returns the index of this column, first rebuilding it if the column changed in a way the index could not follow.
+     *
+     * @return the index, or null if the column is not indexed
+     */
+    public ColumnIndex index() {
+        ColumnIndex current = index;
+        if (current != null && current.isCurrent()) {
+            return current;
+        }
+        synchronized (this) {
+            if (indexType == null) {
+                return null;
+            }
+            if (index == null || !index.isCurrent()) {
+                index = ColumnIndex.build(this, indexType);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Returns the kind of index of this column without building it.
+     *
+     * @return the index type, or null if the column is not indexed
+     */
+    public IndexType indexType() {
+        return indexType;
+    }
+
+    /**
+     * Indexes this column like another one, building the index on the first lookup. Used when a column is replaced
+     * by a converted copy.
+     */
+    void inheritIndex(Column source) {
+        if (source.indexType != null && indexType == null && ColumnIndex.isIndexable(this)) {
+            indexType = source.indexType;
+        }
+    }
+
+    /**
+     * Must be called by the typed setters before a row is replaced in place, so the index can follow the change.
+     */
+    void beforeUpdate(int row) {
+        prepareWrite(size);
+        if (index != null) {
+            index.beforeUpdate(row);
+        }
+    }
+
+    /**
+     * Must be called by the typed setters after a row was replaced in place.
+     */
+    void afterUpdate(int row) {
+        updates++;
+        if (index != null) {
+            index.afterUpdate(row);
+        }
+    }
+
+    /**
+     * Returns the modification version of this column, which grows with every replaced, appended or removed row, so
+     * results computed from the column can tell whether it changed since. Writes made directly to the arrays returned
+     * by the typed columns are not counted.
+     *
+     * @return the modification version
+     */
+    public long version() {
+        return modCount + updates;
+    }
+
+    /**
+     * Returns the number of structural changes made to this column so far.
+     */
+    int modifications() {
+        return modCount;
+    }
+
+    /**
+     * Returns a column holding the same rows as this column without copying them. Both columns then copy the rows they
+     * share before their next change, so a change made to either of them is never seen by the other, and a column that
+     * is never changed is never copied. The new column is indexed like this column, its index being built on the first
+     * lookup.
+     *
+     * @return the new column
+     */
+    public Column share() {
+        Column column = view();
+        shared = true;
+        return column;
+    }
+
+    /**
+     * Returns a column reading the rows of this column without copying them. Unlike {@link #share()}, only the new
+     * column copies the rows before its first change: this column keeps changing its rows in place, so the view is
+     * only valid until this column changes. Used to hand out buffers that are reused.
+     *
+     * @return the new column
+     */
+    public Column view() {
+        Column column = shareStorage();
+        column.size = size;
+        column.nulls = nulls;
+        column.inheritIndex(this);
+        column.shared = true;
+        return column;
+    }
+
+    /**
+     * Makes this column read-only, which it stays: every later attempt to replace, append or remove a row throws an
+     * {@link UnsupportedOperationException}. A frozen column can be read by several threads without locking, and the
+     * columns shared from it with {@link #share()} can still be modified.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Checks whether this column is read-only.
+     *
+     * @return true if the column was frozen
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Checks whether this column may still share its rows with another column, in which case it copies them before its
+     * next change.
+     */
+    boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Called before every change to the rows of the column. Throws if the column is frozen, and gives the column its
+     * own copy of its arrays if it shares them with another column.
+     *
+     * @param rows the number of leading rows the change keeps, the others being discarded
+     */
+    protected void prepareWrite(int rows) {
+        if (frozen) {
+            throw new UnsupportedOperationException("A frozen column cannot be modified, modify a copy of it instead!");
+        }
+        if (shared) {
+            copyStorage(rows);
+            if (nulls != null) {
+                nulls = nulls.copy();
+            }
+            shared = false;
+        }
+    }
+
+    protected void markNull(int index) {
+        if (nulls == null) {
+            nulls = new NullBitmap(Math.max(index + 1, size));
+        }
+        nulls.set(index);
+    }
+
+    protected void clearNull(int index) {
+        if (nulls != null) {
+            nulls.clear(index);
+        }
+    }
+
+    /**
+     * Gathers the null bitmap for the given row indexes.
+     *
+     * @param rows the row indexes, where -1 produces a null row
+     * @return the gathered bitmap, or null if none of the gathered rows is null
+     */
+    protected NullBitmap gatherNulls(int[] rows) {
+        NullBitmap gathered = null;
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (row < 0 || isNull(row)) {
+                if (gathered == null) {
+                    gathered = new NullBitmap(rows.length);
+                }
+                gathered.set(i);
+            }
+        }
+        return gathered;
+    }
+
+    protected void requireAccepted(Object value) {
+        if (!accepts(value)) {
+            throw new IllegalArgumentException("A " + value.getClass().getSimpleName() + " value cannot be stored in a " + type() + " column!");
+        }
+    }
+
+    private void moveRow(int from, int to) {
+        copyValue(from, to);
+        if (nulls != null) {
+            nulls.set(to, nulls.get(from));
+        }
+    }
+
+    private void truncate(int newSize) {
+        releaseValues(newSize, size);
+        if (nulls != null) {
+            nulls.truncate(newSize);
+        }
+        size = newSize;
+        modCount++;
+    }
+}
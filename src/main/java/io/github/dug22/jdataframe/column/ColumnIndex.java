@@ -0,0 +1,214 @@
+package io.github.dug22.jdataframe.column;
+
+/**
+ * A secondary index over the non-null rows of a column, created with {@link Column#createIndex(IndexType)}, which
+ * finds the rows holding a value without scanning the column. Every lookup returns the matching row indexes in
+ * ascending order, null rows excluded.
+ * <p>
+ * Integer, long and date columns are looked up by long values (epoch days for dates), double columns by double values
+ * compared like {@link Double#compare}, so NaN matches NaN and 0.0 differs from -0.0, and text columns by strings.
+ * An index stays attached to its column and follows its changes: it is rebuilt on the first lookup after rows are
+ * appended or removed, while replaced rows are either re-indexed on the spot or trigger a rebuild, depending on the
+ * {@link IndexType}.
+ */
+public abstract sealed class ColumnIndex permits HashIndex, SortedIndex {
+
+    final Column column;
+    private final int size;
+    private final int modifications;
+
+    ColumnIndex(Column column) {
+        this.column = column;
+        this.size = column.size();
+        this.modifications = column.modifications();
+    }
+
+    /**
+     * Builds an index over the current rows of a column.
+     *
+     * @param column the column to index
+     * @param type   the kind of index
+     * @return the index
+     */
+    static ColumnIndex build(Column column, IndexType type) {
+        return type == IndexType.HASH ? new HashIndex(column) : new SortedIndex(column);
+    }
+
+    /**
+     * Checks whether a column can be indexed, which integer, long, date, double and text columns can.
+     *
+     * @param column the column to check
+     * @return true if the column can be indexed
+     */
+    static boolean isIndexable(Column column) {
+        return column instanceof IntColumn || column instanceof LongColumn || column instanceof DateColumn
+                || column instanceof DoubleColumn || column instanceof DictionaryColumn || column instanceof StringColumn;
+    }
+
+    /**
+     * Returns the kind of this index.
+     *
+     * @return the index type
+     */
+    public abstract IndexType type();
+
+    /**
+     * Finds the rows of an integer, long or date column holding a value.
+     *
+     * @param value the value, as an epoch day for dates
+     * @return the matching rows in ascending order
+     */
+    public int[] lookup(long value) {
+        requireIntegral();
+        return rowsWithKey(value);
+    }
+
+    /**
+     * Finds the rows of a double column holding a value.
+     *
+     * @param value the value
+     * @return the matching rows in ascending order
+     */
+    public int[] lookup(double value) {
+        requireDouble();
+        return rowsWithKey(doubleKey(value));
+    }
+
+    /**
+     * Finds the rows of a text column holding a value.
+     *
+     * @param value the value
+     * @return the matching rows in ascending order
+     */
+    public int[] lookup(String value) {
+        requireText();
+        return value == null ? new int[0] : rowsWithText(value);
+    }
+
+    /**
+     * Finds the rows of an integer, long or date column holding a value between two inclusive bounds.
+     * Only sorted indexes answer ranges.
+     *
+     * @param lower the inclusive lower bound
+     * @param upper the inclusive upper bound
+     * @return the matching rows in ascending order
+     */
+    public int[] range(long lower, long upper) {
+        requireIntegral();
+        return lower > upper ? new int[0] : rowsBetweenKeys(lower, upper);
+    }
+
+    /**
+     * Finds the rows of a double column holding a value between two inclusive bounds, in the order of
+     * {@link Double#compare}: a range from -0.0 covers 0.0 but a range from 0.0 does not cover -0.0, and NaN lies
+     * above positive infinity. Only sorted indexes answer ranges.
+     *
+     * @param lower the inclusive lower bound
+     * @param upper the inclusive upper bound
+     * @return the matching rows in ascending order
+     */
+    public int[] range(double lower, double upper) {
+        requireDouble();
+        return Double.compare(lower, upper) > 0 ? new int[0] : rowsBetweenKeys(doubleKey(lower), doubleKey(upper));
+    }
+
+    /**
+     * Finds the rows of a text column holding a value within a range, comparing strings with
+     * {@link String#compareTo}. Only sorted indexes answer ranges.
+     *
+     * @param lower          the lower bound, or null for no lower bound
+     * @param lowerInclusive whether rows equal to the lower bound match
+     * @param upper          the upper bound, or null for no upper bound
+     * @param upperInclusive whether rows equal to the upper bound match
+     * @return the matching rows in ascending order
+     */
+    public int[] range(String lower, boolean lowerInclusive, String upper, boolean upperInclusive) {
+        requireText();
+        return rowsBetweenText(lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    abstract int[] rowsWithKey(long key);
+
+    abstract int[] rowsWithText(String value);
+
+    abstract int[] rowsBetweenKeys(long lower, long upper);
+
+    abstract int[] rowsBetweenText(String lower, boolean lowerInclusive, String upper, boolean upperInclusive);
+
+    /**
+     * Called before the value of a row is replaced in place.
+     *
+     * @param row the row about to change
+     */
+    abstract void beforeUpdate(int row);
+
+    /**
+     * Called after the value of a row was replaced in place.
+     *
+     * @param row the row that changed
+     */
+    abstract void afterUpdate(int row);
+
+    /**
+     * Checks whether this index still describes its column, which it no longer does once rows were appended or
+     * removed since it was built.
+     *
+     * @return true if the index can answer lookups
+     */
+    boolean isCurrent() {
+        return column.size() == size && column.modifications() == modifications;
+    }
+
+    /**
+     * Returns the key of a non-null row of an integer, long, date or double column.
+     */
+    static long primitiveKey(Column column, int row) {
+        return switch (column) {
+            case IntColumn intColumn -> intColumn.getInt(row);
+            case LongColumn longColumn -> longColumn.getLong(row);
+            case DateColumn dateColumn -> dateColumn.getEpochDay(row);
+            case DoubleColumn doubleColumn -> doubleKey(doubleColumn.getDouble(row));
+            default -> throw new IllegalArgumentException("Unsupported key column type: " + column.type());
+        };
+    }
+
+    /**
+     * Maps a double to a long that sorts like {@link Double#compare}, with every NaN mapped to the same key.
+     */
+    static long doubleKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Selects the rows of a bitmap of the column, in ascending order.
+     */
+    static int[] rowsOf(long[] words, int count) {
+        int[] rows = new int[count];
+        int next = 0;
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                rows[next++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return rows;
+    }
+
+    private void requireIntegral() {
+        if (!(column instanceof IntColumn || column instanceof LongColumn || column instanceof DateColumn)) {
+            throw new IllegalArgumentException("An index on a " + column.type() + " column cannot be looked up by a long value!");
+        }
+    }
+
+    private void requireDouble() {
+        if (!(column instanceof DoubleColumn)) {
+            throw new IllegalArgumentException("An index on a " + column.type() + " column cannot be looked up by a double value!");
+        }
+    }
+
+    private void requireText() {
+        if (!(column instanceof DictionaryColumn || column instanceof StringColumn)) {
+            throw new IllegalArgumentException("An index on a " + column.type() + " column cannot be looked up by a string!");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.dug22.jdataframe.column;
+
+public enum ColumnType {
+
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    DATE,
+    STRING,
+    OBJECT
+}
@@ -0,0 +1,245 @@
+package io.github.dug22.jdataframe.column;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Columns {
+
+    /**
+     * Returns the given list as a column. Lists that already are columns are returned as is,
+     * any other list is copied into the narrowest typed column able to hold its values.
+     *
+     * @param values the column values
+     * @return the values as a column
+     */
+    public static Column asColumn(List<?> values) {
+        return values instanceof Column column ? column : of(values);
+    }
+
+    /**
+     * Copies the given values into the narrowest typed column able to hold them.
+     *
+     * @param values the column values
+     * @return the new column
+     */
+    public static Column of(List<?> values) {
+        ColumnType type = null;
+        for (Object value : values) {
+            if (value != null) {
+                ColumnType valueType = typeOf(value);
+                type = type == null ? valueType : commonType(type, valueType);
+            }
+        }
+
+        Column column = create(type == null ? ColumnType.OBJECT : type, values.size());
+        for (Object value : values) {
+            column.add(value);
+        }
+        return column;
+    }
+
+    /**
+     * Converts every list of the given dataframe into a column, keeping the column order.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @return a new map whose values are all columns
+     */
+    public static Map<String, List<Object>> toColumnMap(Map<String, List<Object>> dataFrameMap) {
+        Map<String, List<Object>> columnMap = new LinkedHashMap<>();
+        dataFrameMap.forEach((name, values) -> columnMap.put(name, asColumn(values)));
+        return columnMap;
+    }
+
+    /**
+     * Returns a map holding a share of every column of the given map, see {@link Column#share()}: the columns are only
+     * copied once either map modifies them. Lists that are not columns are kept as they are.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @return the new map, in the same order
+     */
+    public static Map<String, List<Object>> share(Map<String, List<Object>> dataFrameMap) {
+        Map<String, List<Object>> shared = new LinkedHashMap<>();
+        dataFrameMap.forEach((name, values) -> shared.put(name, values instanceof Column column ? column.share() : values));
+        return shared;
+    }
+
+    /**
+     * Creates an empty column of the given type.
+     *
+     * @param type     the column type
+     * @param capacity the initial capacity
+     * @return the empty column
+     */
+    public static Column create(ColumnType type, int capacity) {
+        return switch (type) {
+            case INT -> new IntColumn(capacity);
+            case LONG -> new LongColumn(capacity);
+            case DOUBLE -> new DoubleColumn(capacity);
+            case BOOLEAN -> new BooleanColumn(capacity);
+            case DATE -> new DateColumn(capacity);
+            case STRING -> new StringColumn(capacity);
+            case OBJECT -> new ObjectColumn(capacity);
+        };
+    }
+
+    /**
+     * Returns the column type that stores the given value without conversion.
+     *
+     * @param value a non-null value
+     * @return the matching column type
+     */
+    public static ColumnType typeOf(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ColumnType.INT;
+        } else if (value instanceof Long) {
+            return ColumnType.LONG;
+        } else if (value instanceof Double || value instanceof Float) {
+            return ColumnType.DOUBLE;
+        } else if (value instanceof Boolean) {
+            return ColumnType.BOOLEAN;
+        } else if (value instanceof LocalDate) {
+            return ColumnType.DATE;
+        } else if (value instanceof String) {
+            return ColumnType.STRING;
+        }
+        return ColumnType.OBJECT;
+    }
+
+    /**
+     * Returns the narrowest column type able to hold values of both given types.
+     *
+     * @param first  the first type
+     * @param second the second type
+     * @return the common type
+     */
+    public static ColumnType commonType(ColumnType first, ColumnType second) {
+        if (first == second) {
+            return first;
+        }
+        if (isNumeric(first) && isNumeric(second)) {
+            return first == ColumnType.DOUBLE || second == ColumnType.DOUBLE ? ColumnType.DOUBLE : ColumnType.LONG;
+        }
+        return ColumnType.OBJECT;
+    }
+
+    /**
+     * Checks whether the given type is backed by a {@link NumericColumn}.
+     *
+     * @param type the column type
+     * @return true for numeric types
+     */
+    public static boolean isNumeric(ColumnType type) {
+        return type == ColumnType.INT || type == ColumnType.LONG || type == ColumnType.DOUBLE;
+    }
+
+    /**
+     * Returns a column able to hold both the values of the given column and the given value.
+     * The column itself is returned when it already accepts the value, and a widened column keeps its index.
+     *
+     * @param column the column to widen
+     * @param value  the value that has to fit
+     * @return the widened column
+     */
+    public static Column widen(Column column, Object value) {
+        if (value == null || column.accepts(value)) {
+            return column;
+        }
+        Column widened = convert(column, commonType(column.type(), typeOf(value)));
+        widened.inheritIndex(column);
+        return widened;
+    }
+
+    /**
+     * Keeps the selected rows of a column, dropping the others. The rows are removed in place unless the column is
+     * frozen or shares its rows with another column, in which case only the kept rows are gathered into a new column
+     * keeping its index, instead of copying the whole column before compacting it.
+     *
+     * @param column    the column to reduce
+     * @param selection the selection words, one bit per row
+     * @return the column itself, or the new column if the given one is frozen or shared
+     */
+    public static Column retainRows(Column column, long[] selection) {
+        if (!column.isFrozen() && !column.isShared()) {
+            column.retainRows(selection);
+            return column;
+        }
+        long[] words = Arrays.copyOf(selection, NullBitmap.wordCount(column.size()));
+        if ((column.size() & 63) != 0 && words.length > 0) {
+            words[words.length - 1] &= (1L << column.size()) - 1;
+        }
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        Column kept = column.gather(ColumnIndex.rowsOf(words, count));
+        kept.inheritIndex(column);
+        return kept;
+    }
+
+    /**
+     * Concatenates columns in order into a new column. Columns of different types are first converted
+     * to their common type, and dictionary-encoded columns stay encoded when they are all encoded.
+     *
+     * @param columns the columns to concatenate
+     * @return the concatenated column
+     */
+    public static Column concat(List<Column> columns) {
+        ColumnType type = columns.getFirst().type();
+        int size = 0;
+        boolean encoded = true;
+        for (Column column : columns) {
+            type = commonType(type, column.type());
+            size += column.size();
+            encoded &= column instanceof DictionaryColumn;
+        }
+
+        Column concatenated = encoded ? new DictionaryColumn(size) : create(type, size);
+        for (Column column : columns) {
+            concatenated.addAll(convert(column, type));
+        }
+        return concatenated;
+    }
+
+    /**
+     * Converts a column to another type. Numeric columns are widened without boxing,
+     * conversions to a string column use each value's string form.
+     *
+     * @param column the column to convert
+     * @param type   the target type
+     * @return the converted column, or the column itself if it already has the target type
+     */
+    public static Column convert(Column column, ColumnType type) {
+        if (column.type() == type) {
+            return column;
+        }
+
+        int size = column.size();
+        Column converted = create(type, size);
+        if (column instanceof NumericColumn numeric && converted instanceof LongColumn longColumn) {
+            for (int i = 0; i < size; i++) {
+                if (numeric.isNull(i)) {
+                    longColumn.appendNull();
+                } else {
+                    longColumn.appendLong(numeric.getLong(i));
+                }
+            }
+        } else if (column instanceof NumericColumn numeric && converted instanceof DoubleColumn doubleColumn) {
+            for (int i = 0; i < size; i++) {
+                if (numeric.isNull(i)) {
+                    doubleColumn.appendNull();
+                } else {
+                    doubleColumn.appendDouble(numeric.getDouble(i));
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                Object value = column.get(i);
+                converted.add(value != null && type == ColumnType.STRING ? value.toString() : value);
+            }
+        }
+        return converted;
+    }
+}
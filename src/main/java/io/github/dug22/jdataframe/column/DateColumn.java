@@ -0,0 +1,190 @@
+package io.github.dug22.jdataframe.column;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public class DateColumn extends Column {
+
+    private int[] data;
+
+    /**
+     * Creates an empty date column.
+     */
+    public DateColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty date column with the given initial capacity.
+     *
+     * @param capacity the initial capacity
+     */
+    public DateColumn(int capacity) {
+        this.data = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Creates a date column that wraps the given epoch days without copying them.
+     *
+     * @param values the column values as days since 1970-01-01
+     */
+    public DateColumn(int[] values) {
+        this.data = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Creates a date column from the given dates. Null dates become null rows.
+     *
+     * @param values the column values
+     * @return the new column
+     */
+    public static DateColumn of(LocalDate... values) {
+        DateColumn column = new DateColumn(values.length);
+        for (LocalDate value : values) {
+            column.add(value);
+        }
+        return column;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.DATE;
+    }
+
+    /**
+     * Returns the date at the given row as days since 1970-01-01. The result is undefined for null rows.
+     *
+     * @param index the row index
+     * @return the epoch day
+     */
+    public int getEpochDay(int index) {
+        return data[index];
+    }
+
+    /**
+     * Replaces the date at the given row and clears its null flag.
+     *
+     * @param index the row index
+     * @param value the new date as days since 1970-01-01
+     */
+    public void setEpochDay(int index, int value) {
+        beforeUpdate(index);
+        data[index] = value;
+        clearNull(index);
+        afterUpdate(index);
+    }
+
+    /**
+     * Appends a date to the column.
+     *
+     * @param value the date to append as days since 1970-01-01
+     */
+    public void appendEpochDay(int value) {
+        ensureCapacity(size + 1);
+        data[size] = value;
+        clearNull(size);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void appendNull() {
+        ensureCapacity(size + 1);
+        data[size] = 0;
+        markNull(size);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Returns the backing array of this column. Only the first {@link #size()} entries are valid
+     * and entries of null rows are undefined. The array must be treated as read-only.
+     *
+     * @return the backing array
+     */
+    public int[] data() {
+        return data;
+    }
+
+    /**
+     * Returns the date at the given row, or null for null rows.
+     *
+     * @param index the row index
+     * @return the date
+     */
+    public LocalDate getDate(int index) {
+        return isNull(index) ? null : LocalDate.ofEpochDay(data[index]);
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        return value instanceof LocalDate;
+    }
+
+    @Override
+    public Column gather(int[] rows) {
+        int[] gathered = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (row >= 0) {
+                gathered[i] = data[row];
+            }
+        }
+        DateColumn column = new DateColumn(gathered);
+        column.nulls = gatherNulls(rows);
+        return column;
+    }
+
+    @Override
+    public Column emptyCopy(int capacity) {
+        return new DateColumn(capacity);
+    }
+
+    @Override
+    public Column copy() {
+        DateColumn column = new DateColumn(Arrays.copyOf(data, size));
+        column.nulls = nulls == null ? null : nulls.copy();
+        return column;
+    }
+
+    @Override
+    protected Object getValue(int index) {
+        return LocalDate.ofEpochDay(data[index]);
+    }
+
+    @Override
+    protected void setValue(int index, Object value) {
+        data[index] = (int) ((LocalDate) value).toEpochDay();
+    }
+
+    @Override
+    protected void copyValue(int from, int to) {
+        data[to] = data[from];
+    }
+
+    @Override
+    protected void copyValues(Column source, int offset) {
+        System.arraycopy(((DateColumn) source).data, 0, data, offset, source.size);
+    }
+
+    @Override
+    protected Column shareStorage() {
+        return new DateColumn(data);
+    }
+
+    @Override
+    protected void copyStorage(int rows) {
+        int[] copy = new int[data.length];
+        System.arraycopy(data, 0, copy, 0, rows);
+        data = copy;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        prepareWrite(size);
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+        }
+    }
+}
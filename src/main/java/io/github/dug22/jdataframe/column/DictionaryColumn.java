@@ -0,0 +1,280 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+
+/**
+ * A string column storing every distinct value once, in a {@link StringDictionary}, and every row as the int code
+ * of its value, -1 for null rows. Columns with few distinct values over many rows take a fraction of the memory of
+ * a {@link StringColumn}, and operations such as filters, group-by and joins compare their codes instead of strings.
+ * <p>
+ * Gathered and copied columns share the dictionary of their source. A column copies a shared dictionary before adding
+ * a value to it, so a dictionary never changes once it is shared and can be read by several threads.
+ */
+public class DictionaryColumn extends Column {
+
+    private int[] codes;
+    private StringDictionary dictionary;
+    private boolean sharedDictionary;
+
+    /**
+     * Creates an empty dictionary-encoded column.
+     */
+    public DictionaryColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty dictionary-encoded column with the given initial capacity.
+     *
+     * @param capacity the initial capacity
+     */
+    public DictionaryColumn(int capacity) {
+        this.codes = new int[Math.max(capacity, 1)];
+        this.dictionary = new StringDictionary();
+    }
+
+    /**
+     * Creates a dictionary-encoded column that wraps the given codes without copying them.
+     *
+     * @param codes  the code of every row, -1 for null rows
+     * @param values the distinct values the codes refer to, in code order
+     */
+    public DictionaryColumn(int[] codes, String[] values) {
+        this.codes = codes;
+        this.size = codes.length;
+        this.dictionary = StringDictionary.of(values);
+        for (int row = 0; row < codes.length; row++) {
+            int code = codes[row];
+            if (code < 0) {
+                if (nulls == null) {
+                    nulls = new NullBitmap(codes.length);
+                }
+                nulls.set(row);
+                codes[row] = -1;
+            } else if (code >= values.length) {
+                throw new IllegalArgumentException("The code " + code + " of row " + row + " is not in the dictionary!");
+            }
+        }
+    }
+
+    private DictionaryColumn(int[] codes, int size, StringDictionary dictionary, NullBitmap nulls) {
+        this.codes = codes;
+        this.size = size;
+        this.dictionary = dictionary;
+        this.sharedDictionary = true;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Creates a dictionary-encoded column from the given values.
+     *
+     * @param values the column values
+     * @return the new column
+     */
+    public static DictionaryColumn of(String... values) {
+        DictionaryColumn column = new DictionaryColumn(values.length);
+        for (String value : values) {
+            column.appendString(value);
+        }
+        return column;
+    }
+
+    /**
+     * Encodes the values of a string column.
+     *
+     * @param column the string column
+     * @return the new dictionary-encoded column
+     */
+    public static DictionaryColumn encode(StringColumn column) {
+        DictionaryColumn encoded = new DictionaryColumn(column.size());
+        for (int row = 0; row < column.size(); row++) {
+            encoded.appendString(column.getString(row));
+        }
+        return encoded;
+    }
+
+    /**
+     * Decodes this column into a string column holding one reference per row.
+     *
+     * @return the new string column
+     */
+    public StringColumn decode() {
+        String[] values = new String[size];
+        for (int row = 0; row < size; row++) {
+            int code = codes[row];
+            if (code >= 0) {
+                values[row] = dictionary.get(code);
+            }
+        }
+        return new StringColumn(values);
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.STRING;
+    }
+
+    /**
+     * Returns the string at the given row, or null for null rows.
+     *
+     * @param index the row index
+     * @return the string value
+     */
+    public String getString(int index) {
+        int code = codes[index];
+        return code < 0 ? null : dictionary.get(code);
+    }
+
+    /**
+     * Returns the dictionary code of the given row.
+     *
+     * @param index the row index
+     * @return the code, or -1 for null rows
+     */
+    public int getCode(int index) {
+        return codes[index];
+    }
+
+    /**
+     * Appends a string to the column.
+     *
+     * @param value the value to append, or null to append a null row
+     */
+    public void appendString(String value) {
+        ensureCapacity(size + 1);
+        if (value == null) {
+            markNull(size);
+        } else {
+            codes[size] = encode(value);
+            clearNull(size);
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void appendNull() {
+        appendString(null);
+    }
+
+    /**
+     * Returns the code array of this column, -1 marking null rows. Only the first {@link #size()} entries are valid.
+     * The array must be treated as read-only.
+     *
+     * @return the code array
+     */
+    public int[] codes() {
+        return codes;
+    }
+
+    /**
+     * Returns the dictionary holding the values of the codes. It may hold values no row uses any more.
+     *
+     * @return the dictionary
+     */
+    public StringDictionary dictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        return value instanceof String;
+    }
+
+    @Override
+    public Column gather(int[] rows) {
+        int[] gathered = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            gathered[i] = row < 0 ? -1 : codes[row];
+        }
+        sharedDictionary = true;
+        return new DictionaryColumn(gathered, rows.length, dictionary, gatherNulls(rows));
+    }
+
+    @Override
+    public Column emptyCopy(int capacity) {
+        return new DictionaryColumn(capacity);
+    }
+
+    @Override
+    public Column copy() {
+        sharedDictionary = true;
+        return new DictionaryColumn(Arrays.copyOf(codes, Math.max(size, 1)), size, dictionary, nulls == null ? null : nulls.copy());
+    }
+
+    @Override
+    protected Object getValue(int index) {
+        return dictionary.get(codes[index]);
+    }
+
+    @Override
+    protected void setValue(int index, Object value) {
+        codes[index] = encode((String) value);
+    }
+
+    @Override
+    protected void copyValue(int from, int to) {
+        codes[to] = codes[from];
+    }
+
+    /**
+     * Copies the codes of another dictionary column. Codes of a column with another dictionary are translated
+     * value by value, each distinct value being looked up once.
+     */
+    @Override
+    protected void copyValues(Column source, int offset) {
+        DictionaryColumn other = (DictionaryColumn) source;
+        if (other.dictionary == dictionary) {
+            System.arraycopy(other.codes, 0, codes, offset, other.size);
+            return;
+        }
+        int[] translated = new int[other.dictionary.size()];
+        Arrays.fill(translated, -1);
+        for (int row = 0; row < other.size; row++) {
+            int code = other.codes[row];
+            if (code >= 0 && translated[code] < 0) {
+                translated[code] = encode(other.dictionary.get(code));
+            }
+            codes[offset + row] = code < 0 ? -1 : translated[code];
+        }
+    }
+
+    @Override
+    protected Column shareStorage() {
+        return new DictionaryColumn(codes, size, dictionary, null);
+    }
+
+    /**
+     * Copies the codes, the dictionary itself being copied before the first value it does not hold is added.
+     */
+    @Override
+    protected void copyStorage(int rows) {
+        sharedDictionary = true;
+        int[] copy = new int[codes.length];
+        System.arraycopy(codes, 0, copy, 0, rows);
+        codes = copy;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        prepareWrite(size);
+        if (capacity > codes.length) {
+            codes = Arrays.copyOf(codes, Math.max(capacity, codes.length + (codes.length >> 1)));
+        }
+    }
+
+    @Override
+    protected void markNull(int index) {
+        super.markNull(index);
+        codes[index] = -1;
+    }
+
+    private int encode(String value) {
+        if (sharedDictionary && dictionary.codeOf(value) < 0) {
+            dictionary = dictionary.copy();
+            sharedDictionary = false;
+        }
+        return dictionary.encode(value);
+    }
+}
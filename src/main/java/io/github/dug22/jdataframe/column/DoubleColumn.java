@@ -0,0 +1,181 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+
+public class DoubleColumn extends NumericColumn {
+
+    private double[] data;
+
+    /**
+     * Creates an empty double column.
+     */
+    public DoubleColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty double column with the given initial capacity.
+     *
+     * @param capacity the initial capacity
+     */
+    public DoubleColumn(int capacity) {
+        this.data = new double[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Creates a double column that wraps the given values without copying them.
+     *
+     * @param values the column values
+     */
+    public DoubleColumn(double[] values) {
+        this.data = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Creates a double column from the given values.
+     *
+     * @param values the column values
+     * @return the new column
+     */
+    public static DoubleColumn of(double... values) {
+        return new DoubleColumn(values.clone());
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.DOUBLE;
+    }
+
+    /**
+     * Replaces the value at the given row and clears its null flag.
+     *
+     * @param index the row index
+     * @param value the new value
+     */
+    public void setDouble(int index, double value) {
+        beforeUpdate(index);
+        data[index] = value;
+        clearNull(index);
+        afterUpdate(index);
+    }
+
+    /**
+     * Appends a primitive value to the column.
+     *
+     * @param value the value to append
+     */
+    public void appendDouble(double value) {
+        ensureCapacity(size + 1);
+        data[size] = value;
+        clearNull(size);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void appendNull() {
+        ensureCapacity(size + 1);
+        data[size] = 0;
+        markNull(size);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Returns the backing array of this column. Only the first {@link #size()} entries are valid
+     * and entries of null rows are undefined. The array must be treated as read-only.
+     *
+     * @return the backing array
+     */
+    public double[] data() {
+        return data;
+    }
+
+    /**
+     * Returns the primitive value at the given row. The result is undefined for null rows.
+     *
+     * @param index the row index
+     * @return the primitive value
+     */
+    @Override
+    public double getDouble(int index) {
+        return data[index];
+    }
+
+    @Override
+    public long getLong(int index) {
+        return (long) data[index];
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        return value instanceof Number;
+    }
+
+    @Override
+    public Column gather(int[] rows) {
+        double[] gathered = new double[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (row >= 0) {
+                gathered[i] = data[row];
+            }
+        }
+        DoubleColumn column = new DoubleColumn(gathered);
+        column.nulls = gatherNulls(rows);
+        return column;
+    }
+
+    @Override
+    public Column emptyCopy(int capacity) {
+        return new DoubleColumn(capacity);
+    }
+
+    @Override
+    public Column copy() {
+        DoubleColumn column = new DoubleColumn(Arrays.copyOf(data, size));
+        column.nulls = nulls == null ? null : nulls.copy();
+        return column;
+    }
+
+    @Override
+    protected Object getValue(int index) {
+        return data[index];
+    }
+
+    @Override
+    protected void setValue(int index, Object value) {
+        data[index] = ((Number) value).doubleValue();
+    }
+
+    @Override
+    protected void copyValue(int from, int to) {
+        data[to] = data[from];
+    }
+
+    @Override
+    protected void copyValues(Column source, int offset) {
+        System.arraycopy(((DoubleColumn) source).data, 0, data, offset, source.size);
+    }
+
+    @Override
+    protected Column shareStorage() {
+        return new DoubleColumn(data);
+    }
+
+    @Override
+    protected void copyStorage(int rows) {
+        double[] copy = new double[data.length];
+        System.arraycopy(data, 0, copy, 0, rows);
+        data = copy;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        prepareWrite(size);
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+        }
+    }
+}
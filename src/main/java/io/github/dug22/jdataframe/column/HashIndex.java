@@ -0,0 +1,145 @@
+package io.github.dug22.jdataframe.column;
+
+import io.github.dug22.jdataframe.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hash index: every distinct value gets a dense id, and the rows holding it are chained in ascending order through
+ * an int array holding the next row of every row. Primitive values and the dictionary codes of dictionary-encoded
+ * columns get their ids from an open-addressing {@link LongIntHashMap}, the values of plain text columns from a
+ * hash map. A replaced row is unlinked from the chain of its old value and linked into the chain of its new one.
+ */
+final class HashIndex extends ColumnIndex {
+
+    private final LongIntHashMap keyIds;
+    private final Map<String, Integer> textIds;
+    private final int[] next;
+    private int[] heads;
+    private int[] counts;
+    private int idCount;
+
+    HashIndex(Column column) {
+        super(column);
+        this.keyIds = column instanceof StringColumn ? null : new LongIntHashMap();
+        this.textIds = column instanceof StringColumn ? new HashMap<>() : null;
+        int size = column.size();
+        this.next = new int[size];
+        this.heads = new int[16];
+        this.counts = new int[16];
+        Arrays.fill(heads, -1);
+        for (int row = size - 1; row >= 0; row--) {
+            if (column.isNull(row)) {
+                continue;
+            }
+            int id = idOf(row);
+            next[row] = heads[id];
+            heads[id] = row;
+            counts[id]++;
+        }
+    }
+
+    @Override
+    public IndexType type() {
+        return IndexType.HASH;
+    }
+
+    @Override
+    int[] rowsWithKey(long key) {
+        return rowsOfId(keyIds.get(key));
+    }
+
+    @Override
+    int[] rowsWithText(String value) {
+        if (column instanceof DictionaryColumn dictionaryColumn) {
+            int code = dictionaryColumn.dictionary().codeOf(value);
+            return code < 0 ? new int[0] : rowsWithKey(code);
+        }
+        Integer id = textIds.get(value);
+        return rowsOfId(id == null ? -1 : id);
+    }
+
+    @Override
+    int[] rowsBetweenKeys(long lower, long upper) {
+        throw new UnsupportedOperationException("A hash index cannot look up a range of values!");
+    }
+
+    @Override
+    int[] rowsBetweenText(String lower, boolean lowerInclusive, String upper, boolean upperInclusive) {
+        throw new UnsupportedOperationException("A hash index cannot look up a range of values!");
+    }
+
+    @Override
+    void beforeUpdate(int row) {
+        if (!isCurrent() || column.isNull(row)) {
+            return;
+        }
+        int id = idOf(row);
+        if (heads[id] == row) {
+            heads[id] = next[row];
+        } else {
+            int previous = heads[id];
+            while (next[previous] != row) {
+                previous = next[previous];
+            }
+            next[previous] = next[row];
+        }
+        counts[id]--;
+    }
+
+    @Override
+    void afterUpdate(int row) {
+        if (!isCurrent() || column.isNull(row)) {
+            return;
+        }
+        int id = idOf(row);
+        if (heads[id] < 0 || heads[id] > row) {
+            next[row] = heads[id];
+            heads[id] = row;
+        } else {
+            int previous = heads[id];
+            while (next[previous] >= 0 && next[previous] < row) {
+                previous = next[previous];
+            }
+            next[row] = next[previous];
+            next[previous] = row;
+        }
+        counts[id]++;
+    }
+
+    private int[] rowsOfId(int id) {
+        if (id < 0) {
+            return new int[0];
+        }
+        int[] rows = new int[counts[id]];
+        for (int i = 0, row = heads[id]; row >= 0; row = next[row]) {
+            rows[i++] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the id of the value of a non-null row, assigning the next id to a value seen for the first time.
+     */
+    private int idOf(int row) {
+        int id;
+        if (textIds != null) {
+            id = textIds.computeIfAbsent(((StringColumn) column).getString(row), value -> idCount);
+        } else {
+            long key = column instanceof DictionaryColumn dictionaryColumn ? dictionaryColumn.getCode(row) : primitiveKey(column, row);
+            id = keyIds.putIfAbsent(key, idCount);
+            id = id < 0 ? idCount : id;
+        }
+        if (id == idCount) {
+            if (idCount == heads.length) {
+                heads = Arrays.copyOf(heads, idCount * 2);
+                counts = Arrays.copyOf(counts, idCount * 2);
+                Arrays.fill(heads, idCount, heads.length, -1);
+            }
+            idCount++;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.dug22.jdataframe.column;
+
+public enum IndexType {
+
+    /**
+     * Hashes every distinct value to the rows holding it. Answers equality and 'in' lookups in constant time and is
+     * kept up to date as rows are replaced, but cannot answer ranges.
+     */
+    HASH,
+    /**
+     * Keeps the rows ordered by value. Answers equality, 'in' and range lookups with binary searches, and is rebuilt
+     * on the first lookup after a row changes.
+     */
+    SORTED
+}
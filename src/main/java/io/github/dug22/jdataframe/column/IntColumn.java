@@ -0,0 +1,185 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+
+public class IntColumn extends NumericColumn {
+
+    private int[] data;
+
+    /**
+     * Creates an empty int column.
+     */
+    public IntColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty int column with the given initial capacity.
+     *
+     * @param capacity the initial capacity
+     */
+    public IntColumn(int capacity) {
+        this.data = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Creates an int column that wraps the given values without copying them.
+     *
+     * @param values the column values
+     */
+    public IntColumn(int[] values) {
+        this.data = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Creates an int column from the given values.
+     *
+     * @param values the column values
+     * @return the new column
+     */
+    public static IntColumn of(int... values) {
+        return new IntColumn(values.clone());
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.INT;
+    }
+
+    /**
+     * Returns the primitive value at the given row. The result is undefined for null rows.
+     *
+     * @param index the row index
+     * @return the primitive value
+     */
+    public int getInt(int index) {
+        return data[index];
+    }
+
+    /**
+     * Replaces the value at the given row and clears its null flag.
+     *
+     * @param index the row index
+     * @param value the new value
+     */
+    public void setInt(int index, int value) {
+        beforeUpdate(index);
+        data[index] = value;
+        clearNull(index);
+        afterUpdate(index);
+    }
+
+    /**
+     * Appends a primitive value to the column.
+     *
+     * @param value the value to append
+     */
+    public void appendInt(int value) {
+        ensureCapacity(size + 1);
+        data[size] = value;
+        clearNull(size);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void appendNull() {
+        ensureCapacity(size + 1);
+        data[size] = 0;
+        markNull(size);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Returns the backing array of this column. Only the first {@link #size()} entries are valid
+     * and entries of null rows are undefined. The array must be treated as read-only.
+     *
+     * @return the backing array
+     */
+    public int[] data() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return data[index];
+    }
+
+    @Override
+    public long getLong(int index) {
+        return data[index];
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        return value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    @Override
+    public Column gather(int[] rows) {
+        int[] gathered = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (row >= 0) {
+                gathered[i] = data[row];
+            }
+        }
+        IntColumn column = new IntColumn(gathered);
+        column.nulls = gatherNulls(rows);
+        return column;
+    }
+
+    @Override
+    public Column emptyCopy(int capacity) {
+        return new IntColumn(capacity);
+    }
+
+    @Override
+    public Column copy() {
+        IntColumn column = new IntColumn(Arrays.copyOf(data, size));
+        column.nulls = nulls == null ? null : nulls.copy();
+        return column;
+    }
+
+    @Override
+    protected Object getValue(int index) {
+        return data[index];
+    }
+
+    @Override
+    protected void setValue(int index, Object value) {
+        data[index] = ((Number) value).intValue();
+    }
+
+    @Override
+    protected void copyValue(int from, int to) {
+        data[to] = data[from];
+    }
+
+    @Override
+    protected void copyValues(Column source, int offset) {
+        System.arraycopy(((IntColumn) source).data, 0, data, offset, source.size);
+    }
+
+    @Override
+    protected Column shareStorage() {
+        return new IntColumn(data);
+    }
+
+    @Override
+    protected void copyStorage(int rows) {
+        int[] copy = new int[data.length];
+        System.arraycopy(data, 0, copy, 0, rows);
+        data = copy;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        prepareWrite(size);
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+        }
+    }
+}
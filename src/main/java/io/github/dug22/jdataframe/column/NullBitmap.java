@@ -0,0 +1,140 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+
+public class NullBitmap {
+
+    private long[] words;
+
+    /**
+     * Creates a bitmap able to hold the given number of bits without growing.
+     *
+     * @param capacity the initial number of bits
+     */
+    public NullBitmap(int capacity) {
+        this.words = new long[wordCount(capacity)];
+    }
+
+    private NullBitmap(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Returns the number of 64-bit words needed to hold the given number of bits.
+     *
+     * @param bits the number of bits
+     * @return the number of words
+     */
+    public static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Checks whether the bit at the given index is set.
+     *
+     * @param index the bit index
+     * @return true if the bit is set, false otherwise
+     */
+    public boolean get(int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit at the given index, growing the bitmap if needed.
+     *
+     * @param index the bit index
+     */
+    public void set(int index) {
+        int word = index >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        words[word] |= 1L << index;
+    }
+
+    /**
+     * Clears the bit at the given index.
+     *
+     * @param index the bit index
+     */
+    public void clear(int index) {
+        int word = index >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Sets or clears the bit at the given index.
+     *
+     * @param index the bit index
+     * @param value true to set the bit, false to clear it
+     */
+    public void set(int index, boolean value) {
+        if (value) {
+            set(index);
+        } else {
+            clear(index);
+        }
+    }
+
+    /**
+     * Clears every bit at or above the given index.
+     *
+     * @param size the number of bits to keep
+     */
+    public void truncate(int size) {
+        int word = size >>> 6;
+        if (word >= words.length) {
+            return;
+        }
+        words[word] &= (1L << size) - 1;
+        Arrays.fill(words, word + 1, words.length, 0L);
+    }
+
+    /**
+     * Counts the set bits.
+     *
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether no bit is set.
+     *
+     * @return true if the bitmap is empty
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the backing words of this bitmap. Bit i lives in word i / 64.
+     *
+     * @return the backing words
+     */
+    public long[] words() {
+        return words;
+    }
+
+    /**
+     * Creates a deep copy of this bitmap.
+     *
+     * @return the copied bitmap
+     */
+    public NullBitmap copy() {
+        return new NullBitmap(words.clone());
+    }
+}
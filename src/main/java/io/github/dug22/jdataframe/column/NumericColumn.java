@@ -0,0 +1,20 @@
+package io.github.dug22.jdataframe.column;
+
+public abstract class NumericColumn extends Column {
+
+    /**
+     * Returns the value at the given row widened to a double. The result is undefined for null rows.
+     *
+     * @param index the row index
+     * @return the value as a double
+     */
+    public abstract double getDouble(int index);
+
+    /**
+     * Returns the value at the given row converted to a long. The result is undefined for null rows.
+     *
+     * @param index the row index
+     * @return the value as a long
+     */
+    public abstract long getLong(int index);
+}
@@ -0,0 +1,129 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+
+/**
+ * A column of arbitrary values. Used for data that does not fit any of the typed columns,
+ * such as lists mixing numbers and strings.
+ */
+public class ObjectColumn extends Column {
+
+    private Object[] data;
+
+    /**
+     * Creates an empty object column.
+     */
+    public ObjectColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty object column with the given initial capacity.
+     *
+     * @param capacity the initial capacity
+     */
+    public ObjectColumn(int capacity) {
+        this.data = new Object[Math.max(capacity, 1)];
+    }
+
+    private ObjectColumn(Object[] values) {
+        this.data = values;
+        this.size = values.length;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.OBJECT;
+    }
+
+    @Override
+    public void appendNull() {
+        ensureCapacity(size + 1);
+        data[size] = null;
+        markNull(size);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        return true;
+    }
+
+    @Override
+    public Column gather(int[] rows) {
+        Object[] gathered = new Object[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (row >= 0) {
+                gathered[i] = data[row];
+            }
+        }
+        ObjectColumn column = new ObjectColumn(gathered);
+        column.nulls = gatherNulls(rows);
+        return column;
+    }
+
+    @Override
+    public Column emptyCopy(int capacity) {
+        return new ObjectColumn(capacity);
+    }
+
+    @Override
+    public Column copy() {
+        ObjectColumn column = new ObjectColumn(Arrays.copyOf(data, size));
+        column.nulls = nulls == null ? null : nulls.copy();
+        return column;
+    }
+
+    @Override
+    protected Object getValue(int index) {
+        return data[index];
+    }
+
+    @Override
+    protected void setValue(int index, Object value) {
+        data[index] = value;
+    }
+
+    @Override
+    protected void copyValue(int from, int to) {
+        data[to] = data[from];
+    }
+
+    @Override
+    protected void copyValues(Column source, int offset) {
+        System.arraycopy(((ObjectColumn) source).data, 0, data, offset, source.size);
+    }
+
+    @Override
+    protected Column shareStorage() {
+        return new ObjectColumn(data);
+    }
+
+    @Override
+    protected void copyStorage(int rows) {
+        Object[] copy = new Object[data.length];
+        System.arraycopy(data, 0, copy, 0, rows);
+        data = copy;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        prepareWrite(size);
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+        }
+    }
+
+    @Override
+    protected void markNull(int index) {
+        super.markNull(index);
+        data[index] = null;
+    }
+
+    @Override
+    protected void releaseValues(int fromIndex, int toIndex) {
+        Arrays.fill(data, fromIndex, toIndex, null);
+    }
+}
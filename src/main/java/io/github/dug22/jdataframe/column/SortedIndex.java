@@ -0,0 +1,230 @@
+package io.github.dug22.jdataframe.column;
+
+import io.github.dug22.jdataframe.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A sorted index: the non-null rows ordered by value, grouped by distinct value in ascending row order. Every row is
+ * mapped to a long key sorting like its value, primitive values directly and strings by their rank among the sorted
+ * distinct strings of the column. Only the distinct keys are sorted: the rows are then grouped by the rank of their key
+ * with a counting sort, and lookups binary search the distinct keys and find their rows through offsets into the row
+ * order.
+ * <p>
+ * Any replaced row makes the index stale, so it is rebuilt on the next lookup.
+ */
+final class SortedIndex extends ColumnIndex {
+
+    private final long[] distinctKeys;
+    private final String[] distinctText;
+    private final int[] offsets;
+    private final int[] order;
+    private boolean stale;
+
+    SortedIndex(Column column) {
+        super(column);
+        int size = column.size();
+        int[] ranks = new int[size];
+        if (column instanceof DictionaryColumn || column instanceof StringColumn) {
+            distinctText = rankText(column, ranks);
+            distinctKeys = null;
+        } else {
+            distinctKeys = rankKeys(column, ranks);
+            distinctText = null;
+        }
+
+        int distinctCount = distinctKeys != null ? distinctKeys.length : distinctText.length;
+        offsets = new int[distinctCount + 1];
+        for (int row = 0; row < size; row++) {
+            if (ranks[row] >= 0) {
+                offsets[ranks[row] + 1]++;
+            }
+        }
+        for (int i = 0; i < distinctCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        order = new int[offsets[distinctCount]];
+        int[] positions = Arrays.copyOf(offsets, distinctCount);
+        for (int row = 0; row < size; row++) {
+            if (ranks[row] >= 0) {
+                order[positions[ranks[row]]++] = row;
+            }
+        }
+    }
+
+    /**
+     * Sorts the distinct primitive keys of the column and stores the rank of every row, or -1 for null rows. Rows first
+     * get the id of their key from a hash map, so only the distinct keys are sorted and searched.
+     */
+    private static long[] rankKeys(Column column, int[] ranks) {
+        int size = column.size();
+        LongIntHashMap ids = new LongIntHashMap();
+        long[] keys = new long[16];
+        int distinctCount = 0;
+        for (int row = 0; row < size; row++) {
+            if (column.isNull(row)) {
+                ranks[row] = -1;
+                continue;
+            }
+            long key = primitiveKey(column, row);
+            int id = ids.putIfAbsent(key, distinctCount);
+            if (id < 0) {
+                if (distinctCount == keys.length) {
+                    keys = Arrays.copyOf(keys, distinctCount * 2);
+                }
+                id = distinctCount;
+                keys[distinctCount++] = key;
+            }
+            ranks[row] = id;
+        }
+        long[] distinct = Arrays.copyOf(keys, distinctCount);
+        Arrays.parallelSort(distinct);
+        int[] rankOfId = new int[distinctCount];
+        for (int id = 0; id < distinctCount; id++) {
+            rankOfId[id] = Arrays.binarySearch(distinct, keys[id]);
+        }
+        for (int row = 0; row < size; row++) {
+            if (ranks[row] >= 0) {
+                ranks[row] = rankOfId[ranks[row]];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Sorts the distinct strings of the column and stores the rank of every row, or -1 for null rows.
+     * Dictionary-encoded columns rank their codes, so every distinct string is hashed once.
+     */
+    private static String[] rankText(Column column, int[] ranks) {
+        int size = column.size();
+        if (column instanceof DictionaryColumn dictionaryColumn) {
+            StringDictionary dictionary = dictionaryColumn.dictionary();
+            int[] codes = dictionaryColumn.codes();
+            boolean[] used = new boolean[dictionary.size()];
+            for (int row = 0; row < size; row++) {
+                if (codes[row] >= 0) {
+                    used[codes[row]] = true;
+                }
+            }
+            Map<String, Integer> rankOf = new HashMap<>();
+            for (int code = 0; code < used.length; code++) {
+                if (used[code]) {
+                    rankOf.put(dictionary.get(code), -1);
+                }
+            }
+            String[] distinct = sortAndRank(rankOf);
+            int[] codeRanks = new int[used.length];
+            for (int code = 0; code < used.length; code++) {
+                codeRanks[code] = used[code] ? rankOf.get(dictionary.get(code)) : -1;
+            }
+            for (int row = 0; row < size; row++) {
+                ranks[row] = codes[row] < 0 ? -1 : codeRanks[codes[row]];
+            }
+            return distinct;
+        }
+
+        String[] data = ((StringColumn) column).data();
+        Map<String, Integer> rankOf = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            if (!column.isNull(row)) {
+                rankOf.put(data[row], -1);
+            }
+        }
+        String[] distinct = sortAndRank(rankOf);
+        for (int row = 0; row < size; row++) {
+            ranks[row] = column.isNull(row) ? -1 : rankOf.get(data[row]);
+        }
+        return distinct;
+    }
+
+    private static String[] sortAndRank(Map<String, Integer> rankOf) {
+        String[] distinct = rankOf.keySet().toArray(new String[0]);
+        Arrays.sort(distinct);
+        for (int i = 0; i < distinct.length; i++) {
+            rankOf.put(distinct[i], i);
+        }
+        return distinct;
+    }
+
+    @Override
+    public IndexType type() {
+        return IndexType.SORTED;
+    }
+
+    @Override
+    int[] rowsWithKey(long key) {
+        int rank = Arrays.binarySearch(distinctKeys, key);
+        return rank < 0 ? new int[0] : rowsOfRanks(rank, rank + 1);
+    }
+
+    @Override
+    int[] rowsWithText(String value) {
+        int rank = Arrays.binarySearch(distinctText, value);
+        return rank < 0 ? new int[0] : rowsOfRanks(rank, rank + 1);
+    }
+
+    @Override
+    int[] rowsBetweenKeys(long lower, long upper) {
+        int from = Arrays.binarySearch(distinctKeys, lower);
+        int to = Arrays.binarySearch(distinctKeys, upper);
+        from = from < 0 ? -from - 1 : from;
+        to = to < 0 ? -to - 1 : to + 1;
+        return rowsOfRanks(from, to);
+    }
+
+    @Override
+    int[] rowsBetweenText(String lower, boolean lowerInclusive, String upper, boolean upperInclusive) {
+        int from = 0;
+        if (lower != null) {
+            int rank = Arrays.binarySearch(distinctText, lower);
+            from = rank < 0 ? -rank - 1 : lowerInclusive ? rank : rank + 1;
+        }
+        int to = distinctText.length;
+        if (upper != null) {
+            int rank = Arrays.binarySearch(distinctText, upper);
+            to = rank < 0 ? -rank - 1 : upperInclusive ? rank + 1 : rank;
+        }
+        return rowsOfRanks(from, to);
+    }
+
+    /**
+     * Collects the rows of the distinct values from rank 'from' to rank 'to' exclusive in ascending row order. A few
+     * rows are sorted directly, many rows are set in a bitmap of the column and read back in order.
+     */
+    private int[] rowsOfRanks(int from, int to) {
+        if (from >= to) {
+            return new int[0];
+        }
+        int count = offsets[to] - offsets[from];
+        if (to - from == 1) {
+            return Arrays.copyOfRange(order, offsets[from], offsets[to]);
+        }
+        if (count < column.size() >>> 6) {
+            int[] rows = Arrays.copyOfRange(order, offsets[from], offsets[to]);
+            Arrays.sort(rows);
+            return rows;
+        }
+        long[] words = new long[NullBitmap.wordCount(column.size())];
+        for (int i = offsets[from]; i < offsets[to]; i++) {
+            int row = order[i];
+            words[row >>> 6] |= 1L << row;
+        }
+        return rowsOf(words, count);
+    }
+
+    @Override
+    void beforeUpdate(int row) {
+        stale = true;
+    }
+
+    @Override
+    void afterUpdate(int row) {
+    }
+
+    @Override
+    boolean isCurrent() {
+        return !stale && super.isCurrent();
+    }
+}
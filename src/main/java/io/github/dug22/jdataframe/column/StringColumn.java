@@ -0,0 +1,197 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+
+public class StringColumn extends Column {
+
+    private String[] data;
+
+    /**
+     * Creates an empty string column.
+     */
+    public StringColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty string column with the given initial capacity.
+     *
+     * @param capacity the initial capacity
+     */
+    public StringColumn(int capacity) {
+        this.data = new String[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Creates a string column that wraps the given values without copying them.
+     * Null entries become null rows.
+     *
+     * @param values the column values
+     */
+    public StringColumn(String[] values) {
+        this.data = values;
+        this.size = values.length;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                if (nulls == null) {
+                    nulls = new NullBitmap(values.length);
+                }
+                nulls.set(i);
+            }
+        }
+    }
+
+    /**
+     * Creates a string column from the given values.
+     *
+     * @param values the column values
+     * @return the new column
+     */
+    public static StringColumn of(String... values) {
+        return new StringColumn(values.clone());
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.STRING;
+    }
+
+    /**
+     * Returns the string at the given row, or null for null rows.
+     *
+     * @param index the row index
+     * @return the string value
+     */
+    public String getString(int index) {
+        return data[index];
+    }
+
+    /**
+     * Replaces the string at the given row.
+     *
+     * @param index the row index
+     * @param value the new value, or null to mark the row as null
+     */
+    public void setString(int index, String value) {
+        beforeUpdate(index);
+        data[index] = value;
+        if (value == null) {
+            markNull(index);
+        } else {
+            clearNull(index);
+        }
+        afterUpdate(index);
+    }
+
+    /**
+     * Appends a string to the column.
+     *
+     * @param value the value to append, or null to append a null row
+     */
+    public void appendString(String value) {
+        ensureCapacity(size + 1);
+        data[size] = value;
+        if (value == null) {
+            markNull(size);
+        } else {
+            clearNull(size);
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void appendNull() {
+        appendString(null);
+    }
+
+    /**
+     * Returns the backing array of this column. Only the first {@link #size()} entries are valid.
+     * The array must be treated as read-only.
+     *
+     * @return the backing array
+     */
+    public String[] data() {
+        return data;
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        return value instanceof String;
+    }
+
+    @Override
+    public Column gather(int[] rows) {
+        String[] gathered = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (row >= 0) {
+                gathered[i] = data[row];
+            }
+        }
+        return new StringColumn(gathered);
+    }
+
+    @Override
+    public Column emptyCopy(int capacity) {
+        return new StringColumn(capacity);
+    }
+
+    @Override
+    public Column copy() {
+        return new StringColumn(Arrays.copyOf(data, size));
+    }
+
+    @Override
+    protected Object getValue(int index) {
+        return data[index];
+    }
+
+    @Override
+    protected void setValue(int index, Object value) {
+        data[index] = (String) value;
+    }
+
+    @Override
+    protected void copyValue(int from, int to) {
+        data[to] = data[from];
+    }
+
+    @Override
+    protected void copyValues(Column source, int offset) {
+        System.arraycopy(((StringColumn) source).data, 0, data, offset, source.size);
+    }
+
+    @Override
+    protected Column shareStorage() {
+        StringColumn column = new StringColumn(0);
+        column.data = data;
+        return column;
+    }
+
+    @Override
+    protected void copyStorage(int rows) {
+        String[] copy = new String[data.length];
+        System.arraycopy(data, 0, copy, 0, rows);
+        data = copy;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        prepareWrite(size);
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+        }
+    }
+
+    @Override
+    protected void markNull(int index) {
+        super.markNull(index);
+        data[index] = null;
+    }
+
+    @Override
+    protected void releaseValues(int fromIndex, int toIndex) {
+        Arrays.fill(data, fromIndex, toIndex, null);
+    }
+}
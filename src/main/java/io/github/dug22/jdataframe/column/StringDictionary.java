@@ -0,0 +1,94 @@
+package io.github.dug22.jdataframe.column;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The distinct values of a {@link DictionaryColumn}, each identified by a dense int code assigned in order of first
+ * appearance. Values are only ever added, so the code of a value never changes.
+ */
+public class StringDictionary {
+
+    private String[] values;
+    private final Map<String, Integer> codes;
+
+    StringDictionary() {
+        this.values = new String[16];
+        this.codes = new HashMap<>();
+    }
+
+    private StringDictionary(StringDictionary source) {
+        this.values = Arrays.copyOf(source.values, source.values.length);
+        this.codes = new HashMap<>(source.codes);
+    }
+
+    /**
+     * Creates a dictionary holding the given values, the code of every value being its index.
+     *
+     * @param values the distinct non-null values
+     * @return the dictionary
+     */
+    static StringDictionary of(String[] values) {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null || dictionary.encode(values[i]) != i) {
+                throw new IllegalArgumentException("The values of a dictionary must be distinct and not null!");
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Returns the number of distinct values.
+     *
+     * @return the dictionary size
+     */
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     * Returns the value of a code.
+     *
+     * @param code a code between 0 and {@link #size()} - 1
+     * @return the value
+     */
+    public String get(int code) {
+        return values[code];
+    }
+
+    /**
+     * Returns the code of a value.
+     *
+     * @param value the value
+     * @return the code, or -1 if the dictionary does not hold the value
+     */
+    public int codeOf(Object value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Returns the code of a value, adding the value if the dictionary does not hold it yet.
+     *
+     * @param value the non-null value
+     * @return the code
+     */
+    int encode(String value) {
+        Integer code = codes.putIfAbsent(value, codes.size());
+        if (code != null) {
+            return code;
+        }
+        int added = codes.size() - 1;
+        if (added == values.length) {
+            values = Arrays.copyOf(values, added + (added >> 1));
+        }
+        values[added] = value;
+        return added;
+    }
+
+    StringDictionary copy() {
+        return new StringDictionary(this);
+    }
+}
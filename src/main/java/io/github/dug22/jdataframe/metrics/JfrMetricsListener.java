@@ -0,0 +1,67 @@
+package io.github.dug22.jdataframe.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits every stage as a "io.github.dug22.jdataframe.Stage" event to Java Flight Recorder, where it can be inspected
+ * next to the GC, allocation and I/O events of the same recording, for example in JDK Mission Control or with
+ * {@code jfr print --events io.github.dug22.jdataframe.Stage recording.jfr}. Events are only built while a recording
+ * has the event enabled, which it is by default.
+ */
+public class JfrMetricsListener implements MetricsListener {
+
+    @Override
+    public void stageCompleted(StageMetrics stage) {
+        StageEvent event = new StageEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.stage = stage.stage();
+        event.description = stage.description();
+        event.wallTime = stage.wallNanos();
+        event.rowsIn = stage.rowsIn();
+        event.rowsOut = stage.rowsOut();
+        event.bytesRead = stage.bytesRead();
+        event.allocatedBytes = stage.allocatedBytes();
+        event.commit();
+    }
+
+    @Name("io.github.dug22.jdataframe.Stage")
+    @Label("JDataFrame Stage")
+    @Category("JDataFrame")
+    @Description("A completed stage of a dataframe operation")
+    @StackTrace(false)
+    static class StageEvent extends Event {
+
+        @Label("Stage")
+        String stage;
+
+        @Label("Description")
+        String description;
+
+        @Label("Wall Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long wallTime;
+
+        @Label("Rows In")
+        long rowsIn;
+
+        @Label("Rows Out")
+        long rowsOut;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+
+        @Label("Allocated Bytes")
+        @DataAmount
+        long allocatedBytes;
+    }
+}
@@ -0,0 +1,285 @@
+package io.github.dug22.jdataframe.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds the registered {@link MetricsListener} and measures the stages reported to it.
+ * <p>
+ * The listener registered for the JVM is the first {@link ServiceLoader} provider of MetricsListener, if any, until
+ * {@link #setListener(MetricsListener)} is called. A {@link #scope(MetricsListener) scope} overrides it on the current
+ * thread. While the effective listener is {@link MetricsListener#NOOP}, {@link #start} returns a stage that does
+ * nothing, so the operations neither read clocks nor build descriptions.
+ * <p>
+ * Operations splitting their work into parallel tasks wrap them with {@link #measured(IntConsumer)} or
+ * {@link #measured(Callable)}, which counts the allocations of the tasks in the stage running on the calling thread.
+ */
+public final class Metrics {
+
+    private static final ThreadLocal<MetricsListener> SCOPED_LISTENER = new ThreadLocal<>();
+    private static final ThreadLocal<Stage> CURRENT_STAGE = new ThreadLocal<>();
+    private static final Scope NO_SCOPE = () -> {
+    };
+
+    private static volatile MetricsListener listener = ServiceLoader.load(MetricsListener.class).findFirst().orElse(MetricsListener.NOOP);
+
+    private Metrics() {
+    }
+
+    /**
+     * Registers the listener receiving the stages of every thread that is not in a scope.
+     *
+     * @param listener the listener, or {@link MetricsListener#NOOP} to stop measuring
+     */
+    public static void setListener(MetricsListener listener) {
+        Metrics.listener = Objects.requireNonNull(listener, "The metrics listener cannot be null!");
+    }
+
+    /**
+     * Returns the listener receiving the stages of the current thread.
+     *
+     * @return the listener of the current scope, or else the listener registered for the JVM
+     */
+    public static MetricsListener getListener() {
+        MetricsListener scoped = SCOPED_LISTENER.get();
+        return scoped != null ? scoped : listener;
+    }
+
+    /**
+     * Checks whether the stages of the current thread are measured.
+     *
+     * @return false if the current listener is {@link MetricsListener#NOOP}
+     */
+    public static boolean enabled() {
+        return getListener() != MetricsListener.NOOP;
+    }
+
+    /**
+     * Sends the stages of the current thread to a listener until the returned scope is closed, which restores the
+     * previous listener.
+     *
+     * @param listener the listener, or null to keep the current listener
+     * @return the scope to close
+     */
+    public static Scope scope(MetricsListener listener) {
+        if (listener == null) {
+            return NO_SCOPE;
+        }
+        MetricsListener previous = SCOPED_LISTENER.get();
+        SCOPED_LISTENER.set(listener);
+        return () -> {
+            if (previous == null) {
+                SCOPED_LISTENER.remove();
+            } else {
+                SCOPED_LISTENER.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Starts measuring a stage on the current thread. The stage is closed on the same thread once it completed or
+     * failed; a stage closed before it was ended is not reported.
+     *
+     * @param stage       the name of the stage
+     * @param description describes what the stage does; only called if the stage is measured
+     * @param input       the dataframe the stage receives, or null if it has no input
+     * @return the running stage, to end when the stage completes and to close once it completed or failed
+     */
+    public static Stage start(String stage, Supplier<String> description, Map<String, List<Object>> input) {
+        MetricsListener current = getListener();
+        if (current == MetricsListener.NOOP) {
+            return Stage.DISABLED;
+        }
+        return new Stage(current, stage, description.get(), input == null ? -1 : rowCount(input));
+    }
+
+    /**
+     * Counts the allocations of a parallel task in the stage running on the calling thread.
+     *
+     * @param task the task, called by the worker threads
+     * @return the task measuring its allocations, or the task itself if no stage is running
+     */
+    public static IntConsumer measured(IntConsumer task) {
+        Stage stage = CURRENT_STAGE.get();
+        if (stage == null) {
+            return task;
+        }
+        return i -> {
+            long start = stage.startWorker();
+            try {
+                task.accept(i);
+            } finally {
+                stage.endWorker(start);
+            }
+        };
+    }
+
+    /**
+     * Counts the allocations of a parallel task in the stage running on the calling thread.
+     *
+     * @param task the task, called by the worker threads
+     * @param <T>  the type of the result of the task
+     * @return the task measuring its allocations, or the task itself if no stage is running
+     */
+    public static <T> Callable<T> measured(Callable<T> task) {
+        Stage stage = CURRENT_STAGE.get();
+        if (stage == null) {
+            return task;
+        }
+        return () -> {
+            long start = stage.startWorker();
+            try {
+                return task.call();
+            } finally {
+                stage.endWorker(start);
+            }
+        };
+    }
+
+    private static int rowCount(Map<String, List<Object>> dataFrameMap) {
+        return dataFrameMap.isEmpty() ? 0 : dataFrameMap.values().iterator().next().size();
+    }
+
+    /**
+     * A scope opened by {@link #scope(MetricsListener)}.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * A stage being measured. Its time and allocations are measured from {@link #start} to {@link #end}. The
+     * allocations are those of the thread running the stage and of the parallel tasks it {@link #measured measures}.
+     */
+    public static final class Stage implements AutoCloseable {
+
+        private static final Stage DISABLED = new Stage(null, null, null, 0);
+
+        private final MetricsListener listener;
+        private final String stage;
+        private final String description;
+        private final long rowsIn;
+        private final Thread thread;
+        private final Stage parent;
+        private final LongAdder workerAllocatedBytes;
+        private final long startNanos;
+        private final long startAllocatedBytes;
+        private boolean closed;
+
+        private Stage(MetricsListener listener, String stage, String description, long rowsIn) {
+            this.listener = listener;
+            this.stage = stage;
+            this.description = description;
+            this.rowsIn = rowsIn;
+            if (listener == null) {
+                this.thread = null;
+                this.parent = null;
+                this.workerAllocatedBytes = null;
+                this.startAllocatedBytes = 0;
+                this.startNanos = 0;
+            } else {
+                this.thread = Thread.currentThread();
+                this.parent = CURRENT_STAGE.get();
+                this.workerAllocatedBytes = new LongAdder();
+                CURRENT_STAGE.set(this);
+                this.startAllocatedBytes = Allocations.currentThreadBytes();
+                this.startNanos = System.nanoTime();
+            }
+        }
+
+        /**
+         * Ends a stage that read no file and reports it.
+         *
+         * @param output the dataframe the stage produced
+         */
+        public void end(Map<String, List<Object>> output) {
+            end(output, -1);
+        }
+
+        /**
+         * Ends the stage and reports it.
+         *
+         * @param output    the dataframe the stage produced
+         * @param bytesRead the number of bytes read from files, or -1 if the stage read no file
+         */
+        public void end(Map<String, List<Object>> output, long bytesRead) {
+            if (listener != null) {
+                end(rowCount(output), bytesRead);
+            }
+        }
+
+        /**
+         * Ends a stage whose result is not a dataframe and reports it.
+         *
+         * @param rowsOut   the number of rows, or of groups, the stage produced
+         * @param bytesRead the number of bytes read from files, or -1 if the stage read no file
+         */
+        public void end(long rowsOut, long bytesRead) {
+            if (listener == null || closed) {
+                return;
+            }
+            long wallNanos = System.nanoTime() - startNanos;
+            long threadAllocatedBytes = startAllocatedBytes < 0 ? -1 : Allocations.currentThreadBytes() - startAllocatedBytes;
+            long workerBytes = workerAllocatedBytes.sum();
+            close();
+            long allocatedBytes = threadAllocatedBytes < 0 ? -1 : threadAllocatedBytes + workerBytes;
+            listener.stageCompleted(new StageMetrics(stage, description, wallNanos, rowsIn, rowsOut, bytesRead, allocatedBytes));
+        }
+
+        /**
+         * Ends the stage without reporting it if it was not ended, like when it failed. Called in a finally block or by
+         * a try-with-resources statement.
+         */
+        @Override
+        public void close() {
+            if (listener == null || closed) {
+                return;
+            }
+            closed = true;
+            if (parent == null) {
+                CURRENT_STAGE.remove();
+            } else {
+                parent.workerAllocatedBytes.add(workerAllocatedBytes.sum());
+                CURRENT_STAGE.set(parent);
+            }
+        }
+
+        private long startWorker() {
+            return Thread.currentThread() == thread ? -1 : Allocations.currentThreadBytes();
+        }
+
+        /**
+         * Adds the allocations of a parallel task, unless it ran on the thread of the stage, which measures them
+         * already.
+         */
+        private void endWorker(long startAllocatedBytes) {
+            if (startAllocatedBytes >= 0) {
+                workerAllocatedBytes.add(Allocations.currentThreadBytes() - startAllocatedBytes);
+            }
+        }
+    }
+
+    /**
+     * Reads the number of bytes allocated by the current thread since it started. Loaded with the first measured
+     * stage, so the management classes are never loaded while nothing is measured.
+     */
+    private static final class Allocations {
+
+        private static final com.sun.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() ? threads : null;
+
+        static long currentThreadBytes() {
+            return THREADS == null || !THREADS.isThreadAllocatedMemoryEnabled() ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+        }
+    }
+}
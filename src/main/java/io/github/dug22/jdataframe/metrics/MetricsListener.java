@@ -0,0 +1,28 @@
+package io.github.dug22.jdataframe.metrics;
+
+/**
+ * Receives the measurements of every completed stage of the dataframe operations. A listener is registered for the
+ * whole JVM with {@link Metrics#setListener(MetricsListener)} or as a {@link java.util.ServiceLoader} provider, or for
+ * a single pipeline with {@link io.github.dug22.jdataframe.JDataFrameBuilder#metrics(MetricsListener)}.
+ * <p>
+ * Stages nest: the build of a pipeline contains one stage per plan node, and a plan node may call an operation that
+ * reports its own stage. Every stage is reported when it completes, so inner stages are reported first. Stages that
+ * fail are not reported. Listeners are called on the thread running the stage and may be called from several
+ * threads at once.
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+    /**
+     * The default listener, which ignores every stage. While it is registered the operations measure nothing.
+     */
+    MetricsListener NOOP = stage -> {
+    };
+
+    /**
+     * Called when a stage completes.
+     *
+     * @param stage the measurements of the stage
+     */
+    void stageCompleted(StageMetrics stage);
+}
@@ -0,0 +1,18 @@
+package io.github.dug22.jdataframe.metrics;
+
+/**
+ * The measurements of one completed stage, such as the filter of a builder pipeline or a CSV read.
+ *
+ * @param stage          the name of the stage, like "filter" or "readCSV"; plan stages are named after their plan
+ *                       node, like "Filter" or "CSVScan"
+ * @param description    what the stage did, like the predicate of a filter or the path of a file
+ * @param wallNanos      the wall-clock time of the stage, in nanoseconds
+ * @param rowsIn         the number of rows the stage received, or -1 if it had no input
+ * @param rowsOut        the number of rows the stage produced, or of groups for a group-by
+ * @param bytesRead      the number of bytes read from files, or -1 if the stage read no file
+ * @param allocatedBytes the number of bytes allocated by the thread running the stage and by the parallel tasks of the
+ *                       stage, like the threads parsing a CSV file, or -1 if the JVM does not measure allocations
+ */
+public record StageMetrics(String stage, String description, long wallNanos, long rowsIn, long rowsOut,
+                           long bytesRead, long allocatedBytes) {
+}
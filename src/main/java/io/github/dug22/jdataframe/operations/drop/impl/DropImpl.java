@@ -1,12 +1,13 @@
 package io.github.dug22.jdataframe.operations.drop.impl;
 
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.metrics.Metrics;
 import io.github.dug22.jdataframe.operations.drop.Drop;
 import io.github.dug22.jdataframe.operations.drop.How;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
 
 import java.util.*;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public class DropImpl implements Drop {
 
@@ -18,7 +19,7 @@ public class DropImpl implements Drop {
      */
     @Override
     public void drop(Map<String, List<Object>> dataFrameMap, String column) {
-        dataFrameMap.remove(column);
+        drop(dataFrameMap, Collections.singletonList(column));
     }
 
     /**
@@ -29,7 +30,10 @@ public class DropImpl implements Drop {
      */
     @Override
     public void drop(Map<String, List<Object>> dataFrameMap, List<String> columns) {
-        columns.forEach(dataFrameMap::remove);
+        try (Metrics.Stage stage = Metrics.start("drop", columns::toString, dataFrameMap)) {
+            columns.forEach(dataFrameMap::remove);
+            stage.end(dataFrameMap);
+        }
     }
 
     /**
@@ -57,52 +61,27 @@ public class DropImpl implements Drop {
      */
     @Override
     public void dropNA(Map<String, List<Object>> dataFrameMap, List<String> columns, How how) {
-        switch (how) {
-            case ANY -> {
-                columns.stream().filter(dataFrameMap::containsKey).forEach(column -> {
-                    List<Object> columnData = dataFrameMap.get(column);
-                    if (columnData != null) {
-                        columnData.removeIf(Objects::isNull);
-                    }
-                });
-            }
-            case ALL -> {
-                int rowCount = dataFrameMap.values().stream().mapToInt(List::size).min().orElse(0);
-                List<Integer> rowsToRemove = new ArrayList<>();
-
-                for (int i = 0; i < rowCount; i++) {
-                    final int row = i;
-                    boolean allNull = columns.stream()
-                            .filter(dataFrameMap::containsKey)
-                            .allMatch(column -> {
-                                List<Object> columnData = dataFrameMap.get(column);
-                                return columnData == null || columnData.size() <= row || columnData.get(row) == null;
-                            });
-                    if (allNull) {
-                        rowsToRemove.add(row);
-                    }
-                }
-
-                for (int i = rowsToRemove.size() - 1; i >= 0; i--) {
-                    int rowToRemove = rowsToRemove.get(i);
-                    dataFrameMap.values().forEach(columnData -> {
-                        if (columnData.size() > rowToRemove) {
-                            columnData.remove(rowToRemove);
-                        }
-                    });
+        try (Metrics.Stage stage = Metrics.start("dropNA", () -> columns + " " + how, dataFrameMap)) {
+            int rowCount = dataFrameMap.values().stream().mapToInt(List::size).min().orElse(0);
+            long[] keep = ColumnPredicate.notNull(columns, how).evaluate(dataFrameMap, rowCount);
+            for (Map.Entry<String, List<Object>> entry : dataFrameMap.entrySet()) {
+                if (entry.getValue() instanceof Column column) {
+                    entry.setValue(Columns.retainRows(column, keep));
+                } else {
+                    entry.setValue(retainRows(entry.getValue(), keep, rowCount));
                 }
             }
+            stage.end(dataFrameMap);
         }
+    }
 
-        int minSize = dataFrameMap.values().stream()
-                .mapToInt(List::size)
-                .min()
-                .orElse(0);
-
-        dataFrameMap.values().forEach(columnData -> {
-            if (columnData.size() > minSize) {
-                columnData.subList(minSize, columnData.size()).clear();
+    private List<Object> retainRows(List<Object> values, long[] keep, int rowCount) {
+        List<Object> kept = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            if ((keep[row >>> 6] & (1L << row)) != 0) {
+                kept.add(values.get(row));
             }
-        });
+        }
+        return kept;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,257 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.column.NullBitmap;
+import io.github.dug22.jdataframe.operations.drop.How;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A filter condition evaluated a column at a time, for example {@code col("Age").gt(30).and(col("Dept").in("HR", "Engineering"))}.
+ * Instead of testing one row map at a time, a predicate scans the primitive arrays of its columns and produces a selection bitmap
+ * holding one bit per row, which is then used to gather every column in a single pass.
+ * <p>
+ * Comparisons never select null rows.
+ */
+public abstract class ColumnPredicate {
+
+    /**
+     * Starts a predicate on the given column.
+     *
+     * @param column the name of the column
+     * @return a reference to the column offering the comparison methods
+     */
+    public static ColumnReference col(String column) {
+        return new ColumnReference(column);
+    }
+
+    /**
+     * Wraps a row condition, as used by {@code filter(columns, condition)}, into a predicate. The condition receives
+     * a map of the values of the given columns and is tested one row at a time, so it is much slower than the
+     * column predicates built with {@link #col(String)}.
+     *
+     * @param columns   the columns passed to the condition
+     * @param condition the condition a row map must satisfy
+     * @return the predicate
+     */
+    public static ColumnPredicate rows(List<String> columns, FilterPredicate<?> condition) {
+        return new RowPredicate(List.copyOf(columns), condition);
+    }
+
+    /**
+     * Selects the rows kept by {@code dropNA(columns, how)}: with 'ANY' the rows that are non-null in every given column,
+     * with 'ALL' the rows that are non-null in at least one of them. Columns that do not exist are ignored.
+     *
+     * @param columns the columns checked for null values
+     * @param how     how the null values of the columns are combined
+     * @return the predicate
+     */
+    public static ColumnPredicate notNull(List<String> columns, How how) {
+        return new NotNullPredicate(List.copyOf(columns), how);
+    }
+
+    /**
+     * Evaluates this predicate over the first 'rowCount' rows of a dataframe.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param rowCount     the number of rows of the dataframe
+     * @return the selection bitmap, one bit per row in 64-bit words; bits past 'rowCount' are always clear
+     */
+    public abstract long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount);
+
+    /**
+     * Narrows a selection to the rows also matching this predicate. Predicates testing one row at a time only test
+     * the rows that are still selected, so a cheaper predicate evaluated first spares them most of the work.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param rowCount     the number of rows of the dataframe
+     * @param selection    the selection bitmap to narrow, updated in place
+     * @return the narrowed selection
+     */
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount, long[] selection) {
+        long[] matches = evaluate(dataFrameMap, rowCount);
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] &= matches[i];
+        }
+        return selection;
+    }
+
+    /**
+     * Answers this predicate from the indexes of its columns, without scanning them. Only predicates whose every
+     * column is indexed, with an index able to answer them, are answered this way; the rows are then exactly the rows
+     * {@link #evaluate(Map, int)} would select.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param rowCount     the number of rows of the dataframe
+     * @return the indexes of the matching rows in ascending order, or null if the predicate has to be evaluated
+     */
+    public int[] indexedRows(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        return null;
+    }
+
+    /**
+     * Checks, from the statistics of its columns alone, whether some rows of a block of data may match this predicate.
+     * A false result guarantees that no row of the block matches, so the block can be skipped without being read;
+     * a true result guarantees nothing. Predicates that cannot tell return true.
+     *
+     * @param statistics the statistics of the columns of the block, by name; columns without statistics may hold any value
+     * @return false if no row of the block can match
+     */
+    public boolean mayMatch(Map<String, ColumnStatistics> statistics) {
+        return true;
+    }
+
+    /**
+     * Returns the names of the columns read by this predicate.
+     *
+     * @return the referenced column names
+     */
+    public abstract Set<String> columns();
+
+    /**
+     * Combines this predicate with another one, selecting the rows matching both.
+     *
+     * @param other the other predicate
+     * @return the combined predicate
+     */
+    public ColumnPredicate and(ColumnPredicate other) {
+        return new LogicalPredicate(this, other, true);
+    }
+
+    /**
+     * Combines this predicate with another one, selecting the rows matching either.
+     *
+     * @param other the other predicate
+     * @return the combined predicate
+     */
+    public ColumnPredicate or(ColumnPredicate other) {
+        return new LogicalPredicate(this, other, false);
+    }
+
+    /**
+     * Negates this predicate, selecting every row it does not select (including null rows).
+     *
+     * @return the negated predicate
+     */
+    public ColumnPredicate not() {
+        return new NotPredicate(this);
+    }
+
+    /**
+     * Looks up a column of the dataframe as a typed column.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param column       the name of the column
+     * @return the column
+     */
+    static Column column(Map<String, List<Object>> dataFrameMap, String column) {
+        List<Object> values = dataFrameMap.get(column);
+        if (values == null) {
+            throw new IllegalArgumentException("Column '" + column + "' does not exist!");
+        }
+        return Columns.asColumn(values);
+    }
+
+    /**
+     * Turns rows answered by an index into a selection bitmap.
+     *
+     * @param rows     the selected rows
+     * @param rowCount the number of rows
+     * @return the selection bitmap
+     */
+    static long[] selection(int[] rows, int rowCount) {
+        long[] selection = new long[NullBitmap.wordCount(rowCount)];
+        for (int row : rows) {
+            selection[row >>> 6] |= 1L << row;
+        }
+        return selection;
+    }
+
+    /**
+     * Drops the rows answered by an index that lie past the last row of the dataframe.
+     *
+     * @param rows     the rows in ascending order
+     * @param rowCount the number of rows
+     * @return the rows below 'rowCount'
+     */
+    static int[] rowsBelow(int[] rows, int rowCount) {
+        int count = rows.length;
+        while (count > 0 && rows[count - 1] >= rowCount) {
+            count--;
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Merges two ascending row arrays into the ascending rows found in either.
+     */
+    static int[] union(int[] first, int[] second) {
+        int[] rows = new int[first.length + second.length];
+        int i = 0, j = 0, count = 0;
+        while (i < first.length && j < second.length) {
+            int a = first[i];
+            int b = second[j];
+            rows[count++] = Math.min(a, b);
+            i += a <= b ? 1 : 0;
+            j += b <= a ? 1 : 0;
+        }
+        while (i < first.length) {
+            rows[count++] = first[i++];
+        }
+        while (j < second.length) {
+            rows[count++] = second[j++];
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Intersects two ascending row arrays into the ascending rows found in both.
+     */
+    static int[] intersection(int[] first, int[] second) {
+        int[] rows = new int[Math.min(first.length, second.length)];
+        int i = 0, j = 0, count = 0;
+        while (i < first.length && j < second.length) {
+            int a = first[i];
+            int b = second[j];
+            if (a == b) {
+                rows[count++] = a;
+            }
+            i += a <= b ? 1 : 0;
+            j += b <= a ? 1 : 0;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Clears the bits of the null rows of a column from a selection.
+     *
+     * @param selection the selection bitmap
+     * @param column    the column whose null rows are removed
+     */
+    static void clearNulls(long[] selection, Column column) {
+        NullBitmap nulls = column.nulls();
+        if (nulls == null) {
+            return;
+        }
+        long[] nullWords = nulls.words();
+        for (int i = 0; i < Math.min(selection.length, nullWords.length); i++) {
+            selection[i] &= ~nullWords[i];
+        }
+    }
+
+    /**
+     * Clears the bits of a selection that lie past the last row.
+     *
+     * @param selection the selection bitmap
+     * @param rowCount  the number of rows
+     */
+    static void clearTail(long[] selection, int rowCount) {
+        if ((rowCount & 63) != 0 && selection.length > 0) {
+            selection[selection.length - 1] &= (1L << rowCount) - 1;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A reference to a column, created with {@link ColumnPredicate#col(String)}, from which comparison predicates are built.
+ * Values are compared in the column's own type: numbers with numbers, dates with {@link java.time.LocalDate}s
+ * and text with strings.
+ */
+public final class ColumnReference {
+
+    private final String column;
+
+    ColumnReference(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Selects the rows equal to the given value.
+     *
+     * @param value the value to compare with
+     * @return the predicate
+     */
+    public ColumnPredicate eq(Object value) {
+        return new RangePredicate(column, requireValue(value), true, value, true, false);
+    }
+
+    /**
+     * Selects the non-null rows different from the given value.
+     *
+     * @param value the value to compare with
+     * @return the predicate
+     */
+    public ColumnPredicate ne(Object value) {
+        return new RangePredicate(column, requireValue(value), true, value, true, true);
+    }
+
+    /**
+     * Selects the rows greater than the given value.
+     *
+     * @param value the value to compare with
+     * @return the predicate
+     */
+    public ColumnPredicate gt(Object value) {
+        return new RangePredicate(column, requireValue(value), false, null, false, false);
+    }
+
+    /**
+     * Selects the rows greater than or equal to the given value.
+     *
+     * @param value the value to compare with
+     * @return the predicate
+     */
+    public ColumnPredicate ge(Object value) {
+        return new RangePredicate(column, requireValue(value), true, null, false, false);
+    }
+
+    /**
+     * Selects the rows less than the given value.
+     *
+     * @param value the value to compare with
+     * @return the predicate
+     */
+    public ColumnPredicate lt(Object value) {
+        return new RangePredicate(column, null, false, requireValue(value), false, false);
+    }
+
+    /**
+     * Selects the rows less than or equal to the given value.
+     *
+     * @param value the value to compare with
+     * @return the predicate
+     */
+    public ColumnPredicate le(Object value) {
+        return new RangePredicate(column, null, false, requireValue(value), true, false);
+    }
+
+    /**
+     * Selects the rows between two values, both inclusive.
+     *
+     * @param lower the lowest selected value
+     * @param upper the highest selected value
+     * @return the predicate
+     */
+    public ColumnPredicate between(Object lower, Object upper) {
+        return new RangePredicate(column, requireValue(lower), true, requireValue(upper), true, false);
+    }
+
+    /**
+     * Selects the rows equal to any of the given values.
+     *
+     * @param values the accepted values
+     * @return the predicate
+     */
+    public ColumnPredicate in(Object... values) {
+        return in(Arrays.asList(values));
+    }
+
+    /**
+     * Selects the rows equal to any of the given values.
+     *
+     * @param values the accepted values
+     * @return the predicate
+     */
+    public ColumnPredicate in(Collection<?> values) {
+        values.forEach(ColumnReference::requireValue);
+        return new InPredicate(column, List.copyOf(values));
+    }
+
+    /**
+     * Selects the null rows.
+     *
+     * @return the predicate
+     */
+    public ColumnPredicate isNull() {
+        return new NullPredicate(column, true);
+    }
+
+    /**
+     * Selects the non-null rows.
+     *
+     * @return the predicate
+     */
+    public ColumnPredicate isNotNull() {
+        return new NullPredicate(column, false);
+    }
+
+    private static Object requireValue(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values cannot be compared, use isNull() instead!");
+        }
+        return value;
+    }
+}
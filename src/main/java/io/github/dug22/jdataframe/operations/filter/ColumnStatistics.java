@@ -0,0 +1,32 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+/**
+ * The minimum, maximum and null count of a column over a block of rows, such as a row group of a Parquet file.
+ * {@link ColumnPredicate#mayMatch(java.util.Map)} compares them with a predicate to skip the blocks in which no row
+ * can match, without reading them.
+ *
+ * @param min       the smallest non-null value of the block, or null if unknown
+ * @param max       the largest non-null value of the block, or null if unknown
+ * @param nullCount the number of null values of the block, or -1 if unknown
+ * @param rowCount  the number of rows of the block
+ */
+public record ColumnStatistics(Object min, Object max, long nullCount, long rowCount) {
+
+    /**
+     * Checks whether every row of the block is known to be null.
+     *
+     * @return true if the block holds no value
+     */
+    public boolean allNull() {
+        return nullCount >= 0 && nullCount == rowCount;
+    }
+
+    /**
+     * Checks whether the block is known to hold no null value.
+     *
+     * @return true if the block holds no null value
+     */
+    public boolean noNulls() {
+        return nullCount == 0;
+    }
+}
@@ -24,4 +24,13 @@ public interface Filter {
      * @return A filtered map with the same structure but only containing rows that satisfy the condition.
      */
     Map<String, List<Object>> filter(Map<String, List<Object>> dataFrameMap, List<String> columns, FilterPredicate<?> condition);
+
+    /**
+     * Filters a DataFrame (map of columns) with a column predicate evaluated a column at a time.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param predicate A column predicate such as {@code col("Age").gt(30)}.
+     * @return A filtered map with the same structure but only containing rows that satisfy the predicate.
+     */
+    Map<String, List<Object>> filter(Map<String, List<Object>> dataFrameMap, ColumnPredicate predicate);
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import io.github.dug22.jdataframe.column.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Selects the rows of a column equal to any value of a set. Integer and date columns probe a sorted long array,
+ * double columns a sorted double array and text columns a hash set. Dictionary-encoded columns look up every accepted
+ * value once in their dictionary and then check the int code of every row. An indexed column is not scanned: every
+ * accepted value is looked up in its index instead.
+ */
+class InPredicate extends ColumnPredicate {
+
+    private final String column;
+    private final List<Object> values;
+
+    InPredicate(String column, List<Object> values) {
+        this.column = column;
+        this.values = values;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        Column columnValues = column(dataFrameMap, column);
+        int[] indexed = lookup(columnValues, rowCount);
+        if (indexed != null) {
+            return selection(indexed, rowCount);
+        }
+        long[] selection = new long[NullBitmap.wordCount(rowCount)];
+        switch (columnValues) {
+            case IntColumn intColumn -> {
+                long[] accepted = longValues(Number.class);
+                int[] data = intColumn.data();
+                for (int i = 0; i < rowCount; i++) {
+                    if (Arrays.binarySearch(accepted, data[i]) >= 0) {
+                        selection[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case LongColumn longColumn -> {
+                long[] accepted = longValues(Number.class);
+                long[] data = longColumn.data();
+                for (int i = 0; i < rowCount; i++) {
+                    if (Arrays.binarySearch(accepted, data[i]) >= 0) {
+                        selection[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case DateColumn dateColumn -> {
+                long[] accepted = longValues(LocalDate.class);
+                int[] data = dateColumn.data();
+                for (int i = 0; i < rowCount; i++) {
+                    if (Arrays.binarySearch(accepted, data[i]) >= 0) {
+                        selection[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case DoubleColumn doubleColumn -> {
+                double[] accepted = values.stream().filter(value -> value instanceof Number).mapToDouble(value -> ((Number) value).doubleValue()).sorted().toArray();
+                double[] data = doubleColumn.data();
+                for (int i = 0; i < rowCount; i++) {
+                    if (Arrays.binarySearch(accepted, data[i]) >= 0) {
+                        selection[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case DictionaryColumn dictionaryColumn -> {
+                StringDictionary dictionary = dictionaryColumn.dictionary();
+                boolean[] accepted = new boolean[dictionary.size()];
+                for (Object value : values) {
+                    int code = dictionary.codeOf(value);
+                    if (code >= 0) {
+                        accepted[code] = true;
+                    }
+                }
+                int[] codes = dictionaryColumn.codes();
+                for (int i = 0; i < rowCount; i++) {
+                    int code = codes[i];
+                    if (code >= 0 && accepted[code]) {
+                        selection[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            case StringColumn stringColumn -> {
+                Set<Object> accepted = new HashSet<>(values);
+                String[] data = stringColumn.data();
+                for (int i = 0; i < rowCount; i++) {
+                    if (accepted.contains(data[i])) {
+                        selection[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            default -> {
+                Set<Object> accepted = new HashSet<>(values);
+                for (int i = 0; i < rowCount; i++) {
+                    if (accepted.contains(columnValues.get(i))) {
+                        selection[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+        }
+        clearNulls(selection, columnValues);
+        return selection;
+    }
+
+    @Override
+    public int[] indexedRows(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        return lookup(column(dataFrameMap, column), rowCount);
+    }
+
+    /**
+     * Looks up every distinct accepted value in the index of the column and merges their rows.
+     *
+     * @return the rows in ascending order, or null if the column is not indexed
+     */
+    private int[] lookup(Column columnValues, int rowCount) {
+        ColumnIndex index = columnValues.index();
+        if (index == null) {
+            return null;
+        }
+        List<int[]> matches = new ArrayList<>();
+        switch (columnValues) {
+            case IntColumn intColumn -> LongStream.of(longValues(Number.class)).distinct().forEach(value -> matches.add(index.lookup(value)));
+            case LongColumn longColumn -> LongStream.of(longValues(Number.class)).distinct().forEach(value -> matches.add(index.lookup(value)));
+            case DateColumn dateColumn -> LongStream.of(longValues(LocalDate.class)).distinct().forEach(value -> matches.add(index.lookup(value)));
+            case DoubleColumn doubleColumn -> values.stream().filter(value -> value instanceof Number).mapToDouble(value -> ((Number) value).doubleValue())
+                    .mapToObj(Double::valueOf).distinct().forEach(value -> matches.add(index.lookup((double) value)));
+            default -> values.stream().filter(value -> value instanceof String).distinct().forEach(value -> matches.add(index.lookup((String) value)));
+        }
+
+        int[] rows = new int[matches.stream().mapToInt(match -> match.length).sum()];
+        int count = 0;
+        for (int[] match : matches) {
+            System.arraycopy(match, 0, rows, count, match.length);
+            count += match.length;
+        }
+        if (matches.size() > 1) {
+            Arrays.sort(rows);
+        }
+        return rowsBelow(rows, rowCount);
+    }
+
+    /**
+     * Collects the accepted values representable as longs (whole numbers, or epoch days for dates) into a sorted array.
+     */
+    private long[] longValues(Class<?> valueType) {
+        return values.stream()
+                .filter(valueType::isInstance)
+                .filter(value -> !(value instanceof Number number) || number.doubleValue() == Math.rint(number.doubleValue()))
+                .mapToLong(value -> value instanceof LocalDate date ? date.toEpochDay()
+                        : value instanceof Double || value instanceof Float ? (long) ((Number) value).doubleValue() : ((Number) value).longValue())
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Checks whether any accepted value lies within the minimum and maximum of the column, as an equality would.
+     */
+    @Override
+    public boolean mayMatch(Map<String, ColumnStatistics> statistics) {
+        return values.stream().anyMatch(value -> value != null && new RangePredicate(column, value, true, value, true, false).mayMatch(statistics));
+    }
+
+    @Override
+    public Set<String> columns() {
+        return Set.of(column);
+    }
+
+    @Override
+    public String toString() {
+        return column + " IN (" + values.stream().map(String::valueOf).collect(Collectors.joining(", ")) + ")";
+    }
+}
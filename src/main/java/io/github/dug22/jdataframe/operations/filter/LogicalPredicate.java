@@ -0,0 +1,77 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Combines two predicates word by word with a logical and/or. With 'and' the right predicate only narrows
+ * the rows selected by the left one.
+ */
+class LogicalPredicate extends ColumnPredicate {
+
+    private final ColumnPredicate left;
+    private final ColumnPredicate right;
+    private final boolean and;
+
+    LogicalPredicate(ColumnPredicate left, ColumnPredicate right, boolean and) {
+        this.left = left;
+        this.right = right;
+        this.and = and;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        long[] selection = left.evaluate(dataFrameMap, rowCount);
+        if (and) {
+            return right.evaluate(dataFrameMap, rowCount, selection);
+        }
+        long[] other = right.evaluate(dataFrameMap, rowCount);
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] |= other[i];
+        }
+        return selection;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount, long[] selection) {
+        if (and) {
+            return right.evaluate(dataFrameMap, rowCount, left.evaluate(dataFrameMap, rowCount, selection));
+        }
+        return super.evaluate(dataFrameMap, rowCount, selection);
+    }
+
+    /**
+     * Combines the indexed rows of both sides, when both are answered by indexes.
+     */
+    @Override
+    public int[] indexedRows(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        int[] leftRows = left.indexedRows(dataFrameMap, rowCount);
+        if (leftRows == null) {
+            return null;
+        }
+        int[] rightRows = right.indexedRows(dataFrameMap, rowCount);
+        if (rightRows == null) {
+            return null;
+        }
+        return and ? intersection(leftRows, rightRows) : union(leftRows, rightRows);
+    }
+
+    @Override
+    public boolean mayMatch(Map<String, ColumnStatistics> statistics) {
+        return and ? left.mayMatch(statistics) && right.mayMatch(statistics) : left.mayMatch(statistics) || right.mayMatch(statistics);
+    }
+
+    @Override
+    public Set<String> columns() {
+        Set<String> columns = new LinkedHashSet<>(left.columns());
+        columns.addAll(right.columns());
+        return columns;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + (and ? " AND " : " OR ") + right + ")";
+    }
+}
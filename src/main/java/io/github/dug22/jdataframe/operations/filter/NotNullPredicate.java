@@ -0,0 +1,65 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.NullBitmap;
+import io.github.dug22.jdataframe.operations.drop.How;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the rows kept by dropNA by combining the null bitmaps of several columns a word at a time:
+ * with 'ANY' a row is selected when it is non-null in every column (AND), with 'ALL' when it is non-null
+ * in at least one column (OR). Columns that do not exist are ignored.
+ */
+class NotNullPredicate extends ColumnPredicate {
+
+    private final List<String> columns;
+    private final How how;
+
+    NotNullPredicate(List<String> columns, How how) {
+        this.columns = columns;
+        this.how = how;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        long[] selection = new long[NullBitmap.wordCount(rowCount)];
+        List<Column> nullableColumns = columns.stream().filter(dataFrameMap::containsKey).map(column -> column(dataFrameMap, column)).toList();
+        if (how == How.ANY || nullableColumns.isEmpty()) {
+            Arrays.fill(selection, -1L);
+        }
+        for (Column column : nullableColumns) {
+            NullBitmap nulls = column.nulls();
+            long[] nullWords = nulls == null ? new long[0] : nulls.words();
+            for (int i = 0; i < selection.length; i++) {
+                long nonNull = i < nullWords.length ? ~nullWords[i] : -1L;
+                selection[i] = how == How.ANY ? selection[i] & nonNull : selection[i] | nonNull;
+            }
+        }
+        clearTail(selection, rowCount);
+        return selection;
+    }
+
+    @Override
+    public boolean mayMatch(Map<String, ColumnStatistics> statistics) {
+        if (columns.isEmpty()) {
+            return true;
+        }
+        if (how == How.ANY) {
+            return columns.stream().map(statistics::get).noneMatch(columnStatistics -> columnStatistics != null && columnStatistics.allNull());
+        }
+        return columns.stream().map(statistics::get).anyMatch(columnStatistics -> columnStatistics == null || !columnStatistics.allNull());
+    }
+
+    @Override
+    public Set<String> columns() {
+        return new LinkedHashSet<>(columns);
+    }
+
+    @Override
+    public String toString() {
+        String condition = columns.stream().map(column -> column + " IS NOT NULL").collect(Collectors.joining(how == How.ANY ? " AND " : " OR "));
+        return columns.size() > 1 ? "(" + condition + ")" : condition;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects every row that another predicate does not select.
+ */
+class NotPredicate extends ColumnPredicate {
+
+    private final ColumnPredicate predicate;
+
+    NotPredicate(ColumnPredicate predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        long[] selection = predicate.evaluate(dataFrameMap, rowCount);
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] = ~selection[i];
+        }
+        clearTail(selection, rowCount);
+        return selection;
+    }
+
+    @Override
+    public Set<String> columns() {
+        return predicate.columns();
+    }
+
+    @Override
+    public String toString() {
+        return "NOT " + predicate;
+    }
+}
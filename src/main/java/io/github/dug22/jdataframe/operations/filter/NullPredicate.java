@@ -0,0 +1,59 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.NullBitmap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the null (or the non-null) rows of a column straight from its null bitmap.
+ */
+class NullPredicate extends ColumnPredicate {
+
+    private final String column;
+    private final boolean selectNulls;
+
+    NullPredicate(String column, boolean selectNulls) {
+        this.column = column;
+        this.selectNulls = selectNulls;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        Column values = column(dataFrameMap, column);
+        long[] selection = new long[NullBitmap.wordCount(rowCount)];
+        NullBitmap nulls = values.nulls();
+        if (nulls != null) {
+            long[] nullWords = nulls.words();
+            System.arraycopy(nullWords, 0, selection, 0, Math.min(nullWords.length, selection.length));
+        }
+        if (!selectNulls) {
+            for (int i = 0; i < selection.length; i++) {
+                selection[i] = ~selection[i];
+            }
+        }
+        clearTail(selection, rowCount);
+        return selection;
+    }
+
+    @Override
+    public boolean mayMatch(Map<String, ColumnStatistics> statistics) {
+        ColumnStatistics columnStatistics = statistics.get(column);
+        if (columnStatistics == null) {
+            return true;
+        }
+        return selectNulls ? !columnStatistics.noNulls() : !columnStatistics.allNull();
+    }
+
+    @Override
+    public Set<String> columns() {
+        return Set.of(column);
+    }
+
+    @Override
+    public String toString() {
+        return column + (selectNulls ? " IS NULL" : " IS NOT NULL");
+    }
+}
@@ -0,0 +1,385 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import io.github.dug22.jdataframe.column.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the rows of a column lying within a range, optionally negated. Every comparison (=, !=, &lt;, &lt;=, &gt;, &gt;=)
+ * is expressed as such a range, so each primitive column type needs a single branch-free scanning loop.
+ * Integer and date columns are scanned with inclusive long bounds, double columns with inclusive double bounds,
+ * and dictionary-encoded columns compare each distinct value once and then scan their int codes.
+ * An indexed column is not scanned when its index can answer the range.
+ */
+class RangePredicate extends ColumnPredicate {
+
+    private static final byte IN_RANGE = 1;
+    private static final byte OUT_OF_RANGE = 2;
+
+    private final String column;
+    private final Object lower;
+    private final boolean lowerInclusive;
+    private final Object upper;
+    private final boolean upperInclusive;
+    private final boolean negate;
+
+    /**
+     * Creates a range predicate; a null bound leaves that side of the range open.
+     */
+    RangePredicate(String column, Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive, boolean negate) {
+        this.column = column;
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+        this.negate = negate;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        Column values = column(dataFrameMap, column);
+        int[] indexed = lookup(values, rowCount);
+        long[] selection = indexed != null ? selection(indexed, rowCount) : new long[NullBitmap.wordCount(rowCount)];
+        if (indexed == null) {
+            switch (values) {
+                case IntColumn intColumn when primitiveBounds(intColumn) -> scan(intColumn.data(), rowCount, selection);
+                case LongColumn longColumn when primitiveBounds(longColumn) -> scan(longColumn.data(), rowCount, selection);
+                case DateColumn dateColumn when primitiveBounds(dateColumn) -> scan(dateColumn.data(), rowCount, selection);
+                case DoubleColumn doubleColumn when primitiveBounds(doubleColumn) -> scan(doubleColumn.data(), rowCount, selection);
+                case DictionaryColumn dictionaryColumn -> scanCodes(dictionaryColumn, rowCount, selection);
+                default -> scanValues(values, rowCount, selection);
+            }
+        }
+
+        if (negate) {
+            for (int i = 0; i < selection.length; i++) {
+                selection[i] = ~selection[i];
+            }
+            clearTail(selection, rowCount);
+        }
+        clearNulls(selection, values);
+        return selection;
+    }
+
+    @Override
+    public int[] indexedRows(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        return negate ? null : lookup(column(dataFrameMap, column), rowCount);
+    }
+
+    /**
+     * Looks up the rows within the range, ignoring the negation, in the index of the column. A hash index only answers
+     * ranges holding a single value, and bounds the scan would reject are left to it.
+     *
+     * @return the rows in ascending order, or null if the column has no index able to answer the range
+     */
+    private int[] lookup(Column values, int rowCount) {
+        ColumnIndex index = values.index();
+        if (index == null) {
+            return null;
+        }
+        int[] rows;
+        if ((values instanceof IntColumn || values instanceof LongColumn || values instanceof DateColumn) && primitiveBounds(values)) {
+            rows = lookupLongs(index);
+        } else if (values instanceof DoubleColumn && primitiveBounds(values)) {
+            rows = lookupDoubles(index);
+        } else if ((values instanceof DictionaryColumn || values instanceof StringColumn)
+                && (lower == null || lower instanceof String) && (upper == null || upper instanceof String)) {
+            rows = lookupText(index);
+        } else {
+            rows = null;
+        }
+        return rows == null ? null : rowsBelow(rows, rowCount);
+    }
+
+    private int[] lookupLongs(ColumnIndex index) {
+        if (emptyLongRange()) {
+            return new int[0];
+        }
+        long lo = lowerLong();
+        long hi = upperLong();
+        if (index.type() == IndexType.SORTED) {
+            return index.range(lo, hi);
+        }
+        return lo == hi ? index.lookup(lo) : null;
+    }
+
+    /**
+     * Looks up a double range, where the index orders -0.0 before 0.0 and NaN after every number while the scan
+     * compares numerically: zero bounds are widened to cover both zeros, and NaN bounds select nothing.
+     */
+    private int[] lookupDoubles(ColumnIndex index) {
+        double lo = lowerDouble();
+        double hi = upperDouble();
+        if (!(lo <= hi)) {
+            return new int[0];
+        }
+        if (index.type() == IndexType.SORTED) {
+            return index.range(lo == 0 ? -0.0 : lo, hi == 0 ? 0.0 : hi);
+        }
+        if (lo != hi) {
+            return null;
+        }
+        return lo == 0 ? union(index.lookup(-0.0), index.lookup(0.0)) : index.lookup(lo);
+    }
+
+    private int[] lookupText(ColumnIndex index) {
+        if (index.type() == IndexType.SORTED) {
+            return index.range((String) lower, lowerInclusive, (String) upper, upperInclusive);
+        }
+        if (lower != null && lower.equals(upper) && lowerInclusive && upperInclusive) {
+            return index.lookup((String) lower);
+        }
+        return null;
+    }
+
+    @Override
+    public Set<String> columns() {
+        return Set.of(column);
+    }
+
+    private boolean primitiveBounds(Column values) {
+        Class<?> boundType = values instanceof DateColumn ? LocalDate.class : Number.class;
+        return (lower == null || boundType.isInstance(lower)) && (upper == null || boundType.isInstance(upper));
+    }
+
+    private void scan(int[] data, int rowCount, long[] selection) {
+        if (emptyLongRange()) {
+            return;
+        }
+        long lo = lowerLong();
+        long hi = upperLong();
+        for (int word = 0; word < selection.length; word++) {
+            int base = word << 6;
+            int end = Math.min(base + 64, rowCount);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                int value = data[i];
+                bits |= (lo <= value & value <= hi ? 1L : 0L) << i;
+            }
+            selection[word] = bits;
+        }
+    }
+
+    private void scan(long[] data, int rowCount, long[] selection) {
+        if (emptyLongRange()) {
+            return;
+        }
+        long lo = lowerLong();
+        long hi = upperLong();
+        for (int word = 0; word < selection.length; word++) {
+            int base = word << 6;
+            int end = Math.min(base + 64, rowCount);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                long value = data[i];
+                bits |= (lo <= value & value <= hi ? 1L : 0L) << i;
+            }
+            selection[word] = bits;
+        }
+    }
+
+    private void scan(double[] data, int rowCount, long[] selection) {
+        double lo = lowerDouble();
+        double hi = upperDouble();
+        for (int word = 0; word < selection.length; word++) {
+            int base = word << 6;
+            int end = Math.min(base + 64, rowCount);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                double value = data[i];
+                bits |= (lo <= value & value <= hi ? 1L : 0L) << i;
+            }
+            selection[word] = bits;
+        }
+    }
+
+    /**
+     * Compares every non-null value with the bounds one by one, for text and any other comparable values.
+     */
+    private void scanValues(Column values, int rowCount, long[] selection) {
+        for (int i = 0; i < rowCount; i++) {
+            if (!values.isNull(i) && inRange(values.get(i))) {
+                selection[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Compares every distinct value of a dictionary-encoded column with the bounds once, then scans the int codes.
+     * A value is compared the first time a row holds it, so values no row holds any more are never compared.
+     */
+    private void scanCodes(DictionaryColumn values, int rowCount, long[] selection) {
+        StringDictionary dictionary = values.dictionary();
+        int[] codes = values.codes();
+        byte[] matches = new byte[dictionary.size()];
+        for (int i = 0; i < rowCount; i++) {
+            int code = codes[i];
+            if (code < 0) {
+                continue;
+            }
+            if (matches[code] == 0) {
+                matches[code] = inRange(dictionary.get(code)) ? IN_RANGE : OUT_OF_RANGE;
+            }
+            if (matches[code] == IN_RANGE) {
+                selection[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the range can hold a value between the minimum and maximum of the column: a block of rows misses
+     * the range when its maximum lies below the lower bound or its minimum above the upper bound. A negated range
+     * misses the block when both the minimum and the maximum lie within the range.
+     */
+    @Override
+    public boolean mayMatch(Map<String, ColumnStatistics> statistics) {
+        ColumnStatistics columnStatistics = statistics.get(column);
+        if (columnStatistics == null) {
+            return true;
+        }
+        if (columnStatistics.allNull()) {
+            return false;
+        }
+        Object min = columnStatistics.min();
+        Object max = columnStatistics.max();
+        if (min == null || max == null) {
+            return true;
+        }
+        try {
+            if (negate) {
+                return !(aboveLower(min) && belowUpper(max));
+            }
+            return aboveLower(max) && belowUpper(min);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private boolean inRange(Object value) {
+        return aboveLower(value) && belowUpper(value);
+    }
+
+    private boolean aboveLower(Object value) {
+        if (lower == null) {
+            return true;
+        }
+        int comparison = compare(value, lower);
+        return comparison > 0 || (comparison == 0 && lowerInclusive);
+    }
+
+    private boolean belowUpper(Object value) {
+        if (upper == null) {
+            return true;
+        }
+        int comparison = compare(value, upper);
+        return comparison < 0 || (comparison == 0 && upperInclusive);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compare(Object value, Object bound) {
+        if (isIntegral(value) && isIntegral(bound)) {
+            return Long.compare(((Number) value).longValue(), ((Number) bound).longValue());
+        }
+        if (value instanceof Number number && bound instanceof Number boundNumber) {
+            return Double.compare(number.doubleValue(), boundNumber.doubleValue());
+        }
+        if (value instanceof Comparable comparable && value.getClass().isInstance(bound)) {
+            return comparable.compareTo(bound);
+        }
+        throw new IllegalArgumentException("Column '" + column + "' cannot be compared with value '" + bound + "'!");
+    }
+
+    /**
+     * Converts the lower bound into an inclusive long bound, rounding fractional bounds up.
+     * Only valid when {@link #emptyLongRange()} is false; fractional bounds beyond the long range saturate.
+     */
+    private long lowerLong() {
+        if (lower == null) {
+            return Long.MIN_VALUE;
+        }
+        if (lower instanceof LocalDate date) {
+            return lowerInclusive ? date.toEpochDay() : date.toEpochDay() + 1;
+        }
+        if (isIntegral(lower)) {
+            long value = ((Number) lower).longValue();
+            return lowerInclusive ? value : value + 1;
+        }
+        return (long) Math.ceil(lowerInclusive ? ((Number) lower).doubleValue() : Math.nextUp(((Number) lower).doubleValue()));
+    }
+
+    /**
+     * Converts the upper bound into an inclusive long bound, rounding fractional bounds down.
+     */
+    private long upperLong() {
+        if (upper == null) {
+            return Long.MAX_VALUE;
+        }
+        if (upper instanceof LocalDate date) {
+            return upperInclusive ? date.toEpochDay() : date.toEpochDay() - 1;
+        }
+        if (isIntegral(upper)) {
+            long value = ((Number) upper).longValue();
+            return upperInclusive ? value : value - 1;
+        }
+        return (long) Math.floor(upperInclusive ? ((Number) upper).doubleValue() : Math.nextDown(((Number) upper).doubleValue()));
+    }
+
+    /**
+     * Checks whether no long value can lie within the bounds, in which case {@link #lowerLong()} and {@link #upperLong()}
+     * would overflow or saturate.
+     */
+    private boolean emptyLongRange() {
+        if (lower instanceof Number number && !isIntegral(number)) {
+            double value = lowerInclusive ? number.doubleValue() : Math.nextUp(number.doubleValue());
+            if (Double.isNaN(value) || Math.ceil(value) >= 0x1p63) {
+                return true;
+            }
+        } else if (lower != null && !lowerInclusive && isIntegral(lower) && ((Number) lower).longValue() == Long.MAX_VALUE) {
+            return true;
+        }
+        if (upper instanceof Number number && !isIntegral(number)) {
+            double value = upperInclusive ? number.doubleValue() : Math.nextDown(number.doubleValue());
+            return Double.isNaN(value) || Math.floor(value) < -0x1p63;
+        }
+        return upper != null && !upperInclusive && isIntegral(upper) && ((Number) upper).longValue() == Long.MIN_VALUE;
+    }
+
+    private double lowerDouble() {
+        if (lower == null) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double value = ((Number) lower).doubleValue();
+        return lowerInclusive ? value : Math.nextUp(value);
+    }
+
+    private double upperDouble() {
+        if (upper == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double value = ((Number) upper).doubleValue();
+        return upperInclusive ? value : Math.nextDown(value);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    @Override
+    public String toString() {
+        if (lower != null && lower.equals(upper)) {
+            return column + (negate ? " != " : " = ") + lower;
+        }
+        String range;
+        if (lower != null && upper != null) {
+            range = column + " BETWEEN " + lower + " AND " + upper;
+        } else if (lower != null) {
+            range = column + (lowerInclusive ? " >= " : " > ") + lower;
+        } else {
+            range = column + (upperInclusive ? " <= " : " < ") + upper;
+        }
+        return negate ? "NOT " + range : range;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.NullBitmap;
+
+import java.util.*;
+
+/**
+ * Tests a {@link FilterPredicate} one row at a time, passing it a map of the values of the given columns.
+ * Only the rows that are still selected are tested when the predicate narrows another selection.
+ */
+class RowPredicate extends ColumnPredicate {
+
+    private final List<String> columns;
+    private final FilterPredicate<Map<String, Object>> condition;
+
+    @SuppressWarnings("unchecked")
+    RowPredicate(List<String> columns, FilterPredicate<?> condition) {
+        this.columns = columns;
+        this.condition = (FilterPredicate<Map<String, Object>>) condition;
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount) {
+        long[] selection = new long[NullBitmap.wordCount(rowCount)];
+        Arrays.fill(selection, -1L);
+        clearTail(selection, rowCount);
+        return evaluate(dataFrameMap, rowCount, selection);
+    }
+
+    @Override
+    public long[] evaluate(Map<String, List<Object>> dataFrameMap, int rowCount, long[] selection) {
+        Column[] values = new Column[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = column(dataFrameMap, columns.get(i));
+        }
+        for (int word = 0; word < selection.length; word++) {
+            for (long bits = selection[word]; bits != 0; bits &= bits - 1) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                Map<String, Object> rowData = new HashMap<>();
+                for (int i = 0; i < values.length; i++) {
+                    rowData.put(columns.get(i), values[i].get(row));
+                }
+                if (!condition.test(rowData)) {
+                    selection[word] &= ~(1L << row);
+                }
+            }
+        }
+        return selection;
+    }
+
+    @Override
+    public Set<String> columns() {
+        return new LinkedHashSet<>(columns);
+    }
+
+    @Override
+    public String toString() {
+        return "predicate(" + String.join(", ", columns) + ")";
+    }
+}
@@ -1,11 +1,12 @@
 package io.github.dug22.jdataframe.operations.filter.impl;
 
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
 import io.github.dug22.jdataframe.operations.filter.Filter;
 import io.github.dug22.jdataframe.operations.filter.FilterPredicate;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public class FilterImpl implements Filter {
 
@@ -19,7 +20,7 @@ public class FilterImpl implements Filter {
      */
     @Override
     public Map<String, List<Object>> filter(Map<String, List<Object>> dataFrameMap, String column, FilterPredicate<?> condition) {
-        return filterOperation(dataFrameMap, Collections.singletonList(column), condition);
+        return filter(dataFrameMap, ColumnPredicate.rows(Collections.singletonList(column), condition));
     }
 
 
@@ -33,28 +34,59 @@ public class FilterImpl implements Filter {
      */
     @Override
     public Map<String, List<Object>> filter(Map<String, List<Object>> dataFrameMap, List<String> columns, FilterPredicate<?> condition) {
-        return filterOperation(dataFrameMap, columns, condition);
+        return filter(dataFrameMap, ColumnPredicate.rows(columns, condition));
     }
 
 
     /**
-     * Performs the filtering operation by checking each row in the DataFrame against the provided condition.
+     * Filters a DataFrame (map of columns) with a column predicate. The predicate scans the primitive arrays of its columns
+     * into a selection bitmap, which is turned into row indexes once and used to gather every column. Predicates on indexed
+     * columns are looked up in their indexes instead.
      *
      * @param dataFrameMap A map where each key is a column name and the value is a list of objects representing the column data.
-     * @param columns A list of column names to filter by.
-     * @param condition A predicate that defines the condition to apply to the rows.
-     * @param <T> Passed predicate element.
-     * @return A filtered map with the same structure but only containing rows that satisfy the condition.
+     * @param predicate A column predicate such as {@code col("Age").gt(30)}.
+     * @return A filtered map with the same structure but only containing rows that satisfy the predicate.
      */
-    private <T> Map<String, List<Object>> filterOperation(Map<String, List<Object>> dataFrameMap, List<String> columns, FilterPredicate<T> condition) {
-        int numberOfRows = dataFrameMap.get(columns.getFirst()).size();
-        List<Integer> matchingIndexes = IntStream.range(0, numberOfRows).filter(index -> {
-                    Map<String, Object> rowData = columns.stream().collect(Collectors.toMap(col -> col, col -> dataFrameMap.get(col).get(index)));
-                    return condition.test((T) rowData);
-                })
-                .boxed()
-                .toList();
-
-        return dataFrameMap.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> matchingIndexes.stream().map(entry.getValue()::get).collect(Collectors.toList())));
+    @Override
+    public Map<String, List<Object>> filter(Map<String, List<Object>> dataFrameMap, ColumnPredicate predicate) {
+        try (Metrics.Stage stage = Metrics.start("filter", predicate::toString, dataFrameMap)) {
+            int numberOfRows = dataFrameMap.isEmpty() ? 0 : dataFrameMap.values().iterator().next().size();
+            int[] rows = predicate.indexedRows(dataFrameMap, numberOfRows);
+            if (rows == null) {
+                rows = selectedRows(predicate.evaluate(dataFrameMap, numberOfRows));
+            }
+            Map<String, List<Object>> filteredMap = gather(dataFrameMap, rows);
+            stage.end(filteredMap);
+            return filteredMap;
+        }
+    }
+
+    /**
+     * Converts a selection bitmap into the ascending indexes of its selected rows.
+     *
+     * @param selection the selection bitmap, one bit per row
+     * @return the selected row indexes
+     */
+    public static int[] selectedRows(long[] selection) {
+        int count = 0;
+        for (long word : selection) {
+            count += Long.bitCount(word);
+        }
+        int[] rows = new int[count];
+        int position = 0;
+        for (int i = 0; i < selection.length; i++) {
+            long word = selection[i];
+            while (word != 0) {
+                rows[position++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return rows;
+    }
+
+    private Map<String, List<Object>> gather(Map<String, List<Object>> dataFrameMap, int[] rows) {
+        Map<String, List<Object>> filteredMap = new LinkedHashMap<>();
+        dataFrameMap.forEach((column, values) -> filteredMap.put(column, Columns.asColumn(values).gather(rows)));
+        return filteredMap;
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package io.github.dug22.jdataframe.operations.group;
+
+/**
+ * An aggregate computed for every group of a group-by, for example {@code sum("Salary")} or {@code count()}.
+ * The result column is named after the function and the column, like "sum(Salary)", unless an alias is given with {@link #as(String)}.
+ */
+public final class Aggregation {
+
+    public enum Function {
+        SUM, MEAN, MIN, MAX, STD, COUNT
+    }
+
+    private final Function function;
+    private final String column;
+    private final String alias;
+
+    private Aggregation(Function function, String column, String alias) {
+        this.function = function;
+        this.column = column;
+        this.alias = alias;
+    }
+
+    /**
+     * Sums the non-null values of a numeric column. Integer columns produce long sums, other columns double sums.
+     *
+     * @param column the column to sum
+     * @return the aggregation
+     */
+    public static Aggregation sum(String column) {
+        return new Aggregation(Function.SUM, column, null);
+    }
+
+    /**
+     * Averages the non-null values of a numeric column.
+     *
+     * @param column the column to average
+     * @return the aggregation
+     */
+    public static Aggregation mean(String column) {
+        return new Aggregation(Function.MEAN, column, null);
+    }
+
+    /**
+     * Finds the smallest non-null value of a numeric column. As with {@code findStat("MIN", column)}, a NaN value makes
+     * the minimum NaN.
+     *
+     * @param column the column to inspect
+     * @return the aggregation
+     */
+    public static Aggregation min(String column) {
+        return new Aggregation(Function.MIN, column, null);
+    }
+
+    /**
+     * Finds the largest non-null value of a numeric column. As with {@code findStat("MAX", column)}, a NaN value makes
+     * the maximum NaN.
+     *
+     * @param column the column to inspect
+     * @return the aggregation
+     */
+    public static Aggregation max(String column) {
+        return new Aggregation(Function.MAX, column, null);
+    }
+
+    /**
+     * Computes the population standard deviation of the non-null values of a numeric column.
+     *
+     * @param column the column to inspect
+     * @return the aggregation
+     */
+    public static Aggregation std(String column) {
+        return new Aggregation(Function.STD, column, null);
+    }
+
+    /**
+     * Counts the rows of every group.
+     *
+     * @return the aggregation
+     */
+    public static Aggregation count() {
+        return new Aggregation(Function.COUNT, null, null);
+    }
+
+    /**
+     * Counts the non-null values of a column within every group.
+     *
+     * @param column the column to inspect
+     * @return the aggregation
+     */
+    public static Aggregation count(String column) {
+        return new Aggregation(Function.COUNT, column, null);
+    }
+
+    /**
+     * Names the result column of this aggregation.
+     *
+     * @param alias the name of the result column
+     * @return a copy of this aggregation with the given name
+     */
+    public Aggregation as(String alias) {
+        return new Aggregation(function, column, alias);
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    /**
+     * Returns the aggregated column.
+     *
+     * @return the column name, or null when counting rows
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Returns the name of the result column.
+     *
+     * @return the alias, or a name such as "sum(Salary)"
+     */
+    public String getName() {
+        if (alias != null) {
+            return alias;
+        }
+        return function.name().toLowerCase() + "(" + (column == null ? "*" : column) + ")";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -23,4 +23,15 @@ public interface GroupBy {
      * @return A map where each key is a distinct combination of values from the grouping columns, and the value is another map representing the columns with their respective values for that group.
      */
     Map<Object, Map<String, List<Object>>> groupBy(Map<String, List<Object>> dataFrameMap, List<String> columns);
+
+
+    /**
+     * Aggregates a DataFrame (map of columns) by one or more columns, producing one row per group.
+     *
+     * @param dataFrameMap A map where each key is a column name and the value is a list of objects representing the column data.
+     * @param columns A list of column names to group by.
+     * @param aggregations The aggregations computed for every group.
+     * @return A map holding the grouping columns followed by one column per aggregation, with one row per group in order of first appearance.
+     */
+    Map<String, List<Object>> aggregate(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Aggregation> aggregations);
 }
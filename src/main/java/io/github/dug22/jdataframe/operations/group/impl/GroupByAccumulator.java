@@ -0,0 +1,140 @@
+package io.github.dug22.jdataframe.operations.group.impl;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.column.NumericColumn;
+import io.github.dug22.jdataframe.operations.statistics.Statistics;
+import io.github.dug22.jdataframe.operations.statistics.StatisticsAccumulator;
+
+import java.util.*;
+
+/**
+ * Aggregates numeric columns per group while the rows arrive batch by batch.
+ * Only one {@link StatisticsAccumulator} per group and value column is kept, so memory grows with the number of groups,
+ * not with the number of rows.
+ */
+public class GroupByAccumulator {
+
+    private final List<String> columns;
+    private final List<String> valueColumns;
+    private final boolean sketches;
+    private final Map<Object, StatisticsAccumulator[]> groups = new LinkedHashMap<>();
+
+    /**
+     * Creates an accumulator grouping rows by the given columns.
+     *
+     * @param columns      the columns to group by
+     * @param valueColumns the numeric columns to aggregate within every group
+     */
+    public GroupByAccumulator(List<String> columns, List<String> valueColumns) {
+        this(columns, valueColumns, false);
+    }
+
+    /**
+     * Creates an accumulator grouping rows by the given columns, optionally sketching the values of every group
+     * so that P50, P95, P99 and APPROX_DISTINCT can be computed.
+     *
+     * @param columns      the columns to group by
+     * @param valueColumns the numeric columns to aggregate within every group
+     * @param sketches     whether to keep quantile and distinct count sketches per group
+     */
+    public GroupByAccumulator(List<String> columns, List<String> valueColumns, boolean sketches) {
+        this.columns = List.copyOf(columns);
+        this.valueColumns = List.copyOf(valueColumns);
+        this.sketches = sketches;
+    }
+
+    /**
+     * Adds every row of a batch to its group.
+     *
+     * @param batch the batch containing the data
+     */
+    public void accept(Map<String, List<Object>> batch) {
+        List<Column> keyColumns = columns.stream().map(column -> Columns.asColumn(requireColumn(batch, column))).toList();
+        List<Column> values = valueColumns.stream().map(column -> Columns.asColumn(requireColumn(batch, column))).toList();
+        int rowCount = keyColumns.isEmpty() ? 0 : keyColumns.getFirst().size();
+        for (int row = 0; row < rowCount; row++) {
+            StatisticsAccumulator[] accumulators = groups.computeIfAbsent(GroupByImpl.groupKey(keyColumns, row), key -> newAccumulators());
+            for (int i = 0; i < accumulators.length; i++) {
+                Column valueColumn = values.get(i);
+                if (valueColumn.isNull(row)) {
+                    continue;
+                }
+                if (valueColumn instanceof NumericColumn numericColumn) {
+                    accumulators[i].accept(numericColumn.getDouble(row));
+                } else if (valueColumn.get(row) instanceof Number number) {
+                    accumulators[i].accept(number.doubleValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the groups accumulated by another accumulator over the same columns into this one.
+     *
+     * @param other the accumulator to merge
+     */
+    public void combine(GroupByAccumulator other) {
+        if (!columns.equals(other.columns) || !valueColumns.equals(other.valueColumns)) {
+            throw new IllegalArgumentException("Only accumulators over the same columns can be combined!");
+        }
+        other.groups.forEach((key, otherAccumulators) -> {
+            StatisticsAccumulator[] accumulators = groups.computeIfAbsent(key, k -> newAccumulators());
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i].combine(otherAccumulators[i]);
+            }
+        });
+    }
+
+    /**
+     * Builds a dataframe with one row per group, in order of first appearance: the grouping columns
+     * followed by the statistic of every value column.
+     *
+     * @param statistic the statistic computed for every value column
+     * @return the aggregated dataframe
+     */
+    public Map<String, List<Object>> result(Statistics statistic) {
+        List<List<Object>> keyValues = new ArrayList<>();
+        List<List<Object>> statValues = new ArrayList<>();
+        columns.forEach(column -> keyValues.add(new ArrayList<>(groups.size())));
+        valueColumns.forEach(column -> statValues.add(new ArrayList<>(groups.size())));
+        groups.forEach((key, accumulators) -> {
+            if (columns.size() == 1) {
+                keyValues.getFirst().add(key);
+            } else {
+                List<?> compositeKey = (List<?>) key;
+                for (int i = 0; i < compositeKey.size(); i++) {
+                    keyValues.get(i).add(compositeKey.get(i));
+                }
+            }
+            for (int i = 0; i < accumulators.length; i++) {
+                statValues.get(i).add(accumulators[i].result(statistic));
+            }
+        });
+
+        Map<String, List<Object>> result = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            result.put(columns.get(i), Columns.of(keyValues.get(i)));
+        }
+        for (int i = 0; i < valueColumns.size(); i++) {
+            result.put(valueColumns.get(i), Columns.of(statValues.get(i)));
+        }
+        return result;
+    }
+
+    private StatisticsAccumulator[] newAccumulators() {
+        StatisticsAccumulator[] accumulators = new StatisticsAccumulator[valueColumns.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = sketches ? StatisticsAccumulator.withSketches() : new StatisticsAccumulator();
+        }
+        return accumulators;
+    }
+
+    private static List<Object> requireColumn(Map<String, List<Object>> batch, String column) {
+        List<Object> values = batch.get(column);
+        if (values == null) {
+            throw new IllegalArgumentException("Column '" + column + "' does not exist!");
+        }
+        return values;
+    }
+}
@@ -1,10 +1,12 @@
 package io.github.dug22.jdataframe.operations.group.impl;
 
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.operations.group.Aggregation;
 import io.github.dug22.jdataframe.operations.group.GroupBy;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public class GroupByImpl implements GroupBy {
 
@@ -33,6 +35,35 @@ public class GroupByImpl implements GroupBy {
         return groupByInternal(dataFrameMap, columns);
     }
 
+    /**
+     * Aggregates a DataFrame (map of columns) by one or more columns, producing one row per group.
+     *
+     * @param dataFrameMap A map where each key is a column name and the value is a list of objects representing the column data.
+     * @param columns A list of column names to group by.
+     * @param aggregations The aggregations computed for every group.
+     * @return A map holding the grouping columns followed by one column per aggregation, with one row per group in order of first appearance.
+     */
+    @Override
+    public Map<String, List<Object>> aggregate(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Aggregation> aggregations) {
+        try (Metrics.Stage stage = Metrics.start("aggregate", () -> columns + " " + aggregations, dataFrameMap)) {
+            Map<String, List<Object>> aggregatedMap = new HashAggregator().aggregate(dataFrameMap, columns, aggregations);
+            stage.end(aggregatedMap);
+            return aggregatedMap;
+        }
+    }
+
+    /**
+     * Computes the row order of a group-by operation: the rows of the first group in their original order,
+     * followed by the rows of the second group and so on. Groups are ordered by first appearance.
+     *
+     * @param dataFrameMap A map where each key is a column name and the value is a list of objects representing the column data.
+     * @param columns A list of column names to group by.
+     * @return the row indexes ordered group by group.
+     */
+    public int[] groupedRowOrder(Map<String, List<Object>> dataFrameMap, List<String> columns) {
+        return GroupIndex.of(keyColumns(dataFrameMap, columns), rowCount(dataFrameMap)).groupedRowOrder();
+    }
+
     /**
      * Internal method that handles the grouping logic for both single and multiple column groupings.
      *
@@ -41,17 +72,57 @@ public class GroupByImpl implements GroupBy {
      * @return A map where each key is a distinct combination of values from the grouping columns, and the value is another map representing the columns with their respective values for that group.
      */
     private Map<Object, Map<String, List<Object>>> groupByInternal(Map<String, List<Object>> dataFrameMap, List<String> columns) {
-        int rowCount = dataFrameMap.values().stream().findFirst().orElse(Collections.emptyList()).size();
-
-        Map<Object, List<Integer>> groupedIndexes = IntStream.range(0, rowCount).boxed().collect(Collectors.groupingBy(index -> columns.size() == 1 ? dataFrameMap.get(columns.getFirst()).get(index) : columns.stream().map(col -> dataFrameMap.get(col).get(index)).collect(Collectors.toList()), LinkedHashMap::new, Collectors.toList()));
-        return groupedIndexes.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> {
-                    Map<String, List<Object>> groupedData = new LinkedHashMap<>();
-                    for (String column : columns) {
-                        groupedData.put(column, entry.getValue().stream().map(index -> dataFrameMap.get(column).get(index)).collect(Collectors.toList()));
+        try (Metrics.Stage stage = Metrics.start("groupBy", columns::toString, dataFrameMap)) {
+            List<Column> keyColumns = keyColumns(dataFrameMap, columns);
+            GroupIndex groups = GroupIndex.of(keyColumns, rowCount(dataFrameMap));
+            int[] order = groups.groupedRowOrder();
+            int[] offsets = new int[groups.groupCount() + 1];
+            for (int groupId : groups.groupIds()) {
+                offsets[groupId + 1]++;
+            }
+            Map<Object, Map<String, List<Object>>> groupedMap = new LinkedHashMap<>();
+            for (int group = 0; group < groups.groupCount(); group++) {
+                offsets[group + 1] += offsets[group];
+                int[] rows = Arrays.copyOfRange(order, offsets[group], offsets[group + 1]);
+                Map<String, List<Object>> groupedData = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    groupedData.put(columns.get(i), keyColumns.get(i).gather(rows));
+                }
+                dataFrameMap.forEach((column, values) -> {
+                    if (!columns.contains(column)) {
+                        groupedData.put(column, Columns.asColumn(values).gather(rows));
                     }
-                    dataFrameMap.keySet().stream().filter(col -> !columns.contains(col)).forEach(col -> groupedData.put(col, entry.getValue().stream().map(index -> dataFrameMap.get(col).get(index)).collect(Collectors.toList())));
-                    return groupedData;
-                },
-                (a, b) -> a, LinkedHashMap::new));
+                });
+                groupedMap.put(groupKey(keyColumns, groups.firstRows()[group]), groupedData);
+            }
+            stage.end(groupedMap.size(), -1);
+            return groupedMap;
+        }
+    }
+
+    private List<Column> keyColumns(Map<String, List<Object>> dataFrameMap, List<String> columns) {
+        return columns.stream().map(column -> Columns.asColumn(dataFrameMap.get(column))).toList();
+    }
+
+    /**
+     * Returns the group key of a row: the value of the grouping column, or the list of values for multiple columns.
+     *
+     * @param keyColumns the grouping columns
+     * @param row the row index
+     * @return the group key of the row
+     */
+    static Object groupKey(List<Column> keyColumns, int row) {
+        if (keyColumns.size() == 1) {
+            return keyColumns.getFirst().get(row);
+        }
+        List<Object> compositeKey = new ArrayList<>(keyColumns.size());
+        for (Column keyColumn : keyColumns) {
+            compositeKey.add(keyColumn.get(row));
+        }
+        return compositeKey;
+    }
+
+    private int rowCount(Map<String, List<Object>> dataFrameMap) {
+        return dataFrameMap.values().stream().findFirst().orElse(Collections.emptyList()).size();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package io.github.dug22.jdataframe.operations.group.impl;
+
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a dense group id to every row of one or more key columns, numbering groups in order of first appearance.
+ * Every key column is first encoded into dense codes: primitive keys through an open-addressing {@link LongIntHashMap},
+ * dictionary-encoded strings by renumbering their int codes, other keys through a hash map probed once per row. Several key columns are then combined pairwise by hashing
+ * (code of the groups so far, code of the next column) as a single long, which never overflows because both codes
+ * are below the row count.
+ */
+public class GroupIndex {
+
+    private final int[] groupIds;
+    private final int groupCount;
+    private final int[] firstRows;
+
+    private GroupIndex(int[] groupIds, int groupCount) {
+        this.groupIds = groupIds;
+        this.groupCount = groupCount;
+        this.firstRows = new int[groupCount];
+        for (int row = groupIds.length - 1; row >= 0; row--) {
+            firstRows[groupIds[row]] = row;
+        }
+    }
+
+    /**
+     * Groups the rows of the given key columns.
+     *
+     * @param keyColumns the columns to group by
+     * @param rowCount   the number of rows
+     * @return the group index
+     */
+    public static GroupIndex of(List<Column> keyColumns, int rowCount) {
+        if (keyColumns.isEmpty()) {
+            return new GroupIndex(new int[rowCount], rowCount == 0 ? 0 : 1);
+        }
+
+        int[] groupIds = new int[rowCount];
+        int groupCount = encode(keyColumns.getFirst(), rowCount, groupIds);
+        int[] codes = new int[rowCount];
+        for (int i = 1; i < keyColumns.size(); i++) {
+            int cardinality = encode(keyColumns.get(i), rowCount, codes);
+            LongIntHashMap combined = new LongIntHashMap((int) Math.min(rowCount, (long) groupCount * cardinality));
+            int combinedCount = 0;
+            for (int row = 0; row < rowCount; row++) {
+                long key = (long) groupIds[row] * cardinality + codes[row];
+                int id = combined.putIfAbsent(key, combinedCount);
+                groupIds[row] = id < 0 ? combinedCount++ : id;
+            }
+            groupCount = combinedCount;
+        }
+        return new GroupIndex(groupIds, groupCount);
+    }
+
+    /**
+     * Encodes a column into dense codes numbered by first appearance.
+     *
+     * @param column   the key column
+     * @param rowCount the number of rows
+     * @param codes    receives the code of every row
+     * @return the number of distinct keys, null included
+     */
+    private static int encode(Column column, int rowCount, int[] codes) {
+        if (column instanceof DictionaryColumn dictionaryColumn) {
+            int[] valueCodes = dictionaryColumn.codes();
+            int[] groupCodes = new int[dictionaryColumn.dictionary().size() + 1];
+            Arrays.fill(groupCodes, -1);
+            int count = 0;
+            for (int row = 0; row < rowCount; row++) {
+                int slot = valueCodes[row] + 1;
+                if (groupCodes[slot] < 0) {
+                    groupCodes[slot] = count++;
+                }
+                codes[row] = groupCodes[slot];
+            }
+            return count;
+        }
+        if (column instanceof StringColumn || column instanceof ObjectColumn) {
+            Map<Object, Integer> dictionary = new HashMap<>();
+            for (int row = 0; row < rowCount; row++) {
+                Integer code = dictionary.putIfAbsent(column.get(row), dictionary.size());
+                codes[row] = code == null ? dictionary.size() - 1 : code;
+            }
+            return dictionary.size();
+        }
+
+        LongIntHashMap dictionary = new LongIntHashMap();
+        int count = 0;
+        int nullCode = -1;
+        for (int row = 0; row < rowCount; row++) {
+            if (column.isNull(row)) {
+                if (nullCode < 0) {
+                    nullCode = count++;
+                }
+                codes[row] = nullCode;
+                continue;
+            }
+            int code = dictionary.putIfAbsent(primitiveKey(column, row), count);
+            codes[row] = code < 0 ? count++ : code;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a long holding the value of a non-null row of a primitive column.
+     * Doubles are keyed by their bits, so keys compare like {@link Double#equals}.
+     */
+    private static long primitiveKey(Column column, int row) {
+        return switch (column) {
+            case IntColumn intColumn -> intColumn.getInt(row);
+            case DateColumn dateColumn -> dateColumn.getEpochDay(row);
+            case BooleanColumn booleanColumn -> booleanColumn.getBoolean(row) ? 1 : 0;
+            case LongColumn longColumn -> longColumn.getLong(row);
+            case DoubleColumn doubleColumn -> Double.doubleToLongBits(doubleColumn.getDouble(row));
+            default -> throw new IllegalArgumentException("Unsupported key column type: " + column.type());
+        };
+    }
+
+    /**
+     * Returns the group id of every row.
+     *
+     * @return the group ids, indexed by row
+     */
+    public int[] groupIds() {
+        return groupIds;
+    }
+
+    public int groupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Returns the first row of every group, indexed by group id.
+     *
+     * @return the first rows
+     */
+    public int[] firstRows() {
+        return firstRows;
+    }
+
+    /**
+     * Computes the row order listing the rows of the first group, then the rows of the second group and so on,
+     * each group keeping its original row order. The order is built with a counting sort over the group ids.
+     *
+     * @return the row indexes ordered group by group
+     */
+    public int[] groupedRowOrder() {
+        int[] offsets = new int[groupCount + 1];
+        for (int groupId : groupIds) {
+            offsets[groupId + 1]++;
+        }
+        for (int i = 0; i < groupCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] order = new int[groupIds.length];
+        for (int row = 0; row < groupIds.length; row++) {
+            order[offsets[groupIds[row]]++] = row;
+        }
+        return order;
+    }
+}
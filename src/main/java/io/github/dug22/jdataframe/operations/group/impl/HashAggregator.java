@@ -0,0 +1,225 @@
+package io.github.dug22.jdataframe.operations.group.impl;
+
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.operations.group.Aggregation;
+
+import java.util.*;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Computes aggregations per group in a single pass over every aggregated column.
+ * Rows are mapped to dense group ids by a {@link GroupIndex}; each aggregated column then updates flat per-group arrays
+ * (count, sum, min, max and, for the standard deviation, Welford's running mean and squared deviations) in one typed loop.
+ */
+public class HashAggregator {
+
+    /**
+     * Aggregates a dataframe, producing one row per group in order of first appearance:
+     * the grouping columns followed by one column per aggregation.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param columns      the columns to group by
+     * @param aggregations the aggregations computed for every group
+     * @return the aggregated dataframe
+     */
+    public Map<String, List<Object>> aggregate(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Aggregation> aggregations) {
+        int rowCount = dataFrameMap.isEmpty() ? 0 : dataFrameMap.values().iterator().next().size();
+        List<Column> keyColumns = columns.stream().map(column -> requireColumn(dataFrameMap, column)).toList();
+        GroupIndex groups = GroupIndex.of(keyColumns, rowCount);
+
+        Map<String, List<Object>> result = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            result.put(columns.get(i), keyColumns.get(i).gather(groups.firstRows()));
+        }
+
+        Map<String, GroupAccumulators> accumulators = new HashMap<>();
+        for (Aggregation aggregation : aggregations) {
+            Column values = aggregation.getColumn() == null ? null : requireColumn(dataFrameMap, aggregation.getColumn());
+            if (aggregation.getFunction() == Aggregation.Function.COUNT) {
+                result.put(aggregation.getName(), count(values, groups));
+                continue;
+            }
+            if (!(values instanceof NumericColumn numericColumn)) {
+                throw new IllegalArgumentException("Column '" + aggregation.getColumn() + "' is not numeric!");
+            }
+            GroupAccumulators groupAccumulators = accumulators.get(aggregation.getColumn());
+            boolean needsVariance = aggregations.stream().anyMatch(other -> other.getFunction() == Aggregation.Function.STD && aggregation.getColumn().equals(other.getColumn()));
+            if (groupAccumulators == null) {
+                groupAccumulators = new GroupAccumulators(numericColumn, groups, needsVariance);
+                accumulators.put(aggregation.getColumn(), groupAccumulators);
+            }
+            result.put(aggregation.getName(), groupAccumulators.result(aggregation.getFunction()));
+        }
+        return result;
+    }
+
+    private static Column count(Column values, GroupIndex groups) {
+        long[] counts = new long[groups.groupCount()];
+        int[] groupIds = groups.groupIds();
+        for (int row = 0; row < groupIds.length; row++) {
+            if (values == null || !values.isNull(row)) {
+                counts[groupIds[row]]++;
+            }
+        }
+        return new LongColumn(counts);
+    }
+
+    private static Column requireColumn(Map<String, List<Object>> dataFrameMap, String column) {
+        List<Object> values = dataFrameMap.get(column);
+        if (values == null) {
+            throw new IllegalArgumentException("Column '" + column + "' does not exist!");
+        }
+        return Columns.asColumn(values);
+    }
+
+    /**
+     * The per-group running totals of one numeric column, filled by a single pass over its primitive array.
+     * Integer columns keep exact long sums, minimums and maximums.
+     */
+    private static final class GroupAccumulators {
+
+        private final NumericColumn source;
+        private final boolean integral;
+        private final long[] counts;
+        private final long[] longSums;
+        private final long[] longMins;
+        private final long[] longMaxs;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+        private final double[] means;
+        private final double[] squaredDeviations;
+
+        GroupAccumulators(NumericColumn source, GroupIndex groups, boolean needsVariance) {
+            int groupCount = groups.groupCount();
+            this.source = source;
+            this.integral = !(source instanceof DoubleColumn);
+            this.counts = new long[groupCount];
+            this.longSums = integral ? new long[groupCount] : null;
+            this.longMins = integral ? filled(new long[groupCount], Long.MAX_VALUE) : null;
+            this.longMaxs = integral ? filled(new long[groupCount], Long.MIN_VALUE) : null;
+            this.sums = integral ? null : new double[groupCount];
+            this.mins = integral ? null : filled(new double[groupCount], Double.POSITIVE_INFINITY);
+            this.maxs = integral ? null : filled(new double[groupCount], Double.NEGATIVE_INFINITY);
+            this.means = needsVariance ? new double[groupCount] : null;
+            this.squaredDeviations = needsVariance ? new double[groupCount] : null;
+
+            int[] groupIds = groups.groupIds();
+            switch (source) {
+                case IntColumn intColumn -> {
+                    int[] data = intColumn.data();
+                    for (int row = 0; row < groupIds.length; row++) {
+                        if (!source.isNull(row)) {
+                            addLong(groupIds[row], data[row]);
+                        }
+                    }
+                }
+                case LongColumn longColumn -> {
+                    long[] data = longColumn.data();
+                    for (int row = 0; row < groupIds.length; row++) {
+                        if (!source.isNull(row)) {
+                            addLong(groupIds[row], data[row]);
+                        }
+                    }
+                }
+                case DoubleColumn doubleColumn -> {
+                    double[] data = doubleColumn.data();
+                    for (int row = 0; row < groupIds.length; row++) {
+                        if (!source.isNull(row)) {
+                            addDouble(groupIds[row], data[row]);
+                        }
+                    }
+                }
+                default -> {
+                    for (int row = 0; row < groupIds.length; row++) {
+                        if (!source.isNull(row)) {
+                            addLong(groupIds[row], source.getLong(row));
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addLong(int group, long value) {
+            counts[group]++;
+            longSums[group] += value;
+            if (value < longMins[group]) {
+                longMins[group] = value;
+            }
+            if (value > longMaxs[group]) {
+                longMaxs[group] = value;
+            }
+            if (means != null) {
+                addDeviation(group, value);
+            }
+        }
+
+        private void addDouble(int group, double value) {
+            counts[group]++;
+            sums[group] += value;
+            mins[group] = Math.min(mins[group], value);
+            maxs[group] = Math.max(maxs[group], value);
+            if (means != null) {
+                addDeviation(group, value);
+            }
+        }
+
+        private void addDeviation(int group, double value) {
+            double delta = value - means[group];
+            means[group] += delta / counts[group];
+            squaredDeviations[group] += delta * (value - means[group]);
+        }
+
+        /**
+         * Builds the result column of a function; groups without any non-null value are null, except for sums which are 0.
+         */
+        Column result(Aggregation.Function function) {
+            int groupCount = counts.length;
+            return switch (function) {
+                case SUM -> integral ? new LongColumn(longSums) : new DoubleColumn(sums);
+                case MEAN -> doubles(group -> (integral ? (double) longSums[group] : sums[group]) / counts[group]);
+                case STD -> doubles(group -> Math.sqrt(squaredDeviations[group] / counts[group]));
+                case MIN, MAX -> {
+                    if (!integral) {
+                        yield doubles(group -> function == Aggregation.Function.MIN ? mins[group] : maxs[group]);
+                    }
+                    long[] extremes = function == Aggregation.Function.MIN ? longMins : longMaxs;
+                    Column column = source instanceof IntColumn ? new IntColumn(groupCount) : new LongColumn(groupCount);
+                    for (int group = 0; group < groupCount; group++) {
+                        if (counts[group] == 0) {
+                            column.appendNull();
+                        } else if (column instanceof IntColumn intColumn) {
+                            intColumn.appendInt((int) extremes[group]);
+                        } else {
+                            ((LongColumn) column).appendLong(extremes[group]);
+                        }
+                    }
+                    yield column;
+                }
+                case COUNT -> new LongColumn(counts);
+            };
+        }
+
+        private DoubleColumn doubles(IntToDoubleFunction value) {
+            DoubleColumn column = new DoubleColumn(counts.length);
+            for (int group = 0; group < counts.length; group++) {
+                if (counts[group] == 0) {
+                    column.appendNull();
+                } else {
+                    column.appendDouble(value.applyAsDouble(group));
+                }
+            }
+            return column;
+        }
+
+        private static long[] filled(long[] values, long value) {
+            Arrays.fill(values, value);
+            return values;
+        }
+
+        private static double[] filled(double[] values, double value) {
+            Arrays.fill(values, value);
+            return values;
+        }
+    }
+}
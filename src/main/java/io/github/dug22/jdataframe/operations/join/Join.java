@@ -0,0 +1,18 @@
+package io.github.dug22.jdataframe.operations.join;
+
+import java.util.List;
+import java.util.Map;
+
+public interface Join {
+
+    /**
+     * Joins two DataFrames (maps of columns) on key columns present in both.
+     *
+     * @param left the dataframe on the left side of the join
+     * @param right the dataframe on the right side of the join
+     * @param on the names of the key columns
+     * @param type which rows of both sides are kept
+     * @return A map holding the key columns, then the other left columns and the other right columns.
+     */
+    Map<String, List<Object>> join(Map<String, List<Object>> left, Map<String, List<Object>> right, List<String> on, JoinType type);
+}
@@ -0,0 +1,29 @@
+package io.github.dug22.jdataframe.operations.join;
+
+public enum JoinType {
+
+    /**
+     * Keeps the pairs of rows whose keys match.
+     */
+    INNER,
+    /**
+     * Keeps the pairs of rows whose keys match, and every other left row with null right columns.
+     */
+    LEFT,
+    /**
+     * Keeps the pairs of rows whose keys match, and every other right row with null left columns.
+     */
+    RIGHT,
+    /**
+     * Keeps the pairs of rows whose keys match, and every other row of both sides.
+     */
+    OUTER,
+    /**
+     * Keeps the left rows having at least one match, once each and with the left columns only.
+     */
+    SEMI,
+    /**
+     * Keeps the left rows having no match, with the left columns only.
+     */
+    ANTI
+}
@@ -0,0 +1,133 @@
+package io.github.dug22.jdataframe.operations.join.impl;
+
+import io.github.dug22.jdataframe.operations.join.JoinType;
+
+import java.util.stream.IntStream;
+
+/**
+ * Pairs the rows of both sides of a join from their key ids.
+ * <p>
+ * The right rows are first bucketed by key id with a counting sort, giving every key the ascending run of its right
+ * rows. The left rows are then processed in parallel chunks in two passes: the first counts the output rows of every
+ * chunk, so that each chunk knows where its output starts, and the second writes the pairs straight into the output
+ * arrays. The output therefore lists the left rows in order, each followed by its matching right rows in order,
+ * whichever side the keys were hashed from.
+ */
+final class HashJoin {
+
+    private HashJoin() {
+    }
+
+    /**
+     * Pairs the rows of both sides.
+     *
+     * @param keys the key ids of both sides
+     * @param type which rows are kept
+     * @return the joined rows
+     */
+    static JoinedRows join(JoinKeys keys, JoinType type) {
+        int[] leftIds = keys.leftIds();
+        int[] rightIds = keys.rightIds();
+        int keyCount = keys.keyCount();
+
+        int[] runStarts = new int[keyCount + 1];
+        for (int id : rightIds) {
+            if (id >= 0) {
+                runStarts[id + 1]++;
+            }
+        }
+        for (int id = 0; id < keyCount; id++) {
+            runStarts[id + 1] += runStarts[id];
+        }
+        int[] rightRuns = new int[runStarts[keyCount]];
+        int[] positions = runStarts.clone();
+        for (int row = 0; row < rightIds.length; row++) {
+            int id = rightIds[row];
+            if (id >= 0) {
+                rightRuns[positions[id]++] = row;
+            }
+        }
+
+        int chunks = JoinKeys.chunkCount(leftIds.length);
+        long[] chunkStarts = new long[chunks + 1];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            long count = 0;
+            for (int row = chunk * JoinKeys.CHUNK_SIZE, end = JoinKeys.chunkEnd(chunk, leftIds.length); row < end; row++) {
+                int id = leftIds[row];
+                int matches = id < 0 ? 0 : runStarts[id + 1] - runStarts[id];
+                count += switch (type) {
+                    case INNER, RIGHT -> matches;
+                    case LEFT, OUTER -> Math.max(matches, 1);
+                    case SEMI -> matches > 0 ? 1 : 0;
+                    case ANTI -> matches > 0 ? 0 : 1;
+                };
+            }
+            chunkStarts[chunk + 1] = count;
+        });
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkStarts[chunk + 1] += chunkStarts[chunk];
+        }
+
+        boolean keepsRight = type == JoinType.RIGHT || type == JoinType.OUTER;
+        boolean[] matchedIds = keepsRight ? new boolean[keyCount] : null;
+        int leftOutput = JoinedRows.checkedSize(chunkStarts[chunks]);
+        int rightOnly = 0;
+        if (keepsRight) {
+            for (int id : leftIds) {
+                if (id >= 0) {
+                    matchedIds[id] = true;
+                }
+            }
+            for (int id : rightIds) {
+                if (id < 0 || !matchedIds[id]) {
+                    rightOnly++;
+                }
+            }
+        }
+
+        int[] left = new int[JoinedRows.checkedSize((long) leftOutput + rightOnly)];
+        int[] right = type == JoinType.SEMI || type == JoinType.ANTI ? null : new int[left.length];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int position = (int) chunkStarts[chunk];
+            for (int row = chunk * JoinKeys.CHUNK_SIZE, end = JoinKeys.chunkEnd(chunk, leftIds.length); row < end; row++) {
+                int id = leftIds[row];
+                int from = id < 0 ? 0 : runStarts[id];
+                int to = id < 0 ? 0 : runStarts[id + 1];
+                switch (type) {
+                    case SEMI -> {
+                        if (to > from) {
+                            left[position++] = row;
+                        }
+                    }
+                    case ANTI -> {
+                        if (to == from) {
+                            left[position++] = row;
+                        }
+                    }
+                    default -> {
+                        for (int match = from; match < to; match++) {
+                            left[position] = row;
+                            right[position++] = rightRuns[match];
+                        }
+                        if (to == from && (type == JoinType.LEFT || type == JoinType.OUTER)) {
+                            left[position] = row;
+                            right[position++] = -1;
+                        }
+                    }
+                }
+            }
+        });
+
+        if (keepsRight) {
+            int position = leftOutput;
+            for (int row = 0; row < rightIds.length; row++) {
+                int id = rightIds[row];
+                if (id < 0 || !matchedIds[id]) {
+                    left[position] = -1;
+                    right[position++] = row;
+                }
+            }
+        }
+        return new JoinedRows(left, right, leftOutput);
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.dug22.jdataframe.operations.join.impl;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.operations.join.Join;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Joins two dataframes on equal keys. Null keys never match.
+ * <p>
+ * When both sides are sorted on a single integral or date key, the rows are paired by a {@link MergeJoin}, otherwise
+ * by a {@link HashJoin} hashing the keys of the smaller side and probing them with the rows of the larger side in
+ * parallel. Either way the rows are paired as two arrays of row indexes first, and the output columns are then
+ * gathered from them in bulk, one column per task.
+ * <p>
+ * The output lists the left rows in order, each followed by its matches in right order, and then the right rows
+ * without a match for RIGHT and OUTER joins. The output columns are the left columns, followed by the right columns
+ * that are not keys; a right column whose name is already taken gets the suffix "_right". The key columns hold the
+ * left key, or the right key for right rows without a match, in the common type of both sides.
+ */
+public class JoinImpl implements Join {
+
+    private static final String RIGHT_SUFFIX = "_right";
+
+    @Override
+    public Map<String, List<Object>> join(Map<String, List<Object>> left, Map<String, List<Object>> right, List<String> on, JoinType type) {
+        if (on.isEmpty()) {
+            throw new IllegalArgumentException("A join needs at least one key column!");
+        }
+        List<Column> leftKeys = new ArrayList<>();
+        List<Column> rightKeys = new ArrayList<>();
+        for (String column : on) {
+            if (!left.containsKey(column) || !right.containsKey(column)) {
+                throw new IllegalArgumentException("Key column '" + column + "' must exist in both dataframes!");
+            }
+            Column leftKey = Columns.asColumn(left.get(column));
+            Column rightKey = Columns.asColumn(right.get(column));
+            ColumnType keyType = keyType(column, leftKey.type(), rightKey.type());
+            leftKeys.add(Columns.convert(leftKey, keyType));
+            rightKeys.add(Columns.convert(rightKey, keyType));
+        }
+
+        int leftRows = rowCount(left);
+        int rightRows = rowCount(right);
+        JoinedRows rows = leftKeys.size() == 1 && MergeJoin.applies(leftKeys.getFirst(), rightKeys.getFirst())
+                ? MergeJoin.join(leftKeys.getFirst(), rightKeys.getFirst(), type)
+                : HashJoin.join(JoinKeys.encode(leftKeys, rightKeys, leftRows, rightRows), type);
+        return gather(left, right, on, leftKeys, rightKeys, rows);
+    }
+
+    /**
+     * Returns the type both sides of a key column are converted to before they are compared.
+     *
+     * @throws IllegalArgumentException if values of both types can never be equal
+     */
+    private static ColumnType keyType(String column, ColumnType leftType, ColumnType rightType) {
+        ColumnType keyType = Columns.commonType(leftType, rightType);
+        if (keyType == ColumnType.OBJECT && leftType != ColumnType.OBJECT && rightType != ColumnType.OBJECT) {
+            throw new IllegalArgumentException("Key column '" + column + "' cannot be joined: " + leftType + " and " + rightType + " keys never match!");
+        }
+        return keyType;
+    }
+
+    /**
+     * Gathers the output columns of the joined rows, in parallel across columns.
+     */
+    private static Map<String, List<Object>> gather(Map<String, List<Object>> left, Map<String, List<Object>> right, List<String> on,
+                                                    List<Column> leftKeys, List<Column> rightKeys, JoinedRows rows) {
+        List<String> names = new ArrayList<>();
+        List<Supplier<Column>> columns = new ArrayList<>();
+        for (Map.Entry<String, List<Object>> entry : left.entrySet()) {
+            int key = on.indexOf(entry.getKey());
+            names.add(entry.getKey());
+            columns.add(key < 0
+                    ? () -> Columns.asColumn(entry.getValue()).gather(rows.left())
+                    : () -> gatherKey(leftKeys.get(key), rightKeys.get(key), rows));
+        }
+        if (rows.right() != null) {
+            for (Map.Entry<String, List<Object>> entry : right.entrySet()) {
+                if (on.contains(entry.getKey())) {
+                    continue;
+                }
+                String name = entry.getKey();
+                while (left.containsKey(name) || names.contains(name)) {
+                    name += RIGHT_SUFFIX;
+                }
+                names.add(name);
+                columns.add(() -> Columns.asColumn(entry.getValue()).gather(rows.right()));
+            }
+        }
+
+        List<Column> gathered = columns.parallelStream().map(Supplier::get).toList();
+        Map<String, List<Object>> joinedMap = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            joinedMap.put(names.get(i), gathered.get(i));
+        }
+        return joinedMap;
+    }
+
+    /**
+     * Gathers a key column from the left keys, taking the right key for the right rows without a left match.
+     */
+    private static Column gatherKey(Column leftKey, Column rightKey, JoinedRows rows) {
+        Column key = leftKey.gather(rows.left());
+        for (int row = rows.rightOnlyFrom(); row < rows.left().length; row++) {
+            key.set(row, rightKey.get(rows.right()[row]));
+        }
+        return key;
+    }
+
+    private static int rowCount(Map<String, List<Object>> dataFrameMap) {
+        return dataFrameMap.isEmpty() ? 0 : dataFrameMap.values().iterator().next().size();
+    }
+}
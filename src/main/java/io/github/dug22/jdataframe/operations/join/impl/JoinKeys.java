@@ -0,0 +1,214 @@
+package io.github.dug22.jdataframe.operations.join.impl;
+
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Maps the key of every row of both sides of a join to a shared dense key id, so that rows match exactly when their
+ * ids are equal. The ids are assigned by hashing the keys of the smaller side only, the build side: primitive keys
+ * go through an open-addressing {@link LongIntHashMap}, string and object keys through a hash map, and two
+ * dictionary-encoded columns are matched through their int codes, looking up each distinct value once. The rows of the
+ * larger side, the probe side, are then looked up in these read-only tables in parallel chunks. Rows with a null key,
+ * and probe rows whose key is absent from the build side, get the id -1 and match nothing.
+ * <p>
+ * Several key columns are encoded one at a time and combined pairwise as (id so far, code of the next column), like
+ * the keys of a group-by.
+ *
+ * @param leftIds  the key id of every left row
+ * @param rightIds the key id of every right row
+ * @param keyCount the number of distinct non-null keys of the build side
+ */
+record JoinKeys(int[] leftIds, int[] rightIds, int keyCount) {
+
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Encodes the key columns of both sides, which must already share a column type pairwise.
+     *
+     * @param leftKeys  the key columns of the left side
+     * @param rightKeys the key columns of the right side, in the same order
+     * @param leftRows  the number of left rows
+     * @param rightRows the number of right rows
+     * @return the key ids of both sides
+     */
+    static JoinKeys encode(List<Column> leftKeys, List<Column> rightKeys, int leftRows, int rightRows) {
+        boolean buildLeft = leftRows < rightRows;
+        List<Column> buildKeys = buildLeft ? leftKeys : rightKeys;
+        List<Column> probeKeys = buildLeft ? rightKeys : leftKeys;
+        int buildRows = buildLeft ? leftRows : rightRows;
+        int probeRows = buildLeft ? rightRows : leftRows;
+
+        int[] buildIds = new int[buildRows];
+        int[] probeIds = new int[probeRows];
+        int keyCount = encode(buildKeys.getFirst(), probeKeys.getFirst(), buildIds, probeIds);
+        if (buildKeys.size() > 1) {
+            int[] buildCodes = new int[buildRows];
+            int[] probeCodes = new int[probeRows];
+            for (int i = 1; i < buildKeys.size(); i++) {
+                int cardinality = encode(buildKeys.get(i), probeKeys.get(i), buildCodes, probeCodes);
+                LongIntHashMap combined = new LongIntHashMap((int) Math.min(buildRows, (long) keyCount * cardinality));
+                int combinedCount = 0;
+                for (int row = 0; row < buildRows; row++) {
+                    if (buildIds[row] < 0 || buildCodes[row] < 0) {
+                        buildIds[row] = -1;
+                        continue;
+                    }
+                    int id = combined.putIfAbsent((long) buildIds[row] * cardinality + buildCodes[row], combinedCount);
+                    buildIds[row] = id < 0 ? combinedCount++ : id;
+                }
+                forEachChunk(probeRows, (from, to) -> {
+                    for (int row = from; row < to; row++) {
+                        probeIds[row] = probeIds[row] < 0 || probeCodes[row] < 0
+                                ? -1
+                                : combined.get((long) probeIds[row] * cardinality + probeCodes[row]);
+                    }
+                });
+                keyCount = combinedCount;
+            }
+        }
+        return buildLeft ? new JoinKeys(buildIds, probeIds, keyCount) : new JoinKeys(probeIds, buildIds, keyCount);
+    }
+
+    /**
+     * Runs a task over the rows [0, size) split into chunks, in parallel when there is more than one chunk.
+     *
+     * @param size the number of rows
+     * @param task the task run over the rows [from, to) of every chunk
+     */
+    static void forEachChunk(int size, ChunkTask task) {
+        int chunks = chunkCount(size);
+        if (chunks <= 1) {
+            task.run(0, size);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(Metrics.measured(chunk -> task.run(chunk * CHUNK_SIZE, chunkEnd(chunk, size))));
+    }
+
+    static int chunkCount(int size) {
+        return (int) (((long) size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    static int chunkEnd(int chunk, int size) {
+        return (int) Math.min(size, (long) (chunk + 1) * CHUNK_SIZE);
+    }
+
+    /**
+     * Processes a range of rows.
+     */
+    @FunctionalInterface
+    interface ChunkTask {
+        void run(int from, int to);
+    }
+
+    /**
+     * Encodes one key column of each side.
+     *
+     * @return the number of distinct non-null keys of the build column
+     */
+    private static int encode(Column build, Column probe, int[] buildCodes, int[] probeCodes) {
+        if (build instanceof DictionaryColumn buildColumn && probe instanceof DictionaryColumn probeColumn) {
+            return encodeDictionaries(buildColumn, probeColumn, buildCodes, probeCodes);
+        }
+        if (build instanceof StringColumn || build instanceof ObjectColumn || build instanceof DictionaryColumn) {
+            Map<Object, Integer> dictionary = new HashMap<>();
+            for (int row = 0; row < buildCodes.length; row++) {
+                Object key = build.get(row);
+                if (key == null) {
+                    buildCodes[row] = -1;
+                    continue;
+                }
+                Integer code = dictionary.putIfAbsent(key, dictionary.size());
+                buildCodes[row] = code == null ? dictionary.size() - 1 : code;
+            }
+            forEachChunk(probeCodes.length, (from, to) -> {
+                for (int row = from; row < to; row++) {
+                    Object key = probe.get(row);
+                    probeCodes[row] = key == null ? -1 : dictionary.getOrDefault(key, -1);
+                }
+            });
+            return dictionary.size();
+        }
+
+        LongIntHashMap dictionary = new LongIntHashMap();
+        int count = 0;
+        for (int row = 0; row < buildCodes.length; row++) {
+            if (build.isNull(row)) {
+                buildCodes[row] = -1;
+                continue;
+            }
+            int code = dictionary.putIfAbsent(primitiveKey(build, row), count);
+            buildCodes[row] = code < 0 ? count++ : code;
+        }
+        forEachChunk(probeCodes.length, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                probeCodes[row] = probe.isNull(row) ? -1 : dictionary.get(primitiveKey(probe, row));
+            }
+        });
+        return count;
+    }
+
+    /**
+     * Encodes two dictionary-encoded columns through their int codes: the codes of the build side are renumbered,
+     * and every distinct value of the probe side is looked up once in the build dictionary.
+     *
+     * @return the number of distinct non-null keys of the build column
+     */
+    private static int encodeDictionaries(DictionaryColumn build, DictionaryColumn probe, int[] buildCodes, int[] probeCodes) {
+        StringDictionary buildDictionary = build.dictionary();
+        int[] buildValueCodes = build.codes();
+        int[] keyOfCode = new int[buildDictionary.size()];
+        Arrays.fill(keyOfCode, -1);
+        int count = 0;
+        for (int row = 0; row < buildCodes.length; row++) {
+            int code = buildValueCodes[row];
+            if (code < 0) {
+                buildCodes[row] = -1;
+                continue;
+            }
+            if (keyOfCode[code] < 0) {
+                keyOfCode[code] = count++;
+            }
+            buildCodes[row] = keyOfCode[code];
+        }
+
+        StringDictionary probeDictionary = probe.dictionary();
+        int[] probeKeyOfCode = new int[probeDictionary.size()];
+        for (int code = 0; code < probeKeyOfCode.length; code++) {
+            int buildCode = buildDictionary.codeOf(probeDictionary.get(code));
+            probeKeyOfCode[code] = buildCode < 0 ? -1 : keyOfCode[buildCode];
+        }
+        int[] probeValueCodes = probe.codes();
+        forEachChunk(probeCodes.length, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                int code = probeValueCodes[row];
+                probeCodes[row] = code < 0 ? -1 : probeKeyOfCode[code];
+            }
+        });
+        return count;
+    }
+
+    /**
+     * Returns a long holding the value of a non-null row of a primitive column.
+     * Doubles are keyed by their bits, with -0.0 folded into 0.0 so that keys compare like numbers.
+     */
+    private static long primitiveKey(Column column, int row) {
+        return switch (column) {
+            case IntColumn intColumn -> intColumn.getInt(row);
+            case DateColumn dateColumn -> dateColumn.getEpochDay(row);
+            case BooleanColumn booleanColumn -> booleanColumn.getBoolean(row) ? 1 : 0;
+            case LongColumn longColumn -> longColumn.getLong(row);
+            case DoubleColumn doubleColumn -> {
+                double value = doubleColumn.getDouble(row);
+                yield Double.doubleToLongBits(value == 0.0 ? 0.0 : value);
+            }
+            default -> throw new IllegalArgumentException("Unsupported key column type: " + column.type());
+        };
+    }
+}
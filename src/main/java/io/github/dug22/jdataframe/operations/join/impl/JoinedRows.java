@@ -0,0 +1,24 @@
+package io.github.dug22.jdataframe.operations.join.impl;
+
+/**
+ * The pairs of rows produced by a join, as two parallel arrays of row indexes where -1 stands for a missing row.
+ * Rows of the right side without a left match, kept by RIGHT and OUTER joins, come last, from {@code rightOnlyFrom} on.
+ *
+ * @param left          the left row of every output row
+ * @param right         the right row of every output row, or null for SEMI and ANTI joins
+ * @param rightOnlyFrom the first output row without a left row
+ */
+record JoinedRows(int[] left, int[] right, int rightOnlyFrom) {
+
+    /**
+     * Returns a number of output rows as an int.
+     *
+     * @throws IllegalArgumentException if a dataframe cannot hold that many rows
+     */
+    static int checkedSize(long rows) {
+        if (rows > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The join produces " + rows + " rows, more than a dataframe can hold!");
+        }
+        return (int) rows;
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.dug22.jdataframe.operations.join.impl;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.DateColumn;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.LongColumn;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+import io.github.dug22.jdataframe.util.IntArrayList;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Pairs the rows of two sides that are both sorted on a single integral or date key without nulls, by walking the
+ * runs of equal keys of both sides side by side. No hash table is built, and the output lists the rows in the same
+ * order as a {@link HashJoin}.
+ */
+final class MergeJoin {
+
+    private MergeJoin() {
+    }
+
+    /**
+     * Checks whether two key columns of the same type can be merge joined: they must be integral or date columns
+     * without nulls, sorted in ascending order.
+     *
+     * @param leftKey  the key column of the left side
+     * @param rightKey the key column of the right side
+     * @return true if the merge join applies
+     */
+    static boolean applies(Column leftKey, Column rightKey) {
+        IntToLongFunction left = keys(leftKey);
+        IntToLongFunction right = keys(rightKey);
+        return left != null && right != null
+                && leftKey.nullCount() == 0 && rightKey.nullCount() == 0
+                && isSorted(left, leftKey.size()) && isSorted(right, rightKey.size());
+    }
+
+    /**
+     * Pairs the rows of both sides.
+     *
+     * @param leftKey  the sorted key column of the left side
+     * @param rightKey the sorted key column of the right side
+     * @param type     which rows are kept
+     * @return the joined rows
+     */
+    static JoinedRows join(Column leftKey, Column rightKey, JoinType type) {
+        IntToLongFunction left = keys(leftKey);
+        IntToLongFunction right = keys(rightKey);
+        int leftRows = leftKey.size();
+        int rightRows = rightKey.size();
+        boolean pairs = type != JoinType.SEMI && type != JoinType.ANTI;
+        boolean keepsLeft = type == JoinType.LEFT || type == JoinType.OUTER;
+        boolean[] matchedRight = type == JoinType.RIGHT || type == JoinType.OUTER ? new boolean[rightRows] : null;
+
+        IntArrayList leftOutput = new IntArrayList(Math.max(leftRows, rightRows));
+        IntArrayList rightOutput = pairs ? new IntArrayList(Math.max(leftRows, rightRows)) : null;
+        int runStart = 0;
+        for (int row = 0; row < leftRows; ) {
+            long key = left.applyAsLong(row);
+            int runEnd = row + 1;
+            while (runEnd < leftRows && left.applyAsLong(runEnd) == key) {
+                runEnd++;
+            }
+            while (runStart < rightRows && right.applyAsLong(runStart) < key) {
+                runStart++;
+            }
+            int matchEnd = runStart;
+            while (matchEnd < rightRows && right.applyAsLong(matchEnd) == key) {
+                matchEnd++;
+            }
+
+            for (; row < runEnd; row++) {
+                if (!pairs) {
+                    if ((matchEnd > runStart) == (type == JoinType.SEMI)) {
+                        leftOutput.add(row);
+                    }
+                    continue;
+                }
+                JoinedRows.checkedSize((long) leftOutput.size() + matchEnd - runStart);
+                for (int match = runStart; match < matchEnd; match++) {
+                    leftOutput.add(row);
+                    rightOutput.add(match);
+                }
+                if (matchEnd == runStart && keepsLeft) {
+                    leftOutput.add(row);
+                    rightOutput.add(-1);
+                }
+            }
+            if (matchedRight != null) {
+                Arrays.fill(matchedRight, runStart, matchEnd, true);
+            }
+            runStart = matchEnd;
+        }
+
+        int rightOnlyFrom = leftOutput.size();
+        if (matchedRight != null) {
+            for (int row = 0; row < rightRows; row++) {
+                if (!matchedRight[row]) {
+                    leftOutput.add(-1);
+                    rightOutput.add(row);
+                }
+            }
+        }
+        return new JoinedRows(leftOutput.toArray(), pairs ? rightOutput.toArray() : null, rightOnlyFrom);
+    }
+
+    /**
+     * Returns the accessor of the keys of an integral or date column, or null for any other column.
+     */
+    private static IntToLongFunction keys(Column column) {
+        return switch (column) {
+            case IntColumn intColumn -> {
+                int[] data = intColumn.data();
+                yield row -> data[row];
+            }
+            case LongColumn longColumn -> {
+                long[] data = longColumn.data();
+                yield row -> data[row];
+            }
+            case DateColumn dateColumn -> {
+                int[] data = dateColumn.data();
+                yield row -> data[row];
+            }
+            default -> null;
+        };
+    }
+
+    private static boolean isSorted(IntToLongFunction keys, int size) {
+        for (int row = 1; row < size; row++) {
+            if (keys.applyAsLong(row - 1) > keys.applyAsLong(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
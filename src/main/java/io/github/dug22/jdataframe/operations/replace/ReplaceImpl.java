@@ -1,5 +1,9 @@
 package io.github.dug22.jdataframe.operations.replace;
 
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.metrics.Metrics;
+
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
@@ -19,15 +23,9 @@ public class ReplaceImpl implements Replace {
 
     @Override
     public void replace(Map<String, List<Object>> dataFrameMap, String column, int index, Object value) {
-        if (dataFrameMap.containsKey(column)) {
-            List<Object> rowData = dataFrameMap.get(column);
-            if (index >= 0 && index < rowData.size()) {
-                rowData.set(index, value);
-            } else {
-                throw new IndexOutOfBoundsException("Index out of bounds for key: " + column);
-            }
-        } else {
-            throw new NullPointerException("Column '" + column + "' not found!");
+        try (Metrics.Stage stage = Metrics.start("replace", () -> "[" + column + "]", dataFrameMap)) {
+            replaceValue(dataFrameMap, column, index, value);
+            stage.end(dataFrameMap);
         }
     }
 
@@ -44,20 +42,38 @@ public class ReplaceImpl implements Replace {
      */
     @Override
     public void replace(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Integer> indexes, List<Object> values) {
-        IntStream.range(0, columns.size()).forEach(i -> {
-            String column = columns.get(i);
-            int index = indexes.get(i);
-            Object newValue = values.get(i);
-            if (dataFrameMap.containsKey(column)) {
-                List<Object> rowData = dataFrameMap.get(column);
-                if (index >= 0 && index < rowData.size()) {
-                    rowData.set(index, newValue);
-                } else {
-                    throw new IndexOutOfBoundsException("Index out of bounds for key: " + column);
+        try (Metrics.Stage stage = Metrics.start("replace", columns::toString, dataFrameMap)) {
+            IntStream.range(0, columns.size()).forEach(i -> replaceValue(dataFrameMap, columns.get(i), indexes.get(i), values.get(i)));
+            stage.end(dataFrameMap);
+        }
+    }
+
+    /**
+     * Replaces a single value. When a typed column cannot hold the new value it is first widened
+     * (int to long to double, anything else to an object column) and swapped into the dataframe.
+     *
+     * @param dataFrameMap the dataframe containing the data.
+     * @param column the column of the dataset to update.
+     * @param index the row index within the column to be updated.
+     * @param value the new value to replace the existing data at the specified row and column.
+     */
+    private void replaceValue(Map<String, List<Object>> dataFrameMap, String column, int index, Object value) {
+        if (dataFrameMap.containsKey(column)) {
+            List<Object> rowData = dataFrameMap.get(column);
+            if (index >= 0 && index < rowData.size()) {
+                if (rowData instanceof Column typedColumn) {
+                    Column widenedColumn = Columns.widen(typedColumn, value);
+                    if (widenedColumn != typedColumn) {
+                        dataFrameMap.put(column, widenedColumn);
+                        rowData = widenedColumn;
+                    }
                 }
+                rowData.set(index, value);
             } else {
-                throw new NullPointerException("Column '" + column + "' not found!");
+                throw new IndexOutOfBoundsException("Index out of bounds for key: " + column);
             }
-        });
+        } else {
+            throw new NullPointerException("Column '" + column + "' not found!");
+        }
     }
 }
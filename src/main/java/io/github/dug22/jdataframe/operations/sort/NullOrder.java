@@ -0,0 +1,13 @@
+package io.github.dug22.jdataframe.operations.sort;
+
+public enum NullOrder {
+
+    /**
+     * Places the null values of a sort column before every other value.
+     */
+    FIRST,
+    /**
+     * Places the null values of a sort column after every other value.
+     */
+    LAST
+}
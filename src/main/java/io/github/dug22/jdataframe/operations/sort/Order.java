@@ -0,0 +1,7 @@
+package io.github.dug22.jdataframe.operations.sort;
+
+public enum Order {
+
+    ASCENDING,
+    DESCENDING
+}
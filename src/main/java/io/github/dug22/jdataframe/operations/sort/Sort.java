@@ -0,0 +1,31 @@
+package io.github.dug22.jdataframe.operations.sort;
+
+import java.util.List;
+import java.util.Map;
+
+public interface Sort {
+
+    /**
+     * Sorts the rows of a DataFrame (represented as a map of columns) by one or more columns.
+     * Rows are ordered by the first column, ties by the second column and so on; rows that tie on every column keep
+     * their original order.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param columns the columns to sort by, most significant first
+     * @param orders the order of every sort column
+     * @param nullOrder where the null values of every sort column are placed
+     * @return A new map with every column reordered.
+     */
+    Map<String, List<Object>> sortBy(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Order> orders, NullOrder nullOrder);
+
+    /**
+     * Computes the sorted order of the rows of a DataFrame without reordering them.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param columns the columns to sort by, most significant first
+     * @param orders the order of every sort column
+     * @param nullOrder where the null values of every sort column are placed
+     * @return The row indexes in sorted order.
+     */
+    int[] sortedRowOrder(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Order> orders, NullOrder nullOrder);
+}
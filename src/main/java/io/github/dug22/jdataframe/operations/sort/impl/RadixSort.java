@@ -0,0 +1,113 @@
+package io.github.dug22.jdataframe.operations.sort.impl;
+
+import io.github.dug22.jdataframe.metrics.Metrics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A stable least-significant-digit radix sort of rows by unsigned long keys, 11 bits per pass.
+ * <p>
+ * Only the passes covering the significant bits of the keys are run, and a pass is skipped when every key has the
+ * same digit, so small integer ranges sort in one or two linear passes. Large inputs are split into chunks: the digit
+ * histogram of every chunk is computed in parallel, and every chunk then scatters its rows in parallel to the offsets
+ * reserved for it, which keeps the sort stable.
+ */
+final class RadixSort {
+
+    private static final int DIGIT_BITS = 11;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int PARALLEL_THRESHOLD = 1 << 17;
+    private static final int MIN_CHUNK_SIZE = 1 << 15;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Stably reorders rows by their keys, in ascending unsigned order.
+     *
+     * @param keys            the key of every row, reordered together with the rows
+     * @param rows            the rows to reorder
+     * @param significantBits the number of low bits of the keys that can be set
+     */
+    static void sort(long[] keys, int[] rows, int significantBits) {
+        int size = rows.length;
+        int chunks = size < PARALLEL_THRESHOLD ? 1 : Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, size / MIN_CHUNK_SIZE));
+        int chunkSize = (size + chunks - 1) / Math.max(chunks, 1);
+        long[] sourceKeys = keys;
+        int[] sourceRows = rows;
+        long[] targetKeys = null;
+        int[] targetRows = null;
+
+        for (int shift = 0; shift < significantBits; shift += DIGIT_BITS) {
+            int digitShift = shift;
+            long[] passKeys = sourceKeys;
+            int[][] offsets = new int[chunks][RADIX];
+            forEachChunk(chunks, chunk -> {
+                int[] counts = offsets[chunk];
+                for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++) {
+                    counts[(int) (passKeys[i] >>> digitShift) & (RADIX - 1)]++;
+                }
+            });
+            if (!reserveOffsets(offsets, size)) {
+                continue;
+            }
+
+            if (targetKeys == null) {
+                targetKeys = new long[size];
+                targetRows = new int[size];
+            }
+            long[] passTargetKeys = targetKeys;
+            int[] passSourceRows = sourceRows;
+            int[] passTargetRows = targetRows;
+            forEachChunk(chunks, chunk -> {
+                int[] positions = offsets[chunk];
+                for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++) {
+                    int position = positions[(int) (passKeys[i] >>> digitShift) & (RADIX - 1)]++;
+                    passTargetKeys[position] = passKeys[i];
+                    passTargetRows[position] = passSourceRows[i];
+                }
+            });
+            targetKeys = sourceKeys;
+            targetRows = sourceRows;
+            sourceKeys = passTargetKeys;
+            sourceRows = passTargetRows;
+        }
+
+        if (sourceRows != rows) {
+            System.arraycopy(sourceKeys, 0, keys, 0, size);
+            System.arraycopy(sourceRows, 0, rows, 0, size);
+        }
+    }
+
+    /**
+     * Turns the digit counts of every chunk into the first position of its rows of every digit, digit by digit and
+     * chunk by chunk.
+     *
+     * @return false if every row has the same digit, so the pass can be skipped
+     */
+    private static boolean reserveOffsets(int[][] offsets, int size) {
+        int position = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int digitStart = position;
+            for (int[] counts : offsets) {
+                int count = counts[digit];
+                counts[digit] = position;
+                position += count;
+            }
+            if (position - digitStart == size) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void forEachChunk(int chunks, IntConsumer task) {
+        if (chunks == 1) {
+            task.accept(0);
+        } else {
+            IntStream.range(0, chunks).parallel().forEach(Metrics.measured(task));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.dug22.jdataframe.operations.sort.impl;
+
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.operations.sort.NullOrder;
+import io.github.dug22.jdataframe.operations.sort.Order;
+import io.github.dug22.jdataframe.operations.sort.Sort;
+
+import java.util.*;
+
+/**
+ * Sorts the rows of a dataframe by computing their sorted order once as an int permutation, then gathering every
+ * column through it, in parallel across columns.
+ * <p>
+ * The permutation is built with a stable {@link RadixSort}, one sort column at a time from the least significant to
+ * the most significant, so that each pass keeps the order of the rows that tie on its column. Every value is first
+ * mapped to an unsigned long key that sorts like the value: integral and date values by their offset from the column
+ * minimum, doubles by their bits rearranged to sort like {@link Double#compare}, booleans as 0 and 1, and strings or
+ * other objects by the rank of their value among the sorted distinct values of the column. Descending columns reverse
+ * the keys, and the null rows of a column are then moved in one stable pass before or after the other rows.
+ */
+public class SortImpl implements Sort {
+
+    @Override
+    public Map<String, List<Object>> sortBy(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Order> orders, NullOrder nullOrder) {
+        int[] rows = sortedRowOrder(dataFrameMap, columns, orders, nullOrder);
+        List<Map.Entry<String, List<Object>>> entries = new ArrayList<>(dataFrameMap.entrySet());
+        List<Column> sorted = entries.parallelStream().map(entry -> Columns.asColumn(entry.getValue()).gather(rows)).toList();
+        Map<String, List<Object>> sortedMap = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            sortedMap.put(entries.get(i).getKey(), sorted.get(i));
+        }
+        return sortedMap;
+    }
+
+    @Override
+    public int[] sortedRowOrder(Map<String, List<Object>> dataFrameMap, List<String> columns, List<Order> orders, NullOrder nullOrder) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one sort column is required!");
+        }
+        if (columns.size() != orders.size()) {
+            throw new IllegalArgumentException("Every sort column needs exactly one order!");
+        }
+        for (String column : columns) {
+            if (!dataFrameMap.containsKey(column)) {
+                throw new IllegalArgumentException("Column '" + column + "' does not exist!");
+            }
+        }
+
+        int rowCount = dataFrameMap.isEmpty() ? 0 : dataFrameMap.values().iterator().next().size();
+        int[] rows = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            rows[row] = row;
+        }
+        long[] keys = new long[rowCount];
+        for (int i = columns.size() - 1; i >= 0; i--) {
+            Column column = Columns.asColumn(dataFrameMap.get(columns.get(i)));
+            int significantBits = sortKeys(columns.get(i), column, rows, keys, orders.get(i) == Order.DESCENDING);
+            RadixSort.sort(keys, rows, significantBits);
+            if (column.nullCount() > 0) {
+                moveNulls(column, rows, nullOrder);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Computes the unsigned sort key of every row, in the current row order. Null rows get the key 0.
+     *
+     * @return the number of low bits of the keys that can be set
+     */
+    private static int sortKeys(String name, Column column, int[] rows, long[] keys, boolean descending) {
+        long[] values = orderedValues(name, column);
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        boolean hasNulls = column.nullCount() > 0;
+        for (int row = 0; row < values.length; row++) {
+            if (!hasNulls || !column.isNull(row)) {
+                min = Math.min(min, values[row]);
+                max = Math.max(max, values[row]);
+            }
+        }
+        if (min > max) {
+            Arrays.fill(keys, 0L);
+            return 0;
+        }
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (hasNulls && column.isNull(row)) {
+                keys[i] = 0;
+            } else {
+                keys[i] = descending ? max - values[row] : values[row] - min;
+            }
+        }
+        return 64 - Long.numberOfLeadingZeros(max - min);
+    }
+
+    /**
+     * Maps every row of a column to a signed long ordered like its value. The values of null rows are meaningless.
+     */
+    private static long[] orderedValues(String name, Column column) {
+        int size = column.size();
+        long[] values = new long[size];
+        switch (column) {
+            case IntColumn intColumn -> {
+                int[] data = intColumn.data();
+                for (int row = 0; row < size; row++) {
+                    values[row] = data[row];
+                }
+            }
+            case LongColumn longColumn -> System.arraycopy(longColumn.data(), 0, values, 0, size);
+            case DateColumn dateColumn -> {
+                int[] data = dateColumn.data();
+                for (int row = 0; row < size; row++) {
+                    values[row] = data[row];
+                }
+            }
+            case DoubleColumn doubleColumn -> {
+                double[] data = doubleColumn.data();
+                for (int row = 0; row < size; row++) {
+                    long bits = Double.doubleToLongBits(data[row]);
+                    values[row] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+                }
+            }
+            case BooleanColumn booleanColumn -> {
+                boolean[] data = booleanColumn.data();
+                for (int row = 0; row < size; row++) {
+                    values[row] = data[row] ? 1 : 0;
+                }
+            }
+            case DictionaryColumn dictionaryColumn -> rankCodes(dictionaryColumn, values);
+            default -> rankValues(name, column, values);
+        }
+        return values;
+    }
+
+    /**
+     * Maps every non-null row of a column to the rank of its value among the sorted distinct values of the column.
+     * Every distinct value is compared once, however many rows hold it.
+     */
+    private static void rankValues(String name, Column column, long[] ranks) {
+        Map<Object, Integer> dictionary = new HashMap<>();
+        int[] codes = new int[column.size()];
+        for (int row = 0; row < codes.length; row++) {
+            Object value = column.get(row);
+            if (value != null) {
+                Integer code = dictionary.putIfAbsent(value, dictionary.size());
+                codes[row] = code == null ? dictionary.size() - 1 : code;
+            }
+        }
+
+        Object[] distinct = new Object[dictionary.size()];
+        dictionary.forEach((value, code) -> distinct[code] = value);
+        Integer[] byValue = new Integer[distinct.length];
+        for (int code = 0; code < distinct.length; code++) {
+            byValue[code] = code;
+        }
+        try {
+            Arrays.sort(byValue, (first, second) -> compare(distinct[first], distinct[second]));
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Column '" + name + "' cannot be sorted: its values are not comparable!");
+        }
+        int[] rankOfCode = new int[distinct.length];
+        for (int rank = 0; rank < byValue.length; rank++) {
+            rankOfCode[byValue[rank]] = rank;
+        }
+        for (int row = 0; row < codes.length; row++) {
+            ranks[row] = rankOfCode[codes[row]];
+        }
+    }
+
+    /**
+     * Maps every non-null row of a dictionary-encoded column to the rank of its value among the sorted dictionary values,
+     * so only the dictionary is sorted.
+     */
+    private static void rankCodes(DictionaryColumn column, long[] ranks) {
+        StringDictionary dictionary = column.dictionary();
+        Integer[] byValue = new Integer[dictionary.size()];
+        for (int code = 0; code < byValue.length; code++) {
+            byValue[code] = code;
+        }
+        Arrays.sort(byValue, (first, second) -> dictionary.get(first).compareTo(dictionary.get(second)));
+        int[] rankOfCode = new int[byValue.length];
+        for (int rank = 0; rank < byValue.length; rank++) {
+            rankOfCode[byValue[rank]] = rank;
+        }
+        int[] codes = column.codes();
+        for (int row = 0; row < column.size(); row++) {
+            ranks[row] = codes[row] < 0 ? 0 : rankOfCode[codes[row]];
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object first, Object second) {
+        if (first instanceof Number a && second instanceof Number b && first.getClass() != second.getClass()) {
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        return ((Comparable) first).compareTo(second);
+    }
+
+    /**
+     * Moves the null rows of a column before or after the other rows, keeping the order within both parts.
+     */
+    private static void moveNulls(Column column, int[] rows, NullOrder nullOrder) {
+        int[] sorted = new int[rows.length];
+        int nullCount = column.nullCount();
+        int nullPosition = nullOrder == NullOrder.FIRST ? 0 : rows.length - nullCount;
+        int valuePosition = nullOrder == NullOrder.FIRST ? nullCount : 0;
+        for (int row : rows) {
+            if (column.isNull(row)) {
+                sorted[nullPosition++] = row;
+            } else {
+                sorted[valuePosition++] = row;
+            }
+        }
+        System.arraycopy(sorted, 0, rows, 0, rows.length);
+    }
+}
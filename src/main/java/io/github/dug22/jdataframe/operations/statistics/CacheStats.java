@@ -0,0 +1,25 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+/**
+ * The counters of a {@link StatisticsCache}, to size it: a high share of misses with many evictions asks for a larger
+ * cache, while misses caused by changed columns do not.
+ *
+ * @param hits          the number of results served from the cache
+ * @param misses        the number of results computed, including those whose cached result was outdated
+ * @param evictions     the number of results evicted to make room for new ones
+ * @param invalidations the number of cached results dropped because their column changed
+ * @param size          the number of results currently cached
+ * @param maximumSize   the maximum number of results cached
+ */
+public record CacheStats(long hits, long misses, long evictions, long invalidations, int size, int maximumSize) {
+
+    /**
+     * Returns the share of lookups served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 before the first lookup
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
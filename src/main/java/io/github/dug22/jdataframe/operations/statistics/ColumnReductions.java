@@ -0,0 +1,264 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.column.DoubleColumn;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.LongColumn;
+import io.github.dug22.jdataframe.column.NullBitmap;
+import io.github.dug22.jdataframe.column.NumericColumn;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Primitive reduction kernels behind the SUM, MEAN, MAX, MIN, RANGE and STD statistics of typed numeric columns.
+ * <p>
+ * Runs of rows without nulls are reduced by dense kernels over the primitive column arrays. When the JVM is started with
+ * {@code --add-modules jdk.incubator.vector} these kernels use SIMD instructions through the Vector API, otherwise plain
+ * scalar loops. Columns with at least {@link #getParallelThreshold()} rows are split into chunks reduced in parallel on
+ * the common fork-join pool.
+ */
+public final class ColumnReductions {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    private static volatile int parallelThreshold = 1 << 18;
+
+    private ColumnReductions() {
+    }
+
+    /**
+     * Returns whether the reductions use the Vector API.
+     *
+     * @return true if the jdk.incubator.vector module is available
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the number of rows from which a column is reduced in parallel.
+     *
+     * @param rows the minimum row count of a parallel reduction
+     */
+    public static void setParallelThreshold(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("The parallel threshold must be positive!");
+        }
+        parallelThreshold = rows;
+    }
+
+    /**
+     * Computes the count, sum, minimum and maximum of the non-null values of a column.
+     *
+     * @param column the column to reduce
+     * @return the reduction
+     */
+    static Reduction reduce(NumericColumn column) {
+        return reduceChunks(column.size(), (from, to) -> reduce(column, from, to), Reduction::combine);
+    }
+
+    /**
+     * Computes the sum of the squared deviations of the non-null values of a column from their mean.
+     *
+     * @param column the column to reduce
+     * @param mean   the mean of the column
+     * @return the sum of squared deviations
+     */
+    static double squaredDeviations(NumericColumn column, double mean) {
+        return reduceChunks(column.size(), (from, to) -> squaredDeviations(column, from, to, mean), Double::sum);
+    }
+
+    /**
+     * Reduces the rows of a column chunk by chunk, in parallel once the column reaches the parallel threshold,
+     * and combines the chunk results in row order.
+     *
+     * @param size     the number of rows
+     * @param reducer  reduces the rows [from, to) of one chunk
+     * @param combiner combines the results of two adjacent chunks
+     * @return the combined result
+     */
+    static <T> T reduceChunks(int size, ChunkReducer<T> reducer, BinaryOperator<T> combiner) {
+        int chunkSize = chunkSize(size);
+        if (chunkSize >= size) {
+            return reducer.reduce(0, size);
+        }
+        return IntStream.range(0, (size + chunkSize - 1) / chunkSize)
+                .parallel()
+                .mapToObj(chunk -> reducer.reduce(chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize)))
+                .reduce(combiner)
+                .orElseThrow();
+    }
+
+    /**
+     * Reduces a range of rows of a column.
+     */
+    @FunctionalInterface
+    interface ChunkReducer<T> {
+        T reduce(int from, int to);
+    }
+
+    /**
+     * Returns the number of rows reduced by one task, a multiple of 64 so that chunks start on a null bitmap word.
+     */
+    private static int chunkSize(int size) {
+        if (size < parallelThreshold) {
+            return size;
+        }
+        int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        return Math.max(MIN_CHUNK_SIZE, (size / chunks + 63) & ~63);
+    }
+
+    /**
+     * Reduces the rows [from, to) of a column. Null-free runs of bitmap words are handed to the dense kernels,
+     * words containing nulls are reduced row by row.
+     */
+    private static Reduction reduce(NumericColumn column, int from, int to) {
+        Reduction reduction = new Reduction();
+        NullBitmap nulls = column.nulls();
+        if (nulls == null || nulls.isEmpty()) {
+            reduceDense(column, from, to, reduction);
+            return reduction;
+        }
+
+        long[] words = nulls.words();
+        int runStart = from;
+        for (int block = from; block < to; block += 64) {
+            int word = block >>> 6;
+            if (word < words.length && words[word] != 0) {
+                int blockEnd = Math.min(block + 64, to);
+                if (runStart < block) {
+                    reduceDense(column, runStart, block, reduction);
+                }
+                reduceBlock(column, block, validRows(words[word], blockEnd - block), reduction);
+                runStart = blockEnd;
+            }
+        }
+        if (runStart < to) {
+            reduceDense(column, runStart, to, reduction);
+        }
+        return reduction;
+    }
+
+    /**
+     * Returns the bits of the non-null rows of a null bitmap word, limited to the rows of the block.
+     */
+    private static long validRows(long nullWord, int rows) {
+        return rows == 64 ? ~nullWord : ~nullWord & ((1L << rows) - 1);
+    }
+
+    /**
+     * Reduces the non-null rows of a block of 64 rows, given as the set bits of {@code valid}.
+     */
+    private static void reduceBlock(NumericColumn column, int block, long valid, Reduction reduction) {
+        if (column instanceof IntColumn intColumn) {
+            int[] data = intColumn.data();
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (long rows = valid; rows != 0; rows &= rows - 1) {
+                int value = data[block + Long.numberOfTrailingZeros(rows)];
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (valid != 0) {
+                reduction.count += Long.bitCount(valid);
+                reduction.longSum += sum;
+                reduction.min = Math.min(reduction.min, min);
+                reduction.max = Math.max(reduction.max, max);
+            }
+            return;
+        }
+        for (long rows = valid; rows != 0; rows &= rows - 1) {
+            reduction.add(column.getDouble(block + Long.numberOfTrailingZeros(rows)));
+        }
+    }
+
+    private static void reduceDense(NumericColumn column, int from, int to, Reduction reduction) {
+        switch (column) {
+            case DoubleColumn doubleColumn -> {
+                if (VECTORIZED) {
+                    VectorKernels.reduce(doubleColumn.data(), from, to, reduction);
+                } else {
+                    double[] data = doubleColumn.data();
+                    for (int i = from; i < to; i++) {
+                        reduction.add(data[i]);
+                    }
+                }
+            }
+            case LongColumn longColumn -> {
+                if (VECTORIZED) {
+                    VectorKernels.reduce(longColumn.data(), from, to, reduction);
+                } else {
+                    long[] data = longColumn.data();
+                    for (int i = from; i < to; i++) {
+                        reduction.add((double) data[i]);
+                    }
+                }
+            }
+            case IntColumn intColumn -> {
+                if (VECTORIZED) {
+                    VectorKernels.reduce(intColumn.data(), from, to, reduction);
+                } else {
+                    int[] data = intColumn.data();
+                    long sum = 0;
+                    int min = Integer.MAX_VALUE;
+                    int max = Integer.MIN_VALUE;
+                    for (int i = from; i < to; i++) {
+                        int value = data[i];
+                        sum += value;
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                    }
+                    if (to > from) {
+                        reduction.count += to - from;
+                        reduction.longSum += sum;
+                        reduction.min = Math.min(reduction.min, min);
+                        reduction.max = Math.max(reduction.max, max);
+                    }
+                }
+            }
+            default -> {
+                for (int i = from; i < to; i++) {
+                    reduction.add(column.getDouble(i));
+                }
+            }
+        }
+    }
+
+    private static double squaredDeviations(NumericColumn column, int from, int to, double mean) {
+        NullBitmap nulls = column.nulls();
+        if (nulls != null && !nulls.isEmpty()) {
+            long[] words = nulls.words();
+            double sum = 0;
+            for (int block = from; block < to; block += 64) {
+                int word = block >>> 6;
+                long valid = validRows(word < words.length ? words[word] : 0, Math.min(64, to - block));
+                while (valid != 0) {
+                    double deviation = column.getDouble(block + Long.numberOfTrailingZeros(valid)) - mean;
+                    sum += deviation * deviation;
+                    valid &= valid - 1;
+                }
+            }
+            return sum;
+        }
+        if (VECTORIZED && column instanceof DoubleColumn doubleColumn) {
+            return VectorKernels.squaredDeviations(doubleColumn.data(), from, to, mean);
+        }
+        if (VECTORIZED && column instanceof LongColumn longColumn) {
+            return VectorKernels.squaredDeviations(longColumn.data(), from, to, mean);
+        }
+        double sum = 0;
+        for (int row = from; row < to; row++) {
+            double deviation = column.getDouble(row) - mean;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,303 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.column.DoubleColumn;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.LongColumn;
+import io.github.dug22.jdataframe.column.NumericColumn;
+import io.github.dug22.jdataframe.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * The summary statistics of a numeric column, computed together instead of one statistic at a time.
+ * A single pass copies the non-null values into a primitive array while accumulating the count, the compensated sum,
+ * the minimum, the maximum and Welford's running variance. The mode is then counted with a primitive hash map and the
+ * median is found with an in-place quickselect, so no value is boxed and nothing is sorted.
+ */
+public final class DescriptiveStatistics {
+
+    private double[] values;
+    private int count;
+    private double sum;
+    private double compensation;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private boolean hasNaN;
+    private OptionalDouble mode;
+    private double median;
+
+    private DescriptiveStatistics(int capacity) {
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Computes the summary statistics of a column, skipping nulls and non-numeric values.
+     *
+     * @param column the column values
+     * @return the summary statistics
+     */
+    public static DescriptiveStatistics of(List<Object> column) {
+        DescriptiveStatistics statistics = new DescriptiveStatistics(column.size());
+        switch (column) {
+            case IntColumn intColumn -> {
+                int[] data = intColumn.data();
+                for (int i = 0; i < intColumn.size(); i++) {
+                    if (!intColumn.isNull(i)) {
+                        statistics.add(data[i]);
+                    }
+                }
+            }
+            case LongColumn longColumn -> {
+                long[] data = longColumn.data();
+                for (int i = 0; i < longColumn.size(); i++) {
+                    if (!longColumn.isNull(i)) {
+                        statistics.add(data[i]);
+                    }
+                }
+            }
+            case DoubleColumn doubleColumn -> {
+                double[] data = doubleColumn.data();
+                for (int i = 0; i < doubleColumn.size(); i++) {
+                    if (!doubleColumn.isNull(i)) {
+                        statistics.add(data[i]);
+                    }
+                }
+            }
+            case NumericColumn numericColumn -> {
+                for (int i = 0; i < numericColumn.size(); i++) {
+                    if (!numericColumn.isNull(i)) {
+                        statistics.add(numericColumn.getDouble(i));
+                    }
+                }
+            }
+            default -> {
+                for (Object value : column) {
+                    if (value instanceof Number number) {
+                        statistics.add(number.doubleValue());
+                    }
+                }
+            }
+        }
+        statistics.mode = mode(statistics.values, statistics.count);
+        statistics.median = median(statistics.values, statistics.count, statistics.hasNaN);
+        statistics.values = null;
+        return statistics;
+    }
+
+    private void add(double value) {
+        values[count++] = value;
+        double compensated = value - compensation;
+        double total = sum + compensated;
+        compensation = (total - sum) - compensated;
+        sum = total;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        if (value != value) {
+            hasNaN = true;
+        }
+    }
+
+    /**
+     * Finds the most frequent of the given values by counting them in a primitive hash map.
+     * Values occurring only once are not a mode; ties are resolved in favour of the smallest value.
+     *
+     * @param values the values, of which only the first {@code length} are read
+     * @param length the number of values
+     * @return the mode, or an empty optional if no value occurs more than once
+     */
+    static OptionalDouble mode(double[] values, int length) {
+        LongIntHashMap ids = new LongIntHashMap();
+        int[] counts = new int[Math.min(length, 16)];
+        double[] distinct = new double[counts.length];
+        for (int i = 0; i < length; i++) {
+            int id = ids.putIfAbsent(Double.doubleToLongBits(values[i]), ids.size());
+            if (id < 0) {
+                id = ids.size() - 1;
+                if (id == counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                    distinct = Arrays.copyOf(distinct, counts.length);
+                }
+                distinct[id] = values[i];
+            }
+            counts[id]++;
+        }
+
+        int best = -1;
+        for (int id = 0; id < ids.size(); id++) {
+            if (counts[id] > 1 && (best < 0 || counts[id] > counts[best] || (counts[id] == counts[best] && Double.compare(distinct[id], distinct[best]) < 0))) {
+                best = id;
+            }
+        }
+        return best < 0 ? OptionalDouble.empty() : OptionalDouble.of(distinct[best]);
+    }
+
+    /**
+     * Finds the median of the given values, reordering them in place.
+     * The middle element is selected with a three-way partitioning quickselect, which stays linear on columns
+     * with many repeated values; values containing NaN fall back to sorting, which orders NaN last.
+     *
+     * @param values the values, of which only the first {@code length} are read and reordered
+     * @param length the number of values
+     * @param hasNaN whether any of the values is NaN
+     * @return the median, or 0.0 if there are no values
+     */
+    static double median(double[] values, int length, boolean hasNaN) {
+        if (length == 0) {
+            return 0.0;
+        }
+        int middle = length / 2;
+        if (hasNaN) {
+            Arrays.sort(values, 0, length);
+            return length % 2 == 0 ? (values[middle - 1] + values[middle]) / 2.0 : values[middle];
+        }
+
+        double upper = select(values, length, middle);
+        if (length % 2 == 1) {
+            return upper;
+        }
+        double lower = values[0];
+        for (int i = 1; i < middle; i++) {
+            if (values[i] > lower) {
+                lower = values[i];
+            }
+        }
+        return (lower + upper) / 2.0;
+    }
+
+    /**
+     * Moves the k-th smallest value to index k, with every smaller or equal value before it.
+     */
+    private static double select(double[] values, int length, int k) {
+        int from = 0;
+        int to = length - 1;
+        while (from < to) {
+            double pivot = medianOfThree(values[from], values[(from + to) >>> 1], values[to]);
+            int less = from;
+            int greater = to;
+            int i = from;
+            while (i <= greater) {
+                double value = values[i];
+                if (value < pivot) {
+                    values[i++] = values[less];
+                    values[less++] = value;
+                } else if (value > pivot) {
+                    values[i] = values[greater];
+                    values[greater--] = value;
+                } else {
+                    i++;
+                }
+            }
+            if (k < less) {
+                to = less - 1;
+            } else if (k > greater) {
+                from = greater + 1;
+            } else {
+                return pivot;
+            }
+        }
+        return values[k];
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Returns the number of non-null numeric values.
+     *
+     * @return the value count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return the mean, or 0.0 if there are no values
+     */
+    public double getMean() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Returns the most frequent value.
+     *
+     * @return the mode, or an empty optional if no value occurs more than once
+     */
+    public OptionalDouble getMode() {
+        return mode;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the maximum, or 0.0 if there are no values
+     */
+    public double getMax() {
+        return count == 0 ? 0.0 : hasNaN ? Double.NaN : max;
+    }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return the minimum, or 0.0 if there are no values
+     */
+    public double getMin() {
+        return count == 0 ? 0.0 : hasNaN ? Double.NaN : min;
+    }
+
+    public double getRange() {
+        return getMax() - getMin();
+    }
+
+    /**
+     * Returns the population standard deviation of the values.
+     *
+     * @return the standard deviation, or 0.0 if there are no values
+     */
+    public double getStandardDeviation() {
+        return count == 0 ? 0.0 : Math.sqrt(m2 / count);
+    }
+
+    /**
+     * Returns the statistics in the layout of {@link Statistics#describe(Map, String)}.
+     *
+     * @param column the name of the described column, used in the error message
+     * @return the statistics keyed by their names
+     * @throws IllegalArgumentException if the column has no mode
+     */
+    public Map<String, Object> toMap(String column) {
+        Map<String, Object> statsMap = new LinkedHashMap<>();
+        statsMap.put("Sum", getSum());
+        statsMap.put("Mean", getMean());
+        statsMap.put("Mode", mode.orElseThrow(() -> new IllegalArgumentException("No mode was found for column: " + column)));
+        statsMap.put("Median", getMedian());
+        statsMap.put("Max", getMax());
+        statsMap.put("Min", getMin());
+        statsMap.put("Range", getRange());
+        statsMap.put("Standard Deviation", getStandardDeviation());
+        return statsMap;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+public enum EvictionPolicy {
+
+    /**
+     * Evicts the result that was used the longest time ago.
+     */
+    LRU,
+    /**
+     * Evicts the result that was used the fewest times, the least recently used one among ties.
+     */
+    LFU
+}
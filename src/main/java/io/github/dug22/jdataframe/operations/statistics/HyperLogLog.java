@@ -0,0 +1,229 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.column.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct values of a column in constant memory.
+ * <p>
+ * Every value is hashed to 64 bits; the first p bits select one of 2^p registers, which keeps the longest run of
+ * leading zeros seen in the remaining bits. The estimate is the bias-corrected harmonic mean of the registers, falling
+ * back to linear counting while many registers are still empty. Its relative standard error is about
+ * 1.04 / sqrt(2^p), for example 0.81% with the default precision of 14 (16 KB of registers).
+ * Sketches of the same precision built over separate chunks or batches can be merged.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 14;
+
+    private static final long DATE_SEED = 0x2545F4914F6CDD1DL;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a sketch with 2^precision registers.
+     *
+     * @param precision the number of index bits, between 4 and 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("The precision must be between 4 and 18!");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Builds a sketch over the non-null values of a column.
+     *
+     * @param column    the column values
+     * @param precision the number of index bits of the sketch
+     * @return the sketch
+     */
+    public static HyperLogLog of(List<Object> column, int precision) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        sketch.addAll(column, 0, column.size());
+        return sketch;
+    }
+
+    /**
+     * Adds the non-null values of the rows [from, to) of a column.
+     * Typed columns are hashed straight from their primitive arrays, consistently with {@link #add(Object)}.
+     *
+     * @param column the column values
+     * @param from   the first row, inclusive
+     * @param to     the last row, exclusive
+     */
+    public void addAll(List<Object> column, int from, int to) {
+        switch (column) {
+            case IntColumn intColumn -> {
+                int[] data = intColumn.data();
+                for (int i = from; i < to; i++) {
+                    if (!intColumn.isNull(i)) {
+                        addHash(mix(data[i]));
+                    }
+                }
+            }
+            case LongColumn longColumn -> {
+                long[] data = longColumn.data();
+                for (int i = from; i < to; i++) {
+                    if (!longColumn.isNull(i)) {
+                        addHash(mix(data[i]));
+                    }
+                }
+            }
+            case DoubleColumn doubleColumn -> {
+                double[] data = doubleColumn.data();
+                for (int i = from; i < to; i++) {
+                    if (!doubleColumn.isNull(i)) {
+                        addHash(mix(Double.doubleToLongBits(data[i])));
+                    }
+                }
+            }
+            case DateColumn dateColumn -> {
+                int[] data = dateColumn.data();
+                for (int i = from; i < to; i++) {
+                    if (!dateColumn.isNull(i)) {
+                        addHash(mix(data[i] ^ DATE_SEED));
+                    }
+                }
+            }
+            default -> {
+                for (int i = from; i < to; i++) {
+                    add(column.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a value to the sketch. Null values are ignored.
+     *
+     * @param value the value to add
+     */
+    public void add(Object value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    /**
+     * Adds a double to the sketch, hashed like a {@link Double} value.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        addHash(mix(Double.doubleToLongBits(value)));
+    }
+
+    private void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Merges the values summarized by another sketch of the same precision into this one.
+     *
+     * @param other the sketch to merge
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Only sketches of the same precision can be merged!");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added to the sketch.
+     *
+     * @return the estimated distinct count
+     */
+    public long estimate() {
+        int m = registers.length;
+        double harmonicSum = 0;
+        int emptyRegisters = 0;
+        for (byte register : registers) {
+            harmonicSum += 1.0 / (1L << register);
+            if (register == 0) {
+                emptyRegisters++;
+            }
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / harmonicSum;
+        if (estimate <= 2.5 * m && emptyRegisters > 0) {
+            estimate = m * Math.log((double) m / emptyRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns the relative standard error of the estimate.
+     *
+     * @return the relative standard error
+     */
+    public double getRelativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Hashes a value to 64 bits. Integral numbers hash by their value, doubles by their bits, strings by their
+     * characters and dates by their epoch day, so every typed column hashes like its boxed values.
+     */
+    private static long hash(Object value) {
+        return switch (value) {
+            case Integer number -> mix(number);
+            case Long number -> mix(number);
+            case Short number -> mix(number);
+            case Byte number -> mix(number);
+            case Double number -> mix(Double.doubleToLongBits(number));
+            case Float number -> mix(Double.doubleToLongBits(number));
+            case String string -> hash(string);
+            case LocalDate date -> mix(date.toEpochDay() ^ DATE_SEED);
+            case Boolean bool -> mix(bool ? 1 : 0);
+            default -> mix(value.hashCode());
+        };
+    }
+
+    private static long hash(String string) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < string.length(); i++) {
+            hash = (hash ^ string.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash ^ string.length());
+    }
+
+    /**
+     * The finalizer of MurmurHash3, spreading every input bit over the whole hash.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
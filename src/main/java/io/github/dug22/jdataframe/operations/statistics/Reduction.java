@@ -0,0 +1,57 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+/**
+ * The running count, sum, minimum and maximum of a range of column values.
+ * Integer values are summed exactly into {@code longSum}, other values into {@code sum}.
+ */
+final class Reduction {
+
+    long count;
+    long longSum;
+    double sum;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+
+    void add(double value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void add(int value) {
+        count++;
+        longSum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    Reduction combine(Reduction other) {
+        count += other.count;
+        longSum += other.longSum;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    long count() {
+        return count;
+    }
+
+    double sum() {
+        return sum + longSum;
+    }
+
+    double mean() {
+        return count == 0 ? 0.0 : sum() / count;
+    }
+
+    double min() {
+        return count == 0 ? 0.0 : min;
+    }
+
+    double max() {
+        return count == 0 ? 0.0 : max;
+    }
+}
@@ -1,11 +1,14 @@
 package io.github.dug22.jdataframe.operations.statistics;
 
+import io.github.dug22.jdataframe.column.NumericColumn;
+
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
-import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 
 public enum Statistics {
 
@@ -15,7 +18,8 @@ public enum Statistics {
     SUM {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
-            return dataFrameMap.get(column).stream().filter(value -> value instanceof Number).mapToDouble(value -> ((Number) value).doubleValue()).sum();
+            Reduction reduction = reduce(dataFrameMap, column);
+            return reduction != null ? reduction.sum() : numbers(dataFrameMap, column).sum();
         }
     },
 
@@ -25,7 +29,8 @@ public enum Statistics {
     MEAN {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
-            return dataFrameMap.get(column).stream().filter(value -> value instanceof Number).mapToDouble(value -> ((Number) value).doubleValue()).average().orElse(0.0);
+            Reduction reduction = reduce(dataFrameMap, column);
+            return reduction != null ? reduction.mean() : numbers(dataFrameMap, column).average().orElse(0.0);
         }
     },
 
@@ -35,17 +40,8 @@ public enum Statistics {
     MODE {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
-            return dataFrameMap.get(column)
-                    .stream()
-                    .filter(value -> value instanceof Number)
-                    .mapToDouble(value -> ((Number) value).doubleValue())
-                    .boxed()
-                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
-                    .entrySet()
-                    .stream()
-                    .filter(entry -> entry.getValue() > 1)
-                    .max(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
+            double[] numbers = numbers(dataFrameMap, column).toArray();
+            return DescriptiveStatistics.mode(numbers, numbers.length)
                     .orElseThrow(() -> new IllegalArgumentException("No mode was found for column: " + column));
         }
     },
@@ -56,13 +52,9 @@ public enum Statistics {
     MEDIAN {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
-            List<Double> sortedNumbers = dataFrameMap.get(column).stream().filter(value -> value instanceof Number).map(value -> ((Number) value).doubleValue()).sorted().toList();
-            int size = sortedNumbers.size();
-            if (size == 0) {
-                return 0.0;
-            }
-
-            return size % 2 == 0 ? (sortedNumbers.get(size / 2 - 1) + sortedNumbers.get(size / 2)) / 2.0 : sortedNumbers.get(size / 2);
+            double[] numbers = numbers(dataFrameMap, column).toArray();
+            boolean hasNaN = DoubleStream.of(numbers).anyMatch(Double::isNaN);
+            return DescriptiveStatistics.median(numbers, numbers.length, hasNaN);
         }
     },
 
@@ -72,7 +64,11 @@ public enum Statistics {
     MAX {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
-            OptionalDouble max = dataFrameMap.get(column).stream().filter(value -> value instanceof Number).mapToDouble(value -> ((Number) value).doubleValue()).max();
+            Reduction reduction = reduce(dataFrameMap, column);
+            if (reduction != null) {
+                return reduction.max();
+            }
+            OptionalDouble max = numbers(dataFrameMap, column).max();
             return max.isPresent() ? max.getAsDouble() : 0.0;
         }
 
@@ -84,7 +80,11 @@ public enum Statistics {
     MIN {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
-            OptionalDouble min = dataFrameMap.get(column).stream().filter(value -> value instanceof Number).mapToDouble(value -> ((Number) value).doubleValue()).min();
+            Reduction reduction = reduce(dataFrameMap, column);
+            if (reduction != null) {
+                return reduction.min();
+            }
+            OptionalDouble min = numbers(dataFrameMap, column).min();
             return min.isPresent() ? min.getAsDouble() : 0.0;
         }
     },
@@ -95,6 +95,10 @@ public enum Statistics {
     RANGE {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
+            Reduction reduction = reduce(dataFrameMap, column);
+            if (reduction != null) {
+                return reduction.max() - reduction.min();
+            }
             return MAX.calculate(dataFrameMap, column) - MIN.calculate(dataFrameMap, column);
         }
     },
@@ -105,16 +109,64 @@ public enum Statistics {
     STD {
         @Override
         public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
-            List<Double> numbers = dataFrameMap.get(column).stream().filter(value -> value instanceof Number).map(value -> ((Number) value).doubleValue()).toList();
-            int size = numbers.size();
+            if (dataFrameMap.get(column) instanceof NumericColumn numericColumn) {
+                Reduction reduction = ColumnReductions.reduce(numericColumn);
+                if (reduction.count() == 0) {
+                    return 0.0;
+                }
+                return Math.sqrt(ColumnReductions.squaredDeviations(numericColumn, reduction.mean()) / reduction.count());
+            }
+            double[] numbers = numbers(dataFrameMap, column).toArray();
+            int size = numbers.length;
             if (size == 0) {
                 return 0.0;
             }
 
-            double mean = numbers.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            double variance = numbers.stream().mapToDouble(number -> Math.pow(number - mean, 2)).sum() / size;
+            double mean = DoubleStream.of(numbers).average().orElse(0.0);
+            double variance = DoubleStream.of(numbers).map(number -> Math.pow(number - mean, 2)).sum() / size;
             return Math.sqrt(variance);
         }
+    },
+
+    /**
+     * Estimates the median of a specified column within the dataframe with a quantile sketch.
+     */
+    P50 {
+        @Override
+        public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
+            return quantile(dataFrameMap, column, 0.5);
+        }
+    },
+
+    /**
+     * Estimates the 95th percentile of a specified column within the dataframe with a quantile sketch.
+     */
+    P95 {
+        @Override
+        public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
+            return quantile(dataFrameMap, column, 0.95);
+        }
+    },
+
+    /**
+     * Estimates the 99th percentile of a specified column within the dataframe with a quantile sketch.
+     */
+    P99 {
+        @Override
+        public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
+            return quantile(dataFrameMap, column, 0.99);
+        }
+    },
+
+    /**
+     * Estimates the number of distinct non-null values of a specified column within the dataframe with a HyperLogLog sketch.
+     * Unlike the other statistics it applies to columns of any type.
+     */
+    APPROX_DISTINCT {
+        @Override
+        public double calculate(Map<String, List<Object>> dataFrameMap, String column) {
+            return approxDistinct(dataFrameMap, column, HyperLogLog.DEFAULT_PRECISION);
+        }
     };
 
     /**
@@ -126,57 +178,127 @@ public enum Statistics {
      */
     public abstract double calculate(Map<String, List<Object>> dataFrameMap, String column);
 
+    /**
+     * Streams the numeric values of a column, skipping nulls and non-numeric values.
+     * Typed numeric columns are read straight from their primitive arrays without boxing.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param column the name of the column to read
+     * @return the numeric values of the column
+     */
+    private static DoubleStream numbers(Map<String, List<Object>> dataFrameMap, String column) {
+        List<Object> values = dataFrameMap.get(column);
+        if (values instanceof NumericColumn numericColumn) {
+            return IntStream.range(0, numericColumn.size()).filter(index -> !numericColumn.isNull(index)).mapToDouble(numericColumn::getDouble);
+        }
+        return values.stream().filter(value -> value instanceof Number).mapToDouble(value -> ((Number) value).doubleValue());
+    }
+
+    /**
+     * Estimates a quantile of a specified column within the dataframe with a {@link QuantileSketch} of the default size,
+     * whose rank error is about 1.3% of the value count. Use {@link #MEDIAN} for the exact median.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param column the name of the column to calculate the quantile for
+     * @param q the quantile, between 0 and 1
+     * @return the estimated quantile, or 0.0 if the column has no numeric values
+     */
+    public static double quantile(Map<String, List<Object>> dataFrameMap, String column, double q) {
+        return quantile(dataFrameMap, column, q, QuantileSketch.DEFAULT_K);
+    }
+
+    /**
+     * Estimates a quantile of a specified column within the dataframe with a {@link QuantileSketch} of the given size.
+     * The column is sketched in parallel chunks whose sketches are merged.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param column the name of the column to calculate the quantile for
+     * @param q the quantile, between 0 and 1
+     * @param k the accuracy parameter of the sketch, see {@link QuantileSketch#getNormalizedRankError(int)}
+     * @return the estimated quantile, or 0.0 if the column has no numeric values
+     */
+    public static double quantile(Map<String, List<Object>> dataFrameMap, String column, double q, int k) {
+        List<Object> values = dataFrameMap.get(column);
+        QuantileSketch sketch = ColumnReductions.reduceChunks(values.size(), (from, to) -> {
+            QuantileSketch chunkSketch = new QuantileSketch(k);
+            chunkSketch.addAll(values, from, to);
+            return chunkSketch;
+        }, (left, right) -> {
+            left.merge(right);
+            return left;
+        });
+        return sketch.quantile(q);
+    }
+
+    /**
+     * Estimates the number of distinct non-null values of a specified column within the dataframe with a
+     * {@link HyperLogLog} sketch of the given precision. The column is sketched in parallel chunks whose sketches are merged.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param column the name of the column to count the distinct values of
+     * @param precision the number of index bits of the sketch, see {@link HyperLogLog#getRelativeError()}
+     * @return the estimated distinct count
+     */
+    public static long approxDistinct(Map<String, List<Object>> dataFrameMap, String column, int precision) {
+        List<Object> values = dataFrameMap.get(column);
+        HyperLogLog sketch = ColumnReductions.reduceChunks(values.size(), (from, to) -> {
+            HyperLogLog chunkSketch = new HyperLogLog(precision);
+            chunkSketch.addAll(values, from, to);
+            return chunkSketch;
+        }, (left, right) -> {
+            left.merge(right);
+            return left;
+        });
+        return sketch.estimate();
+    }
+
+    /**
+     * Reduces a typed numeric column with the primitive kernels of {@link ColumnReductions}.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param column the name of the column to reduce
+     * @return the reduction, or null if the column is not a typed numeric column
+     */
+    private static Reduction reduce(Map<String, List<Object>> dataFrameMap, String column) {
+        return dataFrameMap.get(column) instanceof NumericColumn numericColumn ? ColumnReductions.reduce(numericColumn) : null;
+    }
+
     /**
      * Calculates a specific statistical metric for multiple columns in the dataframe.
-     * This method applies the abstract `calculate` method to each column in the provided list.
+     * This method applies the abstract `calculate` method to each column in the provided list, computing the columns concurrently.
      *
      * @param dataFrameMap the dataframe containing the data
      * @param columns a list of column names for which the statistic is to be calculated
      * @return a list of calculated statistic values for each specified column
      */
     public List<Double> calculate(Map<String, List<Object>> dataFrameMap, List<String> columns) {
-        return columns.stream().map(column -> calculate(dataFrameMap, column)).collect(Collectors.toList());
+        return columns.parallelStream().map(column -> calculate(dataFrameMap, column)).collect(Collectors.toList());
     }
 
     /**
-     * Generates summary statistics (sum, mean, mode, median, max, min, range, and std) for a numerical column in a DataFrame
+     * Generates summary statistics (sum, mean, mode, median, max, min, range, and std) for a numerical column in a DataFrame.
+     * Every statistic is computed from a single pass over the column, see {@link DescriptiveStatistics}.
      * @param dataFrameMap the dataframe containing the data
      * @param column the name of the column to calculate the statistic for
      * @return the general summary statistics for a numerical column in a dataframe.
      */
     public static Map<String, Object> describe(Map<String, List<Object>> dataFrameMap, String column) {
-        double sum = Statistics.SUM.calculate(dataFrameMap, column);
-        double mean = Statistics.MEAN.calculate(dataFrameMap, column);
-        double mode = Statistics.MODE.calculate(dataFrameMap, column);
-        double median = Statistics.MEDIAN.calculate(dataFrameMap, column);
-        double max = Statistics.MAX.calculate(dataFrameMap, column);
-        double min = Statistics.MIN.calculate(dataFrameMap, column);
-        double range = Statistics.RANGE.calculate(dataFrameMap, column);
-        double std = Statistics.STD.calculate(dataFrameMap, column);
-        Map<String, Object> statsMap = new LinkedHashMap<>();
-        statsMap.put("Sum", sum);
-        statsMap.put("Mean", mean);
-        statsMap.put("Mode", mode);
-        statsMap.put("Median", median);
-        statsMap.put("Max", max);
-        statsMap.put("Min", min);
-        statsMap.put("Range", range);
-        statsMap.put("Standard Deviation", std);
-        return statsMap;
+        return DescriptiveStatistics.of(dataFrameMap.get(column)).toMap(column);
     }
 
     /**
-     * Generates summary statistics (sum, mean, mode, median, max, min, range, and std) for multiple numerical columns in a DataFrame
+     * Generates summary statistics (sum, mean, mode, median, max, min, range, and std) for multiple numerical columns in a DataFrame.
+     * The columns are described in parallel.
      * @param dataFrameMap the dataframe containing the data
      * @param columns the name of the columns to calculate the statistic for
      * @return the general summary statistics for multiple numerical columns in a dataframe.
      */
     public static Map<String, Map<String, Object>> describe(Map<String, List<Object>> dataFrameMap, List<String> columns) {
+        List<Map<String, Object>> stats = columns.parallelStream().map(column -> describe(dataFrameMap, column)).toList();
         Map<String, Map<String, Object>> allStats = new LinkedHashMap<>();
-        columns.forEach(column -> {
-            Map<String, Object> statsMap = describe(dataFrameMap, column);
-            allStats.put(column, statsMap);
-        });
+        for (int i = 0; i < columns.size(); i++) {
+            allStats.put(columns.get(i), stats.get(i));
+        }
         return allStats;
     }
 }
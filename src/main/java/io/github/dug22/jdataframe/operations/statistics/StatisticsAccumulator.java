@@ -0,0 +1,206 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.column.NumericColumn;
+
+import java.util.List;
+
+/**
+ * Accumulates the statistics of a numeric column one value or one batch at a time, in constant memory.
+ * The mean and the variance are kept with Welford's online algorithm, so accumulators of separate batches
+ * or threads can be merged without losing precision.
+ * <p>
+ * Only the statistics that can be computed from running totals are supported: SUM, MEAN, MAX, MIN, RANGE and STD.
+ * Accumulators created with {@link #withSketches()} also feed a {@link QuantileSketch} and a {@link HyperLogLog},
+ * adding the bounded-memory estimates P50, P95, P99 and APPROX_DISTINCT.
+ */
+public class StatisticsAccumulator {
+
+    private long count;
+    private double sum;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final QuantileSketch quantiles;
+    private final HyperLogLog distinct;
+
+    public StatisticsAccumulator() {
+        this(null, null);
+    }
+
+    private StatisticsAccumulator(QuantileSketch quantiles, HyperLogLog distinct) {
+        this.quantiles = quantiles;
+        this.distinct = distinct;
+    }
+
+    /**
+     * Creates an accumulator that also sketches the quantiles and the distinct values of the accumulated values,
+     * using sketches of the default size.
+     *
+     * @return the accumulator
+     */
+    public static StatisticsAccumulator withSketches() {
+        return withSketches(QuantileSketch.DEFAULT_K, HyperLogLog.DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates an accumulator that also sketches the quantiles and the distinct values of the accumulated values.
+     *
+     * @param k         the accuracy parameter of the quantile sketch
+     * @param precision the number of index bits of the distinct count sketch
+     * @return the accumulator
+     */
+    public static StatisticsAccumulator withSketches(int k, int precision) {
+        return new StatisticsAccumulator(new QuantileSketch(k), new HyperLogLog(precision));
+    }
+
+    /**
+     * Adds a single value.
+     *
+     * @param value the value to add
+     */
+    public void accept(double value) {
+        count++;
+        sum += value;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        if (quantiles != null) {
+            quantiles.update(value);
+            distinct.add(value);
+        }
+    }
+
+    /**
+     * Adds the numeric values of a column, skipping nulls and non-numeric values.
+     * Typed numeric columns are read straight from their primitive arrays without boxing.
+     *
+     * @param values the column values
+     */
+    public void accept(List<Object> values) {
+        if (values instanceof NumericColumn numericColumn) {
+            for (int i = 0; i < numericColumn.size(); i++) {
+                if (!numericColumn.isNull(i)) {
+                    accept(numericColumn.getDouble(i));
+                }
+            }
+            return;
+        }
+        for (Object value : values) {
+            if (value instanceof Number number) {
+                accept(number.doubleValue());
+            }
+        }
+    }
+
+    /**
+     * Merges the values accumulated by another accumulator into this one.
+     *
+     * @param other the accumulator to merge
+     */
+    public void combine(StatisticsAccumulator other) {
+        if (quantiles != null) {
+            if (other.quantiles == null) {
+                throw new IllegalArgumentException("Only accumulators with sketches can be combined into an accumulator with sketches!");
+            }
+            quantiles.merge(other.quantiles);
+            distinct.merge(other.distinct);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            sum = other.sum;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+
+        long combinedCount = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / combinedCount;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / combinedCount);
+        count = combinedCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the number of accumulated values.
+     *
+     * @return the value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns a statistic of the accumulated values, using the same conventions as {@link Statistics#calculate}:
+     * every statistic of an empty accumulator is 0.0 and STD is the population standard deviation.
+     *
+     * @param statistic the statistic to return
+     * @return the statistic value
+     * @throws UnsupportedOperationException if the statistic needs every value, like MODE or MEDIAN, or needs sketches
+     *                                       this accumulator was created without
+     */
+    public double result(Statistics statistic) {
+        if (isSketched(statistic)) {
+            if (quantiles == null) {
+                throw new UnsupportedOperationException(statistic + " needs an accumulator created with withSketches()!");
+            }
+            return switch (statistic) {
+                case P50 -> quantiles.quantile(0.5);
+                case P95 -> quantiles.quantile(0.95);
+                case P99 -> quantiles.quantile(0.99);
+                default -> distinct.estimate();
+            };
+        }
+        if (count == 0) {
+            return switch (statistic) {
+                case SUM, MEAN, MAX, MIN, RANGE, STD -> 0.0;
+                default -> throw unsupported(statistic);
+            };
+        }
+        return switch (statistic) {
+            case SUM -> sum;
+            case MEAN -> mean;
+            case MAX -> max;
+            case MIN -> min;
+            case RANGE -> max - min;
+            case STD -> Math.sqrt(m2 / count);
+            default -> throw unsupported(statistic);
+        };
+    }
+
+    /**
+     * Estimates a quantile of the accumulated values.
+     *
+     * @param q the quantile, between 0 and 1
+     * @return the estimated quantile, or 0.0 if no value was accumulated
+     * @throws UnsupportedOperationException if this accumulator was created without sketches
+     */
+    public double quantile(double q) {
+        if (quantiles == null) {
+            throw new UnsupportedOperationException("Quantiles need an accumulator created with withSketches()!");
+        }
+        return quantiles.quantile(q);
+    }
+
+    private static boolean isSketched(Statistics statistic) {
+        return statistic == Statistics.P50 || statistic == Statistics.P95 || statistic == Statistics.P99 || statistic == Statistics.APPROX_DISTINCT;
+    }
+
+    private static UnsupportedOperationException unsupported(Statistics statistic) {
+        return new UnsupportedOperationException(statistic + " cannot be computed batch by batch!");
+    }
+}
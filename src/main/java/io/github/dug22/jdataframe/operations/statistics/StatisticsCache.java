@@ -0,0 +1,169 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.column.Column;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded cache of the results computed from single columns, such as statistics and descriptions, keyed by
+ * operation and column name. Every result remembers the column it was computed from and its {@link Column#version()},
+ * so it is recomputed once the column is replaced, dropped or modified in place.
+ * <p>
+ * The cache is safe to use from several threads. Results are computed outside of its lock, so two threads missing the
+ * same result at once both compute it.
+ */
+public final class StatisticsCache {
+
+    private final int maximumSize;
+    private final EvictionPolicy policy;
+    private final Map<Key, Entry> entries;
+    private final TreeMap<Integer, LinkedHashSet<Key>> frequencies = new TreeMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maximumSize the maximum number of results to keep
+     * @param policy      which result to evict when the cache is full
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public StatisticsCache(int maximumSize, EvictionPolicy policy) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size of a cache must be positive!");
+        }
+        this.maximumSize = maximumSize;
+        this.policy = Objects.requireNonNull(policy, "The eviction policy cannot be null!");
+        this.entries = policy == EvictionPolicy.LRU ? new LinkedHashMap<>(16, 0.75f, true) : new HashMap<>();
+    }
+
+    /**
+     * Returns the cached result of an operation on a column, computing and caching it if the cache holds no result
+     * computed from the current version of the column. Results of lists that are not typed columns are never cached.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @param operation    identifies the operation and its parameters
+     * @param column       the name of the column the result is computed from
+     * @param computation  computes the result; exceptions are passed on and nothing is cached
+     * @param <T>          the type of the result
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Map<String, List<Object>> dataFrameMap, String operation, String column, Supplier<T> computation) {
+        List<Object> values = dataFrameMap.get(column);
+        if (!(values instanceof Column typedColumn)) {
+            synchronized (this) {
+                misses++;
+            }
+            return computation.get();
+        }
+
+        Key key = new Key(operation, column);
+        long version = typedColumn.version();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.values == values && entry.version == version) {
+                hits++;
+                used(key, entry);
+                return (T) entry.result;
+            }
+            misses++;
+            if (entry != null) {
+                invalidations++;
+                remove(key);
+            }
+        }
+
+        T result = computation.get();
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                remove(key);
+            }
+            while (entries.size() >= maximumSize) {
+                evict();
+            }
+            entries.put(key, new Entry(values, version, result));
+            if (policy == EvictionPolicy.LFU) {
+                frequencies.computeIfAbsent(1, frequency -> new LinkedHashSet<>()).add(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the counters of this cache.
+     *
+     * @return a snapshot of the counters
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size(), maximumSize);
+    }
+
+    /**
+     * Drops every cached result, keeping the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        frequencies.clear();
+    }
+
+    private void used(Key key, Entry entry) {
+        if (policy == EvictionPolicy.LFU) {
+            removeFrequency(key, entry.frequency);
+            entry.frequency++;
+            frequencies.computeIfAbsent(entry.frequency, frequency -> new LinkedHashSet<>()).add(key);
+        }
+    }
+
+    private void evict() {
+        Key eldest = policy == EvictionPolicy.LRU
+                ? entries.keySet().iterator().next()
+                : frequencies.firstEntry().getValue().iterator().next();
+        remove(eldest);
+        evictions++;
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (policy == EvictionPolicy.LFU) {
+            removeFrequency(key, entry.frequency);
+        }
+    }
+
+    private void removeFrequency(Key key, int frequency) {
+        LinkedHashSet<Key> keys = frequencies.get(frequency);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            frequencies.remove(frequency);
+        }
+    }
+
+    private record Key(String operation, String column) {
+    }
+
+    /**
+     * A cached result with the column and the version of the column it was computed from.
+     */
+    private static final class Entry {
+
+        private final List<Object> values;
+        private final long version;
+        private final Object result;
+        private int frequency = 1;
+
+        private Entry(List<Object> values, long version, Object result) {
+            this.values = values;
+            this.version = version;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD versions of the dense reduction kernels of {@link ColumnReductions}, written with the incubating Vector API.
+ * This class is only loaded when the jdk.incubator.vector module is present at runtime, which requires starting the JVM
+ * with {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    static void reduce(double[] data, int from, int to, Reduction reduction) {
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector maxs = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector values = DoubleVector.fromArray(DOUBLES, data, i);
+            sums = sums.add(values);
+            mins = mins.min(values);
+            maxs = maxs.max(values);
+        }
+        combine(reduction, i - from, sums, mins, maxs);
+        for (; i < to; i++) {
+            reduction.add(data[i]);
+        }
+    }
+
+    static void reduce(long[] data, int from, int to, Reduction reduction) {
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector maxs = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            DoubleVector values = (DoubleVector) LongVector.fromArray(LONGS, data, i).convert(VectorOperators.L2D, 0);
+            sums = sums.add(values);
+            mins = mins.min(values);
+            maxs = maxs.max(values);
+        }
+        combine(reduction, i - from, sums, mins, maxs);
+        for (; i < to; i++) {
+            reduction.add((double) data[i]);
+        }
+    }
+
+    static void reduce(int[] data, int from, int to, Reduction reduction) {
+        IntVector mins = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        IntVector maxs = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector values = IntVector.fromArray(INTS, data, i);
+            mins = mins.min(values);
+            maxs = maxs.max(values);
+        }
+        long sum = 0;
+        for (int j = from; j < i; j++) {
+            sum += data[j];
+        }
+        if (i > from) {
+            reduction.count += i - from;
+            reduction.longSum += sum;
+            reduction.min = Math.min(reduction.min, mins.reduceLanes(VectorOperators.MIN));
+            reduction.max = Math.max(reduction.max, maxs.reduceLanes(VectorOperators.MAX));
+        }
+        for (; i < to; i++) {
+            reduction.add(data[i]);
+        }
+    }
+
+    static double squaredDeviations(double[] data, int from, int to, double mean) {
+        DoubleVector means = DoubleVector.broadcast(DOUBLES, mean);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector deviations = DoubleVector.fromArray(DOUBLES, data, i).sub(means);
+            sums = deviations.fma(deviations, sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            double deviation = data[i] - mean;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+
+    static double squaredDeviations(long[] data, int from, int to, double mean) {
+        DoubleVector means = DoubleVector.broadcast(DOUBLES, mean);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            DoubleVector deviations = ((DoubleVector) LongVector.fromArray(LONGS, data, i).convert(VectorOperators.L2D, 0)).sub(means);
+            sums = deviations.fma(deviations, sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            double deviation = data[i] - mean;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+
+    private static void combine(Reduction reduction, int count, DoubleVector sums, DoubleVector mins, DoubleVector maxs) {
+        if (count > 0) {
+            reduction.count += count;
+            reduction.sum += sums.reduceLanes(VectorOperators.ADD);
+            reduction.min = Math.min(reduction.min, mins.reduceLanes(VectorOperators.MIN));
+            reduction.max = Math.max(reduction.max, maxs.reduceLanes(VectorOperators.MAX));
+        }
+    }
+}
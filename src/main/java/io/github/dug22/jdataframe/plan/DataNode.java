@@ -0,0 +1,41 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.column.Columns;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dataframe that is already in memory. The node keeps shares of its columns and hands fresh shares of them to every
+ * execution of the plan, so the columns are only copied once they are modified, and neither the caller, the node nor
+ * the dataframes built from it see each other's changes.
+ */
+class DataNode extends PlanNode {
+
+    private final Map<String, List<Object>> data;
+
+    DataNode(Map<String, List<Object>> data) {
+        super(null);
+        this.data = Columns.share(data);
+    }
+
+    boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> input) {
+        return Columns.share(data);
+    }
+
+    @Override
+    PlanNode optimize() {
+        return this;
+    }
+
+    @Override
+    String describe() {
+        int rows = data.isEmpty() ? 0 : data.values().iterator().next().size();
+        return "DataFrame " + data.keySet() + ", " + rows + " rows";
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.operations.group.Aggregation;
+import io.github.dug22.jdataframe.operations.group.impl.GroupByImpl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups its input by some columns: either aggregates every group into one row, or, without aggregations,
+ * reorders the rows group by group.
+ */
+class GroupNode extends PlanNode {
+
+    private final List<String> columns;
+    private final List<Aggregation> aggregations;
+
+    /**
+     * Creates a group node.
+     *
+     * @param child        the node producing the input
+     * @param columns      the grouping columns
+     * @param aggregations the aggregations computed for every group, or null to reorder the rows
+     */
+    GroupNode(PlanNode child, List<String> columns, List<Aggregation> aggregations) {
+        super(child);
+        this.columns = List.copyOf(columns);
+        this.aggregations = aggregations == null ? null : List.copyOf(aggregations);
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> dataFrameMap) {
+        if (aggregations != null) {
+            return new GroupByImpl().aggregate(dataFrameMap, columns, aggregations);
+        }
+
+        int[] groupedRows = new GroupByImpl().groupedRowOrder(dataFrameMap, columns);
+        Map<String, List<Object>> groupedMap = new LinkedHashMap<>();
+        for (String column : columns) {
+            groupedMap.put(column, Columns.asColumn(dataFrameMap.get(column)).gather(groupedRows));
+        }
+        for (Map.Entry<String, List<Object>> entry : dataFrameMap.entrySet()) {
+            if (!columns.contains(entry.getKey())) {
+                groupedMap.put(entry.getKey(), Columns.asColumn(entry.getValue()).gather(groupedRows));
+            }
+        }
+        return groupedMap;
+    }
+
+    @Override
+    PlanNode optimize() {
+        return new GroupNode(child().optimize(), columns, aggregations);
+    }
+
+    @Override
+    String describe() {
+        return aggregations == null ? "GroupBy " + columns : "Aggregate " + columns + " " + aggregations;
+    }
+}
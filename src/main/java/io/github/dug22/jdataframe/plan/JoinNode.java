@@ -0,0 +1,42 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+import io.github.dug22.jdataframe.operations.join.impl.JoinImpl;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins its input, the left side, with a dataframe that is already in memory. Like {@link DataNode}, the node keeps
+ * shares of the columns of that dataframe, so changes made to it after the join was recorded are not seen.
+ */
+class JoinNode extends PlanNode {
+
+    private final Map<String, List<Object>> right;
+    private final List<String> on;
+    private final JoinType type;
+
+    JoinNode(PlanNode child, Map<String, List<Object>> right, List<String> on, JoinType type) {
+        super(child);
+        this.right = Columns.share(right);
+        this.on = List.copyOf(on);
+        this.type = type;
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> input) {
+        return new JoinImpl().join(input, Columns.share(right), on, type);
+    }
+
+    @Override
+    PlanNode optimize() {
+        return new JoinNode(child().optimize(), right, on, type);
+    }
+
+    @Override
+    String describe() {
+        int rows = right.isEmpty() ? 0 : right.values().iterator().next().size();
+        return "Join " + type + " " + on + " with DataFrame " + right.keySet() + ", " + rows + " rows";
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.operations.drop.How;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.operations.group.Aggregation;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+import io.github.dug22.jdataframe.operations.sort.NullOrder;
+import io.github.dug22.jdataframe.operations.sort.Order;
+import io.github.dug22.jdataframe.util.CSVOptions;
+import io.github.dug22.jdataframe.util.CSVUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable description of the operations producing a dataframe, recorded instead of executed one by one.
+ * Every operation returns a new plan with one more node on top.
+ * <p>
+ * Before a plan is executed, {@link #optimize()} rewrites it:
+ * <ul>
+ *     <li>adjacent filters, dropNA and drop calls are merged into a single select, which evaluates the combined
+ *     filter once and gathers only the kept columns in one pass;</li>
+ *     <li>a select right above a CSV scan is pushed into the scan, so dropped columns are never parsed and
+ *     rejected rows are discarded while the file is read;</li>
+ *     <li>a select right above a sort is moved below it, so only the selected rows are sorted.</li>
+ * </ul>
+ * Replacements, group-by operations, joins and further CSV reads keep their place in the plan.
+ */
+public final class LogicalPlan {
+
+    private final PlanNode root;
+
+    private LogicalPlan(PlanNode root) {
+        this.root = root;
+    }
+
+    /**
+     * Starts a plan reading a CSV file. Only the header is read now, the rows are read when the plan is executed.
+     *
+     * @param filePath the path of the CSV file
+     * @param options  the options controlling type inference, schema overrides and null tokens
+     * @return the plan
+     * @throws IOException if the file cannot be read
+     */
+    public static LogicalPlan scanCSV(String filePath, CSVOptions options) throws IOException {
+        CSVOptions scanOptions = options.copy();
+        return new LogicalPlan(new ScanNode(filePath, scanOptions, CSVUtils.readHeader(filePath, scanOptions)));
+    }
+
+    /**
+     * Starts a plan from a dataframe that is already in memory. Its columns are shared rather than copied: they are
+     * only copied once either the given dataframe or a dataframe built from the plan modifies them.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @return the plan
+     */
+    public static LogicalPlan of(Map<String, List<Object>> dataFrameMap) {
+        return new LogicalPlan(new DataNode(dataFrameMap));
+    }
+
+    /**
+     * Reads every column of a CSV file into the dataframe, replacing the columns of the same name.
+     * Only the header is read now, the rows are read when the plan is executed.
+     *
+     * @param filePath the path of the CSV file
+     * @param options  the options controlling type inference, schema overrides and null tokens
+     * @return the new plan
+     * @throws IOException if the file cannot be read
+     */
+    public LogicalPlan readCSV(String filePath, CSVOptions options) throws IOException {
+        CSVOptions readOptions = options.copy();
+        return new LogicalPlan(new ReadCSVNode(root, filePath, readOptions, CSVUtils.readHeader(filePath, readOptions)));
+    }
+
+    /**
+     * Keeps the rows matching a predicate.
+     *
+     * @param predicate the predicate selecting the rows to keep
+     * @return the new plan
+     */
+    public LogicalPlan filter(ColumnPredicate predicate) {
+        return new LogicalPlan(new SelectNode(root, predicate, List.of()));
+    }
+
+    /**
+     * Drops columns. Columns that do not exist are ignored.
+     *
+     * @param columns the columns to drop
+     * @return the new plan
+     */
+    public LogicalPlan drop(List<String> columns) {
+        return new LogicalPlan(new SelectNode(root, null, columns));
+    }
+
+    /**
+     * Drops the rows holding null values, as selected by {@link ColumnPredicate#notNull(List, How)}.
+     *
+     * @param columns the columns checked for null values
+     * @param how     how the null values of the columns are combined
+     * @return the new plan
+     */
+    public LogicalPlan dropNA(List<String> columns, How how) {
+        return filter(ColumnPredicate.notNull(columns, how));
+    }
+
+    /**
+     * Replaces single values, the i-th value going to the i-th row index of the i-th column.
+     *
+     * @param columns the columns of the replaced values
+     * @param indexes the row indexes of the replaced values
+     * @param values  the new values
+     * @return the new plan
+     */
+    public LogicalPlan replace(List<String> columns, List<Integer> indexes, List<Object> values) {
+        return new LogicalPlan(new ReplaceNode(root, columns, indexes, values));
+    }
+
+    /**
+     * Reorders the rows group by group, with the grouping columns first.
+     *
+     * @param columns the grouping columns
+     * @return the new plan
+     */
+    public LogicalPlan groupBy(List<String> columns) {
+        return new LogicalPlan(new GroupNode(root, columns, null));
+    }
+
+    /**
+     * Aggregates every group into one row.
+     *
+     * @param columns      the grouping columns
+     * @param aggregations the aggregations computed for every group
+     * @return the new plan
+     */
+    public LogicalPlan aggregate(List<String> columns, List<Aggregation> aggregations) {
+        return new LogicalPlan(new GroupNode(root, columns, aggregations));
+    }
+
+    /**
+     * Sorts the rows by several columns.
+     *
+     * @param columns   the columns to sort by, most significant first
+     * @param orders    the order of every column
+     * @param nullOrder where the null values of every column are placed
+     * @return the new plan
+     */
+    public LogicalPlan sortBy(List<String> columns, List<Order> orders, NullOrder nullOrder) {
+        return new LogicalPlan(new SortNode(root, columns, orders, nullOrder));
+    }
+
+    /**
+     * Joins the dataframe with another one on key columns present in both.
+     *
+     * @param right the dataframe on the right side of the join
+     * @param on    the names of the key columns
+     * @param type  which rows of both sides are kept
+     * @return the new plan
+     */
+    public LogicalPlan join(Map<String, List<Object>> right, List<String> on, JoinType type) {
+        return new LogicalPlan(new JoinNode(root, right, on, type));
+    }
+
+    /**
+     * Rewrites this plan into a plan with the same result that reads and copies less data.
+     *
+     * @return the optimized plan
+     */
+    public LogicalPlan optimize() {
+        return new LogicalPlan(root.optimize());
+    }
+
+    /**
+     * Optimizes and executes this plan.
+     *
+     * @return a new map representing the resulting dataframe
+     * @throws java.io.UncheckedIOException if a CSV file cannot be read
+     */
+    public Map<String, List<Object>> execute() {
+        return root.optimize().execute();
+    }
+
+    /**
+     * Describes the optimized plan, one node per line starting with the last operation.
+     *
+     * @return the description of the optimized plan
+     */
+    public String explain() {
+        return optimize().toString();
+    }
+
+    /**
+     * Describes this plan as recorded, one node per line starting with the last operation.
+     *
+     * @return the description of the plan
+     */
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+}
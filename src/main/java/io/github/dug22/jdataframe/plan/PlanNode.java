@@ -0,0 +1,80 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.metrics.Metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A node of a logical plan: a source of data, or an operation applied to the result of its child node.
+ * Nodes are immutable, so the optimizer rewrites a plan by creating new nodes.
+ */
+abstract class PlanNode {
+
+    private final PlanNode child;
+
+    PlanNode(PlanNode child) {
+        this.child = child;
+    }
+
+    /**
+     * Returns the node producing the input of this node.
+     *
+     * @return the child node, or null for a source
+     */
+    PlanNode child() {
+        return child;
+    }
+
+    /**
+     * Executes this node and every node below it. When metrics are enabled every node is reported as a stage named
+     * after the first word of its description, like "Filter" or "CSVScan".
+     *
+     * @return a new map representing the resulting dataframe
+     */
+    final Map<String, List<Object>> execute() {
+        Map<String, List<Object>> input = child == null ? null : child.execute();
+        if (!Metrics.enabled()) {
+            return apply(input);
+        }
+        String description = describe();
+        try (Metrics.Stage stage = Metrics.start(description.split(" ", 2)[0], () -> description, input)) {
+            Map<String, List<Object>> output = apply(input);
+            stage.end(output);
+            return output;
+        }
+    }
+
+    /**
+     * Executes this node alone.
+     *
+     * @param input the result of the child node, which this node may modify, or null for a source
+     * @return a new map representing the resulting dataframe
+     */
+    abstract Map<String, List<Object>> apply(Map<String, List<Object>> input);
+
+    /**
+     * Rewrites the plan rooted at this node into a cheaper plan with the same result, optimizing the children first.
+     *
+     * @return the optimized node
+     */
+    abstract PlanNode optimize();
+
+    /**
+     * Describes this node alone, on a single line.
+     *
+     * @return the description
+     */
+    abstract String describe();
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(describe());
+        String indent = "";
+        for (PlanNode node = child; node != null; node = node.child) {
+            builder.append(System.lineSeparator()).append(indent).append("+- ").append(node.describe());
+            indent += "   ";
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.util.CSVOptions;
+import io.github.dug22.jdataframe.util.CSVUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads every column of a CSV file into its input, replacing the columns of the same name.
+ * Reading into an empty dataframe is optimized into a {@link ScanNode}, which selects can be pushed into.
+ */
+class ReadCSVNode extends PlanNode {
+
+    private final String filePath;
+    private final CSVOptions options;
+    private final List<String> header;
+
+    ReadCSVNode(PlanNode child, String filePath, CSVOptions options, List<String> header) {
+        super(child);
+        this.filePath = filePath;
+        this.options = options;
+        this.header = header;
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> dataFrameMap) {
+        try {
+            CSVUtils.readFromCSV(filePath, dataFrameMap, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dataFrameMap;
+    }
+
+    @Override
+    PlanNode optimize() {
+        PlanNode child = child().optimize();
+        if (child instanceof DataNode data && data.isEmpty()) {
+            return new ScanNode(filePath, options, header);
+        }
+        return new ReadCSVNode(child, filePath, options, header);
+    }
+
+    @Override
+    String describe() {
+        return "ReadCSV " + filePath;
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.operations.replace.ReplaceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces single values of its input. Replacements address rows by position, so no filter is moved across them.
+ */
+class ReplaceNode extends PlanNode {
+
+    private final List<String> columns;
+    private final List<Integer> indexes;
+    private final List<Object> values;
+
+    ReplaceNode(PlanNode child, List<String> columns, List<Integer> indexes, List<Object> values) {
+        super(child);
+        this.columns = List.copyOf(columns);
+        this.indexes = List.copyOf(indexes);
+        this.values = new ArrayList<>(values);
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> dataFrameMap) {
+        new ReplaceImpl().replace(dataFrameMap, columns, indexes, values);
+        return dataFrameMap;
+    }
+
+    @Override
+    PlanNode optimize() {
+        return new ReplaceNode(child().optimize(), columns, indexes, values);
+    }
+
+    @Override
+    String describe() {
+        List<String> replacements = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            replacements.add(columns.get(i) + "[" + indexes.get(i) + "] = " + values.get(i));
+        }
+        return "Replace " + replacements;
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.util.CSVOptions;
+import io.github.dug22.jdataframe.util.CSVUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Reads a CSV file. Projections and filters pushed down by the optimizer are applied while the file is parsed:
+ * the columns that are not kept or filtered on are never parsed, and the rows the filter rejects are never stored.
+ */
+class ScanNode extends PlanNode {
+
+    private final String filePath;
+    private final CSVOptions options;
+    private final List<String> header;
+    private final List<String> columns;
+    private final ColumnPredicate filter;
+
+    /**
+     * Creates a scan of every column and row of a CSV file.
+     *
+     * @param filePath the path of the CSV file
+     * @param options  the CSV options
+     * @param header   the column names of the file, in header order
+     */
+    ScanNode(String filePath, CSVOptions options, List<String> header) {
+        this(filePath, options, header, header, null);
+    }
+
+    private ScanNode(String filePath, CSVOptions options, List<String> header, List<String> columns, ColumnPredicate filter) {
+        super(null);
+        this.filePath = filePath;
+        this.options = options;
+        this.header = header;
+        this.columns = columns;
+        this.filter = filter;
+    }
+
+    /**
+     * Checks whether a select reading the output of this scan can be evaluated by the scan instead.
+     * A filter reading a column this scan already projected away must fail as it would after the scan, so it is not pushed down.
+     *
+     * @param select the select above this scan
+     * @return true if the select can be pushed into the scan
+     */
+    boolean canPushDown(SelectNode select) {
+        return select.filter() == null || select.filter().columns().stream().noneMatch(column -> header.contains(column) && !columns.contains(column));
+    }
+
+    /**
+     * Creates a scan that also applies the filter and the projection of a select.
+     *
+     * @param select the select above this scan
+     * @return the new scan
+     */
+    ScanNode pushDown(SelectNode select) {
+        List<String> keptColumns = columns.stream().filter(column -> !select.droppedColumns().contains(column)).toList();
+        return new ScanNode(filePath, options, header, keptColumns, SelectNode.and(filter, select.filter()));
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> input) {
+        Map<String, List<Object>> dataFrameMap = new LinkedHashMap<>();
+        try {
+            CSVUtils.readFromCSV(filePath, dataFrameMap, options, columns.size() == header.size() ? null : Set.copyOf(columns), filter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dataFrameMap;
+    }
+
+    @Override
+    PlanNode optimize() {
+        return this;
+    }
+
+    @Override
+    String describe() {
+        String description = "CSVScan " + filePath + " " + columns;
+        return filter == null ? description : description + ", Filter " + filter;
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.operations.filter.impl.FilterImpl;
+
+import java.util.*;
+
+/**
+ * Filters the rows of its input and drops some of its columns in a single pass: the filter is evaluated on the input,
+ * then only the kept columns are gathered through the selected rows. Filters, dropNA and drop calls all become selects,
+ * and the optimizer merges adjacent selects and pushes them into CSV scans.
+ */
+class SelectNode extends PlanNode {
+
+    private final ColumnPredicate filter;
+    private final Set<String> droppedColumns;
+
+    /**
+     * Creates a select.
+     *
+     * @param child          the node producing the input
+     * @param filter         the predicate selecting the rows to keep, or null to keep every row
+     * @param droppedColumns the columns to drop after filtering
+     */
+    SelectNode(PlanNode child, ColumnPredicate filter, Collection<String> droppedColumns) {
+        super(child);
+        this.filter = filter;
+        this.droppedColumns = Collections.unmodifiableSet(new LinkedHashSet<>(droppedColumns));
+    }
+
+    ColumnPredicate filter() {
+        return filter;
+    }
+
+    Set<String> droppedColumns() {
+        return droppedColumns;
+    }
+
+    /**
+     * Combines two optional filters, evaluating the first one first.
+     *
+     * @param first  the first filter, or null
+     * @param second the second filter, or null
+     * @return the combined filter, or null if both are null
+     */
+    static ColumnPredicate and(ColumnPredicate first, ColumnPredicate second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : first.and(second);
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> dataFrameMap) {
+        if (filter == null) {
+            droppedColumns.forEach(dataFrameMap::remove);
+            return dataFrameMap;
+        }
+
+        int rowCount = dataFrameMap.isEmpty() ? 0 : dataFrameMap.values().iterator().next().size();
+        int[] indexedRows = filter.indexedRows(dataFrameMap, rowCount);
+        int[] rows = indexedRows != null ? indexedRows : FilterImpl.selectedRows(filter.evaluate(dataFrameMap, rowCount));
+        Map<String, List<Object>> selectedMap = new LinkedHashMap<>();
+        dataFrameMap.forEach((column, values) -> {
+            if (!droppedColumns.contains(column)) {
+                selectedMap.put(column, Columns.asColumn(values).gather(rows));
+            }
+        });
+        return selectedMap;
+    }
+
+    /**
+     * Merges this select with a select below it, then moves the result below a sort or into a CSV scan when possible.
+     * Two selects merge unless the upper filter reads a column the lower select drops, which must keep failing, and a
+     * select stays above a sort when it drops one of the sort columns.
+     */
+    @Override
+    PlanNode optimize() {
+        PlanNode child = child().optimize();
+        SelectNode select = new SelectNode(child, filter, droppedColumns);
+        if (child instanceof SelectNode lower && (filter == null || Collections.disjoint(filter.columns(), lower.droppedColumns))) {
+            Set<String> dropped = new LinkedHashSet<>(lower.droppedColumns);
+            dropped.addAll(droppedColumns);
+            select = new SelectNode(lower.child(), and(lower.filter, filter), dropped);
+        }
+        if (select.child() instanceof SortNode sort && Collections.disjoint(sort.columns(), select.droppedColumns)) {
+            return sort.withChild(new SelectNode(sort.child(), select.filter, select.droppedColumns).optimize());
+        }
+        if (select.child() instanceof ScanNode scan && scan.canPushDown(select)) {
+            return scan.pushDown(select);
+        }
+        return select;
+    }
+
+    @Override
+    String describe() {
+        if (filter == null) {
+            return "Drop " + droppedColumns;
+        }
+        return droppedColumns.isEmpty() ? "Filter " + filter : "Filter " + filter + ", Drop " + droppedColumns;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.dug22.jdataframe.plan;
+
+import io.github.dug22.jdataframe.operations.sort.NullOrder;
+import io.github.dug22.jdataframe.operations.sort.Order;
+import io.github.dug22.jdataframe.operations.sort.impl.SortImpl;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorts the rows of its input. Sorting keeps the order of the rows that tie, so a select gives the same result above
+ * or below a sort and the optimizer moves selects below it.
+ */
+class SortNode extends PlanNode {
+
+    private final List<String> columns;
+    private final List<Order> orders;
+    private final NullOrder nullOrder;
+
+    SortNode(PlanNode child, List<String> columns, List<Order> orders, NullOrder nullOrder) {
+        super(child);
+        this.columns = List.copyOf(columns);
+        this.orders = List.copyOf(orders);
+        this.nullOrder = nullOrder;
+    }
+
+    List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * Creates the same sort over another input.
+     *
+     * @param child the node producing the new input
+     * @return the new sort
+     */
+    SortNode withChild(PlanNode child) {
+        return new SortNode(child, columns, orders, nullOrder);
+    }
+
+    @Override
+    Map<String, List<Object>> apply(Map<String, List<Object>> input) {
+        return new SortImpl().sortBy(input, columns, orders, nullOrder);
+    }
+
+    @Override
+    PlanNode optimize() {
+        return withChild(child().optimize());
+    }
+
+    @Override
+    String describe() {
+        StringBuilder builder = new StringBuilder("Sort [");
+        for (int i = 0; i < columns.size(); i++) {
+            builder.append(i == 0 ? "" : ", ").append(columns.get(i)).append(' ').append(i < orders.size() ? orders.get(i) : "?");
+        }
+        return builder.append("], nulls ").append(nullOrder).toString();
+    }
+}
@@ -0,0 +1,491 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.metrics.Metrics;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the messages of an Arrow IPC file or stream in order: the schema, the dictionary batches and the record batches,
+ * until the end-of-stream marker. The file format is read through the stream it embeds, so its footer is not needed.
+ * Buffers are memory-mapped and copied into the column arrays in bulk; the columns of a record batch are decoded in parallel.
+ */
+final class ArrowReader implements Closeable {
+
+    private static final int FIELD_NODE_SIZE = 16;
+    private static final int BUFFER_SIZE = 16;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final FileChannel channel;
+    private final String filepath;
+    private final Map<Long, Dictionary> dictionaries = new HashMap<>();
+    private final List<Column[]> batches = new ArrayList<>();
+    private Field[] fields;
+
+    /**
+     * The physical types this reader decodes.
+     */
+    private enum FieldType {
+        INT8, INT16, INT32, INT64, UINT8, UINT16, UINT32, UINT64, FLOAT32, FLOAT64, BOOL, DATE_DAY, DATE_MILLISECOND, UTF8, LARGE_UTF8
+    }
+
+    /**
+     * A field of the schema. Dictionary-encoded fields have the type of their dictionary values and the integer type
+     * of their indices; the dictionary id of other fields is -1.
+     */
+    private record Field(String name, FieldType type, long dictionaryId, FieldType indexType) {
+    }
+
+    /**
+     * The values of a dictionary, which can back a dictionary-encoded column only when they are distinct and not null.
+     */
+    private record Dictionary(String[] values, boolean distinct) {
+    }
+
+    ArrowReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.filepath = path.toString();
+    }
+
+    /**
+     * Reads every message and concatenates the columns of the record batches.
+     *
+     * @return the columns, in schema order
+     * @throws IOException if the file cannot be read or holds data this reader does not support
+     */
+    Map<String, List<Object>> read() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        if (size >= ArrowUtils.MAGIC.length && Arrays.equals(read(0, ArrowUtils.MAGIC.length).array(), ArrowUtils.MAGIC)) {
+            position = 8;
+        }
+        while (position + Integer.BYTES <= size) {
+            int length = read(position, Integer.BYTES).getInt();
+            position += Integer.BYTES;
+            if (length == ArrowUtils.CONTINUATION) {
+                length = read(position, Integer.BYTES).getInt();
+                position += Integer.BYTES;
+            }
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || position + length > size) {
+                throw new IOException(filepath + " is not an Arrow file!");
+            }
+            FlatBufferTable message = FlatBufferTable.root(read(position, length));
+            position += length;
+            long bodyStart = position;
+            position += message.getLong(3, 0);
+
+            FlatBufferTable header = message.getTable(2);
+            int headerType = message.getByte(1, 0);
+            if (headerType == ArrowUtils.SCHEMA) {
+                fields = readSchema(header);
+            } else if (headerType == ArrowUtils.DICTIONARY_BATCH) {
+                readDictionary(header, bodyStart);
+            } else if (headerType == ArrowUtils.RECORD_BATCH) {
+                batches.add(readRecordBatch(header, bodyStart));
+            } else {
+                throw new IOException("Arrow messages of type " + headerType + " are not supported!");
+            }
+        }
+        if (fields == null) {
+            throw new IOException(filepath + " is not an Arrow file!");
+        }
+
+        Map<String, List<Object>> dataFrameMap = new LinkedHashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            Column column;
+            if (batches.isEmpty()) {
+                column = Columns.create(columnType(fields[i].type()), 0);
+            } else if (batches.size() == 1) {
+                column = batches.getFirst()[i];
+            } else {
+                List<Column> parts = new ArrayList<>();
+                for (Column[] batch : batches) {
+                    parts.add(batch[i]);
+                }
+                column = Columns.concat(parts);
+            }
+            dataFrameMap.put(fields[i].name(), column);
+        }
+        return dataFrameMap;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Field[] readSchema(FlatBufferTable schema) throws IOException {
+        if (schema.getShort(0, 0) != 0) {
+            throw new IOException("Big-endian Arrow data is not supported!");
+        }
+        Field[] schemaFields = new Field[schema.getVectorLength(1)];
+        for (int i = 0; i < schemaFields.length; i++) {
+            FlatBufferTable field = schema.getTable(1, i);
+            String name = field.getString(0);
+            FieldType type = fieldType(name, field.getByte(2, 0), field.getTable(3));
+            FlatBufferTable dictionary = field.getTable(4);
+            if (dictionary == null) {
+                schemaFields[i] = new Field(name, type, -1, null);
+                continue;
+            }
+            if (type != FieldType.UTF8 && type != FieldType.LARGE_UTF8) {
+                throw new IOException("Column '" + name + "' is dictionary-encoded with values that are not strings, which is not supported!");
+            }
+            FlatBufferTable indexType = dictionary.getTable(1);
+            FieldType index = indexType == null ? FieldType.INT32 : fieldType(name, ArrowUtils.TYPE_INT, indexType);
+            schemaFields[i] = new Field(name, type, dictionary.getLong(0, 0), index);
+        }
+        return schemaFields;
+    }
+
+    private static FieldType fieldType(String name, int typeId, FlatBufferTable type) throws IOException {
+        switch (typeId) {
+            case ArrowUtils.TYPE_INT -> {
+                boolean signed = type.getBoolean(1, false);
+                switch (type.getInt(0, 0)) {
+                    case 8 -> {
+                        return signed ? FieldType.INT8 : FieldType.UINT8;
+                    }
+                    case 16 -> {
+                        return signed ? FieldType.INT16 : FieldType.UINT16;
+                    }
+                    case 32 -> {
+                        return signed ? FieldType.INT32 : FieldType.UINT32;
+                    }
+                    case 64 -> {
+                        return signed ? FieldType.INT64 : FieldType.UINT64;
+                    }
+                }
+            }
+            case ArrowUtils.TYPE_FLOATING_POINT -> {
+                int precision = type.getShort(0, 0);
+                if (precision == ArrowUtils.PRECISION_SINGLE || precision == ArrowUtils.PRECISION_DOUBLE) {
+                    return precision == ArrowUtils.PRECISION_SINGLE ? FieldType.FLOAT32 : FieldType.FLOAT64;
+                }
+            }
+            case ArrowUtils.TYPE_BOOL -> {
+                return FieldType.BOOL;
+            }
+            case ArrowUtils.TYPE_DATE -> {
+                return type.getShort(0, ArrowUtils.DATE_UNIT_MILLISECOND) == ArrowUtils.DATE_UNIT_DAY ? FieldType.DATE_DAY : FieldType.DATE_MILLISECOND;
+            }
+            case ArrowUtils.TYPE_UTF8 -> {
+                return FieldType.UTF8;
+            }
+            case ArrowUtils.TYPE_LARGE_UTF8 -> {
+                return FieldType.LARGE_UTF8;
+            }
+            default -> {
+            }
+        }
+        throw new IOException("Column '" + name + "' has an Arrow type JDataFrame cannot read!");
+    }
+
+    private static ColumnType columnType(FieldType type) {
+        return switch (type) {
+            case INT8, INT16, INT32, UINT8, UINT16 -> ColumnType.INT;
+            case INT64, UINT32, UINT64 -> ColumnType.LONG;
+            case FLOAT32, FLOAT64 -> ColumnType.DOUBLE;
+            case BOOL -> ColumnType.BOOLEAN;
+            case DATE_DAY, DATE_MILLISECOND -> ColumnType.DATE;
+            case UTF8, LARGE_UTF8 -> ColumnType.STRING;
+        };
+    }
+
+    private void readDictionary(FlatBufferTable dictionaryBatch, long bodyStart) throws IOException {
+        long id = dictionaryBatch.getLong(0, 0);
+        Field field = Arrays.stream(requireSchema()).filter(candidate -> candidate.dictionaryId() == id).findFirst()
+                .orElseThrow(() -> new IOException("No column uses the Arrow dictionary " + id + "!"));
+        FlatBufferTable batch = dictionaryBatch.getTable(1);
+        requireUncompressed(batch);
+        String[] values = readStrings(field.type(), batch, 0, 0, bodyStart);
+
+        Dictionary previous = dictionaries.get(id);
+        if (dictionaryBatch.getBoolean(2, false) && previous != null) {
+            String[] appended = Arrays.copyOf(previous.values(), previous.values().length + values.length);
+            System.arraycopy(values, 0, appended, previous.values().length, values.length);
+            values = appended;
+        }
+        Set<String> distinct = new HashSet<>(Arrays.asList(values));
+        dictionaries.put(id, new Dictionary(values, distinct.size() == values.length && !distinct.contains(null)));
+    }
+
+    private Column[] readRecordBatch(FlatBufferTable batch, long bodyStart) throws IOException {
+        Field[] schemaFields = requireSchema();
+        requireUncompressed(batch);
+        if (batch.getVectorLength(1) != schemaFields.length) {
+            throw new IOException("Nested Arrow columns are not supported!");
+        }
+        int[] firstBuffers = new int[schemaFields.length];
+        for (int i = 1; i < schemaFields.length; i++) {
+            FieldType previous = schemaFields[i - 1].type();
+            boolean strings = schemaFields[i - 1].dictionaryId() < 0 && (previous == FieldType.UTF8 || previous == FieldType.LARGE_UTF8);
+            firstBuffers[i] = firstBuffers[i - 1] + (strings ? 3 : 2);
+        }
+
+        Column[] columns = new Column[schemaFields.length];
+        try {
+            IntStream.range(0, schemaFields.length).parallel().forEach(Metrics.measured(i -> {
+                try {
+                    columns[i] = readColumn(schemaFields[i], batch, i, firstBuffers[i], bodyStart);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return columns;
+    }
+
+    private Column readColumn(Field field, FlatBufferTable batch, int node, int buffer, long bodyStart) throws IOException {
+        if (field.dictionaryId() < 0 && (field.type() == FieldType.UTF8 || field.type() == FieldType.LARGE_UTF8)) {
+            return new StringColumn(readStrings(field.type(), batch, node, buffer, bodyStart));
+        }
+        int rows = rowCount(batch, node);
+        long[] nulls = readNulls(batch, node, buffer, bodyStart);
+        BlockInput input = bufferInput(batch, buffer + 1, bodyStart);
+        try {
+            if (field.dictionaryId() >= 0) {
+                return dictionaryColumn(field, readIntegers(field.indexType(), input, rows), nulls);
+            }
+            Column column = switch (field.type()) {
+                case INT8, INT16, INT32, UINT8, UINT16 -> {
+                    long[] values = readIntegers(field.type(), input, rows);
+                    int[] data = new int[rows];
+                    for (int row = 0; row < rows; row++) {
+                        data[row] = (int) values[row];
+                    }
+                    yield new IntColumn(data);
+                }
+                case INT64, UINT32, UINT64 -> new LongColumn(readIntegers(field.type(), input, rows));
+                case FLOAT32 -> {
+                    float[] values = new float[rows];
+                    input.getFloats(values, rows);
+                    double[] data = new double[rows];
+                    for (int row = 0; row < rows; row++) {
+                        data[row] = values[row];
+                    }
+                    yield new DoubleColumn(data);
+                }
+                case FLOAT64 -> {
+                    double[] data = new double[rows];
+                    input.getDoubles(data, rows);
+                    yield new DoubleColumn(data);
+                }
+                case BOOL -> {
+                    byte[] bits = new byte[(rows + 7) >>> 3];
+                    input.getBytes(bits, bits.length);
+                    boolean[] data = new boolean[rows];
+                    for (int row = 0; row < rows; row++) {
+                        data[row] = (bits[row >>> 3] & (1 << (row & 7))) != 0;
+                    }
+                    yield new BooleanColumn(data);
+                }
+                case DATE_DAY -> {
+                    int[] data = new int[rows];
+                    input.getInts(data, rows);
+                    yield new DateColumn(data);
+                }
+                default -> {
+                    long[] millis = new long[rows];
+                    input.getLongs(millis, rows);
+                    int[] data = new int[rows];
+                    for (int row = 0; row < rows; row++) {
+                        data[row] = (int) Math.floorDiv(millis[row], MILLIS_PER_DAY);
+                    }
+                    yield new DateColumn(data);
+                }
+            };
+            if (nulls != null) {
+                for (int word = 0; word < nulls.length; word++) {
+                    for (long bits = nulls[word]; bits != 0; bits &= bits - 1) {
+                        column.set((word << 6) + Long.numberOfTrailingZeros(bits), null);
+                    }
+                }
+            }
+            return column;
+        } finally {
+            input.close();
+        }
+    }
+
+    private Column dictionaryColumn(Field field, long[] indices, long[] nulls) throws IOException {
+        Dictionary dictionary = dictionaries.get(field.dictionaryId());
+        if (dictionary == null) {
+            throw new IOException("Column '" + field.name() + "' refers to an Arrow dictionary that was never sent!");
+        }
+        int[] codes = new int[indices.length];
+        for (int row = 0; row < codes.length; row++) {
+            boolean isNull = nulls != null && (nulls[row >>> 6] & (1L << row)) != 0;
+            if (!isNull && (indices[row] < 0 || indices[row] >= dictionary.values().length)) {
+                throw new IOException("Column '" + field.name() + "' holds an index outside of its dictionary!");
+            }
+            codes[row] = isNull ? -1 : (int) indices[row];
+        }
+        if (dictionary.distinct()) {
+            return new DictionaryColumn(codes, dictionary.values());
+        }
+        String[] values = new String[codes.length];
+        for (int row = 0; row < codes.length; row++) {
+            values[row] = codes[row] < 0 ? null : dictionary.values()[codes[row]];
+        }
+        return new StringColumn(values);
+    }
+
+    /**
+     * Reads the strings of a Utf8 or LargeUtf8 array, null rows being null.
+     */
+    private String[] readStrings(FieldType type, FlatBufferTable batch, int node, int buffer, long bodyStart) throws IOException {
+        int rows = rowCount(batch, node);
+        long[] nulls = readNulls(batch, node, buffer, bodyStart);
+        long[] offsets = new long[rows + 1];
+        BlockInput input = bufferInput(batch, buffer + 1, bodyStart);
+        try {
+            if (rows > 0 && type == FieldType.LARGE_UTF8) {
+                input.getLongs(offsets, rows + 1);
+            } else if (rows > 0) {
+                int[] intOffsets = new int[rows + 1];
+                input.getInts(intOffsets, rows + 1);
+                for (int row = 0; row <= rows; row++) {
+                    offsets[row] = intOffsets[row];
+                }
+            }
+        } finally {
+            input.close();
+        }
+
+        long textLength = offsets[rows] - offsets[0];
+        if (textLength < 0 || textLength > Integer.MAX_VALUE - 8) {
+            throw new IOException("A string column of the Arrow file holds more than 2 GB of text, which is not supported!");
+        }
+        byte[] text = new byte[(int) textLength];
+        long textBuffer = batch.getStructLong(2, buffer + 2, BUFFER_SIZE, 0);
+        input = new BlockInput(channel, bodyStart + textBuffer + offsets[0], textLength, false);
+        try {
+            input.getBytes(text, text.length);
+        } finally {
+            input.close();
+        }
+
+        String[] values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            if (nulls == null || (nulls[row >>> 6] & (1L << row)) == 0) {
+                int from = (int) (offsets[row] - offsets[0]);
+                values[row] = new String(text, from, (int) (offsets[row + 1] - offsets[row]), StandardCharsets.UTF_8);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads the integers of a buffer, widened to longs.
+     */
+    private static long[] readIntegers(FieldType type, BlockInput input, int rows) throws IOException {
+        long[] values = new long[rows];
+        switch (type) {
+            case INT8, UINT8 -> {
+                byte[] bytes = new byte[rows];
+                input.getBytes(bytes, rows);
+                for (int row = 0; row < rows; row++) {
+                    values[row] = type == FieldType.INT8 ? bytes[row] : Byte.toUnsignedInt(bytes[row]);
+                }
+            }
+            case INT16, UINT16 -> {
+                short[] shorts = new short[rows];
+                input.getShorts(shorts, rows);
+                for (int row = 0; row < rows; row++) {
+                    values[row] = type == FieldType.INT16 ? shorts[row] : Short.toUnsignedInt(shorts[row]);
+                }
+            }
+            case INT32, UINT32 -> {
+                int[] ints = new int[rows];
+                input.getInts(ints, rows);
+                for (int row = 0; row < rows; row++) {
+                    values[row] = type == FieldType.INT32 ? ints[row] : Integer.toUnsignedLong(ints[row]);
+                }
+            }
+            default -> input.getLongs(values, rows);
+        }
+        return values;
+    }
+
+    /**
+     * Reads the validity bitmap of a column as a null bitmap, or returns null when the column has no null rows.
+     */
+    private long[] readNulls(FlatBufferTable batch, int node, int buffer, long bodyStart) throws IOException {
+        int rows = rowCount(batch, node);
+        long nullCount = batch.getStructLong(1, node, FIELD_NODE_SIZE, Long.BYTES);
+        long length = batch.getStructLong(2, buffer, BUFFER_SIZE, Long.BYTES);
+        if (nullCount == 0 || length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[NullBitmap.wordCount(rows) * Long.BYTES];
+        BlockInput input = bufferInput(batch, buffer, bodyStart);
+        try {
+            input.getBytes(bytes, (int) Math.min(length, (rows + 7) >>> 3));
+        } finally {
+            input.close();
+        }
+        long[] nulls = new long[NullBitmap.wordCount(rows)];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(nulls);
+        for (int word = 0; word < nulls.length; word++) {
+            nulls[word] = ~nulls[word];
+        }
+        if ((rows & 63) != 0) {
+            nulls[nulls.length - 1] &= (1L << rows) - 1;
+        }
+        return nulls;
+    }
+
+    private static int rowCount(FlatBufferTable batch, int node) throws IOException {
+        long rows = batch.getStructLong(1, node, FIELD_NODE_SIZE, 0);
+        if (rows < 0 || rows > Integer.MAX_VALUE - 8) {
+            throw new IOException("Arrow record batches of more than 2^31 rows are not supported!");
+        }
+        return (int) rows;
+    }
+
+    private BlockInput bufferInput(FlatBufferTable batch, int buffer, long bodyStart) {
+        long offset = batch.getStructLong(2, buffer, BUFFER_SIZE, 0);
+        long length = batch.getStructLong(2, buffer, BUFFER_SIZE, Long.BYTES);
+        return new BlockInput(channel, bodyStart + offset, length, false);
+    }
+
+    private Field[] requireSchema() throws IOException {
+        if (fields == null) {
+            throw new IOException("The Arrow file holds a batch before its schema!");
+        }
+        return fields;
+    }
+
+    private static void requireUncompressed(FlatBufferTable batch) throws IOException {
+        if (batch.has(3)) {
+            throw new IOException("Compressed Arrow record batches are not supported!");
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("The Arrow file ends unexpectedly!");
+            }
+        }
+        return buffer.flip();
+    }
+}
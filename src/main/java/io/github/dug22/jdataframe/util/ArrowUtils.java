@@ -0,0 +1,93 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes dataframes in the Apache Arrow IPC formats, so they can be exchanged with Arrow-based tools such as
+ * pyarrow, pandas or Polars without going through text. The reader and the writer are self-contained: the FlatBuffers
+ * metadata of the messages is encoded and decoded in place, without the Arrow libraries.
+ * <p>
+ * INT, LONG, DOUBLE, BOOLEAN and DATE columns map to the Arrow types Int32, Int64, Float64, Bool and Date32; STRING
+ * columns to Utf8, dictionary-encoded columns keeping their dictionary. Null rows are written to validity bitmaps.
+ * When reading, every other integer width is widened to INT or LONG, Float32 to DOUBLE, Date64 to DATE and LargeUtf8 to
+ * STRING. Nested, decimal, timestamp, time and compressed data is not supported.
+ */
+public class ArrowUtils {
+
+    static final byte[] MAGIC = {'A', 'R', 'R', 'O', 'W', '1'};
+    static final int CONTINUATION = 0xFFFFFFFF;
+    static final int METADATA_VERSION = 4;
+
+    static final int SCHEMA = 1;
+    static final int DICTIONARY_BATCH = 2;
+    static final int RECORD_BATCH = 3;
+
+    static final int TYPE_INT = 2;
+    static final int TYPE_FLOATING_POINT = 3;
+    static final int TYPE_UTF8 = 5;
+    static final int TYPE_BOOL = 6;
+    static final int TYPE_DATE = 8;
+    static final int TYPE_LARGE_UTF8 = 20;
+
+    static final int PRECISION_SINGLE = 1;
+    static final int PRECISION_DOUBLE = 2;
+    static final int DATE_UNIT_DAY = 0;
+    static final int DATE_UNIT_MILLISECOND = 1;
+
+    /**
+     * Exports a given dataframe to an Arrow file. Paths ending with ".arrows" are written in the IPC stream format,
+     * any other in the IPC file format, also known as Feather version 2.
+     * @param filePath the path of the destined Arrow file, ending with ".arrow", ".feather" or ".arrows".
+     * @param dataFrameMap the dataframe containing the data
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void writeToArrow(String filePath, Map<String, List<Object>> dataFrameMap) {
+        boolean stream = filePath.endsWith(".arrows");
+        if (!stream && !filePath.endsWith(".arrow") && !filePath.endsWith(".feather")) {
+            throw new RuntimeException("You need to save your file with a .arrow, .feather or .arrows extension.");
+        }
+        String[] names = dataFrameMap.keySet().toArray(String[]::new);
+        Column[] columns = new Column[names.length];
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = Columns.asColumn(dataFrameMap.get(names[i]));
+            if (columns[i].type() == ColumnType.OBJECT) {
+                throw new IllegalArgumentException("Column '" + names[i] + "' holds values of mixed types and cannot be written to an Arrow file!");
+            }
+            if (columns[i].size() != columns[0].size()) {
+                throw new IllegalArgumentException("Every column must have the same number of rows!");
+            }
+        }
+        try (ArrowWriter writer = new ArrowWriter(Path.of(filePath), !stream)) {
+            writer.write(names, columns);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads every column of an Arrow file in the IPC file or stream format. The record batches of the file are
+     * concatenated, in order.
+     *
+     * @param filepath the path of the Arrow file
+     * @param dataframeMap the dataframe receiving the columns
+     * @throws IOException if the file does not exist, is not an Arrow file or holds data that cannot be read
+     */
+    public static void readFromArrow(String filepath, Map<String, List<Object>> dataframeMap) throws IOException {
+        try (Metrics.Stage stage = Metrics.start("readArrow", () -> filepath, null);
+             ArrowReader reader = new ArrowReader(Path.of(filepath))) {
+            Map<String, List<Object>> read = reader.read();
+            dataframeMap.putAll(read);
+            stage.end(read, Metrics.enabled() ? Files.size(Path.of(filepath)) : -1);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes dataframes in the Arrow IPC format: a schema message, a dictionary batch for every dictionary-encoded column,
+ * one record batch holding every row and, in the file format, the footer indexing them.
+ * Column arrays are copied into the message bodies in bulk and null bitmaps are inverted into validity bitmaps.
+ * String columns are written as Utf8 arrays and dictionary-encoded columns as Utf8 dictionaries with int32 indices.
+ */
+final class ArrowWriter implements Closeable {
+
+    private static final int BLOCK_SIZE = 24;
+
+    private final FileChannel channel;
+    private final BlockOutput output;
+    private final boolean fileFormat;
+    private final List<long[]> dictionaryBlocks = new ArrayList<>();
+    private final List<long[]> recordBatchBlocks = new ArrayList<>();
+
+    /**
+     * Opens a writer on the given file.
+     *
+     * @param path       the path of the Arrow file
+     * @param fileFormat true to write the IPC file format, false to write the IPC stream format
+     * @throws IOException if the file cannot be created
+     */
+    ArrowWriter(Path path, boolean fileFormat) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.output = new BlockOutput(channel);
+        this.fileFormat = fileFormat;
+        output.start(false);
+        if (fileFormat) {
+            output.putBytes(ArrowUtils.MAGIC, 0, ArrowUtils.MAGIC.length);
+            output.putZeros(2);
+        }
+    }
+
+    void write(String[] names, Column[] columns) throws IOException {
+        int rowCount = columns.length == 0 ? 0 : columns[0].size();
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        writeMessage(builder, ArrowUtils.SCHEMA, schema(builder, names, columns), 0);
+
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] instanceof DictionaryColumn dictionaryColumn) {
+                StringDictionary dictionary = dictionaryColumn.dictionary();
+                String[] values = new String[dictionary.size()];
+                for (int code = 0; code < values.length; code++) {
+                    values[code] = dictionary.get(code);
+                }
+                Column[] dictionaryBatch = {new StringColumn(values)};
+                long[][] layout = layout(new String[]{names[i]}, dictionaryBatch);
+                builder = new FlatBufferBuilder();
+                int recordBatch = recordBatch(builder, dictionaryBatch, values.length, layout);
+                builder.startTable(3);
+                builder.addLong(0, i);
+                builder.addObject(1, recordBatch);
+                builder.addBoolean(2, false);
+                dictionaryBlocks.add(writeMessage(builder, ArrowUtils.DICTIONARY_BATCH, builder.endTable(), bodyLength(layout)));
+                writeBody(dictionaryBatch, layout);
+            }
+        }
+
+        long[][] layout = layout(names, columns);
+        builder = new FlatBufferBuilder();
+        int recordBatch = recordBatch(builder, columns, rowCount, layout);
+        recordBatchBlocks.add(writeMessage(builder, ArrowUtils.RECORD_BATCH, recordBatch, bodyLength(layout)));
+        writeBody(columns, layout);
+
+        output.putInt(ArrowUtils.CONTINUATION);
+        output.putInt(0);
+        if (fileFormat) {
+            writeFooter(names, columns);
+        }
+        output.finish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Writes an encapsulated message: the continuation marker, the metadata length and the metadata padded to 8 bytes.
+     *
+     * @return the block of the message: its position, its metadata length including the prefix and its body length
+     */
+    private long[] writeMessage(FlatBufferBuilder builder, int headerType, int header, long bodyLength) throws IOException {
+        builder.startTable(5);
+        builder.addShort(0, ArrowUtils.METADATA_VERSION);
+        builder.addByte(1, headerType);
+        builder.addObject(2, header);
+        builder.addLong(3, bodyLength);
+        byte[] metadata = builder.finish(builder.endTable());
+        int paddedLength = pad(metadata.length);
+
+        output.finish();
+        long position = channel.position();
+        output.putInt(ArrowUtils.CONTINUATION);
+        output.putInt(paddedLength);
+        output.putBytes(metadata, 0, metadata.length);
+        output.putZeros(paddedLength - metadata.length);
+        return new long[]{position, 2 * Integer.BYTES + paddedLength, bodyLength};
+    }
+
+    private int schema(FlatBufferBuilder builder, String[] names, Column[] columns) {
+        int[] fields = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            int name = builder.createString(names[i]);
+            int type = type(builder, columns[i]);
+            int dictionary = 0;
+            if (columns[i] instanceof DictionaryColumn) {
+                int indexType = intType(builder, 32);
+                builder.startTable(4);
+                builder.addLong(0, i);
+                builder.addObject(1, indexType);
+                builder.addBoolean(2, false);
+                dictionary = builder.endTable();
+            }
+            int children = builder.createVector(new int[0]);
+            builder.startTable(7);
+            builder.addObject(0, name);
+            builder.addBoolean(1, true);
+            builder.addByte(2, typeId(columns[i]));
+            builder.addObject(3, type);
+            if (dictionary != 0) {
+                builder.addObject(4, dictionary);
+            }
+            builder.addObject(5, children);
+            fields[i] = builder.endTable();
+        }
+        int vector = builder.createVector(fields);
+        builder.startTable(4);
+        builder.addShort(0, 0);
+        builder.addObject(1, vector);
+        return builder.endTable();
+    }
+
+    private static int typeId(Column column) {
+        return switch (column.type()) {
+            case INT, LONG -> ArrowUtils.TYPE_INT;
+            case DOUBLE -> ArrowUtils.TYPE_FLOATING_POINT;
+            case BOOLEAN -> ArrowUtils.TYPE_BOOL;
+            case DATE -> ArrowUtils.TYPE_DATE;
+            default -> ArrowUtils.TYPE_UTF8;
+        };
+    }
+
+    private static int type(FlatBufferBuilder builder, Column column) {
+        switch (column.type()) {
+            case INT -> {
+                return intType(builder, 32);
+            }
+            case LONG -> {
+                return intType(builder, 64);
+            }
+            case DOUBLE -> {
+                builder.startTable(1);
+                builder.addShort(0, ArrowUtils.PRECISION_DOUBLE);
+            }
+            case DATE -> {
+                builder.startTable(1);
+                builder.addShort(0, ArrowUtils.DATE_UNIT_DAY);
+            }
+            default -> builder.startTable(0);
+        }
+        return builder.endTable();
+    }
+
+    private static int intType(FlatBufferBuilder builder, int bitWidth) {
+        builder.startTable(2);
+        builder.addInt(0, bitWidth);
+        builder.addBoolean(1, true);
+        return builder.endTable();
+    }
+
+    /**
+     * Computes the offset and the length of every buffer of a record batch: the validity bitmap of each column, empty
+     * when the column has no null rows, followed by its values, or by the offsets and the bytes of its strings.
+     * Every buffer starts on an 8-byte boundary.
+     *
+     * @return the {offset, length} pairs, in buffer order
+     */
+    private static long[][] layout(String[] names, Column[] columns) {
+        List<long[]> buffers = new ArrayList<>();
+        long offset = 0;
+        for (int i = 0; i < columns.length; i++) {
+            Column column = columns[i];
+            int size = column.size();
+            long[] lengths = switch (column) {
+                case IntColumn ignored -> new long[]{4L * size};
+                case DateColumn ignored -> new long[]{4L * size};
+                case LongColumn ignored -> new long[]{8L * size};
+                case DoubleColumn ignored -> new long[]{8L * size};
+                case BooleanColumn ignored -> new long[]{8L * NullBitmap.wordCount(size)};
+                case DictionaryColumn ignored -> new long[]{4L * size};
+                default -> new long[]{4L * (size + 1), textLength(names[i], column)};
+            };
+            long validity = column.nullCount() > 0 ? 8L * NullBitmap.wordCount(size) : 0;
+            buffers.add(new long[]{offset, validity});
+            offset += validity;
+            for (long length : lengths) {
+                buffers.add(new long[]{offset, length});
+                offset += pad(length);
+            }
+        }
+        return buffers.toArray(long[][]::new);
+    }
+
+    private static long bodyLength(long[][] layout) {
+        return layout.length == 0 ? 0 : layout[layout.length - 1][0] + pad(layout[layout.length - 1][1]);
+    }
+
+    private static int recordBatch(FlatBufferBuilder builder, Column[] columns, int rowCount, long[][] layout) {
+        builder.startStructVector(2 * Long.BYTES, columns.length, Long.BYTES);
+        for (int i = columns.length - 1; i >= 0; i--) {
+            builder.putLong(columns[i].nullCount());
+            builder.putLong(columns[i].size());
+        }
+        int nodes = builder.endStructVector(columns.length);
+        builder.startStructVector(2 * Long.BYTES, layout.length, Long.BYTES);
+        for (int i = layout.length - 1; i >= 0; i--) {
+            builder.putLong(layout[i][1]);
+            builder.putLong(layout[i][0]);
+        }
+        int buffers = builder.endStructVector(layout.length);
+        builder.startTable(5);
+        builder.addLong(0, rowCount);
+        builder.addObject(1, nodes);
+        builder.addObject(2, buffers);
+        return builder.endTable();
+    }
+
+    private void writeBody(Column[] columns, long[][] layout) throws IOException {
+        int buffer = 0;
+        for (Column column : columns) {
+            int size = column.size();
+            int words = NullBitmap.wordCount(size);
+            if (layout[buffer++][1] > 0) {
+                long[] nulls = column.nulls().words();
+                for (int word = 0; word < words; word++) {
+                    long valid = ~(word < nulls.length ? nulls[word] : 0L);
+                    output.putLong(word == words - 1 && (size & 63) != 0 ? valid & ((1L << size) - 1) : valid);
+                }
+            }
+            switch (column) {
+                case IntColumn intColumn -> output.putInts(intColumn.data(), size);
+                case DateColumn dateColumn -> output.putInts(dateColumn.data(), size);
+                case LongColumn longColumn -> output.putLongs(longColumn.data(), size);
+                case DoubleColumn doubleColumn -> output.putDoubles(doubleColumn.data(), size);
+                case DictionaryColumn dictionaryColumn -> output.putInts(dictionaryColumn.codes(), size);
+                case BooleanColumn booleanColumn -> {
+                    boolean[] data = booleanColumn.data();
+                    for (int word = 0; word < words; word++) {
+                        long bits = 0;
+                        for (int row = word << 6, end = Math.min(size, row + 64); row < end; row++) {
+                            if (data[row]) {
+                                bits |= 1L << row;
+                            }
+                        }
+                        output.putLong(bits);
+                    }
+                }
+                default -> {
+                    int offset = 0;
+                    output.putInt(0);
+                    for (int row = 0; row < size; row++) {
+                        Object value = column.get(row);
+                        offset += value == null ? 0 : utf8Length((String) value);
+                        output.putInt(offset);
+                    }
+                    output.putZeros((int) (pad(4L * (size + 1)) - 4L * (size + 1)));
+                    buffer++;
+                    for (int row = 0; row < size; row++) {
+                        Object value = column.get(row);
+                        if (value != null) {
+                            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                            output.putBytes(bytes, 0, bytes.length);
+                        }
+                    }
+                }
+            }
+            long length = layout[buffer++][1];
+            output.putZeros((int) (pad(length) - length));
+        }
+    }
+
+    private void writeFooter(String[] names, Column[] columns) throws IOException {
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        int schema = schema(builder, names, columns);
+        int dictionaries = blocks(builder, dictionaryBlocks);
+        int recordBatches = blocks(builder, recordBatchBlocks);
+        builder.startTable(5);
+        builder.addShort(0, ArrowUtils.METADATA_VERSION);
+        builder.addObject(1, schema);
+        builder.addObject(2, dictionaries);
+        builder.addObject(3, recordBatches);
+        byte[] footer = builder.finish(builder.endTable());
+        output.putBytes(footer, 0, footer.length);
+        output.putInt(footer.length);
+        output.putBytes(ArrowUtils.MAGIC, 0, ArrowUtils.MAGIC.length);
+    }
+
+    private static int blocks(FlatBufferBuilder builder, List<long[]> blocks) {
+        builder.startStructVector(BLOCK_SIZE, blocks.size(), Long.BYTES);
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            long[] block = blocks.get(i);
+            builder.putLong(block[2]);
+            builder.putPadding(Integer.BYTES);
+            builder.putInt((int) block[1]);
+            builder.putLong(block[0]);
+        }
+        return builder.endStructVector(blocks.size());
+    }
+
+    /**
+     * Returns the number of UTF-8 bytes of the strings of a column, which must fit the int32 offsets of a Utf8 array.
+     */
+    private static long textLength(String name, Column column) {
+        long length = 0;
+        for (int row = 0; row < column.size(); row++) {
+            Object value = column.get(row);
+            length += value == null ? 0 : utf8Length((String) value);
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Column '" + name + "' holds more than 2 GB of text, which an Arrow Utf8 array cannot hold!");
+        }
+        return length;
+    }
+
+    /**
+     * Returns the length of the UTF-8 encoding of a string, as produced by {@link String#getBytes}: unpaired surrogates
+     * are encoded as a single '?'.
+     */
+    private static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                length += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                length += 2;
+            }
+        }
+        return length;
+    }
+
+    private static int pad(int length) {
+        return (length + 7) & ~7;
+    }
+
+    private static long pad(long length) {
+        return (length + 7) & ~7L;
+    }
+}
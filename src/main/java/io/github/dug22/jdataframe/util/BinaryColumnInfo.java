@@ -0,0 +1,20 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.ColumnType;
+
+/**
+ * The header entry of a column in a binary dataframe file, which can be read without reading the column itself.
+ * The minimum and maximum are typed like the values of the column: Integer, Long, Double, Boolean, LocalDate or String.
+ *
+ * @param name              the column name
+ * @param type              the column type
+ * @param rowCount          the number of rows
+ * @param nullCount         the number of null rows
+ * @param min               the smallest non-null value, or null if every row is null
+ * @param max               the largest non-null value, or null if every row is null
+ * @param dictionaryEncoded whether the column is stored as a dictionary and one code per row
+ * @param compressed        whether the block of the column is compressed with deflate
+ */
+public record BinaryColumnInfo(String name, ColumnType type, int rowCount, int nullCount, Object min, Object max,
+                               boolean dictionaryEncoded, boolean compressed) {
+}
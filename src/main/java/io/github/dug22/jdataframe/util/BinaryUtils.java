@@ -0,0 +1,556 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.metrics.Metrics;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Reads and writes dataframes in a binary columnar format, which stores every column as one typed block so that
+ * a dataframe is saved and loaded without formatting or parsing a single value.
+ * <p>
+ * A file starts with a header holding the magic bytes "JDFB", the format version, the header length, the row count and,
+ * for every column, its name, type, encoding, null count, the position of its block and the minimum and maximum of its
+ * non-null values. The blocks follow, each starting on an 8-byte boundary. Everything is little-endian. A block holds
+ * the null bitmap words when the column has null rows, then the values: ints for INT and DATE columns, longs, doubles,
+ * bitmap words for BOOLEAN columns and, for STRING columns, the UTF-8 byte length and bytes of every row. Dictionary-encoded
+ * string columns are stored as their dictionary values followed by the int code of every row.
+ * <p>
+ * Blocks can be compressed with deflate. Reading memory-maps the file and copies every uncompressed block into the
+ * column arrays in bulk, without decoding it value by value; compressed blocks are inflated from the mapping.
+ * Columns are read in parallel and can be selected, so the blocks of the other columns are never touched.
+ */
+public class BinaryUtils {
+
+    private static final int MAGIC = 0x4246444A; // "JDFB" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int PREFIX_LENGTH = 12;
+    private static final int COMPRESSED = 1;
+    private static final int DICTIONARY = 2;
+
+    /**
+     * Exports a given dataframe to an uncompressed binary file.
+     * @param filePath the path of the destined binary file, ending with ".jdf".
+     * @param dataFrameMap the dataframe containing the data
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void writeToBinary(String filePath, Map<String, List<Object>> dataFrameMap) {
+        writeToBinary(filePath, dataFrameMap, false);
+    }
+
+    /**
+     * Exports a given dataframe to a binary file, compressing every column block with deflate if requested.
+     * Columns holding values of mixed or unsupported types cannot be written.
+     * @param filePath the path of the destined binary file, ending with ".jdf".
+     * @param dataFrameMap the dataframe containing the data
+     * @param compressed true to compress the column blocks
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void writeToBinary(String filePath, Map<String, List<Object>> dataFrameMap, boolean compressed) {
+        if (!filePath.endsWith(".jdf")) {
+            throw new RuntimeException("You need to save your file with a .jdf extension.");
+        }
+        String[] names = dataFrameMap.keySet().toArray(String[]::new);
+        Column[] columns = new Column[names.length];
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = Columns.asColumn(dataFrameMap.get(names[i]));
+            if (columns[i].type() == ColumnType.OBJECT) {
+                throw new IllegalArgumentException("Column '" + names[i] + "' holds values of mixed types and cannot be written to a binary file!");
+            }
+            if (columns[i].size() != columns[0].size()) {
+                throw new IllegalArgumentException("Every column must have the same number of rows!");
+            }
+        }
+        try {
+            write(Path.of(filePath), names, columns, compressed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads every column of a binary file.
+     *
+     * @param filepath the path of the binary file
+     * @param dataframeMap the dataframe receiving the columns
+     * @throws IOException if the file does not exist or is not a binary dataframe file
+     */
+    public static void readFromBinary(String filepath, Map<String, List<Object>> dataframeMap) throws IOException {
+        readFromBinary(filepath, dataframeMap, null);
+    }
+
+    /**
+     * Reads the given columns of a binary file. The blocks of the other columns are not read.
+     *
+     * @param filepath the path of the binary file
+     * @param dataframeMap the dataframe receiving the columns
+     * @param columns the columns to read, or null to read every column; the read columns stay in file order
+     * @throws IOException if the file does not exist or is not a binary dataframe file
+     */
+    public static void readFromBinary(String filepath, Map<String, List<Object>> dataframeMap, Collection<String> columns) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ)) {
+            Block[] blocks = Arrays.stream(readHeader(channel, filepath))
+                    .filter(block -> columns == null || columns.contains(block.info().name()))
+                    .toArray(Block[]::new);
+            Column[] read = new Column[blocks.length];
+            try {
+                IntStream.range(0, blocks.length).parallel().forEach(Metrics.measured(i -> {
+                    try {
+                        read[i] = readBlock(channel, blocks[i]);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            for (int i = 0; i < blocks.length; i++) {
+                dataframeMap.put(blocks[i].info().name(), read[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads the header of a binary file without reading its columns.
+     *
+     * @param filepath the path of the binary file
+     * @return the header entry of every column, in file order
+     * @throws IOException if the file does not exist or is not a binary dataframe file
+     */
+    public static List<BinaryColumnInfo> readColumnInfo(String filepath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.READ)) {
+            return Arrays.stream(readHeader(channel, filepath)).map(Block::info).toList();
+        }
+    }
+
+    /**
+     * The header entry of a column together with the position and the stored length of its block.
+     */
+    private record Block(BinaryColumnInfo info, long offset, long length) {
+    }
+
+    private static void write(Path path, String[] names, Column[] columns, boolean compressed) throws IOException {
+        int rowCount = columns.length == 0 ? 0 : columns[0].size();
+        BinaryColumnInfo[] infos = new BinaryColumnInfo[columns.length];
+        IntStream.range(0, columns.length).parallel().forEach(Metrics.measured(i -> infos[i] = describe(names[i], columns[i], compressed)));
+        Block[] blocks = new Block[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            blocks[i] = new Block(infos[i], 0, 0);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = align(encodeHeader(blocks, rowCount).remaining());
+            BlockOutput output = new BlockOutput(channel);
+            for (int i = 0; i < columns.length; i++) {
+                channel.position(position);
+                output.start(compressed);
+                writeBlock(output, columns[i]);
+                output.finish();
+                blocks[i] = new Block(infos[i], position, channel.position() - position);
+                position = align(channel.position());
+            }
+            ByteBuffer header = encodeHeader(blocks, rowCount);
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Describes a column, finding the minimum and maximum of its non-null values. NaN is ignored in double columns
+     * and only the dictionary values some row refers to count in dictionary-encoded columns.
+     */
+    private static BinaryColumnInfo describe(String name, Column column, boolean compressed) {
+        int size = column.size();
+        Object min = null;
+        Object max = null;
+        switch (column) {
+            case IntColumn intColumn -> {
+                int[] data = intColumn.data();
+                int lowest = Integer.MAX_VALUE;
+                int highest = Integer.MIN_VALUE;
+                boolean found = false;
+                for (int row = 0; row < size; row++) {
+                    if (!column.isNull(row)) {
+                        lowest = Math.min(lowest, data[row]);
+                        highest = Math.max(highest, data[row]);
+                        found = true;
+                    }
+                }
+                if (found) {
+                    min = lowest;
+                    max = highest;
+                }
+            }
+            case DateColumn dateColumn -> {
+                int[] data = dateColumn.data();
+                int lowest = Integer.MAX_VALUE;
+                int highest = Integer.MIN_VALUE;
+                boolean found = false;
+                for (int row = 0; row < size; row++) {
+                    if (!column.isNull(row)) {
+                        lowest = Math.min(lowest, data[row]);
+                        highest = Math.max(highest, data[row]);
+                        found = true;
+                    }
+                }
+                if (found) {
+                    min = LocalDate.ofEpochDay(lowest);
+                    max = LocalDate.ofEpochDay(highest);
+                }
+            }
+            case LongColumn longColumn -> {
+                long[] data = longColumn.data();
+                long lowest = Long.MAX_VALUE;
+                long highest = Long.MIN_VALUE;
+                boolean found = false;
+                for (int row = 0; row < size; row++) {
+                    if (!column.isNull(row)) {
+                        lowest = Math.min(lowest, data[row]);
+                        highest = Math.max(highest, data[row]);
+                        found = true;
+                    }
+                }
+                if (found) {
+                    min = lowest;
+                    max = highest;
+                }
+            }
+            case DoubleColumn doubleColumn -> {
+                double[] data = doubleColumn.data();
+                double lowest = Double.POSITIVE_INFINITY;
+                double highest = Double.NEGATIVE_INFINITY;
+                boolean found = false;
+                for (int row = 0; row < size; row++) {
+                    if (!column.isNull(row) && !Double.isNaN(data[row])) {
+                        lowest = Math.min(lowest, data[row]);
+                        highest = Math.max(highest, data[row]);
+                        found = true;
+                    }
+                }
+                if (found) {
+                    min = lowest;
+                    max = highest;
+                }
+            }
+            case BooleanColumn booleanColumn -> {
+                boolean[] data = booleanColumn.data();
+                boolean seenFalse = false;
+                boolean seenTrue = false;
+                for (int row = 0; row < size; row++) {
+                    if (!column.isNull(row)) {
+                        seenFalse |= !data[row];
+                        seenTrue |= data[row];
+                    }
+                }
+                if (seenFalse || seenTrue) {
+                    min = !seenFalse;
+                    max = seenTrue;
+                }
+            }
+            case DictionaryColumn dictionaryColumn -> {
+                StringDictionary dictionary = dictionaryColumn.dictionary();
+                int[] codes = dictionaryColumn.codes();
+                boolean[] used = new boolean[dictionary.size()];
+                for (int row = 0; row < size; row++) {
+                    if (codes[row] >= 0) {
+                        used[codes[row]] = true;
+                    }
+                }
+                for (int code = 0; code < used.length; code++) {
+                    if (used[code]) {
+                        String value = dictionary.get(code);
+                        min = min == null || value.compareTo((String) min) < 0 ? value : min;
+                        max = max == null || value.compareTo((String) max) > 0 ? value : max;
+                    }
+                }
+            }
+            default -> {
+                for (int row = 0; row < size; row++) {
+                    Object value = column.get(row);
+                    if (value instanceof String string) {
+                        min = min == null || string.compareTo((String) min) < 0 ? string : min;
+                        max = max == null || string.compareTo((String) max) > 0 ? string : max;
+                    }
+                }
+            }
+        }
+        return new BinaryColumnInfo(name, column.type(), size, column.nullCount(), min, max, column instanceof DictionaryColumn, compressed);
+    }
+
+    private static ByteBuffer encodeHeader(Block[] blocks, int rowCount) {
+        int length = PREFIX_LENGTH + 2 * Integer.BYTES;
+        byte[][] names = new byte[blocks.length][];
+        byte[][] stats = new byte[blocks.length][];
+        for (int i = 0; i < blocks.length; i++) {
+            names[i] = blocks[i].info().name().getBytes(StandardCharsets.UTF_8);
+            stats[i] = encodeStats(blocks[i].info());
+            length += Integer.BYTES + names[i].length + 2 + Integer.BYTES + 2 * Long.BYTES + stats[i].length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(length).putInt(rowCount).putInt(blocks.length);
+        for (int i = 0; i < blocks.length; i++) {
+            BinaryColumnInfo info = blocks[i].info();
+            header.putInt(names[i].length).put(names[i]);
+            header.put(typeCode(info.type()));
+            header.put((byte) ((info.compressed() ? COMPRESSED : 0) | (info.dictionaryEncoded() ? DICTIONARY : 0)));
+            header.putInt(info.nullCount());
+            header.putLong(blocks[i].offset()).putLong(blocks[i].length());
+            header.put(stats[i]);
+        }
+        return header.flip();
+    }
+
+    /**
+     * Encodes the minimum and maximum of a column: a presence byte followed by two longs, two doubles or two strings.
+     */
+    private static byte[] encodeStats(BinaryColumnInfo info) {
+        if (info.min() == null) {
+            return new byte[1];
+        }
+        ByteBuffer stats;
+        if (info.type() == ColumnType.STRING) {
+            byte[] min = ((String) info.min()).getBytes(StandardCharsets.UTF_8);
+            byte[] max = ((String) info.max()).getBytes(StandardCharsets.UTF_8);
+            stats = ByteBuffer.allocate(1 + 2 * Integer.BYTES + min.length + max.length).order(ByteOrder.LITTLE_ENDIAN);
+            stats.put((byte) 1).putInt(min.length).put(min).putInt(max.length).put(max);
+        } else {
+            stats = ByteBuffer.allocate(1 + 2 * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).put((byte) 1);
+            switch (info.type()) {
+                case INT -> stats.putLong((int) info.min()).putLong((int) info.max());
+                case LONG -> stats.putLong((long) info.min()).putLong((long) info.max());
+                case DOUBLE -> stats.putDouble((double) info.min()).putDouble((double) info.max());
+                case BOOLEAN -> stats.putLong((boolean) info.min() ? 1 : 0).putLong((boolean) info.max() ? 1 : 0);
+                default -> stats.putLong(((LocalDate) info.min()).toEpochDay()).putLong(((LocalDate) info.max()).toEpochDay());
+            }
+        }
+        return stats.array();
+    }
+
+    private static Object decodeStat(ByteBuffer header, ColumnType type) {
+        return switch (type) {
+            case INT -> (int) header.getLong();
+            case LONG -> header.getLong();
+            case DOUBLE -> header.getDouble();
+            case BOOLEAN -> header.getLong() != 0;
+            case DATE -> LocalDate.ofEpochDay(header.getLong());
+            default -> getString(header);
+        };
+    }
+
+    private static String getString(ByteBuffer header) {
+        byte[] bytes = new byte[header.getInt()];
+        header.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte typeCode(ColumnType type) {
+        return switch (type) {
+            case INT -> 1;
+            case LONG -> 2;
+            case DOUBLE -> 3;
+            case BOOLEAN -> 4;
+            case DATE -> 5;
+            case STRING -> 6;
+            case OBJECT -> throw new IllegalArgumentException("OBJECT columns cannot be written to a binary file!");
+        };
+    }
+
+    private static ColumnType typeOf(byte code) throws IOException {
+        return switch (code) {
+            case 1 -> ColumnType.INT;
+            case 2 -> ColumnType.LONG;
+            case 3 -> ColumnType.DOUBLE;
+            case 4 -> ColumnType.BOOLEAN;
+            case 5 -> ColumnType.DATE;
+            case 6 -> ColumnType.STRING;
+            default -> throw new IOException("Unknown column type " + code + " in the binary file!");
+        };
+    }
+
+    private static Block[] readHeader(FileChannel channel, String filepath) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(PREFIX_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, prefix, 0);
+        if (prefix.getInt(0) != MAGIC) {
+            throw new IOException(filepath + " is not a JDataFrame binary file!");
+        }
+        if (prefix.getInt(4) != VERSION) {
+            throw new IOException("Version " + prefix.getInt(4) + " of the binary format is not supported!");
+        }
+        ByteBuffer header = ByteBuffer.allocate(prefix.getInt(8)).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header, 0);
+        header.position(PREFIX_LENGTH);
+
+        int rowCount = header.getInt();
+        Block[] blocks = new Block[header.getInt()];
+        for (int i = 0; i < blocks.length; i++) {
+            String name = getString(header);
+            ColumnType type = typeOf(header.get());
+            int flags = header.get();
+            int nullCount = header.getInt();
+            long offset = header.getLong();
+            long length = header.getLong();
+            Object min = null;
+            Object max = null;
+            if (header.get() != 0) {
+                min = decodeStat(header, type);
+                max = decodeStat(header, type);
+            }
+            BinaryColumnInfo info = new BinaryColumnInfo(name, type, rowCount, nullCount, min, max, (flags & DICTIONARY) != 0, (flags & COMPRESSED) != 0);
+            blocks[i] = new Block(info, offset, length);
+        }
+        return blocks;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("The binary file ends unexpectedly!");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void writeBlock(BlockOutput output, Column column) throws IOException {
+        int size = column.size();
+        int words = NullBitmap.wordCount(size);
+        if (column.nullCount() > 0) {
+            long[] nulls = column.nulls().words();
+            output.putLongs(nulls, Math.min(words, nulls.length));
+            for (int word = nulls.length; word < words; word++) {
+                output.putLong(0L);
+            }
+        }
+        switch (column) {
+            case IntColumn intColumn -> output.putInts(intColumn.data(), size);
+            case DateColumn dateColumn -> output.putInts(dateColumn.data(), size);
+            case LongColumn longColumn -> output.putLongs(longColumn.data(), size);
+            case DoubleColumn doubleColumn -> output.putDoubles(doubleColumn.data(), size);
+            case BooleanColumn booleanColumn -> {
+                boolean[] data = booleanColumn.data();
+                for (int word = 0; word < words; word++) {
+                    long bits = 0;
+                    for (int row = word << 6, end = Math.min(size, row + 64); row < end; row++) {
+                        if (data[row]) {
+                            bits |= 1L << row;
+                        }
+                    }
+                    output.putLong(bits);
+                }
+            }
+            case DictionaryColumn dictionaryColumn -> {
+                StringDictionary dictionary = dictionaryColumn.dictionary();
+                output.putInt(dictionary.size());
+                for (int code = 0; code < dictionary.size(); code++) {
+                    output.putString(dictionary.get(code));
+                }
+                output.putInts(dictionaryColumn.codes(), size);
+            }
+            default -> {
+                for (int row = 0; row < size; row++) {
+                    Object value = column.get(row);
+                    output.putString(value == null ? "" : (String) value);
+                }
+            }
+        }
+    }
+
+    private static Column readBlock(FileChannel channel, Block block) throws IOException {
+        BinaryColumnInfo info = block.info();
+        int size = info.rowCount();
+        BlockInput input = new BlockInput(channel, block.offset(), block.length(), info.compressed());
+        try {
+            long[] nulls = null;
+            if (info.nullCount() > 0) {
+                nulls = new long[NullBitmap.wordCount(size)];
+                input.getLongs(nulls, nulls.length);
+            }
+            Column column = switch (info.type()) {
+                case INT -> {
+                    int[] data = new int[size];
+                    input.getInts(data, size);
+                    yield new IntColumn(data);
+                }
+                case DATE -> {
+                    int[] data = new int[size];
+                    input.getInts(data, size);
+                    yield new DateColumn(data);
+                }
+                case LONG -> {
+                    long[] data = new long[size];
+                    input.getLongs(data, size);
+                    yield new LongColumn(data);
+                }
+                case DOUBLE -> {
+                    double[] data = new double[size];
+                    input.getDoubles(data, size);
+                    yield new DoubleColumn(data);
+                }
+                case BOOLEAN -> {
+                    long[] words = new long[NullBitmap.wordCount(size)];
+                    input.getLongs(words, words.length);
+                    boolean[] data = new boolean[size];
+                    for (int row = 0; row < size; row++) {
+                        data[row] = (words[row >>> 6] & (1L << row)) != 0;
+                    }
+                    yield new BooleanColumn(data);
+                }
+                default -> info.dictionaryEncoded() ? readDictionary(input, size) : readStrings(input, size, nulls);
+            };
+            if (nulls != null && info.type() != ColumnType.STRING) {
+                for (int word = 0; word < nulls.length; word++) {
+                    for (long bits = nulls[word]; bits != 0; bits &= bits - 1) {
+                        column.set((word << 6) + Long.numberOfTrailingZeros(bits), null);
+                    }
+                }
+            }
+            return column;
+        } finally {
+            input.close();
+        }
+    }
+
+    private static Column readDictionary(BlockInput input, int size) throws IOException {
+        String[] values = new String[input.getInt()];
+        byte[] bytes = new byte[64];
+        for (int code = 0; code < values.length; code++) {
+            int length = input.getInt();
+            bytes = length > bytes.length ? new byte[Math.max(length, bytes.length * 2)] : bytes;
+            input.getBytes(bytes, length);
+            values[code] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        int[] codes = new int[size];
+        input.getInts(codes, size);
+        return new DictionaryColumn(codes, values);
+    }
+
+    private static Column readStrings(BlockInput input, int size, long[] nulls) throws IOException {
+        String[] values = new String[size];
+        byte[] bytes = new byte[64];
+        for (int row = 0; row < size; row++) {
+            int length = input.getInt();
+            bytes = length > bytes.length ? new byte[Math.max(length, bytes.length * 2)] : bytes;
+            input.getBytes(bytes, length);
+            if (nulls == null || (nulls[row >>> 6] & (1L << row)) == 0) {
+                values[row] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+        return new StringColumn(values);
+    }
+}
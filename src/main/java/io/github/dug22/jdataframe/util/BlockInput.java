@@ -0,0 +1,143 @@
+package io.github.dug22.jdataframe.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the values of one block of a binary file. Uncompressed blocks are read straight from windows of at most 1 GB
+ * mapped from the file; compressed blocks are inflated from the mapping into a small buffer.
+ */
+final class BlockInput {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long end;
+    private final Inflater inflater;
+    private long next;
+    private ByteBuffer buffer;
+
+    BlockInput(FileChannel channel, long offset, long length, boolean compressed) {
+        this.channel = channel;
+        this.end = offset + length;
+        this.next = offset;
+        this.inflater = compressed ? new Inflater() : null;
+        this.buffer = compressed ? ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN).limit(0) : ByteBuffer.allocate(0);
+    }
+
+    int getInt() throws IOException {
+        require(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    void getBytes(byte[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            require(1);
+            int chunk = Math.min(count - i, buffer.remaining());
+            buffer.get(values, i, chunk);
+            i += chunk;
+        }
+    }
+
+    void getInts(int[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            require(Integer.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().get(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Integer.BYTES);
+            i += chunk;
+        }
+    }
+
+    void getShorts(short[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            require(Short.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Short.BYTES);
+            buffer.asShortBuffer().get(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Short.BYTES);
+            i += chunk;
+        }
+    }
+
+    void getLongs(long[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            require(Long.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().get(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Long.BYTES);
+            i += chunk;
+        }
+    }
+
+    void getDoubles(double[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            require(Double.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().get(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Double.BYTES);
+            i += chunk;
+        }
+    }
+
+    void getFloats(float[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            require(Float.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Float.BYTES);
+            buffer.asFloatBuffer().get(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Float.BYTES);
+            i += chunk;
+        }
+    }
+
+    void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Makes at least the given number of bytes readable from the buffer, mapping the next window of the block
+     * or inflating more of it.
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (inflater == null) {
+            long position = next - buffer.remaining();
+            long length = Math.min(WINDOW_SIZE, end - position);
+            if (length < bytes) {
+                throw new EOFException("A column block of the binary file ends unexpectedly!");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+            next = position + length;
+            return;
+        }
+        buffer.compact();
+        try {
+            while (buffer.hasRemaining() && !inflater.finished()) {
+                if (inflater.needsInput()) {
+                    if (next >= end) {
+                        break;
+                    }
+                    long length = Math.min(WINDOW_SIZE, end - next);
+                    inflater.setInput(channel.map(FileChannel.MapMode.READ_ONLY, next, length));
+                    next += length;
+                }
+                inflater.inflate(buffer);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("A column block of the binary file is corrupt!", e);
+        }
+        buffer.flip();
+        if (buffer.remaining() < bytes) {
+            throw new EOFException("A column block of the binary file ends unexpectedly!");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.dug22.jdataframe.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+/**
+ * Writes the blocks of a binary file through a little-endian buffer, deflating a block when it is compressed.
+ * Arrays are copied into the buffer in bulk through its typed views.
+ */
+final class BlockOutput {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final byte[] deflated = new byte[BUFFER_SIZE];
+    private Deflater deflater;
+
+    BlockOutput(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    void start(boolean compressed) {
+        deflater = compressed ? new Deflater(Deflater.BEST_SPEED) : null;
+    }
+
+    void putInt(int value) throws IOException {
+        reserve(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        reserve(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        putBytes(bytes, 0, bytes.length);
+    }
+
+    void putBytes(byte[] values, int offset, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            reserve(1);
+            int chunk = Math.min(count - i, buffer.remaining());
+            buffer.put(values, offset + i, chunk);
+            i += chunk;
+        }
+    }
+
+    void putZeros(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            reserve(1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    void putInts(int[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            reserve(Integer.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Integer.BYTES);
+            i += chunk;
+        }
+    }
+
+    void putLongs(long[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            reserve(Long.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Long.BYTES);
+            i += chunk;
+        }
+    }
+
+    void putDoubles(double[] values, int count) throws IOException {
+        for (int i = 0; i < count; ) {
+            reserve(Double.BYTES);
+            int chunk = Math.min(count - i, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().put(values, i, chunk);
+            buffer.position(buffer.position() + chunk * Double.BYTES);
+            i += chunk;
+        }
+    }
+
+    /**
+     * Writes out the rest of the block and ends its compression.
+     */
+    void finish() throws IOException {
+        flush();
+        if (deflater != null) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain();
+            }
+            deflater.end();
+        }
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        if (deflater == null) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } else {
+            deflater.setInput(buffer.array(), 0, buffer.limit());
+            while (!deflater.needsInput()) {
+                drain();
+            }
+        }
+        buffer.clear();
+    }
+
+    private void drain() throws IOException {
+        ByteBuffer output = ByteBuffer.wrap(deflated, 0, deflater.deflate(deflated));
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+    }
+}
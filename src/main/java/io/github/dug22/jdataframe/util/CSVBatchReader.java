@@ -0,0 +1,121 @@
+package io.github.dug22.jdataframe.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads a CSV file a fixed number of rows at a time, so files larger than the heap can be filtered or aggregated
+ * batch by batch. Column types are inferred from the sampled first rows, like a full read, but they are then fixed for
+ * the whole file, so every batch has the same schema: a later cell that does not fit the type of its column fails the
+ * batch with an {@link IllegalArgumentException}, where a full read would widen the column. Such columns need a larger
+ * sample or a type forced with {@link CSVOptions#columnType}.
+ * <p>
+ * The column buffers are reused from one batch to the next: a batch, and any dataframe built from it without filtering
+ * or copying it, is only valid until {@link #next()} is called again. Modifying the columns of a batch copies them
+ * rather than writing to the buffers. Peak memory is bounded by the batch size, not by the file size.
+ */
+public class CSVBatchReader implements Iterator<Map<String, List<Object>>>, Closeable {
+
+    private final CSVTokenizer tokenizer;
+    private final int batchSize;
+    private final String[] columns;
+    private final List<String[]> sample;
+    private final CSVColumnParser[] parsers;
+    private int sampleIndex;
+    private boolean hasNext;
+
+    /**
+     * Opens the given csv file, reads its header and samples its first rows.
+     *
+     * @param filepath  the path of the csv file
+     * @param batchSize the maximum number of rows of every batch
+     * @param options   the options controlling type inference, schema overrides and null tokens
+     * @throws IOException if the file cannot be read
+     */
+    public CSVBatchReader(String filepath, int batchSize, CSVOptions options) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1!");
+        }
+        this.tokenizer = new CSVTokenizer(Files.newInputStream(Path.of(filepath)), options.getDelimiter(), options.getQuote());
+        this.batchSize = batchSize;
+        try {
+            this.columns = CSVUtils.readHeader(tokenizer);
+            this.sample = CSVUtils.readSample(tokenizer, columns.length, options);
+        } catch (IOException | RuntimeException e) {
+            tokenizer.close();
+            throw e;
+        }
+        CSVColumnParser[] inferred = CSVUtils.createParsers(columns, sample, options);
+        this.parsers = new CSVColumnParser[inferred.length];
+        for (int i = 0; i < inferred.length; i++) {
+            parsers[i] = inferred[i].fixedTypeCopy(sample.size());
+        }
+        this.hasNext = !sample.isEmpty();
+    }
+
+    /**
+     * Returns the column names of the file, in header order.
+     *
+     * @return the column names
+     */
+    public List<String> getColumns() {
+        return List.of(columns);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * Reads the next batch of at most the batch size rows, reusing the column buffers of the previous batch.
+     *
+     * @return the next batch, keyed by column name in header order
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed or a cell does not fit the type of its column
+     */
+    @Override
+    public Map<String, List<Object>> next() {
+        if (!hasNext) {
+            throw new NoSuchElementException("No more batches are available!");
+        }
+
+        for (CSVColumnParser parser : parsers) {
+            parser.reset();
+        }
+        int rows = 0;
+        while (rows < batchSize && sampleIndex < sample.size()) {
+            CSVUtils.appendRow(parsers, sample.get(sampleIndex++));
+            rows++;
+        }
+        try {
+            while (rows < batchSize && CSVUtils.nextRow(tokenizer, columns.length)) {
+                CSVUtils.appendRow(parsers, tokenizer);
+                rows++;
+            }
+            hasNext = rows == batchSize && (sampleIndex < sample.size() || CSVUtils.nextRow(tokenizer, columns.length));
+            if (hasNext && sampleIndex == sample.size()) {
+                sample.clear();
+                sampleIndex = 0;
+                sample.add(tokenizer.getStrings());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, List<Object>> batch = new LinkedHashMap<>();
+        for (CSVColumnParser parser : parsers) {
+            batch.put(parser.name(), parser.column().view());
+        }
+        return batch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+}
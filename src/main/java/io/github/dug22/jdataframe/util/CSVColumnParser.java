@@ -0,0 +1,467 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.*;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses the cells of one CSV column straight into a typed column. Every cell is parsed exactly once;
+ * when a cell does not fit the inferred type the column is widened in place (int to long to double, anything else to
+ * string). Cells are only parsed as numbers if they follow the grammar type inference accepts, so text such as "12f",
+ * " 7" or "Infinity" widens the column instead of being read as a number. Values already parsed when a column widens
+ * to string are turned back into text in the form of their type, which can differ from the file ("1.50" becomes
+ * "1.5"): the parser is then flagged as lossy and the reader reads the column again as text.
+ * String columns are dictionary-encoded unless the options disable it, and decoded back into plain strings as soon as
+ * their distinct values outnumber half of their rows.
+ */
+class CSVColumnParser {
+
+    private static final int MIN_DICTIONARY_LIMIT = 1 << 16;
+
+    private final String name;
+    private final int field;
+    private final boolean fixedType;
+    private final Set<String> nullTokens;
+    private final byte[][] nullTokenBytes;
+    private final DateTimeFormatter dateFormatter;
+    private final boolean isoDates;
+    private final boolean dictionaryEncoding;
+    private Column column;
+    private boolean decoded;
+    private boolean lossy;
+    private ColumnType filterType;
+    private boolean filterTypeChanged;
+    private RuntimeException filterFailure;
+
+    CSVColumnParser(String name, int field, ColumnType type, boolean fixedType, Set<String> nullTokens, DateTimeFormatter dateFormatter,
+                    boolean dictionaryEncoding, int capacity) {
+        this.name = name;
+        this.field = field;
+        this.fixedType = fixedType;
+        this.nullTokens = nullTokens;
+        this.nullTokenBytes = nullTokens.stream().map(token -> token.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+        this.dateFormatter = dateFormatter;
+        this.isoDates = dateFormatter == DateTimeFormatter.ISO_LOCAL_DATE;
+        this.dictionaryEncoding = dictionaryEncoding;
+        this.column = type == ColumnType.STRING && dictionaryEncoding ? new DictionaryColumn(capacity) : Columns.create(type, capacity);
+    }
+
+    /**
+     * Creates the parser of a column, inferring its type from the sampled rows unless the options force one.
+     *
+     * @param name        the column name
+     * @param columnIndex the position of the column within each row
+     * @param sample      the sampled rows
+     * @param options     the CSV options
+     * @return the column parser
+     */
+    static CSVColumnParser create(String name, int columnIndex, List<String[]> sample, CSVOptions options) {
+        Set<String> nullTokens = options.getNullTokens(name);
+        ColumnType forcedType = options.getColumnType(name);
+        if (forcedType != null) {
+            return new CSVColumnParser(name, columnIndex, forcedType, true, nullTokens, options.getDateFormatter(), options.isDictionaryEncoding(), sample.size());
+        }
+        if (!options.isInferTypes()) {
+            return new CSVColumnParser(name, columnIndex, ColumnType.STRING, false, nullTokens, options.getDateFormatter(), options.isDictionaryEncoding(), sample.size());
+        }
+
+        ColumnType type = null;
+        for (String[] row : sample) {
+            String token = row[columnIndex];
+            if (!nullTokens.contains(token)) {
+                ColumnType tokenType = inferType(token, options.getDateFormatter());
+                type = type == null ? tokenType : stringIfObject(Columns.commonType(type, tokenType));
+            }
+        }
+        return new CSVColumnParser(name, columnIndex, type == null ? ColumnType.STRING : type, false, nullTokens, options.getDateFormatter(),
+                options.isDictionaryEncoding(), sample.size());
+    }
+
+    /**
+     * Parses a cell and appends it to the column.
+     *
+     * @param token the raw cell value
+     */
+    void append(String token) {
+        if (nullTokens.contains(token)) {
+            column.appendNull();
+            return;
+        }
+
+        try {
+            switch (column.type()) {
+                case INT -> ((IntColumn) column).appendInt(Integer.parseInt(requireInteger(token)));
+                case LONG -> ((LongColumn) column).appendLong(Long.parseLong(requireInteger(token)));
+                case DOUBLE -> ((DoubleColumn) column).appendDouble(parseDecimal(token));
+                case BOOLEAN -> ((BooleanColumn) column).appendBoolean(parseBoolean(token));
+                case DATE -> ((DateColumn) column).appendEpochDay((int) LocalDate.parse(token, dateFormatter).toEpochDay());
+                default -> appendString(token);
+            }
+        } catch (RuntimeException e) {
+            if (fixedType) {
+                throw new IllegalArgumentException("Value '" + token + "' of column '" + name + "' is not a valid " + column.type() + "!", e);
+            }
+            ColumnType widenedType = stringIfObject(Columns.commonType(column.type(), inferType(token, dateFormatter)));
+            if (widenedType == column.type()) {
+                widenedType = ColumnType.STRING;
+            }
+            lossy |= widensToString(column, widenedType);
+            column = Columns.convert(column, widenedType);
+            append(token);
+        }
+    }
+
+    /**
+     * Parses a field of the tokenizer's current record and appends it to the column.
+     * Numbers, booleans and ISO dates are parsed straight from the tokenizer buffer without creating a string.
+     *
+     * @param tokenizer the tokenizer positioned on a record
+     * @param field     the index of the field within the record
+     */
+    void append(CSVTokenizer tokenizer, int field) {
+        for (byte[] nullToken : nullTokenBytes) {
+            if (tokenizer.fieldEquals(field, nullToken)) {
+                column.appendNull();
+                return;
+            }
+        }
+
+        try {
+            switch (column.type()) {
+                case INT -> ((IntColumn) column).appendInt(tokenizer.getInt(field));
+                case LONG -> ((LongColumn) column).appendLong(tokenizer.getLong(field));
+                case DOUBLE -> ((DoubleColumn) column).appendDouble(tokenizer.getDouble(field));
+                case BOOLEAN -> ((BooleanColumn) column).appendBoolean(tokenizer.getBoolean(field));
+                case DATE -> {
+                    if (isoDates) {
+                        ((DateColumn) column).appendEpochDay(tokenizer.getEpochDay(field));
+                    } else {
+                        append(tokenizer.getString(field));
+                    }
+                }
+                default -> appendString(tokenizer.getString(field));
+            }
+        } catch (RuntimeException e) {
+            append(tokenizer.getString(field));
+        }
+    }
+
+    private void appendString(String value) {
+        if (column instanceof DictionaryColumn dictionaryColumn) {
+            dictionaryColumn.appendString(value);
+            decodeIfHighCardinality();
+        } else {
+            ((StringColumn) column).appendString(value);
+        }
+    }
+
+    /**
+     * Decodes a dictionary-encoded column whose distinct values outnumber half of its rows, where the dictionary
+     * costs more memory than it saves.
+     */
+    private void decodeIfHighCardinality() {
+        if (column instanceof DictionaryColumn dictionaryColumn
+                && dictionaryColumn.dictionary().size() > Math.max(MIN_DICTIONARY_LIMIT, dictionaryColumn.size() >> 1)) {
+            column = dictionaryColumn.decode();
+            decoded = true;
+        }
+    }
+
+    /**
+     * Creates an empty parser with the same settings and the current type of this parser,
+     * used to parse another chunk of the same column.
+     *
+     * @param capacity the initial capacity of the new column
+     * @return the new parser
+     */
+    CSVColumnParser emptyCopy(int capacity) {
+        return new CSVColumnParser(name, field, column.type(), fixedType, nullTokens, dateFormatter, dictionaryEncoding && !decoded, capacity);
+    }
+
+    /**
+     * Creates an empty parser whose column keeps the current type of this parser: a cell that does not fit that type
+     * fails instead of widening the column.
+     *
+     * @param capacity the initial capacity of the new column
+     * @return the new parser
+     */
+    CSVColumnParser fixedTypeCopy(int capacity) {
+        return new CSVColumnParser(name, field, column.type(), true, nullTokens, dateFormatter, dictionaryEncoding && !decoded, capacity);
+    }
+
+    /**
+     * Empties the column while keeping its type and capacity, so the parser can fill it with the next batch of rows.
+     */
+    void reset() {
+        column.clear();
+        lossy = false;
+    }
+
+    /**
+     * Appends the rows parsed by another parser of the same column, for example a filtered batch.
+     * Both columns are converted to their common type first.
+     *
+     * @param other the parser whose rows are appended
+     */
+    void appendAll(CSVColumnParser other) {
+        ColumnType type = stringIfObject(Columns.commonType(column.type(), other.column.type()));
+        lossy |= other.lossy || widensToString(column, type) || widensToString(other.column, type);
+        column = Columns.convert(column, type);
+        column.addAll(Columns.convert(other.column, type));
+        decodeIfHighCardinality();
+        mergeFilterType(other);
+    }
+
+    /**
+     * Records the type of the column while a filter pushed down into the read is evaluated on it.
+     * Filter results only match a filter over the whole column if the type never changes afterwards.
+     */
+    void recordFilterType() {
+        if (filterType == null) {
+            filterType = column.type();
+        } else if (filterType != column.type()) {
+            filterTypeChanged = true;
+        }
+    }
+
+    /**
+     * Checks whether every filter evaluation recorded by {@link #recordFilterType()} saw the final type of the column.
+     *
+     * @return true if the filter results can be kept
+     */
+    boolean isFilterTypeStable() {
+        return !filterTypeChanged && (filterType == null || filterType == column.type());
+    }
+
+    /**
+     * Checks whether a later cell may still change the type of the column.
+     *
+     * @return true if the type is neither forced by the options nor already STRING
+     */
+    boolean canWiden() {
+        return !fixedType && column.type() != ColumnType.STRING;
+    }
+
+    /**
+     * Records the exception a filter pushed down into the read threw while one of its columns could still be widened.
+     * Whether it is rethrown depends on the final types of the filtered columns.
+     *
+     * @param failure the exception thrown by the filter
+     */
+    void recordFilterFailure(RuntimeException failure) {
+        if (filterFailure == null) {
+            filterFailure = failure;
+        }
+    }
+
+    /**
+     * Returns the first exception recorded by {@link #recordFilterFailure}, in file order.
+     *
+     * @return the exception, or null if the filter never failed
+     */
+    RuntimeException filterFailure() {
+        return filterFailure;
+    }
+
+    /**
+     * Concatenates the columns parsed by several parsers of the same column, in order.
+     * Chunks widened to different types are converted to their common type first.
+     *
+     * @param parsers the parsers of every chunk
+     * @return a parser holding the concatenated column
+     */
+    static CSVColumnParser concat(List<CSVColumnParser> parsers) {
+        CSVColumnParser first = parsers.getFirst();
+        ColumnType type = first.column.type();
+        for (CSVColumnParser parser : parsers) {
+            type = stringIfObject(Columns.commonType(type, parser.column.type()));
+        }
+
+        CSVColumnParser concatenated = first.emptyCopy(1);
+        List<Column> columns = new ArrayList<>(parsers.size());
+        for (CSVColumnParser parser : parsers) {
+            concatenated.lossy |= parser.lossy || widensToString(parser.column, type);
+            concatenated.mergeFilterType(parser);
+            columns.add(Columns.convert(parser.column, type));
+        }
+        concatenated.column = Columns.concat(columns);
+        concatenated.decodeIfHighCardinality();
+        return concatenated;
+    }
+
+    private void mergeFilterType(CSVColumnParser other) {
+        recordFilterFailure(other.filterFailure);
+        if (other.filterType != null) {
+            filterTypeChanged |= other.filterTypeChanged || (filterType != null && filterType != other.filterType);
+            filterType = filterType == null ? other.filterType : filterType;
+        }
+    }
+
+    /**
+     * Checks whether converting a column to the given type turns parsed values back into text.
+     */
+    private static boolean widensToString(Column column, ColumnType type) {
+        return type == ColumnType.STRING && column.type() != ColumnType.STRING && column.nullCount() < column.size();
+    }
+
+    /**
+     * Checks whether cells parsed before a widening to string were turned back into text by formatting the parsed values,
+     * in which case that text may differ from the file (for example "1.50" becomes "1.5").
+     *
+     * @return true if the column should be read again as strings
+     */
+    boolean isLossy() {
+        return lossy;
+    }
+
+    /**
+     * Returns the name of the parsed column.
+     *
+     * @return the column name
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns the position of the parsed column within each row.
+     *
+     * @return the field index
+     */
+    int field() {
+        return field;
+    }
+
+    /**
+     * Returns the parsed column.
+     *
+     * @return the column
+     */
+    Column column() {
+        return column;
+    }
+
+    /**
+     * Infers the narrowest type able to represent a single cell without throwing on mismatches.
+     *
+     * @param token         the raw cell value
+     * @param dateFormatter the formatter recognizing dates
+     * @return the inferred type
+     */
+    static ColumnType inferType(String token, DateTimeFormatter dateFormatter) {
+        if (token.isEmpty()) {
+            return ColumnType.STRING;
+        }
+        if (token.equalsIgnoreCase("true") || token.equalsIgnoreCase("false")) {
+            return ColumnType.BOOLEAN;
+        }
+        if (isInteger(token)) {
+            int digits = token.length() - (token.charAt(0) == '-' || token.charAt(0) == '+' ? 1 : 0);
+            if (digits < 10) {
+                return ColumnType.INT;
+            }
+            if (digits > 19) {
+                return ColumnType.DOUBLE;
+            }
+            try {
+                long value = Long.parseLong(token);
+                return value == (int) value ? ColumnType.INT : ColumnType.LONG;
+            } catch (NumberFormatException e) {
+                return ColumnType.DOUBLE;
+            }
+        }
+        if (isDecimal(token)) {
+            return ColumnType.DOUBLE;
+        }
+        if (isDate(token, dateFormatter)) {
+            return ColumnType.DATE;
+        }
+        return ColumnType.STRING;
+    }
+
+    private static boolean parseBoolean(String token) {
+        if (token.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (token.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + token);
+    }
+
+    private static boolean isInteger(String token) {
+        if (token.isEmpty()) {
+            return false;
+        }
+        int start = token.charAt(0) == '-' || token.charAt(0) == '+' ? 1 : 0;
+        if (start == token.length()) {
+            return false;
+        }
+        for (int i = start; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDecimal(String token) {
+        try {
+            parseDecimal(token);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the token if it is an optionally signed run of ASCII digits, the only integers type inference accepts.
+     * {@link Integer#parseInt} alone would also accept digits of other scripts.
+     */
+    private static String requireInteger(String token) {
+        if (!isInteger(token)) {
+            throw new NumberFormatException("Not an integer: " + token);
+        }
+        return token;
+    }
+
+    /**
+     * Parses a decimal number made of digits, a sign, a decimal point and an exponent, the only decimals type inference
+     * accepts. {@link Double#parseDouble} alone would also accept surrounding whitespace, "Infinity", "NaN", hexadecimal
+     * values and a trailing "f" or "d".
+     */
+    private static double parseDecimal(String token) {
+        boolean digit = false;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                throw new NumberFormatException("Not a decimal: " + token);
+            }
+        }
+        if (!digit) {
+            throw new NumberFormatException("Not a decimal: " + token);
+        }
+        return Double.parseDouble(token);
+    }
+
+    private static boolean isDate(String token, DateTimeFormatter dateFormatter) {
+        if (token.isEmpty() || !Character.isDigit(token.charAt(0))) {
+            return false;
+        }
+        ParsePosition position = new ParsePosition(0);
+        return dateFormatter.parseUnresolved(token, position) != null && position.getErrorIndex() < 0 && position.getIndex() == token.length();
+    }
+
+    private static ColumnType stringIfObject(ColumnType type) {
+        return type == ColumnType.OBJECT ? ColumnType.STRING : type;
+    }
+}
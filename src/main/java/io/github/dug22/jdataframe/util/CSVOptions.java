@@ -0,0 +1,241 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.ColumnType;
+
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class CSVOptions {
+
+    private char delimiter = ',';
+    private char quote = '"';
+    private int sampleSize = 1000;
+    private boolean inferTypes = true;
+    private Set<String> nullTokens = Set.of("", "NA", "N/A", "null");
+    private DateTimeFormatter dateFormatter = DateTimeFormatter.ISO_LOCAL_DATE;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long parallelThreshold = 64L << 20;
+    private boolean dictionaryEncoding = true;
+    private final Map<String, ColumnType> columnTypes = new HashMap<>();
+    private final Map<String, Set<String>> columnNullTokens = new HashMap<>();
+
+    /**
+     * Creates the default options: types are inferred from the first 1000 rows, ISO dates are recognized
+     * and empty cells, "NA", "N/A" and "null" are read as null.
+     *
+     * @return the default options
+     */
+    public static CSVOptions defaults() {
+        return new CSVOptions();
+    }
+
+    /**
+     * Sets the character separating the fields of a record, a comma by default.
+     *
+     * @param delimiter the field delimiter
+     * @return these options
+     */
+    public CSVOptions delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Sets the character used to quote fields, a double quote by default.
+     *
+     * @param quote the quote character
+     * @return these options
+     */
+    public CSVOptions quote(char quote) {
+        this.quote = quote;
+        return this;
+    }
+
+    /**
+     * Sets how many rows are sampled to infer the type of every column.
+     *
+     * @param sampleSize the number of sampled rows
+     * @return these options
+     */
+    public CSVOptions sampleSize(int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("The sample size must be at least 1!");
+        }
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * Enables or disables type inference. Without inference every column without a schema override is read as strings.
+     *
+     * @param inferTypes true to infer column types
+     * @return these options
+     */
+    public CSVOptions inferTypes(boolean inferTypes) {
+        this.inferTypes = inferTypes;
+        return this;
+    }
+
+    /**
+     * Forces the type of a column instead of inferring it. Cells that cannot be parsed as that type fail the read.
+     *
+     * @param column the column name
+     * @param type   the column type
+     * @return these options
+     */
+    public CSVOptions columnType(String column, ColumnType type) {
+        if (type == ColumnType.OBJECT) {
+            throw new IllegalArgumentException("CSV columns cannot be read as OBJECT!");
+        }
+        columnTypes.put(column, type);
+        return this;
+    }
+
+    /**
+     * Sets the cell values read as null for every column without its own null tokens.
+     *
+     * @param tokens the null tokens
+     * @return these options
+     */
+    public CSVOptions nullTokens(String... tokens) {
+        this.nullTokens = Set.of(tokens);
+        return this;
+    }
+
+    /**
+     * Sets the cell values read as null for a single column.
+     *
+     * @param column the column name
+     * @param tokens the null tokens
+     * @return these options
+     */
+    public CSVOptions columnNullTokens(String column, String... tokens) {
+        columnNullTokens.put(column, Set.of(tokens));
+        return this;
+    }
+
+    /**
+     * Sets the pattern used to recognize and parse date cells, for example "MM/dd/yyyy".
+     *
+     * @param pattern the date pattern
+     * @return these options
+     */
+    public CSVOptions dateFormat(String pattern) {
+        this.dateFormatter = DateTimeFormatter.ofPattern(pattern);
+        return this;
+    }
+
+    /**
+     * Sets how many threads parse a large file. A parallelism of 1 always reads the file on the calling thread.
+     *
+     * @param parallelism the number of parsing threads
+     * @return these options
+     */
+    public CSVOptions parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1!");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the file size from which the file is memory-mapped and parsed in parallel chunks.
+     * Quoted fields may contain line breaks; files whose quotes do not follow RFC 4180 are read on one thread.
+     *
+     * @param bytes the minimum file size in bytes
+     * @return these options
+     */
+    public CSVOptions parallelThreshold(long bytes) {
+        this.parallelThreshold = bytes;
+        return this;
+    }
+
+    /**
+     * Enables or disables the dictionary encoding of string columns, enabled by default. Encoded columns store every
+     * distinct value once and every row as an int code; columns with too many distinct values are stored as plain
+     * strings either way.
+     *
+     * @param dictionaryEncoding true to encode string columns
+     * @return these options
+     */
+    public CSVOptions dictionaryEncoding(boolean dictionaryEncoding) {
+        this.dictionaryEncoding = dictionaryEncoding;
+        return this;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public char getQuote() {
+        return quote;
+    }
+
+    /**
+     * Creates an independent copy of these options.
+     *
+     * @return the copied options
+     */
+    public CSVOptions copy() {
+        CSVOptions copy = new CSVOptions();
+        copy.delimiter = delimiter;
+        copy.quote = quote;
+        copy.sampleSize = sampleSize;
+        copy.inferTypes = inferTypes;
+        copy.nullTokens = nullTokens;
+        copy.dateFormatter = dateFormatter;
+        copy.parallelism = parallelism;
+        copy.parallelThreshold = parallelThreshold;
+        copy.dictionaryEncoding = dictionaryEncoding;
+        copy.columnTypes.putAll(columnTypes);
+        copy.columnNullTokens.putAll(columnNullTokens);
+        return copy;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public boolean isInferTypes() {
+        return inferTypes;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public boolean isDictionaryEncoding() {
+        return dictionaryEncoding;
+    }
+
+    public DateTimeFormatter getDateFormatter() {
+        return dateFormatter;
+    }
+
+    /**
+     * Returns the forced type of a column.
+     *
+     * @param column the column name
+     * @return the forced type, or null if the type should be inferred
+     */
+    public ColumnType getColumnType(String column) {
+        return columnTypes.get(column);
+    }
+
+    /**
+     * Returns the cell values read as null for a column.
+     *
+     * @param column the column name
+     * @return the null tokens of the column
+     */
+    public Set<String> getNullTokens(String column) {
+        return columnNullTokens.getOrDefault(column, nullTokens);
+    }
+}
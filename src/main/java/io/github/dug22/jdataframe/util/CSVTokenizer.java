@@ -0,0 +1,471 @@
+package io.github.dug22.jdataframe.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * An RFC 4180 CSV tokenizer working over a reusable byte buffer. Quoted fields may contain delimiters,
+ * line breaks and doubled quotes; records may end with LF, CRLF or CR. Fields are exposed as offsets into
+ * the buffer so numeric values can be parsed without creating intermediate strings.
+ * Text is decoded as UTF-8.
+ */
+public class CSVTokenizer implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+    private static final int QUOTED_TAIL = 4;
+
+    private final InputStream input;
+    private final ByteBuffer source;
+    private final byte delimiter;
+    private final byte quote;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private int shift;
+    private long bufferOffset;
+    private boolean skipLineFeed;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    /**
+     * Creates a tokenizer reading from an input stream.
+     *
+     * @param input     the stream to read
+     * @param delimiter the field delimiter
+     * @param quote     the quote character
+     */
+    public CSVTokenizer(InputStream input, char delimiter, char quote) {
+        this(input, null, delimiter, quote);
+    }
+
+    /**
+     * Creates a tokenizer reading the remaining bytes of a buffer, such as a memory-mapped region of a file.
+     *
+     * @param source    the buffer to read
+     * @param delimiter the field delimiter
+     * @param quote     the quote character
+     */
+    public CSVTokenizer(ByteBuffer source, char delimiter, char quote) {
+        this(null, source, delimiter, quote);
+    }
+
+    private CSVTokenizer(InputStream input, ByteBuffer source, char delimiter, char quote) {
+        if (delimiter > 127 || quote > 127 || delimiter == quote) {
+            throw new IllegalArgumentException("The delimiter and quote must be two different ASCII characters!");
+        }
+        this.input = input;
+        this.source = source;
+        this.delimiter = (byte) delimiter;
+        this.quote = (byte) quote;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * Tokenizes the next record.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    public boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        if (position == limit && !fill(position)) {
+            return false;
+        }
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if (buffer[position] == '\n') {
+                position++;
+                if (position == limit && !fill(position)) {
+                    return false;
+                }
+            }
+        }
+
+        int recordStart = position;
+        int fieldStart = position;
+        int write = position;
+        int state = FIELD_START;
+        while (true) {
+            if (position == limit) {
+                boolean filled = fill(recordStart);
+                recordStart -= shift;
+                fieldStart -= shift;
+                write -= shift;
+                for (int i = 0; i < fieldCount; i++) {
+                    fieldStarts[i] -= shift;
+                    fieldEnds[i] -= shift;
+                }
+                if (!filled) {
+                    addField(fieldStart, state == FIELD_START || state == UNQUOTED ? position : write);
+                    return true;
+                }
+            }
+
+            byte b = buffer[position++];
+            switch (state) {
+                case FIELD_START -> {
+                    if (b == quote) {
+                        state = QUOTED;
+                        fieldStart = position;
+                        write = position;
+                    } else if (b == delimiter) {
+                        addField(position - 1, position - 1);
+                        fieldStart = position;
+                    } else if (b == '\n' || b == '\r') {
+                        addField(position - 1, position - 1);
+                        skipLineFeed = b == '\r';
+                        return true;
+                    } else {
+                        state = UNQUOTED;
+                        fieldStart = position - 1;
+                    }
+                }
+                case UNQUOTED -> {
+                    if (b == delimiter) {
+                        addField(fieldStart, position - 1);
+                        fieldStart = position;
+                        state = FIELD_START;
+                    } else if (b == '\n' || b == '\r') {
+                        addField(fieldStart, position - 1);
+                        skipLineFeed = b == '\r';
+                        return true;
+                    }
+                }
+                case QUOTED -> {
+                    if (b == quote) {
+                        state = QUOTE_IN_QUOTED;
+                    } else {
+                        buffer[write++] = b;
+                    }
+                }
+                case QUOTE_IN_QUOTED, QUOTED_TAIL -> {
+                    if (b == quote && state == QUOTE_IN_QUOTED) {
+                        buffer[write++] = b;
+                        state = QUOTED;
+                    } else if (b == delimiter) {
+                        addField(fieldStart, write);
+                        fieldStart = position;
+                        state = FIELD_START;
+                    } else if (b == '\n' || b == '\r') {
+                        addField(fieldStart, write);
+                        skipLineFeed = b == '\r';
+                        return true;
+                    } else {
+                        buffer[write++] = b;
+                        state = QUOTED_TAIL;
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown tokenizer state: " + state);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of fields of the current record.
+     *
+     * @return the field count
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the length in bytes of a field of the current record.
+     *
+     * @param field the field index
+     * @return the field length
+     */
+    public int fieldLength(int field) {
+        return fieldEnds[field] - fieldStarts[field];
+    }
+
+    /**
+     * Compares a field of the current record with the given UTF-8 bytes.
+     *
+     * @param field the field index
+     * @param bytes the bytes to compare with
+     * @return true if the field holds exactly the given bytes
+     */
+    public boolean fieldEquals(int field, byte[] bytes) {
+        int start = fieldStarts[field];
+        return Arrays.equals(buffer, start, fieldEnds[field], bytes, 0, bytes.length);
+    }
+
+    /**
+     * Decodes a field of the current record.
+     *
+     * @param field the field index
+     * @return the field as a string
+     */
+    public String getString(int field) {
+        int start = fieldStarts[field];
+        return new String(buffer, start, fieldEnds[field] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes every field of the current record.
+     *
+     * @return the fields as strings
+     */
+    public String[] getStrings() {
+        String[] values = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            values[i] = getString(i);
+        }
+        return values;
+    }
+
+    /**
+     * Parses a field of the current record as an int straight from the buffer.
+     *
+     * @param field the field index
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid int
+     */
+    public int getInt(int field) {
+        long value = parseLong(fieldStarts[field], fieldEnds[field]);
+        if (value != (int) value) {
+            throw invalidNumber(field);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a field of the current record as a long straight from the buffer.
+     *
+     * @param field the field index
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid long
+     */
+    public long getLong(int field) {
+        return parseLong(fieldStarts[field], fieldEnds[field]);
+    }
+
+    /**
+     * Parses a field of the current record as a double. Only an optional sign, digits, a decimal point and an exponent
+     * are accepted, like type inference does. Plain decimal values of up to 15 significant digits are parsed straight
+     * from the buffer, longer ones by {@link Double#parseDouble(String)}.
+     *
+     * @param field the field index
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid double
+     */
+    public double getDouble(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean sawDigit = false;
+        boolean truncated = false;
+        for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+            sawDigit = true;
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (buffer[i] - '0');
+                digits += mantissa == 0 ? 0 : 1;
+            } else {
+                truncated = true;
+                exponent++;
+            }
+        }
+        if (i < end && buffer[i] == '.') {
+            for (i++; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+                sawDigit = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (buffer[i] - '0');
+                    digits += mantissa == 0 ? 0 : 1;
+                    exponent--;
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+        if (sawDigit && i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+                negativeExponent = buffer[i] == '-';
+                i++;
+            }
+            int exponentDigits = 0;
+            int explicitExponent = 0;
+            for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+                explicitExponent = explicitExponent * 10 + (buffer[i] - '0');
+                exponentDigits++;
+            }
+            if (exponentDigits == 0 || exponentDigits > 3) {
+                truncated = true;
+            } else {
+                exponent += negativeExponent ? -explicitExponent : explicitExponent;
+            }
+        }
+
+        if (!sawDigit || i != end) {
+            throw invalidNumber(field);
+        }
+        if (!truncated && digits <= 15 && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(getString(field));
+    }
+
+    /**
+     * Parses a field of the current record as a boolean, accepting "true" and "false" in any case.
+     *
+     * @param field the field index
+     * @return the parsed value
+     * @throws IllegalArgumentException if the field is not a boolean
+     */
+    public boolean getBoolean(int field) {
+        if (equalsIgnoreCase(field, "true")) {
+            return true;
+        }
+        if (equalsIgnoreCase(field, "false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + getString(field));
+    }
+
+    /**
+     * Parses a field of the current record holding an ISO date (yyyy-MM-dd) straight from the buffer.
+     *
+     * @param field the field index
+     * @return the date as days since 1970-01-01
+     * @throws IllegalArgumentException if the field is not a valid ISO date
+     */
+    public int getEpochDay(int field) {
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != 10 || buffer[start + 4] != '-' || buffer[start + 7] != '-') {
+            throw new IllegalArgumentException("Not an ISO date: " + getString(field));
+        }
+        int year = (int) parseLong(start, start + 4);
+        int month = (int) parseLong(start + 5, start + 7);
+        int day = (int) parseLong(start + 8, start + 10);
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    /**
+     * Returns the number of bytes consumed from the input so far.
+     *
+     * @return the input position
+     */
+    public long position() {
+        return bufferOffset + position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (input != null) {
+            input.close();
+        }
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * Moves the bytes from the given offset to the start of the buffer and reads more input after them.
+     * The buffer grows when the kept bytes already fill it. The number of bytes the content moved by is left in {@link #shift}.
+     *
+     * @param keepFrom the first byte that has to stay in the buffer
+     * @return true if new bytes were read, false at the end of the input
+     */
+    private boolean fill(int keepFrom) throws IOException {
+        int remaining = limit - keepFrom;
+        if (keepFrom > 0) {
+            System.arraycopy(buffer, keepFrom, buffer, 0, remaining);
+            bufferOffset += keepFrom;
+        } else if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        shift = keepFrom;
+        position -= keepFrom;
+        limit = remaining;
+
+        int read;
+        if (source != null) {
+            read = Math.min(buffer.length - limit, source.remaining());
+            source.get(buffer, limit, read);
+        } else {
+            read = input.readNBytes(buffer, limit, buffer.length - limit);
+        }
+        limit += read;
+        return read > 0;
+    }
+
+    private long parseLong(int start, int end) {
+        if (start == end) {
+            throw new NumberFormatException("Empty number");
+        }
+        int i = start;
+        boolean negative = buffer[i] == '-';
+        if (negative || buffer[i] == '+') {
+            if (++i == end) {
+                throw new NumberFormatException("Not a number: " + new String(buffer, start, end - start, StandardCharsets.UTF_8));
+            }
+        }
+
+        long limitValue = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limitValue / 10;
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9 || value < multiplyMin) {
+                throw new NumberFormatException("Not a number: " + new String(buffer, start, end - start, StandardCharsets.UTF_8));
+            }
+            value *= 10;
+            if (value < limitValue + digit) {
+                throw new NumberFormatException("Not a number: " + new String(buffer, start, end - start, StandardCharsets.UTF_8));
+            }
+            value -= digit;
+        }
+        return negative ? value : -value;
+    }
+
+    private boolean equalsIgnoreCase(int field, String expected) {
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase((char) buffer[start + i]) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private NumberFormatException invalidNumber(int field) {
+        return new NumberFormatException("Not a number: " + getString(field));
+    }
+}
@@ -1,72 +1,397 @@
 package io.github.dug22.jdataframe.util;
 
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.operations.filter.impl.FilterImpl;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.stream.IntStream;
 
 public class CSVUtils {
 
+    static final int FILTER_BATCH_SIZE = 1 << 16;
+
     /**
-     * Reads the given data of a csv file
+     * Reads the given data of a csv file, inferring the type of every column with the default options.
      *
      * @param filepath the path of the destined csv file.
      * @param dataframeMap the dataframe containing the data
      * @throws IOException if the file does not exist
      */
     public static void readFromCSV(String filepath, Map<String, List<Object>> dataframeMap) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filepath))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                throw new IllegalArgumentException("That header does not exist!");
+        readFromCSV(filepath, dataframeMap, CSVOptions.defaults());
+    }
+
+    /**
+     * Reads the given data of a csv file into typed columns.
+     * The first rows are sampled to infer a type per column (int, long, double, boolean, date or string),
+     * then every cell is parsed exactly once into its column. If a column turns out to hold text after numbers, booleans
+     * or dates were already parsed from it, that column alone is read again as strings, so every cell keeps the text it
+     * has in the file ("007" and "1.50" are not read back as "7" and "1.5"). Forcing such a column to STRING in the
+     * options avoids the second read. Files larger than the parallel threshold of the options are memory-mapped and
+     * parsed in chunks starting at record boundaries on several threads.
+     *
+     * @param filepath the path of the destined csv file.
+     * @param dataframeMap the dataframe containing the data
+     * @param options the options controlling type inference, schema overrides and null tokens
+     * @throws IOException if the file does not exist
+     */
+    public static void readFromCSV(String filepath, Map<String, List<Object>> dataframeMap, CSVOptions options) throws IOException {
+        readFromCSV(filepath, dataframeMap, options, null, null);
+    }
+
+    /**
+     * Reads some columns of a csv file, keeping only the rows matching a filter.
+     * Only the kept columns and the columns read by the filter are parsed. The filter is evaluated on batches of rows
+     * while the file is parsed and the rejected rows are discarded right away, so they are never stored. The result is
+     * the same as reading the whole file, filtering it and dropping the other columns: if a filtered column changes
+     * type after some batches were already filtered, or a column is widened to strings after values were parsed from it,
+     * the file is read again and filtered afterwards. An exception
+     * thrown by the filter is rethrown, once the rest of the file showed that no filtered column changes type if one
+     * still could.
+     *
+     * @param filepath the path of the destined csv file.
+     * @param dataframeMap the dataframe containing the data
+     * @param options the options controlling type inference, schema overrides and null tokens
+     * @param columns the columns to keep, or null to keep every column; the kept columns stay in header order
+     * @param filter the predicate selecting the rows to keep, or null to keep every row
+     * @throws IOException if the file does not exist
+     */
+    public static void readFromCSV(String filepath, Map<String, List<Object>> dataframeMap, CSVOptions options, Collection<String> columns, ColumnPredicate filter) throws IOException {
+        try (Metrics.Stage stage = Metrics.start("readCSV", () -> filepath, null)) {
+            Path path = Path.of(filepath);
+            Set<String> parsedColumns = null;
+            if (columns != null) {
+                parsedColumns = new HashSet<>(columns);
+                if (filter != null) {
+                    parsedColumns.addAll(filter.columns());
+                }
+            }
+
+            CSVColumnParser[] parsers = readColumns(path, options, parsedColumns, filter);
+            int passes = 1;
+            boolean filtered = filter != null;
+            CSVOptions textOptions = textOptions(parsers, options);
+            if (filtered && (textOptions != null || !isFilterTypeStable(parsers, filter))) {
+                // a filtered column was widened after batches had been filtered with its narrower type, or the kept rows of
+                // a column widened to strings lost their text
+                parsers = readColumns(path, textOptions == null ? options : textOptions, parsedColumns, null);
+                passes++;
+                filtered = false;
+            } else if (filtered) {
+                for (CSVColumnParser parser : parsers) {
+                    if (parser.filterFailure() != null) {
+                        throw parser.filterFailure();
+                    }
+                }
+            } else if (textOptions != null) {
+                readText(path, textOptions, parsers);
+                passes++;
+            }
+
+            Map<String, List<Object>> parsed = new LinkedHashMap<>();
+            for (CSVColumnParser parser : parsers) {
+                parsed.put(parser.name(), parser.column());
+            }
+            if (filter != null && !filtered) {
+                parsed = new FilterImpl().filter(parsed, filter);
+            }
+            parsed.forEach((column, values) -> {
+                if (columns == null || columns.contains(column)) {
+                    dataframeMap.put(column, values);
+                }
+            });
+            stage.end(parsed, Metrics.enabled() ? passes * Files.size(path) : -1);
+        }
+    }
+
+    /**
+     * Returns options forcing the columns whose parsed values were turned back into text to STRING.
+     *
+     * @return the options, or null if no column lost the text of its cells
+     */
+    private static CSVOptions textOptions(CSVColumnParser[] parsers, CSVOptions options) {
+        CSVOptions textOptions = null;
+        for (CSVColumnParser parser : parsers) {
+            if (parser.isLossy()) {
+                textOptions = textOptions == null ? options.copy() : textOptions;
+                textOptions.columnType(parser.name(), ColumnType.STRING);
+            }
+        }
+        return textOptions;
+    }
+
+    /**
+     * Reads the lossy columns again as strings and swaps them into the given parsers. Only those columns are parsed.
+     */
+    private static void readText(Path path, CSVOptions textOptions, CSVColumnParser[] parsers) throws IOException {
+        Set<String> lossy = new HashSet<>();
+        for (CSVColumnParser parser : parsers) {
+            if (parser.isLossy()) {
+                lossy.add(parser.name());
+            }
+        }
+        CSVColumnParser[] text = readColumns(path, textOptions, lossy, null);
+        int next = 0;
+        for (int i = 0; i < parsers.length; i++) {
+            if (parsers[i].isLossy()) {
+                parsers[i] = text[next++];
+            }
+        }
+    }
+
+    /**
+     * Reads the header of a csv file without reading its rows.
+     *
+     * @param filepath the path of the csv file
+     * @param options the options providing the delimiter and quote character
+     * @return the column names, in header order
+     * @throws IOException if the file does not exist
+     */
+    public static List<String> readHeader(String filepath, CSVOptions options) throws IOException {
+        try (CSVTokenizer tokenizer = new CSVTokenizer(Files.newInputStream(Path.of(filepath)), options.getDelimiter(), options.getQuote())) {
+            return List.of(readHeader(tokenizer));
+        }
+    }
+
+    /**
+     * Parses the selected columns of the file, in parallel chunks when the file is large enough and its quotes let the
+     * chunks start at record boundaries.
+     *
+     * @param path the path of the csv file
+     * @param options the CSV options
+     * @param columns the columns to parse, or null to parse every column
+     * @param filter the predicate selecting the rows to keep, or null to keep every row
+     * @return the parsers holding the parsed columns, in header order
+     * @throws IOException if the file cannot be read
+     */
+    private static CSVColumnParser[] readColumns(Path path, CSVOptions options, Set<String> columns, ColumnPredicate filter) throws IOException {
+        if (options.getParallelism() > 1 && Files.size(path) >= options.getParallelThreshold()) {
+            CSVColumnParser[] parsers = ParallelCSVReader.read(path, options, columns, filter);
+            if (parsers != null) {
+                return parsers;
+            }
+        }
+        try (CSVTokenizer tokenizer = new CSVTokenizer(Files.newInputStream(path), options.getDelimiter(), options.getQuote())) {
+            String[] header = readHeader(tokenizer);
+            List<String[]> sample = readSample(tokenizer, header.length, options);
+            CSVColumnParser[] parsers = createParsers(header, selectFields(header, columns), sample, options);
+            return readRows(tokenizer, header.length, parsers, sample, filter);
+        }
+    }
+
+    /**
+     * Parses the given rows and then every remaining record of the tokenizer. With a filter, rows are parsed in batches
+     * whose rejected rows are discarded before the kept ones are appended to the result.
+     *
+     * @param tokenizer the tokenizer positioned before the remaining records
+     * @param columnSize the number of columns of the header
+     * @param parsers the parsers of the selected columns
+     * @param rows the rows read before the remaining records, like the type inference sample
+     * @param filter the predicate selecting the rows to keep, or null to keep every row
+     * @return the parsers holding the parsed columns
+     * @throws IOException if the input cannot be read
+     */
+    static CSVColumnParser[] readRows(CSVTokenizer tokenizer, int columnSize, CSVColumnParser[] parsers, List<String[]> rows, ColumnPredicate filter) throws IOException {
+        if (filter == null) {
+            for (String[] row : rows) {
+                appendRow(parsers, row);
+            }
+            while (nextRow(tokenizer, columnSize)) {
+                appendRow(parsers, tokenizer);
             }
+            return parsers;
+        }
 
-            List<String> columns = Arrays.asList(headerLine.split(","));
-            for (String column : columns) {
-                dataframeMap.put(column, new ArrayList<>());
+        CSVColumnParser[] kept = new CSVColumnParser[parsers.length];
+        for (int i = 0; i < parsers.length; i++) {
+            kept[i] = parsers[i].emptyCopy(1);
+        }
+        RuntimeException failure = null;
+        int batchRows = 0;
+        for (String[] row : rows) {
+            appendRow(parsers, row);
+            if (++batchRows == FILTER_BATCH_SIZE) {
+                failure = filterBatch(parsers, batchRows, filter, kept, failure);
+                batchRows = 0;
+            }
+        }
+        while (nextRow(tokenizer, columnSize)) {
+            appendRow(parsers, tokenizer);
+            if (++batchRows == FILTER_BATCH_SIZE) {
+                failure = filterBatch(parsers, batchRows, filter, kept, failure);
+                batchRows = 0;
+            }
+        }
+        if (batchRows > 0) {
+            failure = filterBatch(parsers, batchRows, filter, kept, failure);
+        }
+        if (failure != null) {
+            for (int i = 0; i < parsers.length; i++) {
+                kept[i].appendAll(parsers[i]);
+                kept[i].recordFilterFailure(failure);
             }
+        }
+        return kept;
+    }
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                List<Object> values = Arrays.asList(line.split(","));
-                int valuesLength = values.size();
-                int columnSize = columns.size();
-                if (valuesLength != columnSize) {
-                    throw new IllegalArgumentException("Row length does not match column size!");
+    /**
+     * Evaluates a filter on a batch of parsed rows, appends the selected rows to the kept columns and empties the batch.
+     * If the filter fails while one of its columns may still be widened by a later row, the failure is returned instead
+     * of thrown and the remaining batches are only parsed to find out whether the column is widened.
+     *
+     * @return the failure of the filter on this or an earlier batch, or null if it never failed
+     */
+    private static RuntimeException filterBatch(CSVColumnParser[] batch, int rowCount, ColumnPredicate filter, CSVColumnParser[] kept, RuntimeException failure) {
+        if (failure == null) {
+            Map<String, List<Object>> batchMap = new LinkedHashMap<>();
+            for (CSVColumnParser parser : batch) {
+                batchMap.put(parser.name(), parser.column());
+                parser.recordFilterType();
+            }
+            try {
+                long[] selection = filter.evaluate(batchMap, rowCount);
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i].column().retainRows(selection);
+                    kept[i].appendAll(batch[i]);
+                }
+            } catch (RuntimeException e) {
+                if (!canWidenFilterColumns(batch, filter)) {
+                    throw e;
                 }
+                failure = e;
+            }
+        }
+        for (CSVColumnParser parser : batch) {
+            parser.reset();
+        }
+        return failure;
+    }
+
+    private static boolean canWidenFilterColumns(CSVColumnParser[] parsers, ColumnPredicate filter) {
+        Set<String> filterColumns = filter.columns();
+        for (CSVColumnParser parser : parsers) {
+            if (filterColumns.contains(parser.name()) && parser.canWiden()) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-                IntStream.range(0, columnSize).forEach(i -> dataframeMap.get(columns.get(i)).add(values.get(i)));
+    private static boolean isFilterTypeStable(CSVColumnParser[] parsers, ColumnPredicate filter) {
+        Set<String> filterColumns = filter.columns();
+        for (CSVColumnParser parser : parsers) {
+            if (filterColumns.contains(parser.name()) && !parser.isFilterTypeStable()) {
+                return false;
             }
         }
+        return true;
     }
 
     /**
-     * Exports a given dataframe to a CSV file.
-     * @param filePath the path of the destined csv file.
+     * Returns the indexes of the selected columns within the header.
+     *
+     * @param header the column names of the file
+     * @param columns the columns to select, or null to select every column
+     * @return the selected field indexes, in header order
+     */
+    static int[] selectFields(String[] header, Set<String> columns) {
+        return IntStream.range(0, header.length).filter(i -> columns == null || columns.contains(header[i])).toArray();
+    }
+
+    static String[] readHeader(CSVTokenizer tokenizer) throws IOException {
+        if (!tokenizer.nextRecord()) {
+            throw new IllegalArgumentException("That header does not exist!");
+        }
+        return tokenizer.getStrings();
+    }
+
+    static List<String[]> readSample(CSVTokenizer tokenizer, int columnSize, CSVOptions options) throws IOException {
+        List<String[]> sample = new ArrayList<>();
+        while (sample.size() < options.getSampleSize() && nextRow(tokenizer, columnSize)) {
+            sample.add(tokenizer.getStrings());
+        }
+        return sample;
+    }
+
+    static CSVColumnParser[] createParsers(String[] columns, List<String[]> sample, CSVOptions options) {
+        return createParsers(columns, selectFields(columns, null), sample, options);
+    }
+
+    static CSVColumnParser[] createParsers(String[] columns, int[] fields, List<String[]> sample, CSVOptions options) {
+        CSVColumnParser[] parsers = new CSVColumnParser[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            parsers[i] = CSVColumnParser.create(columns[fields[i]], fields[i], sample, options);
+        }
+        return parsers;
+    }
+
+    /**
+     * Moves the tokenizer to the next data record, skipping blank lines.
+     *
+     * @param tokenizer the tokenizer
+     * @param columnSize the number of columns of the header
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    static boolean nextRow(CSVTokenizer tokenizer, int columnSize) throws IOException {
+        while (tokenizer.nextRecord()) {
+            if (tokenizer.fieldCount() == columnSize) {
+                return true;
+            }
+            if (tokenizer.fieldCount() != 1 || tokenizer.fieldLength(0) != 0) {
+                throw new IllegalArgumentException("Row length does not match column size!");
+            }
+        }
+        return false;
+    }
+
+    static void appendRow(CSVColumnParser[] parsers, String[] values) {
+        for (CSVColumnParser parser : parsers) {
+            parser.append(values[parser.field()]);
+        }
+    }
+
+    static void appendRow(CSVColumnParser[] parsers, CSVTokenizer tokenizer) {
+        for (CSVColumnParser parser : parsers) {
+            parser.append(tokenizer, parser.field());
+        }
+    }
+
+    /**
+     * Exports a given dataframe to a CSV file with the default delimiter and quote character.
+     * @param filePath the path of the destined csv file, ending with ".csv" or ".csv.gz" for gzip output.
      * @param dataFrameMap the dataframe containing the data
      */
     public static void writeToCSV(String filePath, Map<String, List<Object>> dataFrameMap) {
-        if(!filePath.endsWith(".txt")){
+        writeToCSV(filePath, dataFrameMap, CSVOptions.defaults());
+    }
+
+    /**
+     * Exports a given dataframe to a CSV file. Fields containing the delimiter, the quote character or a line break
+     * are quoted as described by RFC 4180, null cells are written as empty fields and paths ending with ".gz"
+     * are compressed with gzip.
+     * @param filePath the path of the destined csv file, ending with ".csv" or ".csv.gz" for gzip output.
+     * @param dataFrameMap the dataframe containing the data
+     * @param options the options providing the delimiter and quote character
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void writeToCSV(String filePath, Map<String, List<Object>> dataFrameMap, CSVOptions options) {
+        if (!filePath.endsWith(".csv") && !filePath.endsWith(".csv.gz")) {
             throw new RuntimeException("You need to save your file with a .csv extension.");
         }
-        try (FileWriter fileWriter = new FileWriter(filePath)) {
-            String headers = String.join(",", dataFrameMap.keySet());
-            fileWriter.append(headers).append("\n");
-            for (int i = 0; i < dataFrameMap.values().iterator().next().size(); i++) {
-                for (String key : dataFrameMap.keySet()) {
-                    fileWriter.append(String.valueOf(dataFrameMap.get(key).get(i))).append(",");
-                }
-
-                fileWriter.append("\n");
+        try (Metrics.Stage stage = Metrics.start("writeCSV", () -> filePath, dataFrameMap)) {
+            try (CSVWriter writer = new CSVWriter(Path.of(filePath), options)) {
+                writer.write(dataFrameMap);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+            stage.end(dataFrameMap);
         }
     }
 }
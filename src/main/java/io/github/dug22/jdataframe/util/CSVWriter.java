@@ -0,0 +1,254 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes dataframes as RFC 4180 CSV through a large character buffer.
+ * Columns are walked directly and primitive values are formatted into the buffer without boxing;
+ * text fields are quoted only when they contain the delimiter, the quote character or a line break.
+ * Null cells are written as empty fields.
+ */
+class CSVWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+    private final char delimiter;
+    private final char quote;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder scratch = new StringBuilder(32);
+    private int position;
+
+    /**
+     * Opens a writer on the given file, compressing the output with gzip when the path ends with ".gz".
+     * The fastest deflate level is used so compression keeps up with the disk.
+     *
+     * @param path    the path of the csv file
+     * @param options the CSV options providing the delimiter and quote character
+     * @throws IOException if the file cannot be created
+     */
+    CSVWriter(Path path, CSVOptions options) throws IOException {
+        this(openStream(path), options);
+    }
+
+    /**
+     * Creates a writer on the given stream, which is closed with the writer.
+     *
+     * @param outputStream the stream receiving the UTF-8 encoded CSV
+     * @param options      the CSV options providing the delimiter and quote character
+     */
+    CSVWriter(OutputStream outputStream, CSVOptions options) {
+        this.writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.delimiter = options.getDelimiter();
+        this.quote = options.getQuote();
+        if (Character.isLetterOrDigit(delimiter) || delimiter == '.' || delimiter == '-' || delimiter == '+' || delimiter == quote) {
+            throw new IllegalArgumentException("The delimiter '" + delimiter + "' cannot separate CSV values!");
+        }
+    }
+
+    private static OutputStream openStream(Path path) throws IOException {
+        OutputStream outputStream = Files.newOutputStream(path);
+        if (path.getFileName().toString().endsWith(".gz")) {
+            return new GZIPOutputStream(outputStream, STREAM_BUFFER_SIZE) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    /**
+     * Writes the header and every row of the given dataframe.
+     *
+     * @param dataFrameMap the dataframe containing the data
+     * @throws IOException if the file cannot be written
+     */
+    void write(Map<String, List<Object>> dataFrameMap) throws IOException {
+        Column[] columns = dataFrameMap.values().stream().map(Columns::asColumn).toArray(Column[]::new);
+        boolean first = true;
+        for (String name : dataFrameMap.keySet()) {
+            if (!first) {
+                append(delimiter);
+            }
+            writeText(name);
+            first = false;
+        }
+        append('\n');
+
+        int rowCount = columns.length == 0 ? 0 : columns[0].size();
+        for (int row = 0; row < rowCount; row++) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    append(delimiter);
+                }
+                writeCell(columns[i], row);
+            }
+            append('\n');
+        }
+    }
+
+    private void writeCell(Column column, int row) throws IOException {
+        if (column.isNull(row)) {
+            return;
+        }
+        switch (column) {
+            case IntColumn intColumn -> writeLong(intColumn.getInt(row));
+            case LongColumn longColumn -> writeLong(longColumn.getLong(row));
+            case DoubleColumn doubleColumn -> writeDouble(doubleColumn.getDouble(row));
+            case BooleanColumn booleanColumn -> writeRaw(booleanColumn.getBoolean(row) ? "true" : "false");
+            case DateColumn dateColumn -> writeDate(dateColumn.getEpochDay(row));
+            case StringColumn stringColumn -> writeText(stringColumn.getString(row));
+            case DictionaryColumn dictionaryColumn -> writeText(dictionaryColumn.getString(row));
+            default -> writeText(String.valueOf(column.get(row)));
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value));
+            return;
+        }
+        ensureSpace(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int end = position + digitCount(value);
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void writeDouble(double value) throws IOException {
+        scratch.setLength(0);
+        scratch.append(value);
+        ensureSpace(scratch.length());
+        scratch.getChars(0, scratch.length(), buffer, position);
+        position += scratch.length();
+    }
+
+    /**
+     * Writes an epoch day as an ISO date (yyyy-MM-dd) using the civil-from-days conversion,
+     * falling back to {@link LocalDate} outside the years 0 to 9999.
+     */
+    private void writeDate(int epochDay) throws IOException {
+        long shifted = epochDay + 719468L;
+        long era = Math.floorDiv(shifted, 146097);
+        long dayOfEra = shifted - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            writeRaw(LocalDate.ofEpochDay(epochDay).toString());
+            return;
+        }
+
+        ensureSpace(10);
+        writeDigits((int) year, 4);
+        buffer[position++] = '-';
+        writeDigits(month, 2);
+        buffer[position++] = '-';
+        writeDigits(day, 2);
+    }
+
+    private void writeDigits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    /**
+     * Writes a value as is, without any quoting.
+     */
+    private void writeRaw(String value) throws IOException {
+        if (value.length() > buffer.length) {
+            flushBuffer();
+            writer.write(value);
+            return;
+        }
+        ensureSpace(value.length());
+        value.getChars(0, value.length(), buffer, position);
+        position += value.length();
+    }
+
+    /**
+     * Writes a text field, enclosing it in quotes and doubling embedded quotes when needed.
+     * Empty strings are quoted so they stay distinguishable from null cells.
+     */
+    private void writeText(String value) throws IOException {
+        boolean quoted = value.isEmpty();
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == delimiter || c == quote || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writeRaw(value);
+            return;
+        }
+
+        append(quote);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == quote) {
+                append(quote);
+            }
+            append(c);
+        }
+        append(quote);
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void ensureSpace(int length) throws IOException {
+        if (position + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        writer.write(buffer, 0, position);
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            writer.close();
+        }
+    }
+}
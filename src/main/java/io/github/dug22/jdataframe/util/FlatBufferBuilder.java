@@ -0,0 +1,177 @@
+package io.github.dug22.jdataframe.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A minimal FlatBuffers builder, covering what the metadata of Arrow IPC messages needs: tables of scalars,
+ * strings, vectors of tables and vectors of structs.
+ * <p>
+ * Like the reference builders it fills its buffer from the end towards the start, so every object is written before
+ * the objects referring to it and every offset points forward. Objects are identified by their distance from the end
+ * of the buffer, which does not change when the buffer grows.
+ */
+final class FlatBufferBuilder {
+
+    private ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+    private int space = buffer.capacity();
+    private int minAlign = 1;
+    private int[] fields;
+    private int tableStart;
+
+    /**
+     * Returns the distance of the last written byte from the end of the buffer, which identifies the last written object.
+     */
+    int offset() {
+        return buffer.capacity() - space;
+    }
+
+    int createString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        prep(Integer.BYTES, bytes.length + 1);
+        space -= bytes.length + 1;
+        buffer.put(space, bytes);
+        buffer.put(space + bytes.length, (byte) 0);
+        putInt(bytes.length);
+        return offset();
+    }
+
+    /**
+     * Writes a vector of references to the given objects.
+     */
+    int createVector(int[] objects) {
+        prep(Integer.BYTES, Integer.BYTES * objects.length);
+        for (int i = objects.length - 1; i >= 0; i--) {
+            putOffset(objects[i]);
+        }
+        putInt(objects.length);
+        return offset();
+    }
+
+    /**
+     * Starts a vector of structs, which are then written last to first, each field of a struct in reverse order.
+     */
+    void startStructVector(int structSize, int count, int alignment) {
+        prep(Integer.BYTES, structSize * count);
+        prep(alignment, structSize * count);
+    }
+
+    int endStructVector(int count) {
+        putInt(count);
+        return offset();
+    }
+
+    void startTable(int fieldCount) {
+        fields = new int[fieldCount];
+        tableStart = offset();
+    }
+
+    void addByte(int field, int value) {
+        prep(Byte.BYTES, 0);
+        buffer.put(--space, (byte) value);
+        fields[field] = offset();
+    }
+
+    void addBoolean(int field, boolean value) {
+        addByte(field, value ? 1 : 0);
+    }
+
+    void addShort(int field, int value) {
+        prep(Short.BYTES, 0);
+        putShort((short) value);
+        fields[field] = offset();
+    }
+
+    void addInt(int field, int value) {
+        prep(Integer.BYTES, 0);
+        putInt(value);
+        fields[field] = offset();
+    }
+
+    void addLong(int field, long value) {
+        prep(Long.BYTES, 0);
+        putLong(value);
+        fields[field] = offset();
+    }
+
+    /**
+     * Adds a reference to an object written earlier.
+     */
+    void addObject(int field, int object) {
+        putOffset(object);
+        fields[field] = offset();
+    }
+
+    /**
+     * Ends the current table, writing its vtable right before it.
+     *
+     * @return the table
+     */
+    int endTable() {
+        prep(Integer.BYTES, 0);
+        putInt(0);
+        int table = offset();
+        prep(Short.BYTES, (fields.length + 2) * Short.BYTES);
+        for (int field = fields.length - 1; field >= 0; field--) {
+            putShort((short) (fields[field] == 0 ? 0 : table - fields[field]));
+        }
+        putShort((short) (table - tableStart));
+        putShort((short) ((fields.length + 2) * Short.BYTES));
+        buffer.putInt(buffer.capacity() - table, offset() - table);
+        fields = null;
+        return table;
+    }
+
+    /**
+     * Writes the reference to the root table and returns the finished buffer.
+     */
+    byte[] finish(int root) {
+        prep(minAlign, Integer.BYTES);
+        putOffset(root);
+        return Arrays.copyOfRange(buffer.array(), space, buffer.capacity());
+    }
+
+    void putInt(int value) {
+        space -= Integer.BYTES;
+        buffer.putInt(space, value);
+    }
+
+    void putLong(long value) {
+        space -= Long.BYTES;
+        buffer.putLong(space, value);
+    }
+
+    void putPadding(int bytes) {
+        space -= bytes;
+    }
+
+    private void putShort(short value) {
+        space -= Short.BYTES;
+        buffer.putShort(space, value);
+    }
+
+    private void putOffset(int object) {
+        prep(Integer.BYTES, 0);
+        putInt(offset() - object + Integer.BYTES);
+    }
+
+    /**
+     * Pads the buffer so that it is aligned to 'size' bytes once 'additionalBytes' more bytes are written,
+     * growing it if needed.
+     */
+    private void prep(int size, int additionalBytes) {
+        minAlign = Math.max(minAlign, size);
+        int padding = -(offset() + additionalBytes) & (size - 1);
+        int needed = padding + size + additionalBytes;
+        while (space < needed) {
+            int capacity = buffer.capacity();
+            ByteBuffer grown = ByteBuffer.allocate(capacity * 2).order(ByteOrder.LITTLE_ENDIAN);
+            grown.put(capacity, buffer.array(), 0, capacity);
+            space += capacity;
+            buffer = grown;
+        }
+        space -= padding;
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.dug22.jdataframe.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A table of a FlatBuffers buffer, read in place. Fields are looked up by their index in the schema through the vtable
+ * of the table; absent fields read as the given default.
+ */
+final class FlatBufferTable {
+
+    private final ByteBuffer buffer;
+    private final int position;
+    private final int vtable;
+    private final int vtableLength;
+
+    private FlatBufferTable(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+        this.vtable = position - buffer.getInt(position);
+        this.vtableLength = Short.toUnsignedInt(buffer.getShort(vtable));
+    }
+
+    /**
+     * Returns the root table of a buffer.
+     *
+     * @param buffer a little-endian buffer whose index 0 is the start of the FlatBuffers data
+     * @return the root table
+     */
+    static FlatBufferTable root(ByteBuffer buffer) {
+        return new FlatBufferTable(buffer, buffer.getInt(0));
+    }
+
+    boolean has(int field) {
+        return fieldOffset(field) != 0;
+    }
+
+    int getByte(int field, int defaultValue) {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : Byte.toUnsignedInt(buffer.get(position + offset));
+    }
+
+    boolean getBoolean(int field, boolean defaultValue) {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.get(position + offset) != 0;
+    }
+
+    int getShort(int field, int defaultValue) {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.getShort(position + offset);
+    }
+
+    int getInt(int field, int defaultValue) {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.getInt(position + offset);
+    }
+
+    long getLong(int field, long defaultValue) {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.getLong(position + offset);
+    }
+
+    /**
+     * Returns a table field, or null if the field is absent.
+     */
+    FlatBufferTable getTable(int field) {
+        int offset = fieldOffset(field);
+        return offset == 0 ? null : new FlatBufferTable(buffer, indirect(position + offset));
+    }
+
+    String getString(int field) {
+        int offset = fieldOffset(field);
+        if (offset == 0) {
+            return null;
+        }
+        int string = indirect(position + offset);
+        byte[] bytes = new byte[buffer.getInt(string)];
+        buffer.get(string + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the length of a vector field, 0 if the field is absent.
+     */
+    int getVectorLength(int field) {
+        int offset = fieldOffset(field);
+        return offset == 0 ? 0 : buffer.getInt(indirect(position + offset));
+    }
+
+    /**
+     * Returns a table of a vector of tables.
+     */
+    FlatBufferTable getTable(int field, int index) {
+        int element = vectorStart(field) + index * Integer.BYTES;
+        return new FlatBufferTable(buffer, indirect(element));
+    }
+
+    /**
+     * Reads a long of a struct of a vector of structs.
+     *
+     * @param field      the vector field
+     * @param index      the index of the struct
+     * @param structSize the size of a struct in bytes
+     * @param offset     the offset of the long in the struct
+     * @return the long value
+     */
+    long getStructLong(int field, int index, int structSize, int offset) {
+        return buffer.getLong(vectorStart(field) + index * structSize + offset);
+    }
+
+    private int vectorStart(int field) {
+        return indirect(position + fieldOffset(field)) + Integer.BYTES;
+    }
+
+    private int indirect(int at) {
+        return at + buffer.getInt(at);
+    }
+
+    private int fieldOffset(int field) {
+        int entry = Short.BYTES * (field + 2);
+        return entry < vtableLength ? Short.toUnsignedInt(buffer.getShort(vtable + entry)) : 0;
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.dug22.jdataframe.util;
+
+import java.util.Arrays;
+
+public class IntArrayList {
+
+    private int[] values;
+    private int size;
+
+    public IntArrayList() {
+        this(16);
+    }
+
+    public IntArrayList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Appends a value to the list.
+     *
+     * @param value the value to append
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given position.
+     *
+     * @param index the position
+     * @return the value
+     */
+    public int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the number of values in the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every value from the list while keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copies the values into a new array of exactly {@link #size()} entries.
+     *
+     * @return the values as an array
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
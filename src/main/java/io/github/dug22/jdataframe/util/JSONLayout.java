@@ -0,0 +1,19 @@
+package io.github.dug22.jdataframe.util;
+
+public enum JSONLayout {
+
+    /**
+     * An array holding one object per row: [{"Name": "Ben", "Age": 28}, ...].
+     */
+    RECORDS,
+
+    /**
+     * One object holding an array per column: {"Name": ["Ben", ...], "Age": [28, ...]}.
+     */
+    COLUMNS,
+
+    /**
+     * Newline-delimited JSON: one object per row, each on its own line.
+     */
+    NDJSON
+}
@@ -2,8 +2,18 @@ package io.github.dug22.jdataframe.util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import java.io.FileWriter;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import io.github.dug22.jdataframe.column.*;
+
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -11,23 +21,113 @@ import java.util.Map;
 public class JSONUtils {
 
     private static final Gson gson = new GsonBuilder().enableComplexMapKeySerialization().create();
+    private static final int BUFFER_SIZE = 1 << 16;
 
 
     /**
-     * Exports a given dataframe to a JSON file.
-     * @param filePath the path of the destined csv file.
+     * Exports a given dataframe to a JSON file as an array of row objects.
+     * @param filePath the path of the destined json file.
      * @param dataFrameMap the dataframe containing the data
+     * @throws UncheckedIOException if the file cannot be written
      */
     public static void writeToJSONFile(String filePath, Map<String, List<Object>> dataFrameMap){
-        if(!filePath.endsWith(".json")){
+        writeToJSONFile(filePath, dataFrameMap, JSONLayout.RECORDS);
+    }
+
+    /**
+     * Exports a given dataframe to a JSON file in the given layout. The columns are streamed row by row
+     * straight into a buffered file writer, so no intermediate row maps or JSON string are built.
+     * Null cells and non-finite numbers are written as null and dates as ISO strings.
+     * @param filePath the path of the destined json file, ending with ".json" (or ".ndjson" and ".jsonl" for NDJSON).
+     * @param dataFrameMap the dataframe containing the data
+     * @param layout the layout of the JSON document
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void writeToJSONFile(String filePath, Map<String, List<Object>> dataFrameMap, JSONLayout layout){
+        boolean ndjsonExtension = filePath.endsWith(".ndjson") || filePath.endsWith(".jsonl");
+        if(!filePath.endsWith(".json") && !(layout == JSONLayout.NDJSON && ndjsonExtension)){
             throw new RuntimeException("You need to save your file with a .json extension.");
         }
-        List<Map<String, Object>> restructuredData = RestructureUtils.restructure(dataFrameMap);
-        String jsonData = gson.toJson(restructuredData);
-        try (FileWriter fileWriter = new FileWriter(filePath)){
-            fileWriter.write(jsonData);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Path.of(filePath)), StandardCharsets.UTF_8), BUFFER_SIZE)){
+            writeJSON(writer, dataFrameMap, layout);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams a given dataframe as JSON to a writer, which is flushed but not closed.
+     * @param writer the writer receiving the JSON document
+     * @param dataFrameMap the dataframe containing the data
+     * @param layout the layout of the JSON document
+     * @throws IOException if the writer fails
+     */
+    public static void writeJSON(Writer writer, Map<String, List<Object>> dataFrameMap, JSONLayout layout) throws IOException {
+        String[] names = dataFrameMap.keySet().toArray(String[]::new);
+        Column[] columns = dataFrameMap.values().stream().map(Columns::asColumn).toArray(Column[]::new);
+        int rowCount = columns.length == 0 ? 0 : columns[0].size();
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setSerializeNulls(true);
+        switch (layout) {
+            case RECORDS -> {
+                jsonWriter.beginArray();
+                for (int row = 0; row < rowCount; row++) {
+                    writeRecord(jsonWriter, names, columns, row);
+                }
+                jsonWriter.endArray();
+            }
+            case COLUMNS -> {
+                jsonWriter.beginObject();
+                for (int i = 0; i < columns.length; i++) {
+                    jsonWriter.name(names[i]).beginArray();
+                    for (int row = 0; row < rowCount; row++) {
+                        writeValue(jsonWriter, columns[i], row);
+                    }
+                    jsonWriter.endArray();
+                }
+                jsonWriter.endObject();
+            }
+            case NDJSON -> {
+                jsonWriter.setStrictness(Strictness.LENIENT);
+                for (int row = 0; row < rowCount; row++) {
+                    writeRecord(jsonWriter, names, columns, row);
+                    writer.write('\n');
+                }
+            }
+        }
+        jsonWriter.flush();
+    }
+
+    private static void writeRecord(JsonWriter jsonWriter, String[] names, Column[] columns, int row) throws IOException {
+        jsonWriter.beginObject();
+        for (int i = 0; i < columns.length; i++) {
+            jsonWriter.name(names[i]);
+            writeValue(jsonWriter, columns[i], row);
+        }
+        jsonWriter.endObject();
+    }
+
+    private static void writeValue(JsonWriter jsonWriter, Column column, int row) throws IOException {
+        if (column.isNull(row)) {
+            jsonWriter.nullValue();
+            return;
+        }
+        switch (column) {
+            case IntColumn intColumn -> jsonWriter.value(intColumn.getInt(row));
+            case LongColumn longColumn -> jsonWriter.value(longColumn.getLong(row));
+            case DoubleColumn doubleColumn -> {
+                double value = doubleColumn.getDouble(row);
+                if (Double.isFinite(value)) {
+                    jsonWriter.value(value);
+                } else {
+                    jsonWriter.nullValue();
+                }
+            }
+            case BooleanColumn booleanColumn -> jsonWriter.value(booleanColumn.getBoolean(row));
+            case DateColumn dateColumn -> jsonWriter.value(dateColumn.getDate(row).toString());
+            case StringColumn stringColumn -> jsonWriter.value(stringColumn.getString(row));
+            case DictionaryColumn dictionaryColumn -> jsonWriter.value(dictionaryColumn.getString(row));
+            default -> gson.toJson(column.get(row), Object.class, jsonWriter);
         }
     }
 }
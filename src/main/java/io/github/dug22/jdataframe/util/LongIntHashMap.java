@@ -0,0 +1,105 @@
+package io.github.dug22.jdataframe.util;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive long keys to non-negative int values, using linear probing
+ * over power-of-two tables. It is used to assign dense ids to keys without boxing them.
+ */
+public class LongIntHashMap {
+
+    private static final int EMPTY = -1;
+    private static final double LOAD_FACTOR = 0.5;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Creates a map able to hold the given number of keys without resizing.
+     *
+     * @param expectedSize the expected number of keys
+     */
+    public LongIntHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max((int) Math.min(expectedSize / LOAD_FACTOR, 1 << 30), 8) - 1) << 1);
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value, or -1 if the key is absent
+     */
+    public int get(long key) {
+        int slot = slot(key);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Associates a value with a key unless the key is already present.
+     *
+     * @param key   the key
+     * @param value the non-negative value to store
+     * @return the value already associated with the key, or -1 if the given value was stored
+     */
+    public int putIfAbsent(long key, int value) {
+        int slot = slot(key);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash();
+        }
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads large CSV files by memory-mapping them and parsing byte ranges that start at record boundaries on fork-join
+ * workers with one {@link CSVTokenizer} per range.
+ * Every range is parsed into its own column buffers, which are concatenated in file order at the end.
+ * <p>
+ * A line break only ends a record outside of quoted fields. The boundaries are therefore found with the parity of the
+ * quote characters before them, which requires the quotes to follow RFC 4180: a quote opening a field must start it
+ * and a quote closing a field must end it. Files whose quotes do not are read on one thread.
+ */
+class ParallelCSVReader {
+
+    private static final long MAX_CHUNK_SIZE = 1L << 28;
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    /**
+     * Reads the given csv file into typed columns using several threads.
+     *
+     * @param path the path of the csv file
+     * @param options the CSV options
+     * @param selectedColumns the columns to parse, or null to parse every column
+     * @param filter the predicate selecting the rows to keep, or null to keep every row
+     * @return the parsers holding the parsed columns, in header order, or null if the record boundaries of the file
+     * cannot be found in parallel
+     * @throws IOException if the file cannot be read
+     */
+    static CSVColumnParser[] read(Path path, CSVOptions options, Set<String> selectedColumns, ColumnPredicate filter) throws IOException {
+        int parallelism = options.getParallelism();
+        ForkJoinPool pool = parallelism == ForkJoinPool.getCommonPoolParallelism() ? ForkJoinPool.commonPool() : new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            CSVTokenizer headTokenizer = new CSVTokenizer(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(fileSize, MAX_CHUNK_SIZE)), options.getDelimiter(), options.getQuote());
+            String[] columns = CSVUtils.readHeader(headTokenizer);
+            long dataStart = headTokenizer.position();
+            List<String[]> sample = CSVUtils.readSample(headTokenizer, columns.length, options);
+            long sampleBytes = headTokenizer.position() - dataStart;
+
+            List<long[]> ranges = splitRanges(pool, channel, dataStart, fileSize, options);
+            if (ranges == null) {
+                return null;
+            }
+            CSVColumnParser[] prototypes = CSVUtils.createParsers(columns, CSVUtils.selectFields(columns, selectedColumns), sample, options);
+            double bytesPerRow = sample.isEmpty() ? 64 : (double) sampleBytes / sample.size();
+            List<Callable<CSVColumnParser[]>> tasks = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                tasks.add(Metrics.measured(() -> parseChunk(channel, range[0], range[1], columns.length, prototypes, bytesPerRow, options, filter)));
+            }
+            List<CSVColumnParser[]> chunks = invokeAll(pool, tasks);
+
+            CSVColumnParser[] parsers = new CSVColumnParser[prototypes.length];
+            for (int i = 0; i < prototypes.length; i++) {
+                List<CSVColumnParser> columnChunks = new ArrayList<>(chunks.size() + 1);
+                columnChunks.add(prototypes[i]);
+                for (CSVColumnParser[] chunk : chunks) {
+                    columnChunks.add(chunk[i]);
+                }
+                parsers[i] = CSVColumnParser.concat(columnChunks);
+            }
+            return parsers;
+        } finally {
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Splits the data section of the file into byte ranges starting at record boundaries. The data is cut into
+     * segments of equal size that are scanned in parallel, see {@link #scanSegment}. The quote counts of the segments
+     * before a segment then tell whether it starts within a quoted field, which picks the first record boundary of the
+     * segment found for that state.
+     *
+     * @param pool the pool scanning the segments
+     * @param channel the file channel
+     * @param start the offset of the first data row
+     * @param end the size of the file
+     * @param options the CSV options
+     * @return the ranges as {start, end} pairs in file order, or null if the quotes of the file do not follow RFC 4180
+     */
+    private static List<long[]> splitRanges(ForkJoinPool pool, FileChannel channel, long start, long end, CSVOptions options) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        long length = end - start;
+        if (length <= 0) {
+            return ranges;
+        }
+
+        long chunkCount = Math.max(options.getParallelism() * 4L, (length + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, (length + chunkCount - 1) / chunkCount));
+        List<Callable<Segment>> tasks = new ArrayList<>();
+        for (long segmentStart = start; segmentStart < end; segmentStart += chunkSize) {
+            long from = segmentStart;
+            tasks.add(Metrics.measured(() -> scanSegment(channel, from, Math.min(from + chunkSize, end), end, (byte) options.getDelimiter(), (byte) options.getQuote())));
+        }
+        List<Segment> segments = invokeAll(pool, tasks);
+
+        long rangeStart = start;
+        long quotes = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            int state = (int) (quotes & 1);
+            if (!segment.valid()[state]) {
+                return null;
+            }
+            long boundary = segment.recordStarts()[state];
+            if (i > 0 && boundary > rangeStart && boundary < end) {
+                ranges.add(new long[]{rangeStart, boundary});
+                rangeStart = boundary;
+            }
+            quotes += segment.quotes();
+        }
+        ranges.add(new long[]{rangeStart, end});
+        return ranges;
+    }
+
+    /**
+     * Scans a segment of the file for its quote characters and line breaks, for both states the segment may start in:
+     * outside (0) or inside (1) of a quoted field. Every quote toggles the state, a doubled quote within a quoted field
+     * toggling it twice. A quote toggling the state to inside must start a field, so it has to follow a delimiter, a
+     * line break or another quote, and a quote toggling it to outside must end a field, so it has to precede one.
+     *
+     * @return the number of quotes, the offset following the first line break outside of quotes for either starting
+     * state (-1 if there is none), and whether every quote of the segment is valid for either starting state
+     */
+    private static Segment scanSegment(FileChannel channel, long start, long end, long fileEnd, byte delimiter, byte quote) throws IOException {
+        long mapStart = start - 1;
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, Math.min(end + 1, fileEnd) - mapStart);
+        int length = (int) (end - start);
+        long quotes = 0;
+        long[] recordStarts = {-1, -1};
+        boolean[] valid = {true, true};
+        for (int i = 1; i <= length; i++) {
+            byte value = buffer.get(i);
+            if (value == '\n') {
+                int parity = (int) (quotes & 1);
+                if (recordStarts[parity] < 0) {
+                    recordStarts[parity] = mapStart + i + 1;
+                }
+            } else if (value == quote) {
+                byte previous = buffer.get(i - 1);
+                byte next = i + 1 < buffer.limit() ? buffer.get(i + 1) : (byte) '\n';
+                int parity = (int) (quotes & 1);
+                valid[parity] &= isFieldEdge(previous, delimiter, quote);
+                valid[parity ^ 1] &= isFieldEdge(next, delimiter, quote);
+                quotes++;
+            }
+        }
+        return new Segment(quotes, recordStarts, valid);
+    }
+
+    private static boolean isFieldEdge(byte value, byte delimiter, byte quote) {
+        return value == delimiter || value == quote || value == '\n' || value == '\r';
+    }
+
+    /**
+     * The result of {@link #scanSegment}, indexed by the state the segment starts in.
+     */
+    private record Segment(long quotes, long[] recordStarts, boolean[] valid) {
+    }
+
+    private static <T> List<T> invokeAll(ForkJoinPool pool, List<Callable<T>> tasks) throws IOException {
+        try {
+            List<ForkJoinTask<T>> submitted = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                submitted.add(pool.submit(task));
+            }
+            List<T> results = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<T> task : submitted) {
+                results.add(task.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the CSV file!", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Parses one byte range of the file. With a filter only one batch of rows is parsed at a time,
+     * so the column buffers are sized for a batch instead of the whole range.
+     */
+    private static CSVColumnParser[] parseChunk(FileChannel channel, long start, long end, int columnSize, CSVColumnParser[] prototypes, double bytesPerRow, CSVOptions options, ColumnPredicate filter) throws IOException {
+        int estimatedRows = (int) Math.min(filter == null ? Integer.MAX_VALUE - 8 : CSVUtils.FILTER_BATCH_SIZE, (end - start) / bytesPerRow + 16);
+        CSVColumnParser[] parsers = new CSVColumnParser[prototypes.length];
+        for (int i = 0; i < prototypes.length; i++) {
+            parsers[i] = prototypes[i].emptyCopy(estimatedRows);
+        }
+
+        CSVTokenizer tokenizer = new CSVTokenizer(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start), options.getDelimiter(), options.getQuote());
+        return CSVUtils.readRows(tokenizer, columnSize, parsers, List.of(), filter);
+    }
+}
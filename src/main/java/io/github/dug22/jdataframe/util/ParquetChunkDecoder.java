@@ -0,0 +1,656 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.NullBitmap;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decodes the pages of one column chunk of a Parquet file. Values of numeric, boolean and date columns are written
+ * straight into the array of the final column, at the row where the chunk starts; text is returned per chunk, as the
+ * dictionary codes of the chunk while every page is dictionary-encoded, otherwise as strings.
+ * <p>
+ * Data pages of version 1 and 2 are supported, with the PLAIN, dictionary, RLE, DELTA_BINARY_PACKED,
+ * DELTA_LENGTH_BYTE_ARRAY, DELTA_BYTE_ARRAY and BYTE_STREAM_SPLIT encodings, uncompressed or compressed with
+ * Snappy or gzip.
+ */
+final class ParquetChunkDecoder {
+
+    private static final int DATA_PAGE = 0;
+    private static final int DICTIONARY_PAGE = 2;
+    private static final int DATA_PAGE_V2 = 3;
+
+    private static final int PLAIN = 0;
+    private static final int PLAIN_DICTIONARY = 2;
+    private static final int RLE = 3;
+    private static final int DELTA_BINARY_PACKED = 5;
+    private static final int DELTA_LENGTH_BYTE_ARRAY = 6;
+    private static final int DELTA_BYTE_ARRAY = 7;
+    private static final int RLE_DICTIONARY = 8;
+    private static final int BYTE_STREAM_SPLIT = 9;
+
+    private static final int UNCOMPRESSED = 0;
+    private static final int SNAPPY = 1;
+    private static final int GZIP = 2;
+    private static final String[] CODECS = {"UNCOMPRESSED", "SNAPPY", "GZIP", "LZO", "BROTLI", "LZ4", "ZSTD", "LZ4_RAW"};
+
+    private final ParquetReader.Field field;
+    private final int codec;
+    private final Object target;
+    private final int offset;
+    private final int rows;
+
+    private int row;
+    private long[] nulls;
+    private int[] codes;
+    private String[] strings;
+
+    private int dictionarySize = -1;
+    private int[] intDictionary;
+    private long[] longDictionary;
+    private double[] doubleDictionary;
+    private String[] stringDictionary;
+
+    private int[] levels = new int[0];
+    private int[] indices = new int[0];
+    private int[] intValues = new int[0];
+    private long[] longValues = new long[0];
+    private double[] doubleValues = new double[0];
+    private boolean[] booleanValues = new boolean[0];
+    private String[] stringValues = new String[0];
+
+    /**
+     * The decoded chunk: the null rows of the chunk, and for text columns either its dictionary codes (-1 for null rows)
+     * with its dictionary, or its strings.
+     */
+    record Result(long[] nulls, int[] codes, String[] dictionary, String[] strings) {
+    }
+
+    /**
+     * Creates a decoder for a chunk.
+     *
+     * @param field  the column of the chunk
+     * @param codec  the compression codec of the pages
+     * @param target the array of the final column, or null for text columns
+     * @param offset the row of the final column where the chunk starts
+     * @param rows   the number of rows of the chunk
+     */
+    ParquetChunkDecoder(ParquetReader.Field field, int codec, Object target, int offset, int rows) {
+        this.field = field;
+        this.codec = codec;
+        this.target = target;
+        this.offset = offset;
+        this.rows = rows;
+    }
+
+    /**
+     * Decodes every page of the chunk.
+     *
+     * @param chunk the bytes of the chunk, from its first page to its end
+     * @return the decoded chunk
+     * @throws IOException if the chunk is invalid or uses an unsupported encoding or codec
+     */
+    Result decode(ByteBuffer chunk) throws IOException {
+        try {
+            while (row < rows && chunk.hasRemaining()) {
+                ThriftStruct header = ThriftStruct.read(chunk);
+                int uncompressedSize = header.getInt(2, 0);
+                int compressedSize = header.getInt(3, 0);
+                if (compressedSize < 0 || compressedSize > chunk.remaining() || uncompressedSize < 0) {
+                    throw invalid();
+                }
+                ByteBuffer page = chunk.slice(chunk.position(), compressedSize).order(ByteOrder.LITTLE_ENDIAN);
+                chunk.position(chunk.position() + compressedSize);
+                switch (header.getInt(1, -1)) {
+                    case DICTIONARY_PAGE -> readDictionary(decompress(page, uncompressedSize), header.getStruct(7));
+                    case DATA_PAGE -> readDataPage(decompress(page, uncompressedSize), header.getStruct(5));
+                    case DATA_PAGE_V2 -> readDataPageV2(page, uncompressedSize, header.getStruct(8));
+                    default -> {
+                    }
+                }
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (row < rows) {
+            throw new IOException("Column '" + field.name() + "' holds fewer values than rows!");
+        }
+        return new Result(nulls, codes, codes == null ? null : Arrays.copyOf(stringDictionary, dictionarySize), strings);
+    }
+
+    private void readDictionary(ByteBuffer page, ThriftStruct header) throws IOException {
+        if (header == null) {
+            throw invalid();
+        }
+        int count = header.getInt(1, 0);
+        int encoding = header.getInt(2, PLAIN);
+        if (count < 0 || (encoding != PLAIN && encoding != PLAIN_DICTIONARY)) {
+            throw unsupported(encoding);
+        }
+        readPlain(page, count);
+        dictionarySize = count;
+        switch (field.physicalType()) {
+            case ParquetReader.INT32 -> intDictionary = Arrays.copyOf(intValues, count);
+            case ParquetReader.INT64 -> longDictionary = Arrays.copyOf(longValues, count);
+            case ParquetReader.FLOAT, ParquetReader.DOUBLE -> doubleDictionary = Arrays.copyOf(doubleValues, count);
+            case ParquetReader.BYTE_ARRAY -> stringDictionary = Arrays.copyOf(stringValues, count);
+            default -> throw unsupported(PLAIN_DICTIONARY);
+        }
+    }
+
+    private void readDataPage(ByteBuffer page, ThriftStruct header) throws IOException {
+        if (header == null) {
+            throw invalid();
+        }
+        int count = header.getInt(1, 0);
+        int nonNull = count;
+        if (field.optional()) {
+            if (header.getInt(3, RLE) != RLE) {
+                throw unsupported(header.getInt(3, RLE));
+            }
+            int length = page.getInt();
+            nonNull = readLevels(page.slice(page.position(), length).order(ByteOrder.LITTLE_ENDIAN), count);
+            page.position(page.position() + length);
+        }
+        readValues(page, header.getInt(2, PLAIN), count, nonNull);
+    }
+
+    /**
+     * Reads a version 2 data page, whose levels precede the values uncompressed, even when the values are compressed.
+     */
+    private void readDataPageV2(ByteBuffer page, int uncompressedSize, ThriftStruct header) throws IOException {
+        if (header == null) {
+            throw invalid();
+        }
+        int count = header.getInt(1, 0);
+        int definitionLength = header.getInt(5, 0);
+        int repetitionLength = header.getInt(6, 0);
+        int levelsLength = definitionLength + repetitionLength;
+        if (definitionLength < 0 || repetitionLength < 0 || levelsLength > page.remaining()) {
+            throw invalid();
+        }
+        int nonNull = count;
+        if (field.optional() && definitionLength > 0) {
+            nonNull = readLevels(page.slice(repetitionLength, definitionLength).order(ByteOrder.LITTLE_ENDIAN), count);
+        }
+        ByteBuffer values = page.slice(levelsLength, page.remaining() - levelsLength).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getBoolean(7, true)) {
+            values = decompress(values, uncompressedSize - levelsLength);
+        }
+        readValues(values, header.getInt(4, PLAIN), count, nonNull);
+    }
+
+    /**
+     * Reads the definition levels of a page, 1 for a value and 0 for a null row.
+     *
+     * @return the number of values of the page
+     */
+    private int readLevels(ByteBuffer buffer, int count) throws IOException {
+        levels = grow(levels, count);
+        readHybrid(buffer, 1, levels, count);
+        int nonNull = 0;
+        for (int i = 0; i < count; i++) {
+            nonNull += levels[i];
+        }
+        return nonNull;
+    }
+
+    /**
+     * Decodes the values of a data page and stores them in the rows of the page. When the page has null rows,
+     * its definition levels have been read first.
+     */
+    private void readValues(ByteBuffer page, int encoding, int count, int nonNull) throws IOException {
+        if (count < 0 || count > rows - row) {
+            throw new IOException("Column '" + field.name() + "' holds more values than rows!");
+        }
+        if (encoding == PLAIN_DICTIONARY || encoding == RLE_DICTIONARY) {
+            readIndices(page, nonNull);
+        } else {
+            if (field.type() == ParquetReader.ValueType.STRING && codes != null) {
+                decodeCodes();
+            }
+            switch (encoding) {
+                case PLAIN -> readPlain(page, nonNull);
+                case RLE -> readBooleans(page, nonNull);
+                case DELTA_BINARY_PACKED -> readDeltas(page, nonNull);
+                case DELTA_LENGTH_BYTE_ARRAY -> readDeltaLengths(page, nonNull);
+                case DELTA_BYTE_ARRAY -> readDeltaStrings(page, nonNull);
+                case BYTE_STREAM_SPLIT -> readByteStreamSplit(page, nonNull);
+                default -> throw unsupported(encoding);
+            }
+            if (field.type() == ParquetReader.ValueType.STRING && strings == null) {
+                strings = new String[rows];
+            }
+        }
+        store(count, nonNull < count, encoding == PLAIN_DICTIONARY || encoding == RLE_DICTIONARY);
+    }
+
+    /**
+     * Stores the decoded values of a page in its rows, recording the null rows of the page.
+     */
+    private void store(int count, boolean hasNulls, boolean dictionary) {
+        int value = 0;
+        for (int i = 0; i < count; i++, row++) {
+            if (hasNulls && levels[i] == 0) {
+                if (nulls == null) {
+                    nulls = new long[NullBitmap.wordCount(rows)];
+                }
+                nulls[row >>> 6] |= 1L << row;
+                if (codes != null) {
+                    codes[row] = -1;
+                }
+                continue;
+            }
+            int at = offset + row;
+            int index = dictionary ? indices[value] : value;
+            value++;
+            switch (field.type()) {
+                case INT, DATE -> ((int[]) target)[at] = dictionary ? intDictionary[index] : intValues[index];
+                case UNSIGNED_INT -> ((long[]) target)[at] = Integer.toUnsignedLong(dictionary ? intDictionary[index] : intValues[index]);
+                case LONG -> ((long[]) target)[at] = dictionary ? longDictionary[index] : longValues[index];
+                case DECIMAL -> ((double[]) target)[at] = field.decimal(field.physicalType() == ParquetReader.INT32
+                        ? (dictionary ? intDictionary[index] : intValues[index])
+                        : (dictionary ? longDictionary[index] : longValues[index]));
+                case FLOAT, DOUBLE -> ((double[]) target)[at] = dictionary ? doubleDictionary[index] : doubleValues[index];
+                case BOOLEAN -> ((boolean[]) target)[at] = booleanValues[index];
+                case STRING -> {
+                    if (codes != null) {
+                        codes[row] = index;
+                    } else {
+                        strings[row] = dictionary ? stringDictionary[index] : stringValues[index];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the dictionary indices of a page: their bit width in one byte, then the indices in the hybrid encoding.
+     */
+    private void readIndices(ByteBuffer page, int count) throws IOException {
+        if (dictionarySize < 0) {
+            throw new IOException("Column '" + field.name() + "' has a dictionary-encoded page without a dictionary!");
+        }
+        indices = grow(indices, count);
+        int bitWidth = count == 0 ? 0 : Byte.toUnsignedInt(page.get());
+        if (bitWidth > 32) {
+            throw invalid();
+        }
+        readHybrid(page, bitWidth, indices, count);
+        for (int i = 0; i < count; i++) {
+            if (indices[i] < 0 || indices[i] >= dictionarySize) {
+                throw new IOException("Column '" + field.name() + "' holds an index outside of its dictionary!");
+            }
+        }
+        if (field.type() == ParquetReader.ValueType.STRING && codes == null && strings == null) {
+            codes = new int[rows];
+        }
+    }
+
+    /**
+     * Switches a text column from dictionary codes to strings, when a page that is not dictionary-encoded follows
+     * dictionary-encoded ones.
+     */
+    private void decodeCodes() {
+        strings = new String[rows];
+        for (int i = 0; i < row; i++) {
+            strings[i] = codes[i] < 0 ? null : stringDictionary[codes[i]];
+        }
+        codes = null;
+    }
+
+    private void readPlain(ByteBuffer page, int count) throws IOException {
+        switch (field.physicalType()) {
+            case ParquetReader.BOOLEAN -> {
+                booleanValues = grow(booleanValues, count);
+                byte[] bits = new byte[(count + 7) >>> 3];
+                page.get(bits);
+                for (int i = 0; i < count; i++) {
+                    booleanValues[i] = (bits[i >>> 3] & (1 << (i & 7))) != 0;
+                }
+            }
+            case ParquetReader.INT32 -> {
+                intValues = grow(intValues, count);
+                page.asIntBuffer().get(intValues, 0, count);
+                page.position(page.position() + count * Integer.BYTES);
+            }
+            case ParquetReader.INT64 -> {
+                longValues = grow(longValues, count);
+                page.asLongBuffer().get(longValues, 0, count);
+                page.position(page.position() + count * Long.BYTES);
+            }
+            case ParquetReader.FLOAT -> {
+                doubleValues = grow(doubleValues, count);
+                for (int i = 0; i < count; i++) {
+                    doubleValues[i] = page.getFloat();
+                }
+            }
+            case ParquetReader.DOUBLE -> {
+                doubleValues = grow(doubleValues, count);
+                page.asDoubleBuffer().get(doubleValues, 0, count);
+                page.position(page.position() + count * Double.BYTES);
+            }
+            case ParquetReader.BYTE_ARRAY -> {
+                stringValues = grow(stringValues, count);
+                byte[] bytes = page.array();
+                for (int i = 0; i < count; i++) {
+                    int length = page.getInt();
+                    if (length < 0 || length > page.remaining()) {
+                        throw invalid();
+                    }
+                    stringValues[i] = new String(bytes, page.arrayOffset() + page.position(), length, StandardCharsets.UTF_8);
+                    page.position(page.position() + length);
+                }
+            }
+            default -> throw unsupported(PLAIN);
+        }
+    }
+
+    /**
+     * Reads booleans in the hybrid encoding, prefixed with their length in bytes.
+     */
+    private void readBooleans(ByteBuffer page, int count) throws IOException {
+        if (field.physicalType() != ParquetReader.BOOLEAN) {
+            throw unsupported(RLE);
+        }
+        int length = page.getInt();
+        indices = grow(indices, count);
+        readHybrid(page.slice(page.position(), length).order(ByteOrder.LITTLE_ENDIAN), 1, indices, count);
+        booleanValues = grow(booleanValues, count);
+        for (int i = 0; i < count; i++) {
+            booleanValues[i] = indices[i] != 0;
+        }
+    }
+
+    private void readDeltas(ByteBuffer page, int count) throws IOException {
+        long[] values = readDeltaBinaryPacked(page, count);
+        switch (field.physicalType()) {
+            case ParquetReader.INT32 -> {
+                intValues = grow(intValues, count);
+                for (int i = 0; i < count; i++) {
+                    intValues[i] = (int) values[i];
+                }
+            }
+            case ParquetReader.INT64 -> longValues = values;
+            default -> throw unsupported(DELTA_BINARY_PACKED);
+        }
+    }
+
+    /**
+     * Reads strings whose lengths are delta-encoded first, followed by all their bytes.
+     */
+    private void readDeltaLengths(ByteBuffer page, int count) throws IOException {
+        if (field.physicalType() != ParquetReader.BYTE_ARRAY) {
+            throw unsupported(DELTA_LENGTH_BYTE_ARRAY);
+        }
+        long[] lengths = readDeltaBinaryPacked(page, count);
+        stringValues = grow(stringValues, count);
+        byte[] bytes = page.array();
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] < 0 || lengths[i] > page.remaining()) {
+                throw invalid();
+            }
+            stringValues[i] = new String(bytes, page.arrayOffset() + page.position(), (int) lengths[i], StandardCharsets.UTF_8);
+            page.position(page.position() + (int) lengths[i]);
+        }
+    }
+
+    /**
+     * Reads strings stored as the length of the prefix they share with the previous string and the rest of their bytes.
+     */
+    private void readDeltaStrings(ByteBuffer page, int count) throws IOException {
+        if (field.physicalType() != ParquetReader.BYTE_ARRAY) {
+            throw unsupported(DELTA_BYTE_ARRAY);
+        }
+        long[] prefixes = readDeltaBinaryPacked(page, count);
+        long[] suffixes = readDeltaBinaryPacked(page, count);
+        stringValues = grow(stringValues, count);
+        byte[] previous = new byte[0];
+        for (int i = 0; i < count; i++) {
+            if (prefixes[i] < 0 || prefixes[i] > previous.length || suffixes[i] < 0 || suffixes[i] > page.remaining()) {
+                throw invalid();
+            }
+            byte[] value = Arrays.copyOf(previous, (int) (prefixes[i] + suffixes[i]));
+            page.get(value, (int) prefixes[i], (int) suffixes[i]);
+            stringValues[i] = new String(value, StandardCharsets.UTF_8);
+            previous = value;
+        }
+    }
+
+    /**
+     * Reads fixed-width values whose bytes are split into one stream per byte position.
+     */
+    private void readByteStreamSplit(ByteBuffer page, int count) throws IOException {
+        int width = switch (field.physicalType()) {
+            case ParquetReader.INT32, ParquetReader.FLOAT -> 4;
+            case ParquetReader.INT64, ParquetReader.DOUBLE -> 8;
+            default -> throw unsupported(BYTE_STREAM_SPLIT);
+        };
+        if ((long) count * width > page.remaining()) {
+            throw invalid();
+        }
+        byte[] value = new byte[width];
+        ByteBuffer joined = ByteBuffer.allocate(count * width).order(ByteOrder.LITTLE_ENDIAN);
+        int start = page.position();
+        for (int i = 0; i < count; i++) {
+            for (int b = 0; b < width; b++) {
+                value[b] = page.get(start + b * count + i);
+            }
+            joined.put(value);
+        }
+        readPlain(joined.flip(), count);
+    }
+
+    /**
+     * Decodes the DELTA_BINARY_PACKED encoding: a header, the first value, then blocks of miniblocks holding the
+     * differences between consecutive values minus the smallest difference of the block, bit-packed.
+     */
+    private long[] readDeltaBinaryPacked(ByteBuffer page, int count) throws IOException {
+        int blockSize = (int) ThriftStruct.readVarint(page);
+        int miniblocks = (int) ThriftStruct.readVarint(page);
+        long total = ThriftStruct.readVarint(page);
+        long last = ThriftStruct.readZigZag(page);
+        if (blockSize <= 0 || miniblocks <= 0 || blockSize % miniblocks != 0 || total < count) {
+            throw invalid();
+        }
+        int miniblockSize = blockSize / miniblocks;
+        long[] values = new long[Math.max(count, 0)];
+        if (total == 0) {
+            return values;
+        }
+        if (count > 0) {
+            values[0] = last;
+        }
+        long read = 1;
+        byte[] bitWidths = new byte[miniblocks];
+        while (read < total) {
+            long minDelta = ThriftStruct.readZigZag(page);
+            page.get(bitWidths);
+            for (int miniblock = 0; miniblock < miniblocks && read < total; miniblock++) {
+                int bitWidth = bitWidths[miniblock];
+                if (bitWidth < 0 || bitWidth > 64) {
+                    throw invalid();
+                }
+                int start = page.position();
+                long bit = 0;
+                for (int i = 0; i < miniblockSize; i++) {
+                    long delta = 0;
+                    for (int taken = 0; taken < bitWidth; ) {
+                        int current = Byte.toUnsignedInt(page.get(start + (int) (bit >>> 3)));
+                        int shift = (int) (bit & 7);
+                        int take = Math.min(8 - shift, bitWidth - taken);
+                        delta |= (long) ((current >>> shift) & ((1 << take) - 1)) << taken;
+                        taken += take;
+                        bit += take;
+                    }
+                    if (read < total) {
+                        last += minDelta + delta;
+                        if (read < count) {
+                            values[(int) read] = last;
+                        }
+                        read++;
+                    }
+                }
+                page.position(start + miniblockSize / 8 * bitWidth);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Decodes values in the RLE/bit-packing hybrid encoding: runs of one repeated value, and groups of eight values
+     * bit-packed from the least significant bit.
+     */
+    private void readHybrid(ByteBuffer buffer, int bitWidth, int[] values, int count) throws IOException {
+        int byteWidth = (bitWidth + 7) >>> 3;
+        long mask = (1L << bitWidth) - 1;
+        int i = 0;
+        while (i < count) {
+            long header = ThriftStruct.readVarint(buffer);
+            if ((header & 1) == 0) {
+                long length = header >>> 1;
+                int value = 0;
+                for (int b = 0; b < byteWidth; b++) {
+                    value |= Byte.toUnsignedInt(buffer.get()) << (8 * b);
+                }
+                if (length == 0) {
+                    throw invalid();
+                }
+                int end = (int) Math.min(count, i + length);
+                Arrays.fill(values, i, end, value);
+                i = end;
+            } else {
+                long packed = (header >>> 1) * 8;
+                if (packed == 0) {
+                    throw invalid();
+                }
+                long bits = 0;
+                int available = 0;
+                for (long v = 0; v < packed && i < count; v++) {
+                    while (available < bitWidth) {
+                        bits |= (long) Byte.toUnsignedInt(buffer.get()) << available;
+                        available += 8;
+                    }
+                    values[i++] = (int) (bits & mask);
+                    bits >>>= bitWidth;
+                    available -= bitWidth;
+                }
+            }
+        }
+    }
+
+    private ByteBuffer decompress(ByteBuffer page, int uncompressedSize) throws IOException {
+        if (codec == UNCOMPRESSED) {
+            return page;
+        }
+        byte[] output = new byte[uncompressedSize];
+        switch (codec) {
+            case SNAPPY -> snappy(page, output);
+            case GZIP -> {
+                try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(page.array(), page.arrayOffset() + page.position(), page.remaining()))) {
+                    if (input.readNBytes(output, 0, uncompressedSize) != uncompressedSize) {
+                        throw invalid();
+                    }
+                }
+            }
+            default -> throw new IOException("Column '" + field.name() + "' is compressed with "
+                    + (codec >= 0 && codec < CODECS.length ? CODECS[codec] : "codec " + codec) + ", which is not supported!");
+        }
+        return ByteBuffer.wrap(output).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Decompresses a Snappy block: the uncompressed length, then literals and copies of earlier output.
+     */
+    private void snappy(ByteBuffer input, byte[] output) throws IOException {
+        long length = ThriftStruct.readVarint(input);
+        if (length != output.length) {
+            throw invalid();
+        }
+        int position = 0;
+        while (input.hasRemaining()) {
+            int tag = Byte.toUnsignedInt(input.get());
+            int copyLength;
+            int copyOffset;
+            switch (tag & 3) {
+                case 0 -> {
+                    int literalLength = tag >>> 2;
+                    if (literalLength >= 60) {
+                        int bytes = literalLength - 59;
+                        literalLength = 0;
+                        for (int b = 0; b < bytes; b++) {
+                            literalLength |= Byte.toUnsignedInt(input.get()) << (8 * b);
+                        }
+                    }
+                    literalLength++;
+                    if (literalLength <= 0 || literalLength > output.length - position) {
+                        throw invalid();
+                    }
+                    input.get(output, position, literalLength);
+                    position += literalLength;
+                    continue;
+                }
+                case 1 -> {
+                    copyLength = 4 + ((tag >>> 2) & 7);
+                    copyOffset = ((tag >>> 5) << 8) | Byte.toUnsignedInt(input.get());
+                }
+                case 2 -> {
+                    copyLength = (tag >>> 2) + 1;
+                    copyOffset = Short.toUnsignedInt(input.getShort());
+                }
+                default -> {
+                    copyLength = (tag >>> 2) + 1;
+                    copyOffset = input.getInt();
+                }
+            }
+            if (copyOffset <= 0 || copyOffset > position || copyLength > output.length - position) {
+                throw invalid();
+            }
+            if (copyOffset >= copyLength) {
+                System.arraycopy(output, position - copyOffset, output, position, copyLength);
+                position += copyLength;
+            } else {
+                for (int i = 0; i < copyLength; i++, position++) {
+                    output[position] = output[position - copyOffset];
+                }
+            }
+        }
+        if (position != output.length) {
+            throw invalid();
+        }
+    }
+
+    private static int[] grow(int[] values, int count) {
+        return values.length >= count ? values : new int[count];
+    }
+
+    private static long[] grow(long[] values, int count) {
+        return values.length >= count ? values : new long[count];
+    }
+
+    private static double[] grow(double[] values, int count) {
+        return values.length >= count ? values : new double[count];
+    }
+
+    private static boolean[] grow(boolean[] values, int count) {
+        return values.length >= count ? values : new boolean[count];
+    }
+
+    private static String[] grow(String[] values, int count) {
+        return values.length >= count ? values : new String[count];
+    }
+
+    private IOException invalid() {
+        return new IOException("Column '" + field.name() + "' holds invalid Parquet data!");
+    }
+
+    private IOException unsupported(int encoding) {
+        return new IOException("Column '" + field.name() + "' uses the Parquet encoding " + encoding + ", which is not supported!");
+    }
+}
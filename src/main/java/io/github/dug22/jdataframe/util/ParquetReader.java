@@ -0,0 +1,460 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.operations.filter.ColumnStatistics;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the flat columns of a Parquet file. The footer is decoded first; then only the row groups whose statistics
+ * do not rule out a predicate are read, and of those only the chunks of the requested columns. Every column chunk is
+ * decoded by a {@link ParquetChunkDecoder}, in parallel, straight into the arrays of the final columns.
+ */
+final class ParquetReader implements Closeable {
+
+    static final int BOOLEAN = 0;
+    static final int INT32 = 1;
+    static final int INT64 = 2;
+    static final int FLOAT = 4;
+    static final int DOUBLE = 5;
+    static final int BYTE_ARRAY = 6;
+
+    private static final byte[] MAGIC = {'P', 'A', 'R', '1'};
+    private static final int REPEATED = 2;
+    private static final int OPTIONAL = 1;
+    private static final int MIN_DICTIONARY_LIMIT = 1 << 16;
+
+    private final FileChannel channel;
+    private final String filepath;
+    private final long fileSize;
+    private final List<ThriftStruct> rowGroups;
+    private final List<Field> fields = new ArrayList<>();
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    /**
+     * How the values of a column are read into JDataFrame values.
+     */
+    enum ValueType {
+        BOOLEAN, INT, UNSIGNED_INT, LONG, FLOAT, DOUBLE, DECIMAL, DATE, STRING
+    }
+
+    /**
+     * A top-level column of the schema.
+     *
+     * @param name         the name of the column
+     * @param chunk        the index of the chunks of the column in the row groups
+     * @param physicalType the Parquet type of the stored values
+     * @param optional     whether the column may hold null values
+     * @param type         how the values are read, or null if the column cannot be read
+     * @param scale        the scale of a decimal column
+     * @param unsigned     whether the values are ordered as unsigned integers
+     */
+    record Field(String name, int chunk, int physicalType, boolean optional, ValueType type, int scale, boolean unsigned) {
+
+        ColumnType columnType() {
+            return switch (type) {
+                case BOOLEAN -> ColumnType.BOOLEAN;
+                case INT -> ColumnType.INT;
+                case UNSIGNED_INT, LONG -> ColumnType.LONG;
+                case FLOAT, DOUBLE, DECIMAL -> ColumnType.DOUBLE;
+                case DATE -> ColumnType.DATE;
+                case STRING -> ColumnType.STRING;
+            };
+        }
+
+        /**
+         * Converts the unscaled value of a decimal.
+         */
+        double decimal(long unscaled) {
+            if (scale <= 22 && Math.abs(unscaled) < (1L << 53)) {
+                return unscaled / Math.pow(10, scale);
+            }
+            return BigDecimal.valueOf(unscaled, scale).doubleValue();
+        }
+    }
+
+    ParquetReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.filepath = path.toString();
+        try {
+            this.fileSize = channel.size();
+            if (fileSize < 12 || !Arrays.equals(read(0, 4).array(), MAGIC) || !Arrays.equals(read(fileSize - 4, 4).array(), MAGIC)) {
+                throw new IOException(filepath + " is not a Parquet file!");
+            }
+            int footerLength = read(fileSize - 8, 4).getInt();
+            if (footerLength <= 0 || footerLength > fileSize - 12) {
+                throw new IOException(filepath + " is not a Parquet file!");
+            }
+            ThriftStruct metadata = ThriftStruct.read(read(fileSize - 8 - footerLength, footerLength));
+            this.rowGroups = metadata.getList(4);
+            readSchema(metadata.getList(2));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads columns of the file, skipping the row groups in which the statistics show that no row matches a predicate.
+     * The rows of the other row groups are all read.
+     *
+     * @param columns   the columns to read, or null to read every column; columns that do not exist are ignored
+     * @param predicate the predicate used to skip row groups, or null to read every row group
+     * @return the columns, in file order
+     * @throws IOException if the file cannot be read or a requested column cannot be decoded
+     */
+    Map<String, List<Object>> read(Collection<String> columns, ColumnPredicate predicate) throws IOException {
+        List<Field> selected = new ArrayList<>();
+        for (Field field : fields) {
+            if (columns == null || columns.contains(field.name())) {
+                if (field.type() == null) {
+                    throw new IOException(field.chunk() < 0 ? "Column '" + field.name() + "' is nested, which is not supported!"
+                            : "Column '" + field.name() + "' has a Parquet type JDataFrame cannot read!");
+                }
+                selected.add(field);
+            }
+        }
+
+        List<ThriftStruct> groups = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        long rowCount = 0;
+        for (ThriftStruct group : rowGroups) {
+            if (predicate != null && !predicate.mayMatch(statistics(group, predicate.columns()))) {
+                continue;
+            }
+            groups.add(group);
+            offsets.add((int) rowCount);
+            rowCount += group.getLong(3, 0);
+            if (rowCount > Integer.MAX_VALUE - 8) {
+                throw new IOException("Parquet files of more than 2^31 rows are not supported!");
+            }
+        }
+
+        int rows = (int) rowCount;
+        Object[] targets = new Object[selected.size()];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = switch (selected.get(i).columnType()) {
+                case INT, DATE -> new int[rows];
+                case LONG -> new long[rows];
+                case DOUBLE -> new double[rows];
+                case BOOLEAN -> new boolean[rows];
+                default -> null;
+            };
+        }
+        ParquetChunkDecoder.Result[] results = new ParquetChunkDecoder.Result[selected.size() * groups.size()];
+        try {
+            IntStream.range(0, results.length).parallel().forEach(Metrics.measured(task -> {
+                int field = task / groups.size();
+                int group = task % groups.size();
+                try {
+                    results[task] = readChunk(selected.get(field), groups.get(group), targets[field], offsets.get(group));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Map<String, List<Object>> dataFrameMap = new LinkedHashMap<>();
+        for (int i = 0; i < selected.size(); i++) {
+            List<ParquetChunkDecoder.Result> chunks = Arrays.asList(results).subList(i * groups.size(), (i + 1) * groups.size());
+            dataFrameMap.put(selected.get(i).name(), column(selected.get(i), targets[i], chunks, offsets, rows));
+        }
+        return dataFrameMap;
+    }
+
+    /**
+     * Returns the number of bytes read from the file so far: its footer and the column chunks that were decoded.
+     */
+    long bytesRead() {
+        return bytesRead.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Walks the schema tree, whose first element is the root, keeping its children as columns. Group and repeated
+     * children are nested columns, which are recorded as unreadable.
+     */
+    private void readSchema(List<ThriftStruct> schema) throws IOException {
+        if (schema.isEmpty()) {
+            throw new IOException(filepath + " has no schema!");
+        }
+        int children = schema.getFirst().getInt(5, 0);
+        int element = 1;
+        int chunk = 0;
+        for (int child = 0; child < children; child++) {
+            if (element >= schema.size()) {
+                throw new IOException("Invalid Parquet schema!");
+            }
+            ThriftStruct column = schema.get(element);
+            String name = column.getString(4);
+            if (column.getInt(5, 0) > 0) {
+                int[] next = skipGroup(schema, element);
+                fields.add(new Field(name, -1, -1, true, null, 0, false));
+                element = next[0];
+                chunk += next[1];
+                continue;
+            }
+            element++;
+            if (column.getInt(3, 0) == REPEATED) {
+                fields.add(new Field(name, -1, -1, true, null, 0, false));
+            } else {
+                fields.add(field(name, chunk, column));
+            }
+            chunk++;
+        }
+    }
+
+    /**
+     * Skips a group of the schema tree, returning the index of the element after it and the number of its leaf columns.
+     */
+    private static int[] skipGroup(List<ThriftStruct> schema, int element) throws IOException {
+        int children = schema.get(element).getInt(5, 0);
+        int next = element + 1;
+        int leaves = 0;
+        for (int child = 0; child < children; child++) {
+            if (next >= schema.size()) {
+                throw new IOException("Invalid Parquet schema!");
+            }
+            if (schema.get(next).getInt(5, 0) > 0) {
+                int[] group = skipGroup(schema, next);
+                next = group[0];
+                leaves += group[1];
+            } else {
+                next++;
+                leaves++;
+            }
+        }
+        return new int[]{next, leaves};
+    }
+
+    /**
+     * Maps the physical, logical and legacy converted type of a leaf column to the way its values are read.
+     */
+    private static Field field(String name, int chunk, ThriftStruct column) {
+        int physicalType = column.getInt(1, -1);
+        boolean optional = column.getInt(3, 0) == OPTIONAL;
+        ThriftStruct logical = column.getStruct(10);
+        int converted = column.getInt(6, -1);
+
+        boolean decimal = logical != null ? logical.has(5) : converted == 5;
+        boolean date = logical != null ? logical.has(6) : converted == 6;
+        boolean temporal = logical != null ? logical.has(7) || logical.has(8) : converted >= 7 && converted <= 10;
+        ThriftStruct integer = logical == null ? null : logical.getStruct(10);
+        boolean unsigned = integer != null ? !integer.getBoolean(2, true) : converted >= 11 && converted <= 14;
+        int bitWidth = integer != null ? integer.getInt(1, 32) : converted == 11 || converted == 15 ? 8 : converted == 12 || converted == 16 ? 16 : 32;
+        int scale = decimal && logical != null ? logical.getStruct(5).getInt(1, 0) : column.getInt(7, 0);
+
+        ValueType type = switch (physicalType) {
+            case BOOLEAN -> ValueType.BOOLEAN;
+            case INT32 -> decimal ? ValueType.DECIMAL : date ? ValueType.DATE : temporal ? null
+                    : unsigned && bitWidth == 32 ? ValueType.UNSIGNED_INT : ValueType.INT;
+            case INT64 -> decimal ? ValueType.DECIMAL : temporal ? null : ValueType.LONG;
+            case FLOAT -> ValueType.FLOAT;
+            case DOUBLE -> ValueType.DOUBLE;
+            case BYTE_ARRAY -> decimal ? null : ValueType.STRING;
+            default -> null;
+        };
+        return new Field(name, chunk, physicalType, optional, type, scale, unsigned);
+    }
+
+    /**
+     * Collects the statistics of the given columns in a row group. Columns without statistics are left out.
+     */
+    private Map<String, ColumnStatistics> statistics(ThriftStruct group, Set<String> columns) {
+        Map<String, ColumnStatistics> statistics = new HashMap<>();
+        List<ThriftStruct> chunks = group.getList(1);
+        long rows = group.getLong(3, 0);
+        for (Field field : fields) {
+            if (!columns.contains(field.name()) || field.type() == null || field.chunk() >= chunks.size()) {
+                continue;
+            }
+            ThriftStruct metadata = chunks.get(field.chunk()).getStruct(3);
+            ThriftStruct chunkStatistics = metadata == null ? null : metadata.getStruct(12);
+            if (chunkStatistics == null) {
+                continue;
+            }
+            long nullCount = field.optional() ? chunkStatistics.getLong(3, -1) : 0;
+            byte[] min = chunkStatistics.getBinary(6);
+            byte[] max = chunkStatistics.getBinary(5);
+            if ((min == null || max == null) && !field.unsigned() && field.type() != ValueType.STRING) {
+                min = chunkStatistics.getBinary(2);
+                max = chunkStatistics.getBinary(1);
+            }
+            Object minValue = statisticsValue(field, min);
+            Object maxValue = statisticsValue(field, max);
+            if (minValue instanceof Double low && maxValue instanceof Double high) {
+                minValue = low == 0 ? -0.0 : low;
+                maxValue = high == 0 ? 0.0 : high;
+            }
+            statistics.put(field.name(), new ColumnStatistics(minValue, maxValue, nullCount, rows));
+        }
+        return statistics;
+    }
+
+    /**
+     * Decodes a minimum or maximum, or returns null when it is absent or cannot be compared the way JDataFrame compares values:
+     * NaN bounds, unsigned 64-bit bounds, and text holding characters whose UTF-16 order differs from their UTF-8 byte order.
+     */
+    private static Object statisticsValue(Field field, byte[] bytes) {
+        if (bytes == null || (field.unsigned() && field.physicalType() == INT64)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int width = switch (field.physicalType()) {
+            case BOOLEAN -> 1;
+            case INT32, FLOAT -> 4;
+            case INT64, DOUBLE -> 8;
+            default -> 0;
+        };
+        if (bytes.length < width) {
+            return null;
+        }
+        return switch (field.type()) {
+            case BOOLEAN -> bytes[0] != 0;
+            case INT -> buffer.getInt();
+            case UNSIGNED_INT -> Integer.toUnsignedLong(buffer.getInt());
+            case LONG -> buffer.getLong();
+            case DATE -> LocalDate.ofEpochDay(buffer.getInt());
+            case DECIMAL -> field.decimal(field.physicalType() == INT32 ? buffer.getInt() : buffer.getLong());
+            case FLOAT, DOUBLE -> {
+                double value = field.type() == ValueType.FLOAT ? buffer.getFloat() : buffer.getDouble();
+                yield Double.isNaN(value) ? null : value;
+            }
+            case STRING -> {
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                yield value.chars().anyMatch(c -> c >= Character.MIN_SURROGATE) ? null : value;
+            }
+        };
+    }
+
+    private ParquetChunkDecoder.Result readChunk(Field field, ThriftStruct group, Object target, int offset) throws IOException {
+        List<ThriftStruct> chunks = group.getList(1);
+        ThriftStruct chunk = field.chunk() < chunks.size() ? chunks.get(field.chunk()) : null;
+        ThriftStruct metadata = chunk == null ? null : chunk.getStruct(3);
+        if (metadata == null || chunk.has(1)) {
+            throw new IOException("Column '" + field.name() + "' is stored outside of " + filepath + ", which is not supported!");
+        }
+        long dataOffset = metadata.getLong(9, 0);
+        long dictionaryOffset = metadata.getLong(11, 0);
+        long start = dictionaryOffset > 0 ? Math.min(dictionaryOffset, dataOffset) : dataOffset;
+        long length = metadata.getLong(7, 0);
+        if (start < 4 || length < 0 || length > Integer.MAX_VALUE - 8 || start + length > fileSize) {
+            throw new IOException("Column '" + field.name() + "' has an invalid column chunk!");
+        }
+        int rows = (int) group.getLong(3, 0);
+        ParquetChunkDecoder decoder = new ParquetChunkDecoder(field, metadata.getInt(4, 0), target, offset, rows);
+        return decoder.decode(read(start, (int) length));
+    }
+
+    /**
+     * Builds the column of a field from the arrays its chunks were decoded into, or from the text of its chunks.
+     */
+    private static Column column(Field field, Object target, List<ParquetChunkDecoder.Result> chunks, List<Integer> offsets, int rows) {
+        Column column = switch (target) {
+            case int[] data when field.type() == ValueType.DATE -> new DateColumn(data);
+            case int[] data -> new IntColumn(data);
+            case long[] data -> new LongColumn(data);
+            case double[] data -> new DoubleColumn(data);
+            case boolean[] data -> new BooleanColumn(data);
+            case null, default -> null;
+        };
+        if (column == null) {
+            return textColumn(chunks, offsets, rows);
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            long[] nulls = chunks.get(i).nulls();
+            if (nulls == null) {
+                continue;
+            }
+            for (int word = 0; word < nulls.length; word++) {
+                for (long bits = nulls[word]; bits != 0; bits &= bits - 1) {
+                    column.set(offsets.get(i) + (word << 6) + Long.numberOfTrailingZeros(bits), null);
+                }
+            }
+        }
+        return column;
+    }
+
+    /**
+     * Joins the text of the chunks of a column. When every chunk was dictionary-encoded their dictionaries are merged,
+     * and the column stays dictionary-encoded unless its distinct values outnumber half of its rows.
+     */
+    private static Column textColumn(List<ParquetChunkDecoder.Result> chunks, List<Integer> offsets, int rows) {
+        if (!chunks.isEmpty() && chunks.stream().allMatch(chunk -> chunk.codes() != null)) {
+            Map<String, Integer> dictionary = new HashMap<>();
+            List<String> values = new ArrayList<>();
+            int[] codes = new int[rows];
+            for (int i = 0; i < chunks.size(); i++) {
+                ParquetChunkDecoder.Result chunk = chunks.get(i);
+                int[] remap = new int[chunk.dictionary().length];
+                for (int code = 0; code < remap.length; code++) {
+                    remap[code] = dictionary.computeIfAbsent(chunk.dictionary()[code], value -> {
+                        values.add(value);
+                        return values.size() - 1;
+                    });
+                }
+                int[] chunkCodes = chunk.codes();
+                int offset = offsets.get(i);
+                for (int row = 0; row < chunkCodes.length; row++) {
+                    codes[offset + row] = chunkCodes[row] < 0 ? -1 : remap[chunkCodes[row]];
+                }
+            }
+            if (values.size() <= Math.max(MIN_DICTIONARY_LIMIT, rows >> 1)) {
+                return new DictionaryColumn(codes, values.toArray(String[]::new));
+            }
+            String[] strings = new String[rows];
+            for (int row = 0; row < rows; row++) {
+                strings[row] = codes[row] < 0 ? null : values.get(codes[row]);
+            }
+            return new StringColumn(strings);
+        }
+
+        String[] strings = new String[rows];
+        for (int i = 0; i < chunks.size(); i++) {
+            ParquetChunkDecoder.Result chunk = chunks.get(i);
+            int offset = offsets.get(i);
+            if (chunk.strings() != null) {
+                System.arraycopy(chunk.strings(), 0, strings, offset, chunk.strings().length);
+                continue;
+            }
+            for (int row = 0; row < chunk.codes().length; row++) {
+                int code = chunk.codes()[row];
+                strings[offset + row] = code < 0 ? null : chunk.dictionary()[code];
+            }
+        }
+        return new StringColumn(strings);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("The Parquet file ends unexpectedly!");
+            }
+        }
+        bytesRead.addAndGet(length);
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.metrics.Metrics;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads Parquet files without the Parquet libraries: the Thrift metadata and the pages are decoded in place.
+ * <p>
+ * Only the column chunks of the requested columns are read, and row groups whose min/max statistics show that no row
+ * can match a predicate are skipped. The remaining column chunks are decoded in parallel straight into typed columns;
+ * text columns whose pages are all dictionary-encoded stay dictionary-encoded, unless their distinct values outnumber
+ * half of their rows.
+ * <p>
+ * BOOLEAN, INT32, INT64, FLOAT, DOUBLE and BYTE_ARRAY columns are read as BOOLEAN, INT, LONG, DOUBLE and STRING
+ * columns; unsigned 32-bit integers as LONG, dates as DATE and decimals stored as integers as DOUBLE. Nested columns,
+ * timestamps, times, INT96 and fixed-length byte arrays are not supported, nor are the LZO, Brotli, LZ4 and Zstandard
+ * codecs.
+ */
+public class ParquetUtils {
+
+    /**
+     * Reads every column of a Parquet file.
+     *
+     * @param filepath     the path of the Parquet file
+     * @param dataframeMap the dataframe receiving the columns
+     * @throws IOException if the file does not exist, is not a Parquet file or holds data that cannot be read
+     */
+    public static void readFromParquet(String filepath, Map<String, List<Object>> dataframeMap) throws IOException {
+        readFromParquet(filepath, dataframeMap, null, null);
+    }
+
+    /**
+     * Reads the given columns of a Parquet file, in file order, skipping the row groups in which no row can match
+     * a predicate. The rows of the other row groups are all read, so they still have to be filtered.
+     *
+     * @param filepath     the path of the Parquet file
+     * @param dataframeMap the dataframe receiving the columns
+     * @param columns      the columns to read, or null to read every column; columns that do not exist are ignored
+     * @param predicate    the predicate whose statistics checks skip row groups, or null to read every row group
+     * @throws IOException if the file does not exist, is not a Parquet file or holds data that cannot be read
+     */
+    public static void readFromParquet(String filepath, Map<String, List<Object>> dataframeMap, Collection<String> columns,
+                                       ColumnPredicate predicate) throws IOException {
+        try (Metrics.Stage stage = Metrics.start("readParquet", () -> filepath, null);
+             ParquetReader reader = new ParquetReader(Path.of(filepath))) {
+            Map<String, List<Object>> read = reader.read(columns, predicate);
+            dataframeMap.putAll(read);
+            stage.end(read, reader.bytesRead());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.dug22.jdataframe.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A struct decoded from the Thrift compact protocol, in which Parquet encodes its file metadata and page headers.
+ * Fields are looked up by their id; integers of every width are held as longs, binaries as byte arrays, lists as lists
+ * and nested structs as structs. Maps are skipped, as Parquet only uses them for data this reader ignores.
+ */
+final class ThriftStruct {
+
+    private static final int STOP = 0;
+    private static final int BOOLEAN_TRUE = 1;
+    private static final int BOOLEAN_FALSE = 2;
+    private static final int BYTE = 3;
+    private static final int I16 = 4;
+    private static final int I32 = 5;
+    private static final int I64 = 6;
+    private static final int DOUBLE = 7;
+    private static final int BINARY = 8;
+    private static final int LIST = 9;
+    private static final int SET = 10;
+    private static final int MAP = 11;
+    private static final int STRUCT = 12;
+
+    private static final int MAX_DEPTH = 64;
+
+    private final Map<Integer, Object> fields = new HashMap<>();
+
+    private ThriftStruct() {
+    }
+
+    /**
+     * Reads a struct starting at the position of a buffer, leaving the position right after it.
+     *
+     * @param buffer the little-endian buffer holding the encoded struct
+     * @return the struct
+     * @throws IOException if the buffer does not hold a valid struct
+     */
+    static ThriftStruct read(ByteBuffer buffer) throws IOException {
+        try {
+            return readStruct(buffer, 0);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Invalid Parquet metadata!", e);
+        }
+    }
+
+    boolean has(int field) {
+        return fields.containsKey(field);
+    }
+
+    int getInt(int field, int defaultValue) {
+        Object value = fields.get(field);
+        return value instanceof Long number ? number.intValue() : defaultValue;
+    }
+
+    long getLong(int field, long defaultValue) {
+        Object value = fields.get(field);
+        return value instanceof Long number ? number : defaultValue;
+    }
+
+    boolean getBoolean(int field, boolean defaultValue) {
+        Object value = fields.get(field);
+        return value instanceof Boolean bool ? bool : defaultValue;
+    }
+
+    /**
+     * Returns a binary field, or null if the field is absent.
+     */
+    byte[] getBinary(int field) {
+        Object value = fields.get(field);
+        return value instanceof byte[] bytes ? bytes : null;
+    }
+
+    /**
+     * Returns a binary field decoded as UTF-8 text, or null if the field is absent.
+     */
+    String getString(int field) {
+        byte[] bytes = getBinary(field);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a struct field, or null if the field is absent.
+     */
+    ThriftStruct getStruct(int field) {
+        Object value = fields.get(field);
+        return value instanceof ThriftStruct struct ? struct : null;
+    }
+
+    /**
+     * Returns a list field, or an empty list if the field is absent.
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> getList(int field) {
+        Object value = fields.get(field);
+        return value instanceof List<?> list ? (List<T>) list : List.of();
+    }
+
+    private static ThriftStruct readStruct(ByteBuffer buffer, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Parquet metadata is nested too deeply!");
+        }
+        ThriftStruct struct = new ThriftStruct();
+        int field = 0;
+        while (true) {
+            int header = Byte.toUnsignedInt(buffer.get());
+            int type = header & 0x0F;
+            if (type == STOP) {
+                return struct;
+            }
+            int delta = header >>> 4;
+            field = delta == 0 ? (short) readZigZag(buffer) : field + delta;
+            struct.fields.put(field, readValue(buffer, type, depth, true));
+        }
+    }
+
+    /**
+     * Reads a value of the given type. Booleans are held in the type of a field header, but take a byte in a list.
+     */
+    private static Object readValue(ByteBuffer buffer, int type, int depth, boolean inField) throws IOException {
+        return switch (type) {
+            case BOOLEAN_TRUE, BOOLEAN_FALSE -> inField ? type == BOOLEAN_TRUE : buffer.get() == BOOLEAN_TRUE;
+            case BYTE -> (long) buffer.get();
+            case I16, I32, I64 -> readZigZag(buffer);
+            case DOUBLE -> buffer.getDouble();
+            case BINARY -> {
+                byte[] bytes = new byte[checkedLength(buffer, readVarint(buffer))];
+                buffer.get(bytes);
+                yield bytes;
+            }
+            case LIST, SET -> {
+                int header = Byte.toUnsignedInt(buffer.get());
+                long size = header >>> 4 == 15 ? readVarint(buffer) : header >>> 4;
+                List<Object> list = new ArrayList<>(checkedLength(buffer, size));
+                for (long i = 0; i < size; i++) {
+                    list.add(readValue(buffer, header & 0x0F, depth + 1, false));
+                }
+                yield list;
+            }
+            case MAP -> {
+                long size = readVarint(buffer);
+                if (size > 0) {
+                    int types = Byte.toUnsignedInt(buffer.get());
+                    checkedLength(buffer, size);
+                    for (long i = 0; i < size; i++) {
+                        readValue(buffer, types >>> 4, depth + 1, false);
+                        readValue(buffer, types & 0x0F, depth + 1, false);
+                    }
+                }
+                yield null;
+            }
+            case STRUCT -> readStruct(buffer, depth + 1);
+            default -> throw new IOException("Invalid Parquet metadata!");
+        };
+    }
+
+    /**
+     * Checks that a length read from the buffer cannot exceed its remaining bytes, as every element takes at least one.
+     */
+    private static int checkedLength(ByteBuffer buffer, long length) throws IOException {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid Parquet metadata!");
+        }
+        return (int) length;
+    }
+
+    static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid varint!");
+    }
+
+    static long readZigZag(ByteBuffer buffer) {
+        long value = readVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -33,8 +33,7 @@ class DataFrameTest {
         try {
 
             JDataFrame employeeData = JDataFrame.builder().fromCSV("E:\\employee_data.csv").filter(List.of("Age", "Department"), (FilterPredicate<Map<String, Object>>) row -> {
-                String ageString = (String) row.get("Age");
-                int age = Integer.parseInt(ageString);
+                int age = (Integer) row.get("Age");
                 String department = (String) row.get("Department");
                 return (age > 30 && (department.equals("HR") || department.equals("Engineering")));
             }).groupBy("Name").build();
@@ -0,0 +1,205 @@
+package io.github.dug22.jdataframe;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.DictionaryColumn;
+import io.github.dug22.jdataframe.column.DoubleColumn;
+import io.github.dug22.jdataframe.column.IndexType;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.StringColumn;
+import io.github.dug22.jdataframe.operations.drop.How;
+import io.github.dug22.jdataframe.operations.drop.impl.DropImpl;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+import io.github.dug22.jdataframe.operations.replace.ReplaceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JDataFrameTest {
+
+    @Test
+    void snapshotLeavesTheSourceModifiable() {
+        JDataFrame dataFrame = JDataFrame.builder().fromData(data()).build();
+        JDataFrame snapshot = dataFrame.snapshot();
+
+        assertFalse(dataFrame.getColumn("Id").isFrozen());
+        dataFrame.getColumn("Id").set(0, 99);
+        dataFrame.getColumn("Id").add(5);
+        dataFrame.getColumn("Score").remove(0);
+        dataFrame.getColumn("City").set(1, "Lima");
+        dataFrame.getColumn("City").add(null);
+
+        assertEquals(List.of(99, 2, 3, 4, 5), new ArrayList<>(dataFrame.getColumn("Id")));
+        assertEquals(List.of(1.5, 2.5, 3.5), new ArrayList<>(dataFrame.getColumn("Score")));
+        assertEquals(List.of(1, 2, 3, 4), new ArrayList<>(snapshot.getColumn("Id")));
+        assertEquals(List.of(0.5, 1.5, 2.5, 3.5), new ArrayList<>(snapshot.getColumn("Score")));
+        assertEquals(Arrays.asList("Oslo", null, "Oslo", "Pune"), new ArrayList<>(snapshot.getColumn("City")));
+        assertEquals(Arrays.asList("Oslo", "Lima", "Oslo", "Pune", null), new ArrayList<>(dataFrame.getColumn("City")));
+    }
+
+    @Test
+    void snapshotCannotBeModified() {
+        JDataFrame snapshot = JDataFrame.builder().fromData(data()).build().snapshot();
+
+        assertTrue(snapshot.isImmutable());
+        assertSame(snapshot, snapshot.snapshot());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getColumn("Id").set(0, 7));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getColumn("Id").add(7));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getColumn("City").remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getDataFrameMap().remove("Id"));
+        assertEquals(List.of(1, 2, 3, 4), new ArrayList<>(snapshot.getColumn("Id")));
+    }
+
+    @Test
+    void dataFramesBuiltFromASnapshotCanBeModified() {
+        JDataFrame snapshot = JDataFrame.builder().fromData(data()).build().snapshot();
+
+        JDataFrame raised = JDataFrame.builder().fromData(snapshot.getDataFrameMap()).replace("Score", 0, 9.5).build();
+        raised.getColumn("Id").set(1, 20);
+
+        assertEquals(List.of(9.5, 1.5, 2.5, 3.5), new ArrayList<>(raised.getColumn("Score")));
+        assertEquals(List.of(1, 20, 3, 4), new ArrayList<>(raised.getColumn("Id")));
+        assertEquals(List.of(0.5, 1.5, 2.5, 3.5), new ArrayList<>(snapshot.getColumn("Score")));
+        assertEquals(List.of(1, 2, 3, 4), new ArrayList<>(snapshot.getColumn("Id")));
+    }
+
+    @Test
+    void fromDataNeitherFreezesNorAliasesTheColumnsOfTheCaller() {
+        Map<String, List<Object>> data = data();
+        JDataFrameBuilder builder = JDataFrame.builder().fromData(data).replace("Id", 0, 10);
+        JDataFrame first = builder.build();
+
+        data.get("Id").set(1, 42);
+        data.get("Score").add(4.5);
+        first.getColumn("Score").set(3, 0.0);
+
+        assertFalse(((Column) data.get("Id")).isFrozen());
+        assertEquals(List.of(1, 42, 3, 4), data.get("Id"));
+        assertEquals(List.of(0.5, 1.5, 2.5, 3.5, 4.5), data.get("Score"));
+        assertEquals(List.of(10, 2, 3, 4), new ArrayList<>(first.getColumn("Id")));
+        assertEquals(List.of(0.5, 1.5, 2.5, 0.0), new ArrayList<>(first.getColumn("Score")));
+    }
+
+    @Test
+    void rebuildingAPlanDoesNotSeeThePreviousResult() {
+        JDataFrameBuilder builder = JDataFrame.builder().fromData(data()).replace("City", 0, "Kyiv");
+        JDataFrame first = builder.build();
+        first.getColumn("City").set(2, "Lima");
+        JDataFrame second = builder.replace("Id", 3, 40).build();
+
+        assertEquals(Arrays.asList("Kyiv", null, "Lima", "Pune"), new ArrayList<>(first.getColumn("City")));
+        assertEquals(Arrays.asList("Kyiv", null, "Oslo", "Pune"), new ArrayList<>(second.getColumn("City")));
+        assertEquals(List.of(1, 2, 3, 4), new ArrayList<>(first.getColumn("Id")));
+        assertEquals(List.of(1, 2, 3, 40), new ArrayList<>(second.getColumn("Id")));
+    }
+
+    @Test
+    void dataFramesCreatedFromTheSameMapDoNotSeeEachOthersChanges() {
+        JDataFrame first = new JDataFrame(data());
+        JDataFrame second = new JDataFrame(first.getDataFrameMap());
+
+        new ReplaceImpl().replace(second.getDataFrameMap(), "Id", 0, 100);
+        new DropImpl().dropNA(first.getDataFrameMap(), "City", How.ANY);
+
+        assertEquals(List.of(1, 3, 4), new ArrayList<>(first.getColumn("Id")));
+        assertEquals(List.of(0.5, 2.5, 3.5), new ArrayList<>(first.getColumn("Score")));
+        assertEquals(List.of(100, 2, 3, 4), new ArrayList<>(second.getColumn("Id")));
+        assertEquals(Arrays.asList("Oslo", null, "Oslo", "Pune"), new ArrayList<>(second.getColumn("City")));
+    }
+
+    @Test
+    void joinDoesNotSeeChangesMadeToTheOtherDataFrameAfterItWasRecorded() {
+        Map<String, List<Object>> labels = new LinkedHashMap<>();
+        labels.put("Id", IntColumn.of(1, 2, 3, 4));
+        labels.put("Label", StringColumn.of("a", "b", "c", "d"));
+        JDataFrame right = new JDataFrame(labels);
+        JDataFrameBuilder builder = JDataFrame.builder().fromData(data()).join(right, "Id", JoinType.INNER);
+
+        right.getColumn("Label").set(0, "changed");
+        new DropImpl().drop(right.getDataFrameMap(), "Label");
+        JDataFrame joined = builder.build();
+
+        assertEquals(List.of("a", "b", "c", "d"), new ArrayList<>(joined.getColumn("Label")));
+        assertFalse(right.getDataFrameMap().containsKey("Label"));
+    }
+
+    @Test
+    void droppingRowsOfSharedColumnsLeavesTheCallerAsItIs() {
+        Map<String, List<Object>> data = data();
+
+        JDataFrame dropped = JDataFrame.builder().fromData(data).dropNA("City", How.ANY).build();
+
+        assertEquals(List.of(1, 3, 4), new ArrayList<>(dropped.getColumn("Id")));
+        assertEquals(List.of(1, 2, 3, 4), data.get("Id"));
+        assertEquals(Arrays.asList("Oslo", null, "Oslo", "Pune"), data.get("City"));
+    }
+
+    @Test
+    void snapshotKeepsTheIndexOfTheSource() {
+        JDataFrame dataFrame = JDataFrame.builder().fromData(data()).build();
+        dataFrame.createIndex("Id", IndexType.HASH);
+        JDataFrame snapshot = dataFrame.snapshot();
+
+        dataFrame.getColumn("Id").set(2, 4);
+
+        assertEquals(IndexType.HASH, snapshot.getColumn("Id").indexType());
+        assertArrayEquals(new int[]{3}, snapshot.getColumn("Id").index().lookup(4L));
+        assertArrayEquals(new int[]{2, 3}, dataFrame.getColumn("Id").index().lookup(4L));
+        assertEquals(List.of(3.5), new ArrayList<>(snapshot.filter(col("Id").eq(4)).getColumn("Score")));
+    }
+
+    @Test
+    void snapshotIsReadConcurrentlyWhileTheSourceChanges() throws Exception {
+        int rows = 100_000;
+        IntColumn ids = new IntColumn(rows);
+        DictionaryColumn codes = new DictionaryColumn(rows);
+        for (int i = 0; i < rows; i++) {
+            ids.appendInt(i);
+            codes.add("code" + (i % 100));
+        }
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", ids);
+        data.put("Code", codes);
+        JDataFrame dataFrame = new JDataFrame(data);
+        JDataFrame snapshot = dataFrame.snapshot();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Double>> sums = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                sums.add(executor.submit(() -> snapshot.findStat("SUM", "Id")));
+            }
+            for (int i = 0; i < rows; i += 7) {
+                dataFrame.getColumn("Id").set(i, -1);
+                dataFrame.getColumn("Code").set(i, "new" + i);
+            }
+            for (Future<Double> sum : sums) {
+                assertEquals((double) rows * (rows - 1) / 2, sum.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i < rows; i += 7) {
+            assertEquals(i, snapshot.getColumn("Id").get(i));
+            assertEquals("code" + (i % 100), snapshot.getColumn("Code").get(i));
+            assertEquals("new" + i, dataFrame.getColumn("Code").get(i));
+        }
+    }
+
+    private static Map<String, List<Object>> data() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", IntColumn.of(1, 2, 3, 4));
+        data.put("Score", DoubleColumn.of(0.5, 1.5, 2.5, 3.5));
+        data.put("City", StringColumn.of("Oslo", null, "Oslo", "Pune"));
+        return data;
+    }
+}
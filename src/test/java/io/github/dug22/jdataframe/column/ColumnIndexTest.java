@@ -0,0 +1,177 @@
+package io.github.dug22.jdataframe.column;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import io.github.dug22.jdataframe.operations.filter.ColumnReference;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnIndexTest {
+
+    private static final List<String> COLUMNS = List.of("Int", "Long", "Double", "Date", "Text", "Code");
+
+    @Test
+    void indexedFiltersSelectTheRowsOfAScan() {
+        Random random = new Random(71);
+        for (int frame = 0; frame < 60; frame++) {
+            int rows = random.nextInt(frame % 10 == 0 ? 20_000 : 500);
+            Map<String, List<Object>> indexedData = new LinkedHashMap<>();
+            Map<String, List<Object>> scannedData = new LinkedHashMap<>();
+            fill(random, rows, indexedData, scannedData);
+            JDataFrame indexed = new JDataFrame(indexedData);
+            JDataFrame scanned = new JDataFrame(scannedData);
+            Map<String, IndexType> types = new LinkedHashMap<>();
+            for (String column : COLUMNS) {
+                IndexType type = random.nextBoolean() ? IndexType.HASH : IndexType.SORTED;
+                indexed.createIndex(column, type);
+                types.put(column, type);
+            }
+
+            for (int round = 0; round < 5; round++) {
+                for (int query = 0; query < 20; query++) {
+                    ColumnPredicate predicate = randomPredicate(random, 2);
+                    String message = predicate + " on frame " + frame + ", round " + round + " with " + types;
+                    assertEquals(new ArrayList<>(scanned.filter(predicate).getColumn("Id")),
+                            new ArrayList<>(indexed.filter(predicate).getColumn("Id")), message);
+                }
+                for (String column : COLUMNS) {
+                    Object value = randomValue(random, column);
+                    ColumnPredicate predicate = col(column).eq(value);
+                    int rowCount = indexed.getColumn("Id").size();
+                    assertNotNull(predicate.indexedRows(indexed.getDataFrameMap(), rowCount), predicate.toString());
+                    assertNull(predicate.indexedRows(scanned.getDataFrameMap(), rowCount), predicate.toString());
+                }
+                mutate(random, indexed, scanned);
+            }
+        }
+    }
+
+    @Test
+    void lookupsAndRangesReturnTheRowsOfEachValueInOrder() {
+        DoubleColumn column = DoubleColumn.of(0.0, 1.5, -0.0, Double.NaN, 1.5, 3.0);
+        column.add(null);
+        for (IndexType type : IndexType.values()) {
+            column.createIndex(type);
+
+            assertArrayEquals(new int[]{1, 4}, column.index().lookup(1.5), type.name());
+            assertArrayEquals(new int[]{3}, column.index().lookup(Double.NaN), type.name());
+            assertArrayEquals(new int[]{0}, column.index().lookup(0.0), type.name());
+            if (type == IndexType.SORTED) {
+                assertArrayEquals(new int[]{0, 1, 2, 4}, column.index().range(-0.0, 1.5));
+                assertArrayEquals(new int[0], column.index().range(Double.NaN, 3.0));
+            }
+            column.set(4, 3.0);
+            assertArrayEquals(new int[]{1}, column.index().lookup(1.5), type.name());
+            assertArrayEquals(new int[]{4, 5}, column.index().lookup(3.0), type.name());
+            column.set(4, 1.5);
+            column.dropIndex();
+        }
+    }
+
+    private static void fill(Random random, int rows, Map<String, List<Object>> first, Map<String, List<Object>> second) {
+        for (Map<String, List<Object>> data : List.of(first, second)) {
+            data.put("Id", new IntColumn(rows));
+            data.put("Int", new IntColumn(rows));
+            data.put("Long", new LongColumn(rows));
+            data.put("Double", new DoubleColumn(rows));
+            data.put("Date", new DateColumn(rows));
+            data.put("Text", new StringColumn(rows));
+            data.put("Code", new DictionaryColumn(rows));
+        }
+        for (int row = 0; row < rows; row++) {
+            first.get("Id").add(row);
+            second.get("Id").add(row);
+            for (String column : COLUMNS) {
+                Object value = random.nextInt(8) == 0 ? null : randomValue(random, column);
+                first.get(column).add(value);
+                second.get(column).add(value);
+            }
+        }
+    }
+
+    private static void mutate(Random random, JDataFrame indexed, JDataFrame scanned) {
+        int rowCount = indexed.getColumn("Id").size();
+        for (int change = 0; change < 1 + random.nextInt(20); change++) {
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    if (rowCount > 0) {
+                        String column = COLUMNS.get(random.nextInt(COLUMNS.size()));
+                        int row = random.nextInt(rowCount);
+                        Object value = random.nextInt(4) == 0 ? null : randomValue(random, column);
+                        indexed.getColumn(column).set(row, value);
+                        scanned.getColumn(column).set(row, value);
+                    }
+                }
+                case 2 -> {
+                    int id = 1_000_000 + random.nextInt(1_000_000);
+                    indexed.getColumn("Id").add(id);
+                    scanned.getColumn("Id").add(id);
+                    for (String column : COLUMNS) {
+                        Object value = random.nextInt(8) == 0 ? null : randomValue(random, column);
+                        indexed.getColumn(column).add(value);
+                        scanned.getColumn(column).add(value);
+                    }
+                    rowCount++;
+                }
+                default -> {
+                    if (rowCount > 0) {
+                        int row = random.nextInt(rowCount);
+                        for (String column : indexed.getDataFrameMap().keySet()) {
+                            indexed.getColumn(column).remove(row);
+                            scanned.getColumn(column).remove(row);
+                        }
+                        rowCount--;
+                    }
+                }
+            }
+        }
+    }
+
+    private static ColumnPredicate randomPredicate(Random random, int depth) {
+        if (depth > 0 && random.nextInt(3) == 0) {
+            ColumnPredicate left = randomPredicate(random, depth - 1);
+            ColumnPredicate right = randomPredicate(random, depth - 1);
+            return switch (random.nextInt(3)) {
+                case 0 -> left.and(right);
+                case 1 -> left.or(right);
+                default -> left.not();
+            };
+        }
+        String column = COLUMNS.get(random.nextInt(COLUMNS.size()));
+        ColumnReference reference = col(column);
+        Object value = randomValue(random, column);
+        Object other = randomValue(random, column);
+        return switch (random.nextInt(10)) {
+            case 0, 1 -> reference.eq(value);
+            case 2 -> reference.ne(value);
+            case 3 -> reference.gt(value);
+            case 4 -> reference.ge(value);
+            case 5 -> reference.lt(value);
+            case 6 -> reference.le(value);
+            case 7 -> reference.between(value, other);
+            case 8 -> reference.in(value, other, randomValue(random, column));
+            default -> random.nextBoolean() ? reference.isNull() : reference.isNotNull();
+        };
+    }
+
+    private static Object randomValue(Random random, String column) {
+        return switch (column) {
+            case "Int" -> random.nextInt(41) - 20;
+            case "Long" -> (random.nextInt(41) - 20) * 1_000_000_000L;
+            case "Double" -> switch (random.nextInt(20)) {
+                case 0 -> Double.NaN;
+                case 1 -> -0.0;
+                case 2 -> 0.0;
+                default -> (random.nextInt(81) - 40) / 4.0;
+            };
+            case "Date" -> LocalDate.of(2024, 1, 1).plusDays(random.nextInt(30));
+            case "Text" -> "t" + (char) ('a' + random.nextInt(10));
+            default -> "c" + (char) ('a' + random.nextInt(6));
+        };
+    }
+}
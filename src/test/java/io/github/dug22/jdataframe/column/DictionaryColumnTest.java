@@ -0,0 +1,83 @@
+package io.github.dug22.jdataframe.column;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryColumnTest {
+
+    @Test
+    void encodingAndDecodingKeepEveryValue() {
+        Random random = new Random(41);
+        for (int round = 0; round < 200; round++) {
+            int rows = random.nextInt(round % 20 == 0 ? 10_000 : 200);
+            String[] values = new String[rows];
+            for (int row = 0; row < rows; row++) {
+                values[row] = random.nextInt(5) == 0 ? null : "v" + random.nextInt(1 + random.nextInt(50));
+            }
+            List<String> expected = Arrays.asList(values.clone());
+            String message = "round " + round;
+
+            DictionaryColumn built = DictionaryColumn.of(values);
+            DictionaryColumn encoded = DictionaryColumn.encode(new StringColumn(values.clone()));
+            StringColumn decoded = encoded.decode();
+            DictionaryColumn wrapped = new DictionaryColumn(Arrays.copyOf(encoded.codes(), rows), dictionaryValues(encoded));
+
+            for (Column column : List.of(built, encoded, decoded, wrapped)) {
+                assertEquals(expected, new ArrayList<>(column), message);
+                assertEquals(expected.stream().filter(value -> value == null).count(), column.nullCount(), message);
+            }
+            for (int row = 0; row < rows; row++) {
+                assertEquals(values[row] == null ? -1 : encoded.dictionary().codeOf(values[row]), encoded.getCode(row), message);
+            }
+            assertEquals(expected.stream().distinct().filter(value -> value != null).count(), encoded.dictionary().size(), message);
+        }
+    }
+
+    @Test
+    void wrappedCodesBelowZeroBecomeNullRows() {
+        DictionaryColumn column = new DictionaryColumn(new int[]{1, -1, 0, -7}, new String[]{"a", "b"});
+
+        assertEquals(Arrays.asList("b", null, "a", null), new ArrayList<>(column));
+        assertEquals(2, column.nullCount());
+        assertEquals(-1, column.getCode(3));
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryColumn(new int[]{0, 2}, new String[]{"a", "b"}));
+    }
+
+    @Test
+    void wrappedStringsWithNullsBecomeNullRows() {
+        StringColumn column = new StringColumn(new String[]{null, "a", null});
+
+        assertEquals(Arrays.asList(null, "a", null), new ArrayList<>(column));
+        assertEquals(2, column.nullCount());
+        assertTrue(column.isNull(0));
+        assertFalse(column.isNull(1));
+    }
+
+    @Test
+    void addingAValueToAGatheredColumnLeavesTheSharedDictionaryAsItIs() {
+        DictionaryColumn source = DictionaryColumn.of("a", "b", "a", null);
+        DictionaryColumn gathered = (DictionaryColumn) source.gather(new int[]{2, 3, 0});
+
+        gathered.add("c");
+        gathered.set(1, "b");
+
+        assertEquals(Arrays.asList("a", "b", "a", "c"), new ArrayList<>(gathered));
+        assertEquals(Arrays.asList("a", "b", "a", null), new ArrayList<>(source));
+        assertEquals(2, source.dictionary().size());
+        assertEquals(-1, source.dictionary().codeOf("c"));
+    }
+
+    private static String[] dictionaryValues(DictionaryColumn column) {
+        String[] values = new String[column.dictionary().size()];
+        for (int code = 0; code < values.length; code++) {
+            values[code] = column.dictionary().get(code);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.dug22.jdataframe.metrics;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.StringColumn;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MetricsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void innerStagesAreReportedBeforeTheStagesContainingThem() {
+        List<StageMetrics> stages = new ArrayList<>();
+
+        JDataFrame.builder().fromData(data()).filter(col("Id").gt(1)).metrics(stages::add).build();
+
+        assertEquals(List.of("DataFrame", "Filter", "build"), stages.stream().map(StageMetrics::stage).toList());
+        assertEquals(-1, stages.get(0).rowsIn());
+        assertEquals(4, stages.get(1).rowsIn());
+        assertEquals(3, stages.get(1).rowsOut());
+        assertEquals(-1, stages.get(2).rowsIn());
+        assertEquals(3, stages.get(2).rowsOut());
+        assertFalse(Metrics.enabled());
+    }
+
+    @Test
+    void failedStagesAreNotReportedAndDoNotBecomeTheParentOfLaterStages() {
+        List<StageMetrics> stages = new ArrayList<>();
+
+        try (Metrics.Scope scope = Metrics.scope(stages::add)) {
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> JDataFrame.builder().fromData(data()).replace("Id", 10, 5).build());
+            assertEquals(List.of("DataFrame"), stages.stream().map(StageMetrics::stage).toList());
+
+            IntConsumer task = i -> {
+            };
+            assertSame(task, Metrics.measured(task));
+            try (Metrics.Stage stage = Metrics.start("outer", () -> "outer", null)) {
+                assertNotSame(task, Metrics.measured(task));
+                stage.end(0, -1);
+            }
+            assertSame(task, Metrics.measured(task));
+        }
+
+        assertEquals(List.of("DataFrame", "outer"), stages.stream().map(StageMetrics::stage).toList());
+        assertFalse(Metrics.enabled());
+    }
+
+    @Test
+    void allocationsOfParallelTasksAreCountedButNotThoseOfOtherThreads() throws InterruptedException {
+        List<StageMetrics> stages = new ArrayList<>();
+        byte[][] buffers = new byte[16][];
+
+        try (Metrics.Scope scope = Metrics.scope(stages::add)) {
+            try (Metrics.Stage stage = Metrics.start("parallel", () -> "parallel", null)) {
+                IntStream.range(0, buffers.length).parallel().forEach(Metrics.measured(i -> buffers[i] = new byte[1 << 20]));
+                stage.end(0, -1);
+            }
+            try (Metrics.Stage stage = Metrics.start("idle", () -> "idle", null)) {
+                Thread other = new Thread(() -> buffers[0] = new byte[64 << 20]);
+                other.start();
+                other.join();
+                stage.end(0, -1);
+            }
+        }
+
+        assumeTrue(stages.get(0).allocatedBytes() >= 0, "The JVM does not measure allocations");
+        assertTrue(stages.get(0).allocatedBytes() >= buffers.length << 20);
+        assertTrue(stages.get(0).allocatedBytes() < 2L * buffers.length << 20);
+        assertTrue(stages.get(1).allocatedBytes() < 1 << 20);
+    }
+
+    @Test
+    void histogramSummarizesTheStagesOfEachName() {
+        HistogramMetricsListener histograms = new HistogramMetricsListener();
+        for (int i = 1; i <= 100; i++) {
+            histograms.stageCompleted(new StageMetrics("filter", "Id > 1", i * 1_000_000L, 10, 4, -1, 100));
+        }
+        histograms.stageCompleted(new StageMetrics("readCSV", "data.csv", 5_000, -1, 10, 2048, -1));
+
+        HistogramMetricsListener.Summary filter = histograms.summaries().get("filter");
+        assertEquals(100, filter.count());
+        assertEquals(1_000_000, filter.minNanos());
+        assertEquals(100_000_000, filter.maxNanos());
+        assertEquals(50_500_000, filter.meanNanos());
+        assertEquals(50_000_000, filter.p50Nanos(), 50_000_000 / 8.0);
+        assertEquals(95_000_000, filter.p95Nanos(), 95_000_000 / 8.0);
+        assertEquals(99_000_000, filter.p99Nanos(), 99_000_000 / 8.0);
+        assertEquals(1000, filter.rowsIn());
+        assertEquals(400, filter.rowsOut());
+        assertEquals(0, filter.bytesRead());
+        assertEquals(10_000, filter.allocatedBytes());
+
+        HistogramMetricsListener.Summary read = histograms.summaries().get("readCSV");
+        assertEquals(5_000, read.p99Nanos());
+        assertEquals(0, read.rowsIn());
+        assertEquals(2048, read.bytesRead());
+        assertEquals(0, read.allocatedBytes());
+        assertEquals(List.of("filter", "readCSV"), new ArrayList<>(histograms.summaries().keySet()));
+        assertTrue(histograms.report().lines().anyMatch(line -> line.startsWith("readCSV")));
+
+        histograms.reset();
+        assertTrue(histograms.summaries().isEmpty());
+    }
+
+    @Test
+    void jfrListenerEmitsOneEventPerStage() throws IOException {
+        Path file = directory.resolve("stages.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.dug22.jdataframe.Stage");
+            recording.start();
+            JDataFrame.builder().fromData(data()).filter(col("Id").gt(1)).metrics(new JfrMetricsListener()).build();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.dug22.jdataframe.Stage"))
+                .toList();
+        assertEquals(List.of("DataFrame", "Filter", "build"), events.stream().map(event -> event.getString("stage")).toList());
+        assertEquals(4, events.get(1).getLong("rowsIn"));
+        assertEquals(3, events.get(1).getLong("rowsOut"));
+        assertEquals(-1, events.get(1).getLong("bytesRead"));
+    }
+
+    private static Map<String, List<Object>> data() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", IntColumn.of(1, 2, 3, 4));
+        data.put("City", StringColumn.of("Oslo", null, "Oslo", "Pune"));
+        return data;
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.dug22.jdataframe.operations.drop.impl;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.NullBitmap;
+import io.github.dug22.jdataframe.operations.drop.How;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropImplTest {
+
+    private static final List<String> COLUMNS = List.of("Int", "Double", "Text", "Date", "Flag");
+
+    @Test
+    void dropNAKeepsTheRowsOfARowByRowReference() {
+        Random random = new Random(13);
+        for (int frame = 0; frame < 500; frame++) {
+            int rows = random.nextInt(frame % 50 == 0 ? 5_000 : 200);
+            Map<String, List<Object>> data = randomFrame(random, rows);
+            List<String> checked = new ArrayList<>();
+            for (String column : COLUMNS) {
+                if (random.nextBoolean()) {
+                    checked.add(column);
+                }
+            }
+            if (random.nextInt(5) == 0) {
+                checked.add("Missing");
+            }
+            How how = random.nextBoolean() ? How.ANY : How.ALL;
+            Map<String, List<Object>> expected = reference(data, checked, how, rows);
+            String message = how + " over " + checked + " on frame " + frame;
+
+            Map<String, List<Object>> plain = copy(data);
+            new DropImpl().dropNA(plain, checked, how);
+            assertEquals(expected, plain, message);
+
+            Map<String, List<Object>> typed = Columns.toColumnMap(copy(data));
+            new DropImpl().dropNA(typed, checked, how);
+            assertTrue(typed.values().stream().allMatch(Column.class::isInstance), message);
+            assertEquals(expected, copy(typed), message);
+
+            JDataFrame planned = JDataFrame.builder().fromData(Columns.toColumnMap(copy(data))).dropNA(checked, how).build();
+            assertEquals(expected, copy(planned.getDataFrameMap()), message);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 63, 64, 65, 127, 128, 129, 200})
+    void rowsPastTheLastWordBoundaryAreNeitherKeptNorInvented(int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        IntColumn full = new IntColumn(rows);
+        IntColumn empty = new IntColumn(rows);
+        IntColumn early = new IntColumn(rows);
+        for (int row = 0; row < rows; row++) {
+            full.add(row);
+            empty.add(null);
+            early.add(row == 0 ? null : row);
+        }
+        data.put("Full", full);
+        data.put("Empty", empty);
+        data.put("Early", early);
+
+        for (How how : How.values()) {
+            for (List<String> checked : List.of(List.of("Full"), List.of("Empty"), List.of("Early"), List.of("Full", "Empty"), List.of("Missing"), List.<String>of())) {
+                long[] keep = ColumnPredicate.notNull(checked, how).evaluate(data, rows);
+                String message = how + " over " + checked + " with " + rows + " rows";
+                assertEquals(NullBitmap.wordCount(rows), keep.length, message);
+                if ((rows & 63) != 0) {
+                    assertEquals(0, keep[keep.length - 1] >>> rows, message);
+                }
+
+                int expected = reference(data, checked, how, rows).get("Full").size();
+                Map<String, List<Object>> dropped = new LinkedHashMap<>();
+                data.forEach((column, values) -> dropped.put(column, ((Column) values).copy()));
+                new DropImpl().dropNA(dropped, checked, how);
+                assertEquals(expected, Arrays.stream(keep).map(Long::bitCount).sum(), message);
+                for (List<Object> column : dropped.values()) {
+                    assertEquals(expected, column.size(), message);
+                }
+            }
+        }
+        assertEquals(rows, full.size());
+    }
+
+    private static Map<String, List<Object>> randomFrame(Random random, int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        for (String column : COLUMNS) {
+            int nullEvery = 1 + random.nextInt(6);
+            List<Object> values = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                values.add(random.nextInt(nullEvery) == 0 ? null : switch (column) {
+                    case "Int" -> random.nextInt(100);
+                    case "Double" -> random.nextDouble();
+                    case "Text" -> "t" + random.nextInt(10);
+                    case "Date" -> LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1000));
+                    default -> random.nextBoolean();
+                });
+            }
+            data.put(column, values);
+        }
+        return data;
+    }
+
+    private static Map<String, List<Object>> reference(Map<String, List<Object>> data, List<String> checked, How how, int rows) {
+        Map<String, List<Object>> kept = new LinkedHashMap<>();
+        data.keySet().forEach(column -> kept.put(column, new ArrayList<>()));
+        for (int row = 0; row < rows; row++) {
+            int nulls = 0;
+            int present = 0;
+            for (String column : checked) {
+                if (data.containsKey(column)) {
+                    present++;
+                    if (data.get(column).get(row) == null) {
+                        nulls++;
+                    }
+                }
+            }
+            boolean drop = how == How.ANY ? nulls > 0 : present > 0 && nulls == present;
+            if (!drop) {
+                for (String column : data.keySet()) {
+                    kept.get(column).add(data.get(column).get(row));
+                }
+            }
+        }
+        return kept;
+    }
+
+    private static Map<String, List<Object>> copy(Map<String, List<Object>> data) {
+        Map<String, List<Object>> copy = new LinkedHashMap<>();
+        data.forEach((column, values) -> copy.put(column, new ArrayList<>(values)));
+        return copy;
+    }
+}
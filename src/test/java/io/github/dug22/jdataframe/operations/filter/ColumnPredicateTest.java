@@ -0,0 +1,205 @@
+package io.github.dug22.jdataframe.operations.filter;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnPredicateTest {
+
+    private static final List<String> COLUMNS = List.of("Int", "Long", "Double", "Date", "Text", "Code");
+
+    /**
+     * A column predicate and the row condition it is expected to match.
+     */
+    private record Case(ColumnPredicate predicate, Predicate<Map<String, Object>> condition) {
+    }
+
+    @Test
+    void predicatesSelectTheRowsOfTheEquivalentLambdas() {
+        Random random = new Random(8);
+        for (int frame = 0; frame < 300; frame++) {
+            int rows = random.nextInt(300);
+            Map<String, List<Object>> data = randomFrame(random, rows);
+            JDataFrame dataFrame = new JDataFrame(data);
+            if (random.nextInt(3) == 0) {
+                dataFrame.createIndex(COLUMNS.get(random.nextInt(5)), random.nextBoolean() ? IndexType.HASH : IndexType.SORTED);
+            }
+
+            for (int query = 0; query < 10; query++) {
+                Case testCase = randomCase(random, data, 2);
+                List<Object> expected = new ArrayList<>();
+                for (int row = 0; row < rows; row++) {
+                    Map<String, Object> rowData = new HashMap<>();
+                    for (String column : COLUMNS) {
+                        rowData.put(column, data.get(column).get(row));
+                    }
+                    if (testCase.condition().test(rowData)) {
+                        expected.add(row);
+                    }
+                }
+                FilterPredicate<Map<String, Object>> lambda = testCase.condition()::test;
+
+                String message = testCase.predicate() + " on frame " + frame;
+                assertEquals(expected, new ArrayList<>(dataFrame.filter(testCase.predicate()).getColumn("Id")), message);
+                assertEquals(expected, new ArrayList<>(dataFrame.filter(ColumnPredicate.rows(COLUMNS, lambda)).getColumn("Id")), message);
+            }
+        }
+    }
+
+    @Test
+    void inNeverSelectsNullRows() {
+        JDataFrame dataFrame = new JDataFrame(nullFrame());
+
+        assertEquals(List.of(2), ids(dataFrame.filter(col("Int").in(0, 7))));
+        assertEquals(List.of(2), ids(dataFrame.filter(col("Long").in(0L, 7L))));
+        assertEquals(List.of(2), ids(dataFrame.filter(col("Double").in(0.0, 7.0))));
+        assertEquals(List.of(2), ids(dataFrame.filter(col("Date").in(LocalDate.EPOCH, LocalDate.EPOCH.plusDays(7)))));
+        assertEquals(List.of(2), ids(dataFrame.filter(col("Text").in("", "seven"))));
+        assertEquals(List.of(2), ids(dataFrame.filter(col("Code").in("", "seven"))));
+        assertEquals(List.of(), ids(dataFrame.filter(col("Int").in(List.of()))));
+        assertThrows(IllegalArgumentException.class, () -> col("Int").in(1, null));
+    }
+
+    @Test
+    void notSelectsTheNullRowsOfItsPredicate() {
+        JDataFrame dataFrame = new JDataFrame(nullFrame());
+
+        for (String column : List.of("Int", "Long", "Double", "Date", "Text", "Code")) {
+            Object seven = dataFrame.getColumn(column).get(2);
+            assertEquals(List.of(0, 1, 3), ids(dataFrame.filter(col(column).eq(seven).not())), column);
+            assertEquals(List.of(0, 1, 3), ids(dataFrame.filter(col(column).in(seven).not())), column);
+            assertEquals(List.of(3), ids(dataFrame.filter(col(column).ne(seven))), column);
+            assertEquals(List.of(2, 3), ids(dataFrame.filter(col(column).isNull().not())), column);
+            assertEquals(List.of(2), ids(dataFrame.filter(col(column).eq(seven).not().not())), column);
+            assertEquals(List.of(0, 1, 2, 3), ids(dataFrame.filter(col(column).in(List.of()).not())), column);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 63, 64, 65, 127, 128, 129})
+    void negatedSelectionsEndAtTheLastRow(int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        IntColumn ids = new IntColumn(rows);
+        for (int row = 0; row < rows; row++) {
+            ids.add(row % 3 == 0 ? null : row);
+        }
+        data.put("Id", ids);
+        int nulls = (rows + 2) / 3;
+
+        Map<ColumnPredicate, Integer> expected = new LinkedHashMap<>();
+        expected.put(col("Id").isNull().not(), rows - nulls);
+        expected.put(col("Id").isNotNull().not().not(), rows - nulls);
+        expected.put(col("Id").eq(-1).not(), rows);
+        expected.put(col("Id").in(List.of()).not(), rows);
+        expected.put(ColumnPredicate.rows(List.of("Id"), row -> true), rows);
+        expected.forEach((predicate, count) -> {
+            long[] selection = predicate.evaluate(data, rows);
+            String message = predicate + " on " + rows + " rows";
+            assertEquals(NullBitmap.wordCount(rows), selection.length, message);
+            if ((rows & 63) != 0) {
+                assertEquals(0, selection[selection.length - 1] >>> rows, message);
+            }
+            assertEquals((long) count, Arrays.stream(selection).map(Long::bitCount).sum(), message);
+        });
+    }
+
+    private static Map<String, List<Object>> nullFrame() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", IntColumn.of(0, 1, 2, 3));
+        data.put("Int", new IntColumn(4));
+        data.put("Long", new LongColumn(4));
+        data.put("Double", new DoubleColumn(4));
+        data.put("Date", new DateColumn(4));
+        data.put("Text", new StringColumn(4));
+        data.put("Code", new DictionaryColumn(4));
+        List<List<Object>> rows = List.of(
+                Arrays.asList(7, 7L, 7.0, LocalDate.EPOCH.plusDays(7), "seven", "seven"),
+                Arrays.asList(8, 8L, 8.0, LocalDate.EPOCH.plusDays(8), "eight", "eight"));
+        for (int row = 0; row < 4; row++) {
+            List<Object> values = row == 2 ? rows.get(0) : row == 3 ? rows.get(1) : null;
+            for (int i = 0; i < 6; i++) {
+                data.get(COLUMNS.get(i)).add(values == null ? null : values.get(i));
+            }
+        }
+        return data;
+    }
+
+    private static List<Object> ids(JDataFrame dataFrame) {
+        return new ArrayList<>(dataFrame.getColumn("Id"));
+    }
+
+    private static Map<String, List<Object>> randomFrame(Random random, int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        List<Object> ids = new IntColumn(rows);
+        List<Object> codes = new DictionaryColumn(rows);
+        data.put("Id", ids);
+        for (String column : COLUMNS) {
+            data.put(column, column.equals("Code") ? codes : new ArrayList<>());
+        }
+        for (int row = 0; row < rows; row++) {
+            ids.add(row);
+            for (String column : COLUMNS) {
+                data.get(column).add(random.nextInt(8) == 0 ? null : randomValue(random, column));
+            }
+        }
+        return data;
+    }
+
+    private static Object randomValue(Random random, String column) {
+        return switch (column) {
+            case "Int" -> random.nextInt(41) - 20;
+            case "Long" -> (random.nextInt(41) - 20) * 1_000_000_000L;
+            case "Double" -> (random.nextInt(81) - 40) / 4.0;
+            case "Date" -> LocalDate.of(2024, 1, 1).plusDays(random.nextInt(30));
+            case "Text" -> "t" + (char) ('a' + random.nextInt(10));
+            default -> "c" + (char) ('a' + random.nextInt(6));
+        };
+    }
+
+    private static Case randomCase(Random random, Map<String, List<Object>> data, int depth) {
+        if (depth > 0 && random.nextInt(3) == 0) {
+            Case left = randomCase(random, data, depth - 1);
+            Case right = randomCase(random, data, depth - 1);
+            return switch (random.nextInt(3)) {
+                case 0 -> new Case(left.predicate().and(right.predicate()), left.condition().and(right.condition()));
+                case 1 -> new Case(left.predicate().or(right.predicate()), left.condition().or(right.condition()));
+                default -> new Case(left.predicate().not(), left.condition().negate());
+            };
+        }
+
+        String column = COLUMNS.get(random.nextInt(COLUMNS.size()));
+        ColumnReference reference = col(column);
+        Comparable<Object> value = comparable(randomValue(random, column));
+        Comparable<Object> other = comparable(randomValue(random, column));
+        return switch (random.nextInt(10)) {
+            case 0 -> leaf(reference.eq(value), column, cell -> value.compareTo(cell) == 0);
+            case 1 -> leaf(reference.ne(value), column, cell -> value.compareTo(cell) != 0);
+            case 2 -> leaf(reference.gt(value), column, cell -> value.compareTo(cell) < 0);
+            case 3 -> leaf(reference.ge(value), column, cell -> value.compareTo(cell) <= 0);
+            case 4 -> leaf(reference.lt(value), column, cell -> value.compareTo(cell) > 0);
+            case 5 -> leaf(reference.le(value), column, cell -> value.compareTo(cell) >= 0);
+            case 6 -> leaf(reference.between(value, other), column, cell -> value.compareTo(cell) <= 0 && other.compareTo(cell) >= 0);
+            case 7 -> leaf(reference.in(value, other), column, cell -> value.compareTo(cell) == 0 || other.compareTo(cell) == 0);
+            case 8 -> new Case(reference.isNull(), row -> row.get(column) == null);
+            default -> new Case(reference.isNotNull(), row -> row.get(column) != null);
+        };
+    }
+
+    private static Case leaf(ColumnPredicate predicate, String column, Predicate<Object> condition) {
+        return new Case(predicate, row -> row.get(column) != null && condition.test(row.get(column)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Object value) {
+        return (Comparable<Object>) value;
+    }
+}
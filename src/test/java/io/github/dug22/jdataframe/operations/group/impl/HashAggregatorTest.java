@@ -0,0 +1,96 @@
+package io.github.dug22.jdataframe.operations.group.impl;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.Columns;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static io.github.dug22.jdataframe.operations.group.Aggregation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashAggregatorTest {
+
+    private static final List<String> FUNCTIONS = List.of("SUM", "MEAN", "MIN", "MAX", "STD");
+
+    @Test
+    void aggregatesMatchTheStatisticsOfEachGroup() {
+        Random random = new Random(29);
+        for (int frame = 0; frame < 100; frame++) {
+            int rows = random.nextInt(frame % 20 == 0 ? 5_000 : 300);
+            Map<String, List<Object>> data = randomFrame(random, rows);
+
+            JDataFrame aggregated = JDataFrame.builder().fromData(Columns.toColumnMap(data)).groupBy("Group")
+                    .agg(sum("Int"), mean("Int"), min("Int"), max("Int"), std("Int"),
+                            sum("Double"), mean("Double"), min("Double"), max("Double"), std("Double"), count())
+                    .build();
+
+            List<Object> groups = aggregated.getColumn("Group");
+            for (int i = 0; i < groups.size(); i++) {
+                Object group = groups.get(i);
+                JDataFrame rowsOfGroup = JDataFrame.builder().fromData(Columns.toColumnMap(data))
+                        .filter(group == null ? col("Group").isNull() : col("Group").eq(group)).build();
+                String message = "group " + group + " of frame " + frame;
+                assertEquals((long) rowsOfGroup.getColumn("Group").size(), aggregated.getColumn("count(*)").get(i), message);
+                for (String column : List.of("Int", "Double")) {
+                    boolean empty = rowsOfGroup.getColumn(column).stream().allMatch(value -> value == null);
+                    for (String function : FUNCTIONS) {
+                        Object actual = aggregated.getColumn(function.toLowerCase() + "(" + column + ")").get(i);
+                        String context = function + "(" + column + ") of " + message;
+                        if (function.equals("SUM")) {
+                            assertEquals(rowsOfGroup.findStat(function, column), ((Number) actual).doubleValue(), 1e-6, context);
+                        } else if (empty) {
+                            assertNull(actual, context);
+                        } else {
+                            assertEquals(rowsOfGroup.findStat(function, column), ((Number) actual).doubleValue(), 1e-6, context);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void nanValuesMakeTheMinimumAndMaximumNaNLikeFindStat() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Group", new ArrayList<>(List.of("a", "a", "a", "b", "b")));
+        data.put("Value", new ArrayList<>(List.of(2.0, Double.NaN, 1.0, 3.0, 4.0)));
+        JDataFrame dataFrame = JDataFrame.builder().fromData(Columns.toColumnMap(data)).build();
+
+        JDataFrame aggregated = JDataFrame.builder().fromData(Columns.toColumnMap(data)).groupBy("Group")
+                .agg(min("Value"), max("Value")).build();
+
+        assertTrue(Double.isNaN(dataFrame.filter(col("Group").eq("a")).findStat("MIN", "Value")));
+        assertTrue(Double.isNaN((Double) aggregated.getColumn("min(Value)").get(0)));
+        assertTrue(Double.isNaN((Double) aggregated.getColumn("max(Value)").get(0)));
+        assertEquals(3.0, aggregated.getColumn("min(Value)").get(1));
+        assertEquals(4.0, aggregated.getColumn("max(Value)").get(1));
+    }
+
+    private static Map<String, List<Object>> randomFrame(Random random, int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        List<Object> groups = new ArrayList<>(rows);
+        List<Object> ints = new ArrayList<>(rows);
+        List<Object> doubles = new ArrayList<>(rows);
+        int groupCount = 1 + random.nextInt(12);
+        for (int row = 0; row < rows; row++) {
+            groups.add(random.nextInt(20) == 0 ? null : "g" + random.nextInt(groupCount));
+            ints.add(random.nextInt(4) == 0 ? null : random.nextInt(2_000) - 1_000);
+            doubles.add(random.nextInt(4) == 0 ? null : switch (random.nextInt(50)) {
+                case 0 -> Double.NaN;
+                case 1 -> Double.NEGATIVE_INFINITY;
+                case 2 -> -0.0;
+                default -> random.nextGaussian() * 100;
+            });
+        }
+        data.put("Group", groups);
+        data.put("Int", ints);
+        data.put("Double", doubles);
+        return data;
+    }
+}
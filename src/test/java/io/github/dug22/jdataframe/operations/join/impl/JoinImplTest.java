@@ -0,0 +1,246 @@
+package io.github.dug22.jdataframe.operations.join.impl;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.operations.join.JoinType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JoinImplTest {
+
+    @Test
+    void joinsMatchANestedLoopReference() {
+        Random random = new Random(15);
+        for (int frame = 0; frame < 300; frame++) {
+            int keyKind = random.nextInt(5);
+            boolean sorted = keyKind < 2 && random.nextInt(3) == 0;
+            int leftRows = random.nextInt(frame % 60 == 0 ? 3_000 : 60);
+            int rightRows = random.nextInt(frame % 60 == 0 ? 2_000 : 60);
+            int keys = 1 + random.nextInt(frame % 60 == 0 ? 500 : 20);
+            List<String> on = keyKind == 4 ? List.of("K", "K2") : List.of("K");
+            Map<String, List<Object>> left = randomSide(random, leftRows, keys, keyKind, false, sorted, "LV");
+            Map<String, List<Object>> right = randomSide(random, rightRows, keys, keyKind, true, sorted, "RV");
+            right.put("LV", new ArrayList<>(right.get("RV")));
+
+            for (JoinType type : JoinType.values()) {
+                JDataFrame joined = new JDataFrame(copy(left)).join(new JDataFrame(copy(right)), on, type);
+                String message = type + " join on " + on + " of frame " + frame + (sorted ? ", sorted" : "");
+                assertEquals(reference(left, right, on, type, keyKind == 3), copy(joined.getDataFrameMap()), message);
+            }
+        }
+    }
+
+    @Test
+    void keysOfTypesThatNeverMatchAreRejected() {
+        JDataFrame ints = frame("K", IntColumn.of(1, 2), "LV", StringColumn.of("a", "b"));
+        JDataFrame texts = frame("K", StringColumn.of("1", "2"), "RV", StringColumn.of("x", "y"));
+        JDataFrame dates = frame("K", DateColumn.of(LocalDate.EPOCH, LocalDate.EPOCH.plusDays(1)), "RV", StringColumn.of("x", "y"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> ints.join(texts, "K", JoinType.INNER));
+        assertEquals("Key column 'K' cannot be joined: INT and STRING keys never match!", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ints.join(dates, "K", JoinType.LEFT));
+        assertThrows(IllegalArgumentException.class, () -> ints.join(frame("Other", IntColumn.of(1), "RV", StringColumn.of("x")), "K", JoinType.INNER));
+        assertThrows(IllegalArgumentException.class, () -> ints.join(texts, List.of(), JoinType.INNER));
+    }
+
+    @Test
+    void numericKeysOfDifferentTypesMatchByValue() {
+        JDataFrame ints = frame("K", IntColumn.of(1, 2, 3), "LV", StringColumn.of("a", "b", "c"));
+        JDataFrame longs = frame("K", LongColumn.of(3L, 1L << 40, 1L), "RV", StringColumn.of("x", "y", "z"));
+        JDataFrame doubles = frame("K", DoubleColumn.of(2.0, 2.5, 1.0), "RV", StringColumn.of("x", "y", "z"));
+
+        JDataFrame withLongs = ints.join(longs, "K", JoinType.OUTER);
+        assertEquals(ColumnType.LONG, withLongs.getColumn("K").type());
+        assertEquals(Arrays.asList(1L, 2L, 3L, 1L << 40), new ArrayList<>(withLongs.getColumn("K")));
+        assertEquals(Arrays.asList("z", null, "x", "y"), new ArrayList<>(withLongs.getColumn("RV")));
+
+        JDataFrame withDoubles = ints.join(doubles, "K", JoinType.INNER);
+        assertEquals(ColumnType.DOUBLE, withDoubles.getColumn("K").type());
+        assertEquals(List.of(1.0, 2.0), new ArrayList<>(withDoubles.getColumn("K")));
+        assertEquals(List.of("z", "x"), new ArrayList<>(withDoubles.getColumn("RV")));
+
+        JDataFrame codes = frame("K", DictionaryColumn.of("b", "a"), "RV", StringColumn.of("x", "y"));
+        JDataFrame texts = frame("K", StringColumn.of("a", "c"), "LV", StringColumn.of("p", "q"));
+        assertEquals(List.of("p"), new ArrayList<>(texts.join(codes, "K", JoinType.SEMI).getColumn("LV")));
+    }
+
+    @Test
+    void nullKeysNeverMatchButKeepTheirRowsInOuterJoins() {
+        JDataFrame left = frame("K", column(null, 1, 2), "LV", StringColumn.of("a", "b", "c"));
+        JDataFrame right = frame("K", column(null, 1, null), "RV", StringColumn.of("x", "y", "z"));
+
+        assertEquals(List.of("b"), new ArrayList<>(left.join(right, "K", JoinType.INNER).getColumn("LV")));
+        assertEquals(List.of("b"), new ArrayList<>(left.join(right, "K", JoinType.SEMI).getColumn("LV")));
+        assertEquals(List.of("a", "c"), new ArrayList<>(left.join(right, "K", JoinType.ANTI).getColumn("LV")));
+
+        JDataFrame leftJoin = left.join(right, "K", JoinType.LEFT);
+        assertEquals(Arrays.asList(null, 1, 2), new ArrayList<>(leftJoin.getColumn("K")));
+        assertEquals(Arrays.asList(null, "y", null), new ArrayList<>(leftJoin.getColumn("RV")));
+
+        JDataFrame rightJoin = left.join(right, "K", JoinType.RIGHT);
+        assertEquals(Arrays.asList(1, null, null), new ArrayList<>(rightJoin.getColumn("K")));
+        assertEquals(Arrays.asList("b", null, null), new ArrayList<>(rightJoin.getColumn("LV")));
+        assertEquals(List.of("y", "x", "z"), new ArrayList<>(rightJoin.getColumn("RV")));
+
+        JDataFrame outer = left.join(right, "K", JoinType.OUTER);
+        assertEquals(Arrays.asList(null, 1, 2, null, null), new ArrayList<>(outer.getColumn("K")));
+        assertEquals(Arrays.asList("a", "b", "c", null, null), new ArrayList<>(outer.getColumn("LV")));
+        assertEquals(Arrays.asList(null, "y", null, "x", "z"), new ArrayList<>(outer.getColumn("RV")));
+    }
+
+    @Test
+    void sortedKeysWithANullOnTheOtherSideStillNeverMatchTheNull() {
+        JDataFrame left = frame("K", IntColumn.of(1, 2, 3), "LV", StringColumn.of("a", "b", "c"));
+        JDataFrame right = frame("K", column(null, 2, 3), "RV", StringColumn.of("x", "y", "z"));
+
+        JDataFrame outer = left.join(right, "K", JoinType.OUTER);
+
+        assertEquals(Arrays.asList(1, 2, 3, null), new ArrayList<>(outer.getColumn("K")));
+        assertEquals(Arrays.asList("a", "b", "c", null), new ArrayList<>(outer.getColumn("LV")));
+        assertEquals(Arrays.asList(null, "y", "z", "x"), new ArrayList<>(outer.getColumn("RV")));
+    }
+
+    @Test
+    void rowsWithANullInAnyKeyColumnNeverMatch() {
+        Map<String, List<Object>> leftData = new LinkedHashMap<>();
+        leftData.put("K", column(1, 1, null));
+        leftData.put("K2", StringColumn.of("a", null, "a"));
+        leftData.put("LV", StringColumn.of("p", "q", "r"));
+        Map<String, List<Object>> rightData = new LinkedHashMap<>();
+        rightData.put("K", column(1, 1, null));
+        rightData.put("K2", StringColumn.of("a", null, "a"));
+        rightData.put("RV", StringColumn.of("x", "y", "z"));
+
+        JDataFrame joined = new JDataFrame(leftData).join(new JDataFrame(rightData), List.of("K", "K2"), JoinType.LEFT);
+
+        assertEquals(List.of("p", "q", "r"), new ArrayList<>(joined.getColumn("LV")));
+        assertEquals(Arrays.asList("x", null, null), new ArrayList<>(joined.getColumn("RV")));
+    }
+
+    private static IntColumn column(Integer... values) {
+        IntColumn column = new IntColumn(values.length);
+        for (Integer value : values) {
+            column.add(value);
+        }
+        return column;
+    }
+
+    private static JDataFrame frame(String key, List<Object> keys, String valueColumn, List<Object> values) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put(key, keys);
+        data.put(valueColumn, values);
+        return new JDataFrame(data);
+    }
+
+    /**
+     * Creates one side of a join. Key kinds: 0 int, 1 long, 2 string, 3 int on the left and long on the right,
+     * 4 int and string keys.
+     */
+    private static Map<String, List<Object>> randomSide(Random random, int rows, int keys, int keyKind, boolean right, boolean sorted, String valueColumn) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            numbers.add(!sorted && random.nextInt(10) == 0 ? null : random.nextInt(keys));
+        }
+        if (sorted) {
+            Collections.sort(numbers);
+        }
+        Map<String, List<Object>> side = new LinkedHashMap<>();
+        List<Object> key = new ArrayList<>();
+        List<Object> secondKey = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            Integer number = numbers.get(row);
+            key.add(number == null ? null : switch (keyKind) {
+                case 1 -> (long) number;
+                case 2 -> "k" + number;
+                case 3 -> right ? (Object) (long) number : number;
+                default -> number;
+            });
+            secondKey.add(random.nextInt(10) == 0 ? null : "s" + random.nextInt(2));
+            values.add(valueColumn + row);
+        }
+        side.put("K", key);
+        if (keyKind == 4) {
+            side.put("K2", secondKey);
+        }
+        side.put(valueColumn, values);
+        return side;
+    }
+
+    private static Map<String, List<Object>> reference(Map<String, List<Object>> left, Map<String, List<Object>> right, List<String> on,
+                                                       JoinType type, boolean longKeys) {
+        int leftRows = left.get("K").size();
+        int rightRows = right.get("K").size();
+        List<int[]> pairs = new ArrayList<>();
+        boolean[] rightMatched = new boolean[rightRows];
+        for (int l = 0; l < leftRows; l++) {
+            boolean matched = false;
+            for (int r = 0; r < rightRows; r++) {
+                if (keysEqual(left, l, right, r, on)) {
+                    matched = true;
+                    rightMatched[r] = true;
+                    if (type != JoinType.SEMI && type != JoinType.ANTI) {
+                        pairs.add(new int[]{l, r});
+                    }
+                }
+            }
+            if ((matched && type == JoinType.SEMI) || (!matched && (type == JoinType.ANTI || type == JoinType.LEFT || type == JoinType.OUTER))) {
+                pairs.add(new int[]{l, -1});
+            }
+        }
+        if (type == JoinType.RIGHT || type == JoinType.OUTER) {
+            for (int r = 0; r < rightRows; r++) {
+                if (!rightMatched[r]) {
+                    pairs.add(new int[]{-1, r});
+                }
+            }
+        }
+
+        Map<String, List<Object>> joined = new LinkedHashMap<>();
+        for (String column : left.keySet()) {
+            List<Object> values = new ArrayList<>();
+            for (int[] pair : pairs) {
+                Object value = pair[0] >= 0 ? left.get(column).get(pair[0]) : on.contains(column) ? right.get(column).get(pair[1]) : null;
+                values.add(longKeys && column.equals("K") && value != null ? ((Number) value).longValue() : value);
+            }
+            joined.put(column, values);
+        }
+        if (type != JoinType.SEMI && type != JoinType.ANTI) {
+            for (String column : right.keySet()) {
+                if (!on.contains(column)) {
+                    List<Object> values = new ArrayList<>();
+                    for (int[] pair : pairs) {
+                        values.add(pair[1] >= 0 ? right.get(column).get(pair[1]) : null);
+                    }
+                    joined.put(left.containsKey(column) ? column + "_right" : column, values);
+                }
+            }
+        }
+        return joined;
+    }
+
+    private static boolean keysEqual(Map<String, List<Object>> left, int leftRow, Map<String, List<Object>> right, int rightRow, List<String> on) {
+        for (String column : on) {
+            Object leftKey = left.get(column).get(leftRow);
+            Object rightKey = right.get(column).get(rightRow);
+            if (leftKey == null || rightKey == null) {
+                return false;
+            }
+            if (leftKey instanceof Number leftNumber && rightKey instanceof Number rightNumber
+                    ? leftNumber.longValue() != rightNumber.longValue() : !leftKey.equals(rightKey)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, List<Object>> copy(Map<String, List<Object>> data) {
+        Map<String, List<Object>> copy = new LinkedHashMap<>();
+        data.forEach((column, values) -> copy.put(column, new ArrayList<>(values)));
+        return copy;
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.dug22.jdataframe.operations.sort.impl;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.DoubleColumn;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.StringColumn;
+import io.github.dug22.jdataframe.operations.sort.NullOrder;
+import io.github.dug22.jdataframe.operations.sort.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortImplTest {
+
+    private static final List<String> COLUMNS = List.of("Int", "Long", "Double", "Boolean", "Date", "Text");
+
+    @Test
+    void sortMatchesAStableComparatorSort() {
+        Random random = new Random(16);
+        for (int frame = 0; frame < 400; frame++) {
+            int rows = frame % 100 == 0 ? 200_000 : random.nextInt(500);
+            Map<String, List<Object>> data = new LinkedHashMap<>();
+            List<Object> ids = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                ids.add(row);
+            }
+            data.put("Id", ids);
+            for (String column : COLUMNS) {
+                data.put(column, randomValues(random, column, rows));
+            }
+
+            List<String> columns = new ArrayList<>(COLUMNS);
+            Collections.shuffle(columns, random);
+            columns = columns.subList(0, 1 + random.nextInt(3));
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                orders.add(random.nextBoolean() ? Order.ASCENDING : Order.DESCENDING);
+            }
+            NullOrder nullOrder = random.nextBoolean() ? NullOrder.FIRST : NullOrder.LAST;
+
+            List<Object> expected = new ArrayList<>(ids);
+            expected.sort(comparator(data, columns, orders, nullOrder));
+            JDataFrame sorted = new JDataFrame(data).sortBy(columns, orders, nullOrder);
+            assertEquals(expected, new ArrayList<>(sorted.getColumn("Id")), columns + " " + orders + " " + nullOrder + " on frame " + frame);
+        }
+    }
+
+    @Test
+    void nullRowsKeepTheirOrderAtEitherEnd() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", IntColumn.of(0, 1, 2, 3, 4, 5, 6));
+        data.put("Value", Arrays.asList(2, null, 1, null, 2, 1, null));
+        JDataFrame dataFrame = new JDataFrame(data);
+
+        assertEquals(List.of(2, 5, 0, 4, 1, 3, 6), ids(dataFrame.sortBy(List.of("Value"), List.of(Order.ASCENDING), NullOrder.LAST)));
+        assertEquals(List.of(1, 3, 6, 2, 5, 0, 4), ids(dataFrame.sortBy(List.of("Value"), List.of(Order.ASCENDING), NullOrder.FIRST)));
+        assertEquals(List.of(0, 4, 2, 5, 1, 3, 6), ids(dataFrame.sortBy(List.of("Value"), List.of(Order.DESCENDING), NullOrder.LAST)));
+        assertEquals(List.of(1, 3, 6, 0, 4, 2, 5), ids(dataFrame.sortBy(List.of("Value"), List.of(Order.DESCENDING), NullOrder.FIRST)));
+        assertEquals(List.of(2, 5, 0, 4, 1, 3, 6), ids(dataFrame.sortBy("Value", Order.ASCENDING)));
+    }
+
+    @Test
+    void rowsWithANullFirstKeyAreOrderedByTheNextKey() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", IntColumn.of(0, 1, 2, 3, 4, 5));
+        data.put("City", StringColumn.of(null, "Oslo", null, "Oslo", null, "Lima"));
+        data.put("Score", DoubleColumn.of(2.0, 1.0, 1.0, 1.0, 2.0, 3.0));
+
+        JDataFrame sorted = new JDataFrame(data).sortBy(List.of("City", "Score"), List.of(Order.ASCENDING, Order.DESCENDING), NullOrder.FIRST);
+
+        assertEquals(List.of(0, 4, 2, 5, 1, 3), ids(sorted));
+        assertEquals(Arrays.asList(null, null, null, "Lima", "Oslo", "Oslo"), new ArrayList<>(sorted.getColumn("City")));
+    }
+
+    @Test
+    void nanSortsAsTheLargestValueAndNotWithTheNulls() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", IntColumn.of(0, 1, 2, 3, 4, 5));
+        data.put("Value", Arrays.asList(Double.NaN, null, 1.0, Double.NaN, null, Double.POSITIVE_INFINITY));
+        JDataFrame dataFrame = new JDataFrame(data);
+
+        assertEquals(List.of(2, 5, 0, 3, 1, 4), ids(dataFrame.sortBy(List.of("Value"), List.of(Order.ASCENDING), NullOrder.LAST)));
+        assertEquals(List.of(1, 4, 0, 3, 5, 2), ids(dataFrame.sortBy(List.of("Value"), List.of(Order.DESCENDING), NullOrder.FIRST)));
+    }
+
+    private static List<Object> ids(JDataFrame dataFrame) {
+        return new ArrayList<>(dataFrame.getColumn("Id"));
+    }
+
+    private static List<Object> randomValues(Random random, String column, int rows) {
+        int nullEvery = random.nextInt(4) == 0 ? 0 : 2 + random.nextInt(10);
+        int distinct = 1 + random.nextInt(random.nextBoolean() ? 5 : 1000);
+        List<Object> values = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            if (nullEvery > 0 && random.nextInt(nullEvery) == 0) {
+                values.add(null);
+                continue;
+            }
+            int value = random.nextInt(distinct) - distinct / 2;
+            values.add(switch (column) {
+                case "Int" -> random.nextInt(50) == 0 ? (random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE) : value;
+                case "Long" -> random.nextInt(50) == 0 ? (random.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE) : value * 3_000_000_000L;
+                case "Double" -> switch (random.nextInt(40)) {
+                    case 0 -> Double.NaN;
+                    case 1 -> -0.0;
+                    case 2 -> 0.0;
+                    case 3 -> Double.NEGATIVE_INFINITY;
+                    case 4 -> Double.POSITIVE_INFINITY;
+                    default -> value / 8.0;
+                };
+                case "Boolean" -> value % 2 == 0;
+                case "Date" -> LocalDate.of(2000, 1, 1).plusDays(value);
+                default -> "v" + value;
+            });
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> comparator(Map<String, List<Object>> data, List<String> columns, List<Order> orders, NullOrder nullOrder) {
+        Comparator<Object> comparator = (first, second) -> 0;
+        for (int i = 0; i < columns.size(); i++) {
+            List<Object> values = data.get(columns.get(i));
+            Comparator<Comparable<Object>> valueOrder = orders.get(i) == Order.ASCENDING ? Comparator.naturalOrder() : Comparator.reverseOrder();
+            Comparator<Comparable<Object>> withNulls = nullOrder == NullOrder.FIRST ? Comparator.nullsFirst(valueOrder) : Comparator.nullsLast(valueOrder);
+            comparator = comparator.thenComparing(row -> (Comparable<Object>) values.get((Integer) row), withNulls);
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.column.NumericColumn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.stream.DoubleStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnReductionsTest {
+
+    private final int parallelThreshold = ColumnReductions.getParallelThreshold();
+
+    @AfterEach
+    void restoreParallelThreshold() {
+        ColumnReductions.setParallelThreshold(parallelThreshold);
+    }
+
+    @Test
+    void runsTheKernelsTheBuildAskedFor() {
+        assertEquals(Boolean.getBoolean("jdataframe.vectorized"), ColumnReductions.isVectorized());
+    }
+
+    @Test
+    void reductionsMatchStreamsOverTheNonNullValues() {
+        ColumnReductions.setParallelThreshold(20_000);
+        Random random = new Random(11);
+        for (int frame = 0; frame < 200; frame++) {
+            int rows = frame % 20 == 0 ? 50_000 + random.nextInt(50_000) : random.nextInt(2_000);
+            int nullEvery = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(10);
+            for (ColumnType type : List.of(ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE)) {
+                Column column = Columns.create(type, rows);
+                for (int row = 0; row < rows; row++) {
+                    column.add(nullEvery > 0 && random.nextInt(nullEvery) == 0 ? null : randomValue(random, type));
+                }
+                Map<String, List<Object>> data = Map.of("Values", column);
+                double[] values = column.stream().filter(Objects::nonNull).mapToDouble(value -> ((Number) value).doubleValue()).toArray();
+                String message = type + " column of " + rows + " rows, frame " + frame;
+
+                double sum = DoubleStream.of(values).sum();
+                double mean = values.length == 0 ? 0.0 : sum / values.length;
+                double min = values.length == 0 ? 0.0 : DoubleStream.of(values).min().orElseThrow();
+                double max = values.length == 0 ? 0.0 : DoubleStream.of(values).max().orElseThrow();
+                double std = values.length == 0 ? 0.0 : Math.sqrt(DoubleStream.of(values).map(value -> (value - mean) * (value - mean)).sum() / values.length);
+                assertClose(sum, Statistics.SUM.calculate(data, "Values"), message);
+                assertClose(mean, Statistics.MEAN.calculate(data, "Values"), message);
+                assertEquals(min, Statistics.MIN.calculate(data, "Values"), message);
+                assertEquals(max, Statistics.MAX.calculate(data, "Values"), message);
+                assertEquals(max - min, Statistics.RANGE.calculate(data, "Values"), message);
+                assertClose(std, Statistics.STD.calculate(data, "Values"), message);
+            }
+        }
+    }
+
+    @Test
+    void tailRowsAndNaNsMatchAScalarLoop() {
+        for (int rows = 0; rows <= 200; rows++) {
+            for (int nanRow = -1; nanRow < rows; nanRow += Math.max(1, rows / 7)) {
+                double[] values = new double[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = row == nanRow ? Double.NaN : row % 5 == 0 ? -0.0 : (row * 37 % 101) - 50;
+                }
+                Column doubles = Columns.create(ColumnType.DOUBLE, rows);
+                Column ints = Columns.create(ColumnType.INT, rows);
+                Column longs = Columns.create(ColumnType.LONG, rows);
+                for (double value : values) {
+                    doubles.add(value);
+                    ints.add(Double.isNaN(value) ? null : (int) value);
+                    longs.add(Double.isNaN(value) ? null : (long) value * 1_000_000_000L);
+                }
+                String message = rows + " rows with NaN at row " + nanRow;
+
+                double sum = 0;
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (double value : values) {
+                    sum += value;
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                Map<String, List<Object>> data = Map.of("Values", doubles);
+                assertEquals(rows == 0 ? 0.0 : sum, Statistics.SUM.calculate(data, "Values"), message);
+                assertEquals(rows == 0 ? 0.0 : min, Statistics.MIN.calculate(data, "Values"), message);
+                assertEquals(rows == 0 ? 0.0 : max, Statistics.MAX.calculate(data, "Values"), message);
+                assertEquals(nanRow >= 0, Double.isNaN(Statistics.STD.calculate(data, "Values")), message);
+
+                for (Column column : List.of(ints, longs)) {
+                    Reduction reduction = ColumnReductions.reduce((NumericColumn) column);
+                    long count = column.stream().filter(Objects::nonNull).count();
+                    double scale = column == ints ? 1 : 1_000_000_000L;
+                    assertEquals(count, reduction.count(), message);
+                    assertEquals(column.stream().filter(Objects::nonNull).mapToDouble(value -> ((Number) value).doubleValue()).sum(), reduction.sum(), message);
+                    if (count > 0) {
+                        assertEquals(DoubleStream.of(values).filter(value -> !Double.isNaN(value)).min().orElseThrow() * scale + 0.0, reduction.min() + 0.0, message);
+                        assertEquals(DoubleStream.of(values).filter(value -> !Double.isNaN(value)).max().orElseThrow() * scale + 0.0, reduction.max() + 0.0, message);
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 63, 64, 65, 67, 131})
+    void extremesInTheLastRowsAreFound(int rows) {
+        for (ColumnType type : List.of(ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE)) {
+            Column column = Columns.create(type, rows);
+            for (int row = 0; row < rows; row++) {
+                column.add(value(type, row == rows - 1 ? -5 : 1));
+            }
+            Map<String, List<Object>> data = Map.of("Values", column);
+            String message = type + " column of " + rows + " rows";
+
+            assertEquals(-5.0, Statistics.MIN.calculate(data, "Values"), message);
+            assertEquals(rows == 1 ? -5.0 : 1.0, Statistics.MAX.calculate(data, "Values"), message);
+            assertEquals(rows - 6.0, Statistics.SUM.calculate(data, "Values"), message);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 63, 64, 65, 67, 131})
+    void aNaNInTheLastRowMakesTheReductionsNaN(int rows) {
+        Column column = Columns.create(ColumnType.DOUBLE, rows);
+        for (int row = 0; row < rows; row++) {
+            column.add(row == rows - 1 ? Double.NaN : (double) row);
+        }
+        Map<String, List<Object>> data = Map.of("Values", column);
+
+        assertTrue(Double.isNaN(Statistics.SUM.calculate(data, "Values")));
+        assertTrue(Double.isNaN(Statistics.MIN.calculate(data, "Values")));
+        assertTrue(Double.isNaN(Statistics.MAX.calculate(data, "Values")));
+        assertTrue(Double.isNaN(Statistics.MEAN.calculate(data, "Values")));
+    }
+
+    @Test
+    void nullRowsAreNotCountedAsZero() {
+        for (ColumnType type : List.of(ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE)) {
+            Column column = Columns.create(type, 70);
+            for (int row = 0; row < 70; row++) {
+                column.add(row == 3 || row >= 68 ? null : value(type, 10 + row));
+            }
+            Map<String, List<Object>> data = Map.of("Values", column);
+
+            assertEquals(10.0, Statistics.MIN.calculate(data, "Values"), type.toString());
+            assertEquals(77.0, Statistics.MAX.calculate(data, "Values"), type.toString());
+            assertEquals((10 + 77) / 2.0 * 68 - 13, Statistics.SUM.calculate(data, "Values"), type.toString());
+            assertEquals(((10 + 77) / 2.0 * 68 - 13) / 67, Statistics.MEAN.calculate(data, "Values"), 1e-12, type.toString());
+        }
+    }
+
+    @Test
+    void intSumsDoNotOverflow() {
+        Column column = Columns.create(ColumnType.INT, 100);
+        for (int row = 0; row < 100; row++) {
+            column.add(Integer.MAX_VALUE);
+        }
+
+        assertEquals(100.0 * Integer.MAX_VALUE, Statistics.SUM.calculate(Map.of("Values", column), "Values"));
+    }
+
+    @Test
+    void oppositeInfinitiesSumToNaNButBoundTheRange() {
+        Column column = Columns.create(ColumnType.DOUBLE, 65);
+        for (int row = 0; row < 65; row++) {
+            column.add(row == 10 ? Double.NEGATIVE_INFINITY : row == 64 ? Double.POSITIVE_INFINITY : 0.5);
+        }
+        Map<String, List<Object>> data = Map.of("Values", column);
+
+        assertTrue(Double.isNaN(Statistics.SUM.calculate(data, "Values")));
+        assertEquals(Double.NEGATIVE_INFINITY, Statistics.MIN.calculate(data, "Values"));
+        assertEquals(Double.POSITIVE_INFINITY, Statistics.MAX.calculate(data, "Values"));
+    }
+
+    private static Object value(ColumnType type, int value) {
+        return switch (type) {
+            case INT -> value;
+            case LONG -> (long) value;
+            default -> (double) value;
+        };
+    }
+
+    private static Object randomValue(Random random, ColumnType type) {
+        return switch (type) {
+            case INT -> random.nextInt(2_000_001) - 1_000_000;
+            case LONG -> random.nextLong(-1L << 40, 1L << 40);
+            default -> random.nextGaussian() * 1e4;
+        };
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        assertEquals(expected, actual, 1e-9 * Math.max(1.0, Math.abs(expected)), message);
+    }
+}
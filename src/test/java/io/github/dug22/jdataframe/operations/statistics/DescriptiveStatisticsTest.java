@@ -0,0 +1,121 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.column.Columns;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.DoubleStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptiveStatisticsTest {
+
+    @Test
+    void statisticsMatchASortedCopyOfTheValues() {
+        Random random = new Random(47);
+        for (int frame = 0; frame < 300; frame++) {
+            int rows = random.nextInt(frame % 30 == 0 ? 50_000 : 500);
+            int distinct = random.nextBoolean() ? 1 + random.nextInt(20) : Integer.MAX_VALUE;
+            int nullEvery = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(10);
+            boolean withNaN = random.nextInt(10) == 0;
+            for (ColumnType type : List.of(ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE, ColumnType.OBJECT)) {
+                Column column = Columns.create(type, rows);
+                for (int row = 0; row < rows; row++) {
+                    column.add(nullEvery > 0 && random.nextInt(nullEvery) == 0 ? null : randomValue(random, type, distinct, withNaN));
+                }
+                double[] values = column.stream().filter(value -> value instanceof Number)
+                        .mapToDouble(value -> ((Number) value).doubleValue()).toArray();
+                String message = type + " column of " + rows + " rows, frame " + frame;
+
+                DescriptiveStatistics statistics = DescriptiveStatistics.of(column);
+
+                double[] sorted = values.clone();
+                Arrays.sort(sorted);
+                int count = sorted.length;
+                double sum = DoubleStream.of(values).sum();
+                double mean = count == 0 ? 0.0 : sum / count;
+                boolean hasNaN = count > 0 && Double.isNaN(sorted[count - 1]);
+                double min = count == 0 ? 0.0 : hasNaN ? Double.NaN : sorted[0];
+                double max = count == 0 ? 0.0 : hasNaN ? Double.NaN : sorted[count - 1];
+                double median = count == 0 ? 0.0 : count % 2 == 1 ? sorted[count / 2] : (sorted[count / 2 - 1] + sorted[count / 2]) / 2.0;
+                double std = count == 0 ? 0.0 : Math.sqrt(DoubleStream.of(values).map(value -> (value - mean) * (value - mean)).sum() / count);
+
+                assertEquals(count, statistics.getCount(), message);
+                assertClose(sum, statistics.getSum(), message);
+                assertClose(mean, statistics.getMean(), message);
+                assertEquals(min, statistics.getMin(), message);
+                assertEquals(max, statistics.getMax(), message);
+                assertEquals(max - min, statistics.getRange(), message);
+                assertEquals(median, statistics.getMedian(), 0.0, message);
+                assertClose(std, statistics.getStandardDeviation(), message);
+                assertEquals(mode(sorted), statistics.getMode(), message);
+            }
+        }
+    }
+
+    @Test
+    void describeReturnsTheStatisticsOfEveryColumn() {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Score", new ArrayList<>(Arrays.asList(4.0, null, 1.0, 4.0, 2.0, 9.0)));
+        data.put("Count", new ArrayList<>(Arrays.asList(3, 3, 1, null, 5, 7)));
+        data.put("Unique", new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6)));
+        JDataFrame dataFrame = JDataFrame.builder().fromData(Columns.toColumnMap(data)).build();
+
+        Map<String, Map<String, Object>> described = dataFrame.describeStats(List.of("Score", "Count"));
+
+        assertEquals(List.of("Score", "Count"), List.copyOf(described.keySet()));
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("Sum", 20.0);
+        expected.put("Mean", 4.0);
+        expected.put("Mode", 4.0);
+        expected.put("Median", 4.0);
+        expected.put("Max", 9.0);
+        expected.put("Min", 1.0);
+        expected.put("Range", 8.0);
+        expected.put("Standard Deviation", Math.sqrt(38.0 / 5));
+        assertEquals(expected, described.get("Score"));
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(described.get("Count").keySet()));
+        assertEquals(3.0, described.get("Count").get("Mode"));
+        assertEquals(3.0, described.get("Count").get("Median"));
+        assertEquals(dataFrame.describeStats("Count"), described.get("Count"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> dataFrame.describeStats("Unique"));
+        assertEquals("No mode was found for column: Unique", exception.getMessage());
+    }
+
+    private static OptionalDouble mode(double[] sorted) {
+        OptionalDouble mode = OptionalDouble.empty();
+        int bestCount = 1;
+        int runStart = 0;
+        for (int i = 1; i <= sorted.length; i++) {
+            if (i == sorted.length || Double.compare(sorted[i], sorted[runStart]) != 0) {
+                if (i - runStart > bestCount) {
+                    bestCount = i - runStart;
+                    mode = OptionalDouble.of(sorted[runStart]);
+                }
+                runStart = i;
+            }
+        }
+        return mode;
+    }
+
+    private static Object randomValue(Random random, ColumnType type, int distinct, boolean withNaN) {
+        if (withNaN && random.nextInt(20) == 0) {
+            return type == ColumnType.DOUBLE || type == ColumnType.OBJECT ? (Object) Double.NaN : (Object) 0;
+        }
+        boolean small = distinct != Integer.MAX_VALUE;
+        return switch (type) {
+            case INT -> small ? random.nextInt(distinct) - distinct / 2 : random.nextInt(2_000_001) - 1_000_000;
+            case LONG -> small ? (long) random.nextInt(distinct) << 35 : random.nextLong(-1L << 40, 1L << 40);
+            case DOUBLE -> small ? (random.nextInt(distinct) - distinct / 2) / 4.0 : random.nextGaussian() * 1e4;
+            default -> random.nextBoolean() ? (Object) random.nextInt(small ? distinct : 1_000) : (Object) (random.nextInt(small ? distinct : 1_000) / 2.0);
+        };
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        assertEquals(expected, actual, Double.isNaN(expected) ? 0.0 : 1e-9 * Math.max(1.0, Math.abs(expected)), message);
+    }
+}
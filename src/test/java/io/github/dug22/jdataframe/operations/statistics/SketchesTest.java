@@ -0,0 +1,155 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.column.Column;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.column.Columns;
+import io.github.dug22.jdataframe.column.DoubleColumn;
+import io.github.dug22.jdataframe.column.IntColumn;
+import io.github.dug22.jdataframe.column.StringColumn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SketchesTest {
+
+    private static final double[] QUANTILES = {0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99};
+
+    private final int parallelThreshold = ColumnReductions.getParallelThreshold();
+
+    @AfterEach
+    void restoreParallelThreshold() {
+        ColumnReductions.setParallelThreshold(parallelThreshold);
+    }
+
+    @Test
+    void estimatedQuantilesStayWithinTheRankError() {
+        ColumnReductions.setParallelThreshold(50_000);
+        Random random = new Random(53);
+        for (int frame = 0; frame < 20; frame++) {
+            int rows = 1_000 + random.nextInt(frame % 5 == 0 ? 500_000 : 50_000);
+            int k = frame % 2 == 0 ? QuantileSketch.DEFAULT_K : 64 + random.nextInt(200);
+            DoubleColumn column = new DoubleColumn(rows);
+            for (int row = 0; row < rows; row++) {
+                column.add(random.nextInt(10) == 0 ? null : switch (frame % 4) {
+                    case 0 -> random.nextGaussian();
+                    case 1 -> Math.exp(random.nextGaussian() * 3);
+                    case 2 -> (double) random.nextInt(50);
+                    default -> (double) row;
+                });
+            }
+            double[] sorted = column.stream().filter(Objects::nonNull).mapToDouble(value -> (Double) value).sorted().toArray();
+            double allowed = 3 * QuantileSketch.getNormalizedRankError(k) * sorted.length;
+
+            QuantileSketch sketch = QuantileSketch.of(column, k);
+            assertEquals(sorted.length, sketch.getCount());
+            assertEquals(sorted[0], sketch.quantile(0));
+            assertEquals(sorted[sorted.length - 1], sketch.quantile(1));
+            for (double q : QUANTILES) {
+                String message = "quantile " + q + " of frame " + frame + " with k = " + k;
+                assertRankWithin(sorted, q, sketch.quantile(q), allowed, message);
+                assertRankWithin(sorted, q, Statistics.quantile(Map.of("Values", column), "Values", q, k), allowed, "merged " + message);
+            }
+        }
+    }
+
+    @Test
+    void sketchesHoldingFewerThanKValuesAreExact() {
+        Random random = new Random(59);
+        for (int frame = 0; frame < 100; frame++) {
+            int k = QuantileSketch.DEFAULT_K;
+            double[] values = random.doubles(1 + random.nextInt(k - 1)).toArray();
+            QuantileSketch sketch = new QuantileSketch(k);
+            for (double value : values) {
+                sketch.update(value);
+            }
+            sketch.update(Double.NaN);
+            Arrays.sort(values);
+
+            for (double q : QUANTILES) {
+                assertEquals(values[(int) Math.floor(q * values.length)], sketch.quantile(q), "quantile " + q + " of frame " + frame);
+            }
+            assertEquals(values.length, sketch.getCount());
+        }
+        assertEquals(0.0, new QuantileSketch().quantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(4));
+    }
+
+    @Test
+    void distinctCountsStayWithinTheRelativeError() {
+        Random random = new Random(61);
+        for (int cardinality : new int[]{0, 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000}) {
+            for (int precision : new int[]{10, HyperLogLog.DEFAULT_PRECISION}) {
+                HyperLogLog sketch = new HyperLogLog(precision);
+                HyperLogLog first = new HyperLogLog(precision);
+                HyperLogLog second = new HyperLogLog(precision);
+                long offset = random.nextLong();
+                for (int i = 0; i < 2 * cardinality; i++) {
+                    long value = offset + (i % cardinality) * 0x9E3779B97F4A7C15L;
+                    sketch.add(value);
+                    (i % 2 == 0 ? first : second).add(value);
+                }
+                String message = cardinality + " values with precision " + precision;
+
+                double allowed = Math.max(4 * sketch.getRelativeError() * cardinality, 2);
+                assertEquals(cardinality, sketch.estimate(), allowed, message);
+                first.merge(second);
+                assertEquals(sketch.estimate(), first.estimate(), message);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(10).merge(new HyperLogLog(12)));
+    }
+
+    @Test
+    void typedColumnsAreSketchedLikeTheirBoxedValues() {
+        Random random = new Random(67);
+        for (ColumnType type : List.of(ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE, ColumnType.STRING, ColumnType.DATE)) {
+            Column column = Columns.create(type, 10_000);
+            List<Object> boxed = new ArrayList<>();
+            for (int row = 0; row < 10_000; row++) {
+                Object value = random.nextInt(10) == 0 ? null : switch (type) {
+                    case INT -> random.nextInt(3_000);
+                    case LONG -> (long) random.nextInt(3_000);
+                    case DOUBLE -> random.nextInt(3_000) / 2.0;
+                    case STRING -> "value" + random.nextInt(3_000);
+                    default -> LocalDate.ofEpochDay(random.nextInt(3_000));
+                };
+                column.add(value);
+                boxed.add(value);
+            }
+            HyperLogLog expected = new HyperLogLog();
+            boxed.forEach(expected::add);
+
+            assertEquals(expected.estimate(), HyperLogLog.of(column, HyperLogLog.DEFAULT_PRECISION).estimate(), type.name());
+            assertEquals(expected.estimate(), HyperLogLog.of(boxed, HyperLogLog.DEFAULT_PRECISION).estimate(), type.name());
+        }
+        assertEquals(HyperLogLog.of(IntColumn.of(1, 2, 3), 10).estimate(), HyperLogLog.of(new ArrayList<>(List.of(1L, 2L, 3L)), 10).estimate());
+        assertEquals(2, HyperLogLog.of(StringColumn.of("a", null, "b", "a"), 10).estimate());
+    }
+
+    private static void assertRankWithin(double[] sorted, double q, double estimate, double allowed, String message) {
+        int below = lowerBound(sorted, estimate);
+        int atOrBelow = lowerBound(sorted, Math.nextUp(estimate));
+        double target = q * sorted.length;
+        assertTrue(below - allowed <= target && target <= atOrBelow + allowed,
+                message + ": rank [" + below + ", " + atOrBelow + "] of " + estimate + " is too far from " + target);
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int from = 0;
+        int to = sorted.length;
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (sorted[middle] < value) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.dug22.jdataframe.operations.statistics;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.operations.drop.How;
+import io.github.dug22.jdataframe.operations.drop.impl.DropImpl;
+import io.github.dug22.jdataframe.operations.replace.ReplaceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsCacheTest {
+
+    /**
+     * A change made to a column, which must raise its version.
+     */
+    private record Mutation(String name, Supplier<Column> column, Consumer<Column> change) {
+    }
+
+    @Test
+    void everyMutatorRaisesTheVersion() {
+        List<Mutation> mutations = new ArrayList<>();
+        for (Supplier<Column> column : List.<Supplier<Column>>of(
+                () -> IntColumn.of(1, 2, 3, 4),
+                () -> LongColumn.of(1, 2, 3, 4),
+                () -> DoubleColumn.of(1, 2, 3, 4),
+                () -> BooleanColumn.of(true, false, true, false),
+                () -> DateColumn.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4)),
+                () -> StringColumn.of("a", "b", "c", "d"),
+                () -> DictionaryColumn.of("a", "b", "c", "d"))) {
+            mutations.add(new Mutation("set", column, values -> values.set(1, values.get(2))));
+            mutations.add(new Mutation("set null", column, values -> values.set(1, null)));
+            mutations.add(new Mutation("add", column, values -> values.add(values.get(0))));
+            mutations.add(new Mutation("add null", column, values -> values.add(null)));
+            mutations.add(new Mutation("appendNull", column, Column::appendNull));
+            mutations.add(new Mutation("addAll column", column, values -> values.addAll(values.copy())));
+            mutations.add(new Mutation("addAll list", column, values -> values.addAll(Arrays.asList(values.get(0), null))));
+            mutations.add(new Mutation("remove", column, values -> values.remove(0)));
+            mutations.add(new Mutation("remove value", column, values -> values.remove(values.get(3))));
+            mutations.add(new Mutation("removeIf", column, values -> values.removeIf(value -> value.equals(values.get(2)))));
+            mutations.add(new Mutation("retainRows", column, values -> values.retainRows(new long[]{0b101})));
+            mutations.add(new Mutation("subList clear", column, values -> values.subList(1, 3).clear()));
+            mutations.add(new Mutation("iterator remove", column, values -> {
+                Iterator<Object> iterator = values.iterator();
+                iterator.next();
+                iterator.remove();
+            }));
+            mutations.add(new Mutation("replaceAll", column, values -> values.replaceAll(value -> values.get(0))));
+            mutations.add(new Mutation("sort", column, values -> values.sort(Comparator.comparing(Object::toString).reversed())));
+            mutations.add(new Mutation("clear", column, List::clear));
+        }
+        mutations.add(new Mutation("setInt", () -> IntColumn.of(1, 2), values -> ((IntColumn) values).setInt(0, 5)));
+        mutations.add(new Mutation("appendInt", () -> IntColumn.of(1, 2), values -> ((IntColumn) values).appendInt(5)));
+        mutations.add(new Mutation("setLong", () -> LongColumn.of(1, 2), values -> ((LongColumn) values).setLong(0, 5)));
+        mutations.add(new Mutation("appendLong", () -> LongColumn.of(1, 2), values -> ((LongColumn) values).appendLong(5)));
+        mutations.add(new Mutation("setDouble", () -> DoubleColumn.of(1, 2), values -> ((DoubleColumn) values).setDouble(0, 5)));
+        mutations.add(new Mutation("appendDouble", () -> DoubleColumn.of(1, 2), values -> ((DoubleColumn) values).appendDouble(5)));
+        mutations.add(new Mutation("setBoolean", () -> BooleanColumn.of(true), values -> ((BooleanColumn) values).setBoolean(0, false)));
+        mutations.add(new Mutation("appendBoolean", () -> BooleanColumn.of(true), values -> ((BooleanColumn) values).appendBoolean(false)));
+        mutations.add(new Mutation("setEpochDay", () -> DateColumn.of(LocalDate.EPOCH), values -> ((DateColumn) values).setEpochDay(0, 5)));
+        mutations.add(new Mutation("appendEpochDay", () -> DateColumn.of(LocalDate.EPOCH), values -> ((DateColumn) values).appendEpochDay(5)));
+        mutations.add(new Mutation("setString", () -> StringColumn.of("a"), values -> ((StringColumn) values).setString(0, "b")));
+        mutations.add(new Mutation("appendString", () -> StringColumn.of("a"), values -> ((StringColumn) values).appendString("b")));
+        mutations.add(new Mutation("appendString code", () -> DictionaryColumn.of("a"), values -> ((DictionaryColumn) values).appendString("b")));
+
+        for (Mutation mutation : mutations) {
+            for (boolean shared : new boolean[]{false, true}) {
+                Column column = mutation.column().get();
+                Column other = shared ? column.share() : null;
+                String message = mutation.name() + " on " + column.type() + (shared ? " sharing its rows" : "");
+                long version = column.version();
+                mutation.change().accept(column);
+                assertTrue(column.version() > version, message);
+                if (other != null) {
+                    assertEquals(mutation.column().get(), other, message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void changedColumnsAreComputedAgain() {
+        Random random = new Random(73);
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        IntColumn ints = new IntColumn(1_000);
+        DoubleColumn doubles = new DoubleColumn(1_000);
+        for (int row = 0; row < 1_000; row++) {
+            ints.add(random.nextInt(10) == 0 ? null : random.nextInt(100));
+            doubles.add(random.nextInt(10) == 0 ? null : random.nextInt(50) / 4.0);
+        }
+        data.put("Int", ints);
+        data.put("Double", doubles);
+        JDataFrame dataFrame = new JDataFrame(data);
+        dataFrame.enableCache(100, EvictionPolicy.LRU);
+
+        List<Runnable> changes = List.of(
+                () -> dataFrame.getColumn("Int").set(random.nextInt(dataFrame.getColumn("Int").size()), random.nextInt(100)),
+                () -> ((DoubleColumn) dataFrame.getColumn("Double")).setDouble(0, random.nextInt(50) / 4.0),
+                () -> new ReplaceImpl().replace(dataFrame.getDataFrameMap(), "Int", 1, random.nextInt(100)),
+                () -> new ReplaceImpl().replace(dataFrame.getDataFrameMap(), "Int", 2, random.nextInt(100) + 0.5),
+                () -> new DropImpl().dropNA(dataFrame.getDataFrameMap(), "Double", How.ANY),
+                () -> {
+                    dataFrame.getColumn("Int").add(random.nextInt(100));
+                    dataFrame.getColumn("Double").add(null);
+                },
+                () -> {
+                    dataFrame.getColumn("Int").remove(0);
+                    dataFrame.getColumn("Double").remove(0);
+                });
+        for (int round = 0; round < 50; round++) {
+            Runnable change = changes.get(round % changes.size());
+            for (String column : List.of("Int", "Double")) {
+                assertEquals(Statistics.MEAN.calculate(dataFrame.getDataFrameMap(), column), dataFrame.findStat("MEAN", column));
+                assertEquals(Statistics.MEAN.calculate(dataFrame.getDataFrameMap(), column), dataFrame.findStat("MEAN", column));
+                assertEquals(Statistics.quantile(dataFrame.getDataFrameMap(), column, 0.9), dataFrame.quantile(column, 0.9));
+                assertEquals(Statistics.describe(dataFrame.getDataFrameMap(), column), dataFrame.describeStats(column));
+            }
+            List<Column> columns = List.of(dataFrame.getColumn("Int"), dataFrame.getColumn("Double"));
+            long[] versions = {columns.get(0).version(), columns.get(1).version()};
+            CacheStats before = dataFrame.cacheStats();
+            change.run();
+            int changed = 0;
+            for (int i = 0; i < 2; i++) {
+                Column column = dataFrame.getColumn(i == 0 ? "Int" : "Double");
+                if (column != columns.get(i) || column.version() != versions[i]) {
+                    changed++;
+                }
+            }
+            assertTrue(changed > 0, "round " + round);
+            assertEquals(Statistics.MEAN.calculate(dataFrame.getDataFrameMap(), "Int"), dataFrame.findStat("MEAN", "Int"), "round " + round);
+            assertEquals(Statistics.MEAN.calculate(dataFrame.getDataFrameMap(), "Double"), dataFrame.findStat("MEAN", "Double"), "round " + round);
+            CacheStats after = dataFrame.cacheStats();
+            assertEquals(before.hits() + 2 - changed, after.hits(), "round " + round);
+            assertEquals(before.invalidations() + changed, after.invalidations(), "round " + round);
+        }
+        assertEquals(0, dataFrame.cacheStats().evictions());
+
+        new DropImpl().drop(dataFrame.getDataFrameMap(), "Double");
+        assertThrows(RuntimeException.class, () -> dataFrame.findStat("MEAN", "Double"));
+        dataFrame.disableCache();
+        assertEquals(new CacheStats(0, 0, 0, 0, 0, 0), dataFrame.cacheStats());
+    }
+
+    @Test
+    void leastRecentlyUsedResultIsEvicted() {
+        StatisticsCache cache = new StatisticsCache(2, EvictionPolicy.LRU);
+        Map<String, List<Object>> data = columns("A", "B", "C");
+        List<String> computed = new ArrayList<>();
+
+        for (String column : List.of("A", "B", "A", "C", "A", "B")) {
+            assertEquals("sum " + column, cache.get(data, "sum", column, () -> {
+                computed.add(column);
+                return "sum " + column;
+            }));
+        }
+
+        assertEquals(List.of("A", "B", "C", "B"), computed);
+        assertEquals(new CacheStats(2, 4, 2, 0, 2, 2), cache.stats());
+        assertEquals(1 / 3.0, cache.stats().hitRate(), 1e-12);
+    }
+
+    @Test
+    void leastFrequentlyUsedResultIsEvicted() {
+        StatisticsCache cache = new StatisticsCache(2, EvictionPolicy.LFU);
+        Map<String, List<Object>> data = columns("A", "B", "C");
+        List<String> computed = new ArrayList<>();
+
+        for (String column : List.of("A", "A", "B", "C", "B", "A", "C")) {
+            cache.get(data, "sum", column, () -> {
+                computed.add(column);
+                return column;
+            });
+        }
+
+        assertEquals(List.of("A", "B", "C", "B", "C"), computed);
+        assertEquals(new CacheStats(2, 5, 3, 0, 2, 2), cache.stats());
+    }
+
+    @Test
+    void untypedColumnsAndFailedComputationsAreNotCached() {
+        StatisticsCache cache = new StatisticsCache(10, EvictionPolicy.LRU);
+        Map<String, List<Object>> data = new LinkedHashMap<>(columns("A"));
+        data.put("Plain", new ArrayList<>(List.of(1, 2)));
+
+        cache.get(data, "sum", "Plain", () -> 3);
+        cache.get(data, "sum", "Plain", () -> 3);
+        assertThrows(IllegalStateException.class, () -> cache.get(data, "sum", "A", () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(7, (int) cache.get(data, "sum", "A", () -> 7));
+        assertEquals(7, (int) cache.get(data, "sum", "A", () -> 8));
+        assertEquals(8, (int) cache.get(data, "mean", "A", () -> 8));
+
+        assertEquals(new CacheStats(1, 5, 0, 0, 2, 10), cache.stats());
+        cache.clear();
+        assertEquals(new CacheStats(1, 5, 0, 0, 0, 10), cache.stats());
+        assertThrows(IllegalArgumentException.class, () -> new StatisticsCache(0, EvictionPolicy.LFU));
+    }
+
+    private static Map<String, List<Object>> columns(String... names) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        for (String name : names) {
+            data.put(name, IntColumn.of(1, 2, 3));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrowUtilsTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {".arrow", ".feather", ".arrows"})
+    void readFileHoldsTheExportedColumns(String extension) throws IOException {
+        Random random = new Random(extension.length());
+        for (int frame = 0; frame < 20; frame++) {
+            int rows = random.nextInt(frame % 5 == 0 ? 20_000 : 300);
+            JDataFrame dataFrame = new JDataFrame(randomFrame(random, rows));
+            String file = directory.resolve("frame" + frame + extension).toString();
+
+            dataFrame.exportToArrow(file);
+            JDataFrame read = JDataFrame.builder().fromArrow(file).build();
+
+            assertEquals(List.copyOf(dataFrame.getDataFrameMap().keySet()), List.copyOf(read.getDataFrameMap().keySet()));
+            for (Map.Entry<String, List<Object>> entry : dataFrame.getDataFrameMap().entrySet()) {
+                Column column = read.getColumn(entry.getKey());
+                String message = entry.getKey() + " of frame " + frame;
+                assertEquals(((Column) entry.getValue()).type(), column.type(), message);
+                assertEquals(entry.getValue(), column, message);
+            }
+        }
+    }
+
+    @Test
+    void streamAndFileFormatsStartWithTheirOwnMarkers() throws IOException {
+        Map<String, List<Object>> data = Map.of("Id", IntColumn.of(1, 2, 3));
+        Path file = directory.resolve("ids.arrow");
+        Path stream = directory.resolve("ids.arrows");
+
+        new JDataFrame(data).exportToArrow(file.toString());
+        new JDataFrame(data).exportToArrow(stream.toString());
+
+        byte[] fileBytes = Files.readAllBytes(file);
+        byte[] streamBytes = Files.readAllBytes(stream);
+        assertArrayEquals(ArrowUtils.MAGIC, Arrays.copyOf(fileBytes, ArrowUtils.MAGIC.length));
+        assertArrayEquals(ArrowUtils.MAGIC, Arrays.copyOfRange(fileBytes, fileBytes.length - ArrowUtils.MAGIC.length, fileBytes.length));
+        assertFalse(Arrays.equals(ArrowUtils.MAGIC, Arrays.copyOf(streamBytes, ArrowUtils.MAGIC.length)));
+    }
+
+    @Test
+    void framesThatCannotBeWrittenAreRejected() {
+        Map<String, List<Object>> mixed = new LinkedHashMap<>();
+        mixed.put("Value", new ArrayList<>(List.of(1, "one")));
+        Map<String, List<Object>> uneven = new LinkedHashMap<>();
+        uneven.put("Id", IntColumn.of(1, 2));
+        uneven.put("Score", DoubleColumn.of(0.5));
+        Map<String, List<Object>> data = Map.of("Id", IntColumn.of(1, 2));
+
+        assertThrows(IllegalArgumentException.class, () -> new JDataFrame(mixed).exportToArrow(directory.resolve("mixed.arrow").toString()));
+        assertThrows(IllegalArgumentException.class, () -> ArrowUtils.writeToArrow(directory.resolve("uneven.arrow").toString(), uneven));
+        assertThrows(RuntimeException.class, () -> new JDataFrame(data).exportToArrow(directory.resolve("ids.csv").toString()));
+        assertThrows(UncheckedIOException.class, () -> new JDataFrame(data).exportToArrow(directory.resolve("missing").resolve("ids.arrow").toString()));
+    }
+
+    private static Map<String, List<Object>> randomFrame(Random random, int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        IntColumn ints = new IntColumn(rows);
+        LongColumn longs = new LongColumn(rows);
+        DoubleColumn doubles = new DoubleColumn(rows);
+        BooleanColumn flags = new BooleanColumn(rows);
+        DateColumn dates = new DateColumn(rows);
+        DictionaryColumn codes = new DictionaryColumn(rows);
+        StringColumn notes = new StringColumn(rows);
+        int nullEvery = 2 + random.nextInt(10);
+        for (int row = 0; row < rows; row++) {
+            ints.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt());
+            longs.add(random.nextInt(nullEvery) == 0 ? null : random.nextLong());
+            doubles.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt(50) == 0 ? Double.NaN : random.nextGaussian());
+            flags.add(random.nextInt(nullEvery) == 0 ? null : random.nextBoolean());
+            dates.add(random.nextInt(nullEvery) == 0 ? null : LocalDate.ofEpochDay(random.nextInt(40_000) - 20_000));
+            codes.add(random.nextInt(nullEvery) == 0 ? null : "code" + random.nextInt(20));
+            notes.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt(10) == 0 ? "" : "note \"" + random.nextInt() + "\" é,");
+        }
+        data.put("Int", ints);
+        data.put("Long", longs);
+        data.put("Double", doubles);
+        data.put("Flag", flags);
+        data.put("Date", dates);
+        data.put("Code", codes);
+        data.put("Note", notes);
+        return data;
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryUtilsTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void openedFileHoldsTheExportedColumns(boolean compressed) throws IOException {
+        Random random = new Random(compressed ? 3 : 5);
+        for (int frame = 0; frame < 20; frame++) {
+            int rows = random.nextInt(frame % 5 == 0 ? 20_000 : 300);
+            JDataFrame dataFrame = new JDataFrame(randomFrame(random, rows));
+            String file = directory.resolve("frame" + frame + ".jdf").toString();
+
+            dataFrame.exportToBinary(file, compressed);
+            JDataFrame opened = JDataFrame.openBinary(file);
+
+            assertEquals(List.copyOf(dataFrame.getDataFrameMap().keySet()), List.copyOf(opened.getDataFrameMap().keySet()));
+            for (Map.Entry<String, List<Object>> entry : dataFrame.getDataFrameMap().entrySet()) {
+                Column column = opened.getColumn(entry.getKey());
+                String message = entry.getKey() + " of frame " + frame;
+                assertEquals(((Column) entry.getValue()).type(), column.type(), message);
+                assertEquals(entry.getValue(), column, message);
+            }
+            assertInstanceOf(DictionaryColumn.class, opened.getColumn("Code"));
+        }
+    }
+
+    @Test
+    void selectedColumnsAndHeaderMatchTheFile() throws IOException {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", IntColumn.of(3, 1, 2));
+        data.put("Score", DoubleColumn.of(0.5, -1.5, 2.0));
+        data.put("City", StringColumn.of("Oslo", null, "Lima"));
+        String file = directory.resolve("selected.jdf").toString();
+        new JDataFrame(data).exportToBinary(file, true);
+
+        JDataFrame selected = JDataFrame.openBinary(file, List.of("City", "Id"));
+        List<BinaryColumnInfo> header = BinaryUtils.readColumnInfo(file);
+
+        assertEquals(List.of("Id", "City"), List.copyOf(selected.getDataFrameMap().keySet()));
+        assertEquals(Arrays.asList("Oslo", null, "Lima"), new ArrayList<>(selected.getColumn("City")));
+        assertEquals(new BinaryColumnInfo("Id", ColumnType.INT, 3, 0, 1, 3, false, true), header.get(0));
+        assertEquals(-1.5, header.get(1).min());
+        assertEquals(1, header.get(2).nullCount());
+        assertEquals("Lima", header.get(2).min());
+    }
+
+    @Test
+    void writeFailureIsThrown() {
+        Map<String, List<Object>> data = Map.of("Id", IntColumn.of(1, 2));
+        String file = directory.resolve("missing").resolve("frame.jdf").toString();
+
+        assertThrows(UncheckedIOException.class, () -> new JDataFrame(data).exportToBinary(file));
+    }
+
+    private static Map<String, List<Object>> randomFrame(Random random, int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        IntColumn ints = new IntColumn(rows);
+        LongColumn longs = new LongColumn(rows);
+        DoubleColumn doubles = new DoubleColumn(rows);
+        BooleanColumn flags = new BooleanColumn(rows);
+        DateColumn dates = new DateColumn(rows);
+        DictionaryColumn codes = new DictionaryColumn(rows);
+        StringColumn notes = new StringColumn(rows);
+        int nullEvery = 2 + random.nextInt(10);
+        for (int row = 0; row < rows; row++) {
+            ints.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt());
+            longs.add(random.nextInt(nullEvery) == 0 ? null : random.nextLong());
+            doubles.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt(50) == 0 ? Double.NaN : random.nextGaussian());
+            flags.add(random.nextInt(nullEvery) == 0 ? null : random.nextBoolean());
+            dates.add(random.nextInt(nullEvery) == 0 ? null : LocalDate.ofEpochDay(random.nextInt(40_000) - 20_000));
+            codes.add(random.nextInt(nullEvery) == 0 ? null : "code" + random.nextInt(20));
+            notes.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt(10) == 0 ? "" : "note \"" + random.nextInt() + "\" é,");
+        }
+        data.put("Int", ints);
+        data.put("Long", longs);
+        data.put("Double", doubles);
+        data.put("Flag", flags);
+        data.put("Date", dates);
+        data.put("Code", codes);
+        data.put("Note", notes);
+        return data;
+    }
+}
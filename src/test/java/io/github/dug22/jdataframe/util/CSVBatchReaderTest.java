@@ -0,0 +1,129 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.column.DoubleColumn;
+import io.github.dug22.jdataframe.column.IntColumn;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVBatchReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void batchesBuiltIntoDataFramesKeepReusingTheBuffers() throws IOException {
+        Path file = write(10_000);
+        List<JDataFrame> filtered = new ArrayList<>();
+        int[] buffer = null;
+
+        try (CSVBatchReader reader = new CSVBatchReader(file.toString(), 1000, CSVOptions.defaults())) {
+            while (reader.hasNext()) {
+                Map<String, List<Object>> batch = reader.next();
+                int[] ids = ((IntColumn) batch.get("Id")).data();
+                if (buffer != null) {
+                    assertSame(buffer, ids);
+                }
+                buffer = ids;
+                filtered.add(JDataFrame.builder().fromData(batch).filter(col("Group").eq(3)).build());
+            }
+        }
+
+        assertEquals(10, filtered.size());
+        for (int batch = 0; batch < filtered.size(); batch++) {
+            List<Object> ids = filtered.get(batch).getColumn("Id");
+            assertEquals(100, ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                assertEquals(batch * 1000 + i * 10 + 3, ids.get(i));
+            }
+        }
+    }
+
+    @Test
+    void modifyingABatchDoesNotWriteToTheBuffers() throws IOException {
+        Path file = write(100);
+
+        try (CSVBatchReader reader = new CSVBatchReader(file.toString(), 50, CSVOptions.defaults())) {
+            Map<String, List<Object>> first = reader.next();
+            int[] buffer = ((IntColumn) first.get("Id")).data();
+            first.get("Id").set(0, -1);
+            first.get("Id").add(-2);
+
+            assertEquals(0, buffer[0]);
+            assertEquals(-1, first.get("Id").get(0));
+            assertEquals(51, first.get("Id").size());
+
+            Map<String, List<Object>> second = reader.next();
+            assertSame(buffer, ((IntColumn) second.get("Id")).data());
+            assertEquals(50, second.get("Id").get(0));
+            assertEquals(50, second.get("Id").size());
+        }
+    }
+
+    @Test
+    void everyBatchKeepsTheColumnTypesOfTheSample() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Score\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append(i).append(',').append(i < 10 ? i + 0.5 : i).append('\n');
+        }
+        Path file = directory.resolve("types.csv");
+        Files.writeString(file, csv.toString());
+
+        try (CSVBatchReader reader = new CSVBatchReader(file.toString(), 100, CSVOptions.defaults().sampleSize(50))) {
+            while (reader.hasNext()) {
+                Map<String, List<Object>> batch = reader.next();
+                assertInstanceOf(IntColumn.class, batch.get("Id"));
+                assertInstanceOf(DoubleColumn.class, batch.get("Score"));
+            }
+        }
+    }
+
+    @Test
+    void cellThatDoesNotFitTheTypeOfTheSampleFailsItsBatch() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Group\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append(i).append(',').append(i == 250 ? "late text" : i % 10).append('\n');
+        }
+        Path file = directory.resolve("late.csv");
+        Files.writeString(file, csv.toString());
+
+        try (CSVBatchReader reader = new CSVBatchReader(file.toString(), 100, CSVOptions.defaults().sampleSize(50))) {
+            assertInstanceOf(IntColumn.class, reader.next().get("Group"));
+            assertInstanceOf(IntColumn.class, reader.next().get("Group"));
+            IllegalArgumentException failure = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(failure.getMessage().contains("'late text'"));
+        }
+
+        CSVOptions textGroups = CSVOptions.defaults().sampleSize(50).columnType("Group", ColumnType.STRING);
+        try (CSVBatchReader reader = new CSVBatchReader(file.toString(), 100, textGroups)) {
+            List<Object> groups = new ArrayList<>();
+            while (reader.hasNext()) {
+                groups.addAll(reader.next().get("Group"));
+            }
+            assertEquals(300, groups.size());
+            assertEquals("late text", groups.get(250));
+            assertEquals("9", groups.get(299));
+        }
+    }
+
+    private Path write(int rows) throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Group\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(',').append(i % 10).append('\n');
+        }
+        Path file = directory.resolve("batches.csv");
+        Files.writeString(file, csv.toString());
+        return file;
+    }
+}
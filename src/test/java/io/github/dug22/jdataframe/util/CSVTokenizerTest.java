@@ -0,0 +1,93 @@
+package io.github.dug22.jdataframe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVTokenizerTest {
+
+    @Test
+    void quotedFieldsKeepDelimitersLineBreaksAndEscapedQuotes() throws IOException {
+        String csv = "a,\"b,c\",\"say \"\"hi\"\"\"\r\n\"line\none\",,\"\"\r\n";
+
+        assertEquals(List.of(List.of("a", "b,c", "say \"hi\""), List.of("line\none", "", "")), records(csv, ',', '"'));
+    }
+
+    @Test
+    void recordsMayEndWithLineFeedCarriageReturnOrNothing() throws IOException {
+        assertEquals(List.of(List.of("1", "2"), List.of("3", "4"), List.of("5", "6"), List.of("7", "8")), records("1,2\n3,4\r5,6\r\n7,8", ',', '"'));
+    }
+
+    @Test
+    void customDelimiterAndQuote() throws IOException {
+        assertEquals(List.of(List.of("a;b", "c", "it's")), records("'a;b';c;'it''s'\n", ';', '\''));
+    }
+
+    @Test
+    void buffersAndStreamsTokenizeAlike() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            csv.append(i).append(",\"").append("x".repeat(i % 7)).append("\n\"\"").append(i).append("\"\"\",").append(i * 0.5).append("\r\n");
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<List<String>> streamed = records(new CSVTokenizer(new ByteArrayInputStream(bytes), ',', '"'));
+        List<List<String>> mapped = records(new CSVTokenizer(ByteBuffer.wrap(bytes), ',', '"'));
+
+        assertEquals(20_000, streamed.size());
+        assertEquals("xx\n\"9\"", streamed.get(9).get(1));
+        assertEquals(streamed, mapped);
+    }
+
+    @Test
+    void numbersAreParsedFromTheBuffer() throws IOException {
+        CSVTokenizer tokenizer = new CSVTokenizer(new ByteArrayInputStream("-42,9000000000,1.25e2,true,2024-02-29\n".getBytes(StandardCharsets.UTF_8)), ',', '"');
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(-42, tokenizer.getInt(0));
+        assertEquals(9_000_000_000L, tokenizer.getLong(1));
+        assertEquals(125.0, tokenizer.getDouble(2));
+        assertTrue(tokenizer.getBoolean(3));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), tokenizer.getEpochDay(4));
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void doublesFollowTheGrammarOfTypeInference() throws IOException {
+        CSVTokenizer tokenizer = new CSVTokenizer(new ByteArrayInputStream("12f,12d, 7,Infinity,NaN,0x1p3,1e,.5,-3.,12345678901234567890.5\n".getBytes(StandardCharsets.UTF_8)), ',', '"');
+
+        assertTrue(tokenizer.nextRecord());
+        for (int field = 0; field < 7; field++) {
+            int invalid = field;
+            assertThrows(NumberFormatException.class, () -> tokenizer.getDouble(invalid), tokenizer.getString(field));
+        }
+        assertEquals(0.5, tokenizer.getDouble(7));
+        assertEquals(-3.0, tokenizer.getDouble(8));
+        assertEquals(12345678901234567890.5, tokenizer.getDouble(9));
+    }
+
+    @Test
+    void delimiterAndQuoteMustDiffer() {
+        assertThrows(IllegalArgumentException.class, () -> new CSVTokenizer(new ByteArrayInputStream(new byte[0]), '"', '"'));
+    }
+
+    private static List<List<String>> records(String csv, char delimiter, char quote) throws IOException {
+        return records(new CSVTokenizer(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), delimiter, quote));
+    }
+
+    private static List<List<String>> records(CSVTokenizer tokenizer) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        while (tokenizer.nextRecord()) {
+            records.add(List.of(tokenizer.getStrings()));
+        }
+        return records;
+    }
+}
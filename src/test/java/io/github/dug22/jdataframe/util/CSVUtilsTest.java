@@ -0,0 +1,334 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.JDataFrameBuilder;
+import io.github.dug22.jdataframe.column.*;
+import io.github.dug22.jdataframe.metrics.StageMetrics;
+import io.github.dug22.jdataframe.operations.filter.FilterPredicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVUtilsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void lateTextCellKeepsTheTextOfEveryCell() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Value,Code\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append(i).append(',').append(i == 1500 ? "n/a" : i + ".50").append(',').append(i == 0 ? "007" : i == 1999 ? "ABC" : Integer.toString(i)).append('\n');
+        }
+        Path file = write("late.csv", csv.toString());
+
+        List<StageMetrics> stages = new ArrayList<>();
+        JDataFrame dataFrame = JDataFrame.builder().metrics(stages::add).fromCSV(file.toString()).build();
+
+        Column values = dataFrame.getColumn("Value");
+        assertEquals(ColumnType.STRING, values.type());
+        assertEquals("0.50", values.get(0));
+        assertEquals("1499.50", values.get(1499));
+        assertEquals("n/a", values.get(1500));
+        assertEquals("1501.50", values.get(1501));
+        assertEquals(List.of("007", "1", "ABC"), List.of(dataFrame.getColumn("Code").get(0), dataFrame.getColumn("Code").get(1), dataFrame.getColumn("Code").get(1999)));
+        assertEquals(ColumnType.INT, dataFrame.getColumn("Id").type());
+        StageMetrics read = stages.stream().filter(stage -> stage.stage().equals("readCSV")).findFirst().orElseThrow();
+        assertEquals(2 * Files.size(file), read.bytesRead());
+    }
+
+    @Test
+    void lateTextCellKeepsTheTextOfEveryKeptRow() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Value\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append(i).append(',').append(i == 99_999 ? "none" : i + ".10").append('\n');
+        }
+        Path file = write("filtered.csv", csv.toString());
+
+        JDataFrame dataFrame = JDataFrame.builder().fromCSV(file.toString()).filter(col("Id").lt(3)).build();
+
+        assertEquals(List.of("0.10", "1.10", "2.10"), new ArrayList<>(dataFrame.getColumn("Value")));
+    }
+
+    @Test
+    void cellsOutsideTheNumberGrammarWidenTheColumn() throws IOException {
+        StringBuilder csv = new StringBuilder("Price,Count\n");
+        for (int i = 0; i < 1500; i++) {
+            csv.append(i == 1200 ? "12f" : i + ".5").append(',').append(i == 1300 ? "Infinity" : i == 1400 ? "\" 7\"" : Integer.toString(i)).append('\n');
+        }
+        Path file = write("grammar.csv", csv.toString());
+
+        for (CSVOptions options : List.of(CSVOptions.defaults().parallelism(1), CSVOptions.defaults().parallelism(4).parallelThreshold(0))) {
+            JDataFrame dataFrame = JDataFrame.builder().fromCSV(file.toString(), options).build();
+
+            assertEquals(ColumnType.STRING, dataFrame.getColumn("Price").type());
+            assertEquals("12f", dataFrame.getColumn("Price").get(1200));
+            assertEquals("1199.5", dataFrame.getColumn("Price").get(1199));
+            assertEquals(ColumnType.STRING, dataFrame.getColumn("Count").type());
+            assertEquals("Infinity", dataFrame.getColumn("Count").get(1300));
+            assertEquals(" 7", dataFrame.getColumn("Count").get(1400));
+        }
+    }
+
+    @Test
+    void paddedCellsWidenIntegerAndDecimalColumnsAlike() throws IOException {
+        Path file = write("padded.csv", "Int,Decimal\n1,1.5\n2,2.5\n\" 7\",\" 7\"\n");
+
+        JDataFrame dataFrame = JDataFrame.builder().fromCSV(file.toString(), CSVOptions.defaults().sampleSize(2)).build();
+
+        assertEquals(List.of("1", "2", " 7"), new ArrayList<>(dataFrame.getColumn("Int")));
+        assertEquals(List.of("1.5", "2.5", " 7"), new ArrayList<>(dataFrame.getColumn("Decimal")));
+    }
+
+    @Test
+    void stringOverrideKeepsTheTextOfEveryCell() throws IOException {
+        Path file = write("override.csv", "Value\n1.50\n007\nabc\n");
+
+        JDataFrame dataFrame = JDataFrame.builder().fromCSV(file.toString(), CSVOptions.defaults().sampleSize(1).columnType("Value", ColumnType.STRING)).build();
+
+        assertEquals(List.of("1.50", "007", "abc"), new ArrayList<>(dataFrame.getColumn("Value")));
+    }
+
+    @Test
+    void widenedDatesKeepTheDatePattern() throws IOException {
+        Path file = write("dates.csv", "Joined\n05/01/2020\n17/03/2021\nunknown\n");
+
+        JDataFrame dataFrame = JDataFrame.builder().fromCSV(file.toString(), CSVOptions.defaults().sampleSize(2).dateFormat("dd/MM/yyyy")).build();
+
+        assertEquals(List.of("05/01/2020", "17/03/2021", "unknown"), new ArrayList<>(dataFrame.getColumn("Joined")));
+    }
+
+    @Test
+    void parallelChunksWidenLikeTheSequentialReader() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Value\n");
+        for (int i = 0; i < 200_000; i++) {
+            csv.append(i).append(',').append(i % 70_000 == 69_999 ? "text" : Integer.toString(i * 3)).append('\n');
+        }
+        Path file = write("chunks.csv", csv.toString());
+
+        JDataFrame sequential = JDataFrame.builder().fromCSV(file.toString(), CSVOptions.defaults().parallelism(1)).build();
+        JDataFrame parallel = JDataFrame.builder().fromCSV(file.toString(), CSVOptions.defaults().parallelism(4).parallelThreshold(0)).build();
+
+        assertEquals(ColumnType.STRING, parallel.getColumn("Value").type());
+        assertEquals(new ArrayList<>(sequential.getColumn("Value")), new ArrayList<>(parallel.getColumn("Value")));
+        assertEquals(new ArrayList<>(sequential.getColumn("Id")), new ArrayList<>(parallel.getColumn("Id")));
+    }
+
+    @Test
+    void failingFilterOnTextIsRethrownWithoutReadingTheFileAgain() throws IOException {
+        Path file = write("names.csv", "Name,Age\nAda,36\nAlan,41\n");
+        AtomicInteger calls = new AtomicInteger();
+        FilterPredicate<Map<String, Object>> condition = row -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("broken filter");
+        };
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> JDataFrame.builder().fromCSV(file.toString()).filter("Name", condition).build());
+
+        assertEquals("broken filter", exception.getMessage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failingFilterOnNumbersThatStayNumbersIsRethrownAfterOnePass() throws IOException {
+        StringBuilder csv = new StringBuilder("Id\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append(i).append('\n');
+        }
+        Path file = write("ids.csv", csv.toString());
+        AtomicInteger calls = new AtomicInteger();
+        FilterPredicate<Map<String, Object>> condition = row -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("broken filter");
+        };
+
+        assertThrows(IllegalStateException.class, () -> JDataFrame.builder().fromCSV(file.toString()).filter("Id", condition).build());
+        assertEquals(1, calls.get());
+        assertThrows(IllegalArgumentException.class, () -> JDataFrame.builder().fromCSV(file.toString()).filter(col("Id").eq("A1")).build());
+    }
+
+    @Test
+    void filterOnColumnWidenedAfterFilteredBatchesReadsTheFileAgain() throws IOException {
+        StringBuilder csv = new StringBuilder("Code,Value\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append(i == 90_000 ? "A1" : Integer.toString(i % 100)).append(',').append(i).append('\n');
+        }
+        Path file = write("codes.csv", csv.toString());
+
+        List<StageMetrics> stages = new ArrayList<>();
+        JDataFrame dataFrame = JDataFrame.builder().metrics(stages::add).fromCSV(file.toString()).filter(col("Code").in("7", "A1")).build();
+
+        assertEquals(ColumnType.STRING, dataFrame.getColumn("Code").type());
+        assertEquals(1001, dataFrame.getColumn("Value").size());
+        assertEquals(90_000, dataFrame.getColumn("Value").get(900));
+        StageMetrics read = stages.stream().filter(stage -> stage.stage().equals("readCSV")).findFirst().orElseThrow();
+        assertEquals(2 * Files.size(file), read.bytesRead());
+    }
+
+    @Test
+    void filterOnStableTypesReadsTheFileOnce() throws IOException {
+        StringBuilder csv = new StringBuilder("Code,Value\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append(i % 100).append(',').append(i).append('\n');
+        }
+        Path file = write("stable.csv", csv.toString());
+
+        List<StageMetrics> stages = new ArrayList<>();
+        JDataFrame dataFrame = JDataFrame.builder().metrics(stages::add).fromCSV(file.toString()).filter(col("Code").eq(7)).build();
+
+        assertEquals(1000, dataFrame.getColumn("Value").size());
+        StageMetrics read = stages.stream().filter(stage -> stage.stage().equals("readCSV")).findFirst().orElseThrow();
+        assertEquals(Files.size(file), read.bytesRead());
+    }
+
+    @Test
+    void fileRemovedAfterTheHeaderWasReadFailsTheBuildWithPushedDownOperations() throws IOException {
+        Path file = write("removed.csv", "Name,Age,City\nAda,36,Oslo\nAlan,41,Lima\n");
+        JDataFrameBuilder builder = JDataFrame.builder().fromCSV(file.toString()).filter(col("Age").gt(40)).drop("City");
+        Files.delete(file);
+
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, builder::build);
+
+        assertInstanceOf(NoSuchFileException.class, exception.getCause());
+        assertThrows(NoSuchFileException.class, () -> JDataFrame.builder().fromCSV(file.toString()));
+    }
+
+    @Test
+    void malformedRowFailsTheBuildWithFusedFilters() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Value\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append(i).append(',').append(i).append('\n');
+        }
+        csv.append("100000,1,extra\n");
+        Path file = write("malformed.csv", csv.toString());
+        JDataFrameBuilder builder = JDataFrame.builder().fromCSV(file.toString()).filter(col("Id").gt(10)).filter(col("Value").lt(20)).drop("Value");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("Row length does not match column size!", exception.getMessage());
+    }
+
+    @Test
+    void cellOutsideAForcedTypeFailsTheBuildWithAPushedDownFilter() throws IOException {
+        Path file = write("forced.csv", "Id,Value\n1,10\n2,abc\n3,30\n");
+        CSVOptions options = CSVOptions.defaults().columnType("Value", ColumnType.INT);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> JDataFrame.builder().fromCSV(file.toString(), options).filter(col("Id").lt(3)).build());
+
+        assertEquals("Value 'abc' of column 'Value' is not a valid INT!", exception.getMessage());
+    }
+
+    @Test
+    void readFileHoldsTheWrittenColumns() throws IOException {
+        Random random = new Random(37);
+        List<CSVOptions> optionsList = List.of(CSVOptions.defaults(), CSVOptions.defaults().delimiter(';').quote('\''),
+                CSVOptions.defaults().delimiter('\t'));
+        for (int frame = 0; frame < 30; frame++) {
+            int rows = random.nextInt(frame % 10 == 0 ? 20_000 : 300);
+            Map<String, List<Object>> data = randomFrame(random, rows);
+            CSVOptions options = optionsList.get(frame % optionsList.size()).copy();
+            data.forEach((name, values) -> options.columnType(name, ((Column) values).type()));
+            Path file = directory.resolve("frame" + frame + ".csv");
+            Path compressed = directory.resolve("frame" + frame + ".csv.gz");
+
+            new JDataFrame(data).exportToCSV(file.toString(), options);
+            new JDataFrame(data).exportToCSV(compressed.toString(), options);
+            JDataFrame read = JDataFrame.builder().fromCSV(file.toString(), options).build();
+
+            try (InputStream input = new GZIPInputStream(Files.newInputStream(compressed))) {
+                assertArrayEquals(Files.readAllBytes(file), input.readAllBytes(), "frame " + frame);
+            }
+            assertEquals(List.copyOf(data.keySet()), List.copyOf(read.getDataFrameMap().keySet()));
+            for (Map.Entry<String, List<Object>> entry : data.entrySet()) {
+                assertEquals(entry.getValue(), new ArrayList<>(read.getColumn(entry.getKey())), entry.getKey() + " of frame " + frame);
+            }
+        }
+    }
+
+    @Test
+    void cellsAreQuotedOnlyWhenTheyNeedIt() throws IOException {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Text, quoted", StringColumn.of("plain", "a,b", "say \"hi\"", "two\nlines", null));
+        data.put("Number", Arrays.asList(Long.MIN_VALUE, -1L, 0L, null, Long.MAX_VALUE));
+        data.put("Date", DateColumn.of(LocalDate.of(-1, 1, 1), LocalDate.of(2024, 2, 29), null, LocalDate.of(10_000, 12, 31), LocalDate.of(1970, 1, 1)));
+        data.put("Value", Arrays.asList(-0.0, 1e-300, null, 0.1, Double.MAX_VALUE));
+        Path file = directory.resolve("quoted.csv");
+
+        new JDataFrame(data).exportToCSV(file.toString());
+
+        assertEquals(List.of(
+                "\"Text, quoted\",Number,Date,Value",
+                "plain,-9223372036854775808,-0001-01-01,-0.0",
+                "\"a,b\",-1,2024-02-29,1.0E-300",
+                "\"say \"\"hi\"\"\",0,,",
+                "\"two",
+                "lines\",,+10000-12-31,0.1",
+                ",9223372036854775807,1970-01-01,1.7976931348623157E308"), Files.readAllLines(file));
+    }
+
+    @Test
+    void writeFailureIsThrown() {
+        Map<String, List<Object>> data = Map.of("Id", IntColumn.of(1, 2));
+        String file = directory.resolve("missing").resolve("frame.csv").toString();
+
+        assertThrows(UncheckedIOException.class, () -> CSVUtils.writeToCSV(file, data));
+    }
+
+    private static Map<String, List<Object>> randomFrame(Random random, int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        IntColumn ints = new IntColumn(rows);
+        LongColumn longs = new LongColumn(rows);
+        DoubleColumn doubles = new DoubleColumn(rows);
+        BooleanColumn flags = new BooleanColumn(rows);
+        DateColumn dates = new DateColumn(rows);
+        StringColumn notes = new StringColumn(rows);
+        int nullEvery = 2 + random.nextInt(10);
+        for (int row = 0; row < rows; row++) {
+            ints.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt());
+            longs.add(random.nextInt(nullEvery) == 0 ? null : random.nextLong());
+            doubles.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt(50) == 0 ? -0.0 : random.nextGaussian() * 1e6);
+            flags.add(random.nextInt(nullEvery) == 0 ? null : random.nextBoolean());
+            dates.add(random.nextInt(nullEvery) == 0 ? null : LocalDate.ofEpochDay(random.nextInt(40_000) - 20_000));
+            notes.add(random.nextInt(nullEvery) == 0 ? null : switch (random.nextInt(6)) {
+                case 0 -> "a,b;c\td";
+                case 1 -> "say \"hi\" 'there'";
+                case 2 -> "two\nlines\r\nand more";
+                case 3 -> " padded ";
+                default -> "note " + random.nextInt() + " é";
+            });
+        }
+        data.put("Int", ints);
+        data.put("Long", longs);
+        data.put("Double", doubles);
+        data.put("Flag", flags);
+        data.put("Date", dates);
+        data.put("Note", notes);
+        return data;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.dug22.jdataframe.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JSONUtilsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyLayoutHoldsTheValuesOfEveryCell() throws IOException {
+        Random random = new Random(43);
+        for (int frame = 0; frame < 30; frame++) {
+            int rows = random.nextInt(frame % 10 == 0 ? 5_000 : 200);
+            Map<String, List<Object>> data = randomFrame(random, rows);
+            JsonArray expected = expectedRecords(data, rows);
+            String message = "frame " + frame;
+
+            Path records = directory.resolve("records" + frame + ".json");
+            Path columns = directory.resolve("columns" + frame + ".json");
+            Path lines = directory.resolve("lines" + frame + ".ndjson");
+            new JDataFrame(data).exportToJSON(records.toString());
+            new JDataFrame(data).exportToJSON(columns.toString(), JSONLayout.COLUMNS);
+            new JDataFrame(data).exportToJSON(lines.toString(), JSONLayout.NDJSON);
+
+            assertEquals(expected, JsonParser.parseString(Files.readString(records)), message);
+            JsonObject byColumn = JsonParser.parseString(Files.readString(columns)).getAsJsonObject();
+            assertEquals(List.copyOf(data.keySet()), List.copyOf(byColumn.keySet()), message);
+            for (String name : data.keySet()) {
+                for (int row = 0; row < rows; row++) {
+                    assertEquals(expected.get(row).getAsJsonObject().get(name), byColumn.getAsJsonArray(name).get(row), name + " of " + message);
+                }
+            }
+            List<String> ndjson = Files.readAllLines(lines);
+            assertEquals(rows, ndjson.size(), message);
+            for (int row = 0; row < rows; row++) {
+                assertEquals(expected.get(row), JsonParser.parseString(ndjson.get(row)), "row " + row + " of " + message);
+            }
+        }
+    }
+
+    @Test
+    void emptyFramesAreWrittenAsEmptyDocuments() throws IOException {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        data.put("Id", new IntColumn(0));
+
+        for (JSONLayout layout : JSONLayout.values()) {
+            StringWriter writer = new StringWriter();
+            JSONUtils.writeJSON(writer, data, layout);
+            assertEquals(switch (layout) {
+                case RECORDS -> "[]";
+                case COLUMNS -> "{\"Id\":[]}";
+                case NDJSON -> "";
+            }, writer.toString(), layout.name());
+        }
+    }
+
+    @Test
+    void fileNamesAndWriteFailuresAreReported() {
+        Map<String, List<Object>> data = Map.of("Id", IntColumn.of(1, 2));
+
+        assertThrows(RuntimeException.class, () -> new JDataFrame(data).exportToJSON(directory.resolve("ids.ndjson").toString()));
+        assertThrows(UncheckedIOException.class, () -> new JDataFrame(data).exportToJSON(directory.resolve("missing").resolve("ids.json").toString()));
+    }
+
+    private static JsonArray expectedRecords(Map<String, List<Object>> data, int rows) {
+        JsonArray records = new JsonArray();
+        for (int row = 0; row < rows; row++) {
+            JsonObject record = new JsonObject();
+            for (Map.Entry<String, List<Object>> entry : data.entrySet()) {
+                record.add(entry.getKey(), expectedValue(entry.getValue().get(row)));
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static JsonElement expectedValue(Object value) {
+        return switch (value) {
+            case null -> JsonNull.INSTANCE;
+            case Double number when !Double.isFinite(number) -> JsonNull.INSTANCE;
+            case Number number -> new JsonPrimitive(number);
+            case Boolean flag -> new JsonPrimitive(flag);
+            default -> new JsonPrimitive(value.toString());
+        };
+    }
+
+    private static Map<String, List<Object>> randomFrame(Random random, int rows) {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        IntColumn ints = new IntColumn(rows);
+        LongColumn longs = new LongColumn(rows);
+        DoubleColumn doubles = new DoubleColumn(rows);
+        BooleanColumn flags = new BooleanColumn(rows);
+        DateColumn dates = new DateColumn(rows);
+        DictionaryColumn codes = new DictionaryColumn(rows);
+        StringColumn notes = new StringColumn(rows);
+        int nullEvery = 2 + random.nextInt(10);
+        for (int row = 0; row < rows; row++) {
+            ints.add(random.nextInt(nullEvery) == 0 ? null : random.nextInt());
+            longs.add(random.nextInt(nullEvery) == 0 ? null : random.nextLong());
+            doubles.add(random.nextInt(nullEvery) == 0 ? null : switch (random.nextInt(20)) {
+                case 0 -> Double.NaN;
+                case 1 -> Double.POSITIVE_INFINITY;
+                case 2 -> -0.0;
+                default -> random.nextGaussian() * 1e6;
+            });
+            flags.add(random.nextInt(nullEvery) == 0 ? null : random.nextBoolean());
+            dates.add(random.nextInt(nullEvery) == 0 ? null : LocalDate.ofEpochDay(random.nextInt(40_000) - 20_000));
+            codes.add(random.nextInt(nullEvery) == 0 ? null : "code" + random.nextInt(20));
+            notes.add(random.nextInt(nullEvery) == 0 ? null : switch (random.nextInt(4)) {
+                case 0 -> "say \"hi\"\n\ttab \\ slash";
+                case 1 -> "</script>   é \u0001";
+                case 2 -> "";
+                default -> "note " + random.nextInt();
+            });
+        }
+        data.put("Int", ints);
+        data.put("Long", longs);
+        data.put("Double", doubles);
+        data.put("Flag", flags);
+        data.put("Date", dates);
+        data.put("Code", codes);
+        data.put("Note", notes);
+        return data;
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCSVReaderTest {
+
+    private static final int ROWS = 60_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void quotedLineBreaksDoNotSplitRecords() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Note,Score\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(i).append(",\"first line ").append(i).append("\nsecond line\nthird, \"\"quoted\"\" line\",").append(i * 2).append('\n');
+        }
+        Path file = write("multiline.csv", csv.toString());
+        CSVOptions options = CSVOptions.defaults().parallelism(4).parallelThreshold(0);
+
+        assertNotNull(ParallelCSVReader.read(file, options, null, null));
+        JDataFrame dataFrame = JDataFrame.builder().fromCSV(file.toString(), options).build();
+
+        assertEquals(ROWS, dataFrame.getColumn("Id").size());
+        for (int i = 0; i < ROWS; i += 997) {
+            assertEquals(i, dataFrame.getColumn("Id").get(i));
+            assertEquals("first line " + i + "\nsecond line\nthird, \"quoted\" line", dataFrame.getColumn("Note").get(i));
+            assertEquals(i * 2, dataFrame.getColumn("Score").get(i));
+        }
+    }
+
+    @Test
+    void strayQuotesFallBackToTheSequentialReader() throws IOException {
+        StringBuilder csv = new StringBuilder("Id,Size\n");
+        for (int i = 0; i < ROWS * 4; i++) {
+            csv.append(i).append(',').append(i % 1000 == 0 ? "5'11\"" : "6 ft").append('\n');
+        }
+        Path file = write("stray.csv", csv.toString());
+        CSVOptions options = CSVOptions.defaults().parallelism(4).parallelThreshold(0);
+
+        assertNull(ParallelCSVReader.read(file, options, null, null));
+        JDataFrame parallel = JDataFrame.builder().fromCSV(file.toString(), options).build();
+        JDataFrame sequential = JDataFrame.builder().fromCSV(file.toString(), CSVOptions.defaults().parallelism(1)).build();
+
+        assertEquals(new ArrayList<>(sequential.getColumn("Size")), new ArrayList<>(parallel.getColumn("Size")));
+        assertEquals(new ArrayList<>(sequential.getColumn("Id")), new ArrayList<>(parallel.getColumn("Id")));
+    }
+
+    @Test
+    void parallelAndSequentialReadersReturnTheSameColumns() throws IOException {
+        Random random = new Random(4180);
+        String[] texts = {"plain", "", "with;delimiter", "with \"quotes\"", "two\nlines", "crlf\r\nbreak", "\"", "trailing\n"};
+        StringBuilder csv = new StringBuilder("Id;Text;Value;Flag\r\n");
+        for (int i = 0; i < ROWS * 2; i++) {
+            String text = texts[random.nextInt(texts.length)];
+            boolean quoted = random.nextBoolean() || !text.matches("[a-z]*");
+            csv.append(i).append(';')
+                    .append(quoted ? '"' + text.replace("\"", "\"\"") + '"' : text).append(';')
+                    .append(random.nextInt(10) == 0 ? "" : Double.toString(random.nextInt(10_000) / 8.0)).append(';')
+                    .append(random.nextBoolean() ? "\"true\"" : "false")
+                    .append(random.nextBoolean() ? "\r\n" : "\n");
+        }
+        Path file = write("rfc4180.csv", csv.toString());
+        CSVOptions parallelOptions = CSVOptions.defaults().delimiter(';').parallelism(4).parallelThreshold(0);
+
+        assertNotNull(ParallelCSVReader.read(file, parallelOptions, null, null));
+        JDataFrame parallel = JDataFrame.builder().fromCSV(file.toString(), parallelOptions).build();
+        JDataFrame sequential = JDataFrame.builder().fromCSV(file.toString(), CSVOptions.defaults().delimiter(';').parallelism(1)).build();
+
+        for (String column : new String[]{"Id", "Text", "Value", "Flag"}) {
+            assertEquals(sequential.getColumn(column).type(), parallel.getColumn(column).type());
+            assertEquals(new ArrayList<>(sequential.getColumn(column)), new ArrayList<>(parallel.getColumn(column)));
+        }
+        assertEquals(ROWS * 2, parallel.getColumn("Id").size());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.dug22.jdataframe.util;
+
+import io.github.dug22.jdataframe.JDataFrame;
+import io.github.dug22.jdataframe.column.ColumnType;
+import io.github.dug22.jdataframe.operations.filter.ColumnPredicate;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.dug22.jdataframe.operations.filter.ColumnPredicate.col;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads the files of src/test/resources/parquet, written by parquet-java 1.15.2 with 1000 rows in four row groups of
+ * 250 rows and pages of 100 rows. The SNAPPY, GZIP and UNCOMPRESSED files use version 1 data pages with a dictionary
+ * page for the city column; the v2 file uses version 2 data pages with delta and RLE encodings, compressed with
+ * SNAPPY. Every 7th amount, 11th city and 13th day is null.
+ */
+class ParquetUtilsTest {
+
+    private static final String[] CITIES = {"Oslo", "Lima", "Pune", "Kyiv"};
+
+    @ParameterizedTest
+    @ValueSource(strings = {"snappy", "gzip", "uncompressed", "v2"})
+    void decodesEveryValue(String file) throws Exception {
+        JDataFrame dataFrame = JDataFrame.builder().fromParquet(path(file)).build();
+
+        assertEquals(List.of("id", "amount", "city", "big", "flag", "day"), List.copyOf(dataFrame.getDataFrameMap().keySet()));
+        assertEquals(ColumnType.INT, dataFrame.getColumn("id").type());
+        assertEquals(ColumnType.DOUBLE, dataFrame.getColumn("amount").type());
+        assertEquals(ColumnType.STRING, dataFrame.getColumn("city").type());
+        assertEquals(ColumnType.LONG, dataFrame.getColumn("big").type());
+        assertEquals(ColumnType.BOOLEAN, dataFrame.getColumn("flag").type());
+        assertEquals(ColumnType.DATE, dataFrame.getColumn("day").type());
+        assertEquals(1000, dataFrame.getColumn("id").size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, dataFrame.getColumn("id").get(i));
+            assertEquals(i % 7 == 0 ? null : i * 0.25, dataFrame.getColumn("amount").get(i));
+            assertEquals(i % 11 == 0 ? null : CITIES[i % 4], dataFrame.getColumn("city").get(i));
+            assertEquals(i * 1_000_000_007L, dataFrame.getColumn("big").get(i));
+            assertEquals(i % 3 == 0, dataFrame.getColumn("flag").get(i));
+            assertEquals(i % 13 == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(i % 366), dataFrame.getColumn("day").get(i));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"snappy", "gzip", "uncompressed", "v2"})
+    void skipsRowGroupsRuledOutByTheirStatistics(String file) throws Exception {
+        assertEquals(1000, readRows(file, null));
+        assertEquals(500, readRows(file, col("id").ge(600)));
+        assertEquals(250, readRows(file, col("id").between(260, 480)));
+        assertEquals(500, readRows(file, col("id").lt(100).or(col("id").ge(900))));
+        assertEquals(0, readRows(file, col("id").lt(0)));
+        assertEquals(0, readRows(file, col("city").eq("Rome")));
+        assertEquals(1000, readRows(file, col("city").eq("Lima")));
+
+        JDataFrame filtered = JDataFrame.builder().fromParquet(path(file), List.of("id", "city"), col("id").ge(600).and(col("city").eq("Oslo"))).build();
+        assertEquals(91, filtered.getColumn("id").size());
+        assertEquals(600, filtered.getColumn("id").get(0));
+    }
+
+    /**
+     * Returns the number of rows read from the row groups the predicate does not rule out.
+     */
+    private static int readRows(String file, ColumnPredicate predicate) throws IOException, URISyntaxException {
+        Map<String, List<Object>> data = new LinkedHashMap<>();
+        ParquetUtils.readFromParquet(path(file), data, List.of("id"), predicate);
+        return data.get("id").size();
+    }
+
+    private static String path(String file) throws URISyntaxException {
+        return Path.of(ParquetUtilsTest.class.getResource("/parquet/" + file + ".parquet").toURI()).toString();
+    }
+}